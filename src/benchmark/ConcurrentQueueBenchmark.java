@@ -0,0 +1,225 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.ConcurrentQueue;
+import model.DrainException;
+import model.MpmcQueue;
+import model.Queue;
+import model.SpscQueue;
+
+/**
+ * Compares the lock-free queues with model.Queue behind a lock while
+ * producer and consumer threads hammer the same queue. oneToOne runs one
+ * producer against one consumer, manyToMany two of each, manyToManyDrain
+ * has the consumers take batches of 64 with drain().
+ *
+ * The methods never wait for room or items, an attempt on a full or empty
+ * queue returns at once, so the iteration can always end. The offered and
+ * taken counters report only the attempts that moved an item, read those
+ * rather than the primary score.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentQueueBenchmark {
+
+    private static final int CAPACITY = 1024;
+    private static final int BATCH = 64;
+
+    /** Queue shared by one producer and one consumer, any variant fits */
+    @State(Scope.Group)
+    public static class OneToOne {
+        @Param({"synchronized", "spsc", "mpmc"})
+        public String impl;
+
+        ConcurrentQueue<Integer> queue;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            queue = create(impl);
+        }
+    }
+
+    /** Queue shared by several producers and consumers, SpscQueue does not fit */
+    @State(Scope.Group)
+    public static class Shared {
+        @Param({"synchronized", "mpmc"})
+        public String impl;
+
+        ConcurrentQueue<Integer> queue;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            queue = create(impl);
+        }
+    }
+
+    /** Items each thread actually moved, reported per second next to the score */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Moved {
+        public long offered;
+        public long taken;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            offered = 0;
+            taken = 0;
+        }
+    }
+
+    private static final Integer ITEM = 42;
+
+    @Benchmark
+    @Group("oneToOne")
+    @GroupThreads(1)
+    public void oneToOneOffer(OneToOne state, Moved moved) {
+        offer(state.queue, moved);
+    }
+
+    @Benchmark
+    @Group("oneToOne")
+    @GroupThreads(1)
+    public void oneToOnePoll(OneToOne state, Moved moved) {
+        poll(state.queue, moved);
+    }
+
+    @Benchmark
+    @Group("manyToMany")
+    @GroupThreads(2)
+    public void manyToManyOffer(Shared state, Moved moved) {
+        offer(state.queue, moved);
+    }
+
+    @Benchmark
+    @Group("manyToMany")
+    @GroupThreads(2)
+    public void manyToManyPoll(Shared state, Moved moved) {
+        poll(state.queue, moved);
+    }
+
+    @Benchmark
+    @Group("manyToManyDrain")
+    @GroupThreads(2)
+    public void manyToManyDrainOffer(Shared state, Moved moved) {
+        offer(state.queue, moved);
+    }
+
+    @Benchmark
+    @Group("manyToManyDrain")
+    @GroupThreads(2)
+    public void manyToManyDrainTake(Shared state, Moved moved) {
+        moved.taken += state.queue.drain(item -> { }, BATCH);
+    }
+
+    private static void offer(ConcurrentQueue<Integer> queue, Moved moved) {
+        if (queue.offer(ITEM)) {
+            moved.offered++;
+        }
+    }
+
+    private static void poll(ConcurrentQueue<Integer> queue, Moved moved) {
+        if (queue.poll() != null) {
+            moved.taken++;
+        }
+    }
+
+    static ConcurrentQueue<Integer> create(String impl) {
+        switch (impl) {
+            case "synchronized":
+                return new LockedQueue<>(CAPACITY);
+            case "spsc":
+                return new SpscQueue<>(CAPACITY);
+            case "mpmc":
+                return new MpmcQueue<>(CAPACITY);
+            default:
+                throw new IllegalArgumentException("Unknown queue " + impl);
+        }
+    }
+
+    /**
+     * The baseline: model.Queue with every call under one lock, bounded like
+     * the lock-free queues so the producers cannot run away from the consumers.
+     */
+    static final class LockedQueue<T> implements ConcurrentQueue<T> {
+        private final Queue<T> queue = new Queue<>();
+        private final int capacity;
+
+        LockedQueue(int capacity) {
+            this.capacity = capacity;
+            queue.setShrinkPolicy(capacity, 0);
+        }
+
+        @Override
+        public synchronized boolean offer(T item) {
+            if (queue.size() >= capacity) {
+                return false;
+            }
+            queue.enqueue(item);
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public synchronized T poll() {
+            if (queue.isEmpty()) {
+                return null;
+            }
+            T item = (T) queue.peek();
+            queue.dequeue();
+            return item;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public synchronized T peekOrNull() {
+            return queue.isEmpty() ? null : (T) queue.peek();
+        }
+
+        @Override
+        public synchronized int drain(Consumer<? super T> sink, int limit) {
+            int drained = 0;
+            while (drained < limit && !queue.isEmpty()) {
+                T item = poll();
+                drained++;
+                try {
+                    sink.accept(item);
+                } catch (RuntimeException e) {
+                    throw new DrainException(e, List.of());  // items are taken one at a time, none are held
+                }
+            }
+            return drained;
+        }
+
+        @Override
+        public int capacity() {
+            return capacity;
+        }
+
+        @Override
+        public synchronized int size() {
+            return queue.size();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Builds the input data used by the benchmarks. Every dataset is generated
+ * from a fixed seed so runs can be compared with each other.
+ */
+public final class Datasets {
+    /** Seed used for every generated dataset */
+    public static final long SEED = 42L;
+
+    private Datasets() {
+    }
+
+    /**
+     * Generates size values with the given distribution.
+     *
+     * @param distribution one of "random", "sorted", "reversed", "nearlySorted" or "fewUnique"
+     * @param size number of values to generate
+     * @return the generated values
+     * @throws IllegalArgumentException if the distribution is unknown
+     */
+    public static int[] generate(String distribution, int size) {
+        Random rand = new Random(SEED);
+        int[] data = new int[size];
+        switch (distribution) {
+        case "random":
+            for (int i = 0; i < size; i++) {
+                data[i] = rand.nextInt(size * 10 + 1);
+            }
+            break;
+        case "sorted":
+            for (int i = 0; i < size; i++) {
+                data[i] = i;
+            }
+            break;
+        case "reversed":
+            for (int i = 0; i < size; i++) {
+                data[i] = size - i;
+            }
+            break;
+        case "nearlySorted":
+            for (int i = 0; i < size; i++) {
+                data[i] = i;
+            }
+            for (int swaps = 0; swaps < Math.max(1, size / 20); swaps++) {
+                int a = rand.nextInt(size);
+                int b = rand.nextInt(size);
+                int temp = data[a];
+                data[a] = data[b];
+                data[b] = temp;
+            }
+            break;
+        case "fewUnique":
+            for (int i = 0; i < size; i++) {
+                data[i] = rand.nextInt(8);
+            }
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown distribution: " + distribution);
+        }
+        return data;
+    }
+
+    /**
+     * Returns the values in a random order, used to pick lookup keys.
+     *
+     * @param values values to shuffle
+     * @return a shuffled copy of values
+     */
+    public static int[] shuffled(int[] values) {
+        int[] copy = Arrays.copyOf(values, values.length);
+        Random rand = new Random(SEED + 1);
+        for (int i = copy.length - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            int temp = copy[i];
+            copy[i] = copy[j];
+            copy[j] = temp;
+        }
+        return copy;
+    }
+}
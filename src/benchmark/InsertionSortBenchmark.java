@@ -0,0 +1,72 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.InsertionSort;
+
+/**
+ * Compares the insertion sort variants on full sorts, like SortBenchmark does
+ * for the algorithms. The score is the time of one complete sort; the
+ * number of steps each took is what runToCompletion() returns.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class InsertionSortBenchmark {
+
+    @Param({"LINEAR", "BINARY"})
+    public InsertionSort.Variant variant;
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    @Param({"sorted", "reversed", "random", "nearlySorted"})
+    public String distribution;
+
+    /** "on" counts the work of each sort into SortWork, which costs a little time */
+    @Param({"off", "on"})
+    public String metrics;
+
+    private int[] input;
+    private InsertionSort sorter;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        input = Datasets.generate(distribution, size);
+    }
+
+    @Setup(Level.Invocation)
+    public void load() {
+        sorter = new InsertionSort();
+        sorter.setMetricsEnabled(metrics.equals("on"));
+        sorter.clear();
+        sorter.setVariant(variant);
+        for (int value : input) {
+            sorter.append(value);
+        }
+    }
+
+    @Benchmark
+    public long sort(SortWork work) {
+        sorter.startSort();
+        long steps = sorter.runToCompletion();
+        work.add(sorter);
+        return steps;
+    }
+}
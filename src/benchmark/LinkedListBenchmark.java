@@ -0,0 +1,134 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import model.IntLinkedList;
+import model.LinkedList;
+import model.ValueList;
+
+/**
+ * Benchmarks every public operation of model.LinkedList on a list that
+ * already holds size values. Operations that change the list are paired
+ * with their inverse so the list keeps the same size between invocations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkedListBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    /** Which optional indexes the list keeps, or "ints" for an IntLinkedList */
+    @Param({"plain", "indexed", "hashed", "both", "ints"})
+    public String mode;
+
+    private ValueList<Integer> list;
+    private int[] keys;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = mode.equals("ints") ? new IntLinkedList() : new LinkedList<>(mode.equals("indexed") || mode.equals("both"),
+                mode.equals("hashed") || mode.equals("both"));
+        for (int i = 0; i < size; i++) {
+            list.append(i);
+        }
+        keys = Datasets.shuffled(Datasets.generate("sorted", size));
+    }
+
+    private int nextKey() {
+        int key = keys[next];
+        next = (next + 1) % keys.length;
+        return key;
+    }
+
+    @Benchmark
+    public ValueList<Integer> appendThenRemoveTail() {
+        list.append(-1);
+        list.remove(-1);
+        return list;
+    }
+
+    @Benchmark
+    public ValueList<Integer> prependThenRemoveHead() {
+        list.prepend(-1);
+        list.remove(-1);
+        return list;
+    }
+
+    @Benchmark
+    public ValueList<Integer> insertMiddleThenRemove() {
+        list.insert(-1, size / 2);
+        list.remove(-1);
+        return list;
+    }
+
+    @Benchmark
+    public ValueList<Integer> appendThenRemoveLast() {
+        list.append(-1);
+        list.removeLast();
+        return list;
+    }
+
+    @Benchmark
+    public ValueList<Integer> insertAtRandomThenRemove() {
+        int index = nextKey();
+        list.insert(-1, index);
+        list.remove(-1);
+        return list;
+    }
+
+    @Benchmark
+    public Integer getByIndex() {
+        return list.get(nextKey());
+    }
+
+    @Benchmark
+    public int find() {
+        return list.find(nextKey());
+    }
+
+    @Benchmark
+    public int findMissing() {
+        return list.find(-2);
+    }
+
+    @Benchmark
+    public ValueList<Integer> removeThenAppend() {
+        int key = nextKey();
+        list.remove(key);
+        list.append(key);
+        return list;
+    }
+
+    @Benchmark
+    public Object getLL() {
+        return list.getLL();
+    }
+
+    /** Reads every element through the live view, no list is copied */
+    @Benchmark
+    public void iterateView(Blackhole bh) {
+        for (Integer value : list.asList()) {
+            bh.consume(value);
+        }
+    }
+}
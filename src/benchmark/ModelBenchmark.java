@@ -0,0 +1,62 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.Model;
+
+/**
+ * Benchmarks loading size values into a Model with the LL, stack, queue and
+ * insertion sort active, one add() per value against a single addAll().
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Model<Integer> model;
+    private int[] values;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        values = Datasets.generate("random", size);
+    }
+
+    @Setup(Level.Invocation)
+    public void freshModel() {
+        model = new Model<>("LL", "Stack", "Queue", "Insertion", null);
+    }
+
+    @Benchmark
+    public Model<Integer> addEach() {
+        for (int value : values) {
+            model.add(value, false);
+        }
+        return model;
+    }
+
+    @Benchmark
+    public Model<Integer> addAllIntStream() {
+        model.addAll(IntStream.of(values), false);
+        return model;
+    }
+}
@@ -0,0 +1,77 @@
+package benchmark;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.AbstractSorter;
+import model.ParallelSort;
+import model.SorterRegistry;
+
+/**
+ * Measures how the fork-join sort scales with the number of worker threads
+ * on multi-million value lists, next to the step engine of MergeSort.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 8)
+@Fork(1)
+public class ParallelSortBenchmark {
+
+    @Param({"1000000", "4000000"})
+    public int size;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private int[] input;
+    private ForkJoinPool pool;
+    private AbstractSorter sorter;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        input = Datasets.generate("random", size);
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Setup(Level.Invocation)
+    public void load() {
+        sorter = SorterRegistry.create("Merge");
+        sorter.clear();
+        for (int value : input) {
+            sorter.append(value);
+        }
+    }
+
+    @Benchmark
+    public AbstractSorter parallel() {
+        ParallelSort.sort(sorter, pool, ParallelSort.DEFAULT_THRESHOLD);
+        return sorter;
+    }
+
+    @Benchmark
+    public long stepEngine() {
+        sorter.startSort();
+        return sorter.runToCompletion();
+    }
+}
@@ -0,0 +1,116 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import model.IntQueue;
+import model.Queue;
+import model.ValueQueue;
+
+/**
+ * Benchmarks enqueue, dequeue, peek and resizing of model.Queue, or of
+ * IntQueue with impl=ints.
+ * The resize cost is measured by filling a fresh queue, which starts at
+ * capacity 16 and has to grow to hold size values. fillThenDrain also
+ * shrinks the ring again as it empties, fillThenDrainNoShrink keeps it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    /** "boxed" for model.Queue, "ints" for model.IntQueue */
+    @Param({"boxed", "ints"})
+    public String impl;
+
+    private ValueQueue<Integer> queue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        queue = create();
+        for (int i = 0; i < size; i++) {
+            queue.enqueue(i);
+        }
+    }
+
+    @Benchmark
+    public ValueQueue<Integer> enqueueThenDequeue() {
+        queue.enqueue(-1);
+        queue.dequeue();
+        return queue;
+    }
+
+    @Benchmark
+    public Object peek() {
+        return queue.peek();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ValueQueue<Integer> fillWithResize() {
+        ValueQueue<Integer> fresh = create();
+        for (int i = 0; i < size; i++) {
+            fresh.enqueue(i);
+        }
+        return fresh;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ValueQueue<Integer> fillThenDrain() {
+        ValueQueue<Integer> fresh = create();
+        for (int i = 0; i < size; i++) {
+            fresh.enqueue(i);
+        }
+        while (!fresh.isEmpty()) {
+            fresh.dequeue();
+        }
+        return fresh;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ValueQueue<Integer> fillThenDrainNoShrink() {
+        ValueQueue<Integer> fresh = create();
+        fresh.setShrinkPolicy(Queue.DEFAULT_CAPACITY, 0);
+        for (int i = 0; i < size; i++) {
+            fresh.enqueue(i);
+        }
+        while (!fresh.isEmpty()) {
+            fresh.dequeue();
+        }
+        return fresh;
+    }
+
+    /** Reads every element through the live view, no list is copied */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void iterateView(Blackhole bh) {
+        for (Integer value : queue.asList()) {
+            bh.consume(value);
+        }
+    }
+
+    private ValueQueue<Integer> create() {
+        return impl.equals("ints") ? new IntQueue() : new Queue<>();
+    }
+}
@@ -0,0 +1,127 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.Model;
+import model.SnapshotProgress;
+
+/**
+ * Benchmarks Model.save() and Model.load() of size values. "sorter" keeps
+ * them in a Radix Sort, written as packed ints, "structures" in the LL,
+ * stack and queue, written element by element through the tagged codec.
+ * addThenSaveJournaled is the autosave case with a journal open: one add
+ * followed by save(), which only appends to and syncs the journal.
+ * saveAsync is the time saveAsync() blocks its caller, the point-in-time
+ * copy, the write itself is waited for outside the measurement.
+ * openThenTouchOne opens the snapshot lazily and reads one structure, what
+ * the constructor pays when a screen uses only that structure.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class SnapshotBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    @Param({"sorter", "structures"})
+    public String content;
+
+    private Path dir;
+    private Path file;
+    private Model<Integer> model;
+    private Model<Integer> journaled;
+    private Model<Integer> opened;
+    private CompletableFuture<SnapshotProgress> saving;
+
+    @Setup(Level.Trial)
+    public void fill() throws IOException {
+        dir = Files.createTempDirectory("snapshot-bench");
+        file = dir.resolve("state.dat");
+        if (content.equals("sorter")) {
+            model = new Model<>("Radix", null, null, null, null);
+            model.getSorter("Radix").clear();
+        } else {
+            model = new Model<>("LL", "Stack", "Queue", null, null);
+            model.reset();
+        }
+        int[] values = Datasets.generate("random", size);
+        model.addAll(values, 0, size, false);
+        model.save(file);
+        Files.copy(file, dir.resolve("journaled.dat"));
+        journaled = new Model<>(null, null, null, null, null);
+        journaled.openJournal(dir.resolve("journaled.dat"));
+        journaled.setCompactionThreshold(Long.MAX_VALUE);
+        journaled.activateDS(content.equals("sorter") ? "Radix" : "LL");
+        opened = new Model<>(null, null, null, null, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        journaled.closeJournal();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir.resolve("journaled.dat"));
+        Files.deleteIfExists(Model.journalFile(dir.resolve("journaled.dat")));
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public Path save() throws IOException {
+        model.save(file);
+        return file;
+    }
+
+    @Benchmark
+    public Model<Integer> addThenSaveJournaled() throws IOException {
+        journaled.add(42, false);
+        journaled.save();
+        return journaled;
+    }
+
+    @Benchmark
+    public CompletableFuture<SnapshotProgress> saveAsync() {
+        saving = model.saveAsync(file, null);
+        return saving;
+    }
+
+    @TearDown(Level.Invocation)
+    public void awaitSave() {
+        if (saving != null) {
+            saving.join();
+            saving = null;
+        }
+    }
+
+    @Benchmark
+    public Model<Integer> load() throws IOException {
+        model.load(file);
+        return model;
+    }
+
+    @Benchmark
+    public Object openThenTouchOne() throws IOException {
+        opened.open(file);
+        return content.equals("sorter") ? opened.getSorter("Radix") : opened.getQueue();
+    }
+}
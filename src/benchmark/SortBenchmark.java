@@ -0,0 +1,90 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.AbstractSorter;
+import model.SorterRegistry;
+
+/**
+ * Benchmarks full sorts through the real step engines of every registered sorter.
+ * Each invocation reloads the same input and then runs the sort with
+ * runToCompletion(), so the score is the time of one complete sort.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SortBenchmark {
+
+    @Param({"Bubble", "Insertion", "Merge", "Quick", "Heap", "Shell", "Radix"})
+    public String algorithm;
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    @Param({"random", "sorted", "reversed", "nearlySorted", "fewUnique"})
+    public String distribution;
+
+    /** Where the sorter keeps its list, on the heap or in a memory-mapped file */
+    @Param({"heap", "mapped"})
+    public String storage;
+
+    /** "on" counts the work of each sort into SortWork, which costs a little time */
+    @Param({"off"})
+    public String metrics;
+
+    private int[] input;
+    private AbstractSorter sorter;
+    private Path dir;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        input = Datasets.generate(distribution, size);
+        dir = Files.createTempDirectory("sortbench");
+    }
+
+    @Setup(Level.Invocation)
+    public void load() throws IOException {
+        sorter = SorterRegistry.create(algorithm);
+        sorter.setMetricsEnabled(metrics.equals("on"));
+        sorter.clear();
+        for (int value : input) {
+            sorter.append(value);
+        }
+        if (storage.equals("mapped")) {
+            sorter.useMappedStorage(dir.resolve(algorithm + ".i32"));
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void unload() throws IOException {
+        sorter.useHeapStorage();  // closes the mapped file before the next invocation replaces it
+    }
+
+    @Benchmark
+    public long sort(SortWork work) {
+        sorter.startSort();
+        long steps = sorter.runToCompletion();
+        work.add(sorter);
+        return steps;
+    }
+}
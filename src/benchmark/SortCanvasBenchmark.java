@@ -0,0 +1,76 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.AbstractSorter;
+import model.SortChange;
+import model.SorterRegistry;
+import view.SortCanvas;
+
+/**
+ * Times the worst frame of SortCanvas: a SortChange whose dirty range covers
+ * the whole list, as a merge or radix pass over every value reports, then
+ * the repaint of every pixel column. A frame at 60 Hz has about 16 ms, and
+ * the auto sort already spends up to 4 ms of it stepping the sort.
+ *
+ * The canvas is not part of a scene, so the JavaFX toolkit does not have to
+ * run; what is measured is the scan of the values and the drawing calls.
+ * Nothing renders the drawing calls the canvas collects, so every frame
+ * gets a new, fully painted canvas; at milliseconds per frame the setup per
+ * invocation does not skew the result.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortCanvasBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    /** 560 is the canvas of the sort screen, 1920 a full HD window */
+    @Param({"560", "1920"})
+    public int width;
+
+    private AbstractSorter sorter;
+    private SortCanvas canvas;
+    private SortChange wholeList;
+
+    @Setup(Level.Trial)
+    public void load() {
+        sorter = SorterRegistry.create("Merge");
+        sorter.clear();
+        for (int value : Datasets.generate("random", size)) {
+            sorter.append(value);
+        }
+        wholeList = new SortChange(0, size - 1, 1, false);
+    }
+
+    @Setup(Level.Invocation)
+    public void paintedCanvas() {
+        canvas = new SortCanvas(sorter, width, 230);
+        canvas.repaint();
+    }
+
+    @Benchmark
+    public SortCanvas updateWholeListAndRepaint() {
+        canvas.update(sorter, wholeList);
+        canvas.repaint();
+        return canvas;
+    }
+}
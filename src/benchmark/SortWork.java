@@ -0,0 +1,50 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import model.AbstractSorter;
+import model.SortMetrics;
+
+/**
+ * Work the measured sorts did, reported next to the score when a sort
+ * benchmark runs with metrics=on. The time score says how long a sort took
+ * on this machine, these say what it did: comparisons, swaps, writes and
+ * reads of the list, and steps. JMH sums them over the measured
+ * iterations, divide by the Cnt column for a single sort.
+ */
+@AuxCounters(AuxCounters.Type.EVENTS)
+@State(Scope.Thread)
+public class SortWork {
+    public long comparisons;
+    public long swaps;
+    public long writes;
+    public long reads;
+    public long steps;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        comparisons = 0;
+        swaps = 0;
+        writes = 0;
+        reads = 0;
+        steps = 0;
+    }
+
+    /**
+     * Adds the counters of a sorter's last sort, if it had them on.
+     */
+    void add(AbstractSorter sorter) {
+        SortMetrics metrics = sorter.getMetrics();
+        if (metrics != null) {
+            comparisons += metrics.getComparisons();
+            swaps += metrics.getSwaps();
+            writes += metrics.getWrites();
+            reads += metrics.getReads();
+            steps += metrics.getSteps();
+        }
+    }
+}
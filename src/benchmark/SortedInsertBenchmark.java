@@ -0,0 +1,78 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.AbstractSorter;
+import model.SorterRegistry;
+
+/**
+ * Benchmarks streaming values one by one into a sorter whose list is already
+ * sorted. "insert" places each value with AbstractSorter.insert(), "resort"
+ * appends it and runs the sort again, which is what adding did before.
+ * The score is the time for ADDS values.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SortedInsertBenchmark {
+
+    private static final int ADDS = 100;
+
+    @Param({"Insertion", "Bubble", "Merge"})
+    public String algorithm;
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"insert", "resort"})
+    public String mode;
+
+    private int[] input;
+    private int[] added;
+    private AbstractSorter sorter;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        input = Datasets.generate("sorted", size);
+        added = Datasets.generate("random", ADDS);
+    }
+
+    @Setup(Level.Invocation)
+    public void load() {
+        sorter = SorterRegistry.create(algorithm);
+        sorter.clear();
+        for (int value : input) {
+            sorter.append(value);
+        }
+    }
+
+    @Benchmark
+    public AbstractSorter add() {
+        for (int value : added) {
+            if (mode.equals("insert")) {
+                sorter.insert(value);
+            } else {
+                sorter.append(value);
+                sorter.startSort();
+            }
+            sorter.runToCompletion();
+        }
+        return sorter;
+    }
+}
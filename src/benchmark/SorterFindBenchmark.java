@@ -0,0 +1,72 @@
+package benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.AbstractSorter;
+import model.SorterRegistry;
+
+/**
+ * Benchmarks AbstractSorter.find() in each state of the list: loaded but
+ * never sorted (a scan), halfway through a sort (the value index) and
+ * sorted (a binary search). Half of the values looked up are in the list.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SorterFindBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"unsorted", "sorting", "sorted"})
+    public String state;
+
+    private AbstractSorter sorter;
+    private int[] keys;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void load() {
+        int[] input = Datasets.generate("random", size);
+        sorter = SorterRegistry.create("Shell");
+        sorter.clear();
+        for (int value : input) {
+            sorter.append(value);
+        }
+        if (state.equals("sorting")) {
+            sorter.startSort();
+            sorter.stepSort(size);
+        } else if (state.equals("sorted")) {
+            sorter.startSort();
+            sorter.runToCompletion();
+        }
+        Random rand = new Random(3);
+        keys = new int[1024];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = rand.nextBoolean() ? input[rand.nextInt(size)] : rand.nextInt();
+        }
+    }
+
+    @Benchmark
+    public int find() {
+        next = (next + 1) & (keys.length - 1);
+        return sorter.find(keys[next]);
+    }
+}
@@ -0,0 +1,92 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import model.IntStack;
+import model.Stack;
+import model.ValueStack;
+
+/**
+ * Benchmarks push, pop, peek and growth of model.Stack, or of IntStack
+ * with impl=ints. Run with -prof gc to compare the bytes allocated.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StackBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    /** "boxed" for model.Stack, "ints" for model.IntStack */
+    @Param({"boxed", "ints"})
+    public String impl;
+
+    private ValueStack<Integer> stack;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stack = create();
+        for (int i = 0; i < size; i++) {
+            stack.push(i);
+        }
+    }
+
+    @Benchmark
+    public ValueStack<Integer> pushThenPop() {
+        stack.push(-1);
+        stack.pop();
+        return stack;
+    }
+
+    @Benchmark
+    public Object peek() {
+        return stack.peek();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ValueStack<Integer> fillFromEmpty() {
+        ValueStack<Integer> fresh = create();
+        for (int i = 0; i < size; i++) {
+            fresh.push(i);
+        }
+        return fresh;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object getStackElements() {
+        return stack.getStackElements();
+    }
+
+    /** Reads every element through the live view, no list is copied */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void iterateView(Blackhole bh) {
+        for (Integer value : stack.asList()) {
+            bh.consume(value);
+        }
+    }
+
+    private ValueStack<Integer> create() {
+        return impl.equals("ints") ? new IntStack() : new Stack<>();
+    }
+}
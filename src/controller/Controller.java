@@ -1,6 +1,19 @@
 package controller;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import model.DatasetImporter;
+import model.ImportProgress;
 import model.Model;
+import model.SnapshotProgress;
 
 /**
  * The Controller class connects the View and the Model.
@@ -29,6 +42,65 @@ public class Controller<T extends Comparable<T>> {
         model.add(obj, optional);
     }
 
+    /**
+     * Adds every value of a collection to all active data structures,
+     * notifying the view once instead of once per value.
+     * 
+     * @param values the objects to add
+     * @param optional optional flag (append/prepend for LinkedList)
+     * @return the number of values added
+     */
+    public int addAll(Collection<? extends T> values, boolean optional) {
+        return model.addAll(values, optional);
+    }
+
+    /**
+     * Adds every value an iterator returns to all active data structures.
+     * 
+     * @param values the objects to add
+     * @param optional optional flag (append/prepend for LinkedList)
+     * @return the number of values added
+     */
+    public int addAll(Iterator<? extends T> values, boolean optional) {
+        return model.addAll(values, optional);
+    }
+
+    /**
+     * Adds every int of a stream to all active data structures.
+     * Only valid when the model holds Integers.
+     * 
+     * @param values the ints to add
+     * @param optional optional flag (append/prepend for LinkedList)
+     * @return the number of values added
+     */
+    public int addAll(IntStream values, boolean optional) {
+        return model.addAll(values, optional);
+    }
+
+    /**
+     * Streams the ints of a CSV, line or raw binary file into all active data
+     * structures. The format is picked from the file name, see DatasetImporter.Format.
+     * 
+     * @param path the file to import
+     * @param importer importer with the chunk, batch and progress settings to use
+     * @return totals and throughput of the import
+     * @throws IOException if the file cannot be read
+     */
+    public ImportProgress importFile(Path path, DatasetImporter importer) throws IOException {
+        return importer.importFile(path, DatasetImporter.Format.forPath(path), model);
+    }
+
+    /**
+     * Moves the lists of the active sorting algorithms into memory-mapped
+     * files in the given directory so they can hold more than the heap.
+     * 
+     * @param directory the directory for the files
+     * @throws IOException if a file cannot be created
+     */
+    public void useMappedStorage(Path directory) throws IOException {
+        model.useMappedStorage(directory);
+    }
+
     /**
      * Inserts data at the given index (LinkedList only).
      * 
@@ -72,12 +144,57 @@ public class Controller<T extends Comparable<T>> {
         model.save();
     }
 
+    /**
+     * Saves current data structures to disk on the model's I/O thread. The
+     * state is copied before this returns, later changes are not saved.
+     * 
+     * @param progress receives the progress on the I/O thread, or null
+     * @return completes when the save is on disk
+     */
+    public CompletableFuture<SnapshotProgress> saveAsync(Consumer<SnapshotProgress> progress) {
+        return model.saveAsync(progress);
+    }
+
+    /**
+     * Recovers the state saved in a snapshot and its journal, then journals
+     * every change so save() only has to sync the journal.
+     * 
+     * @param snapshot the snapshot file
+     * @throws IOException if the snapshot or journal cannot be read or written
+     */
+    public void openJournal(Path snapshot) throws IOException {
+        model.openJournal(snapshot);
+    }
+
+    /**
+     * Syncs and closes the journal, e.g. before switching to a new model.
+     * 
+     * @throws IOException if the journal cannot be written
+     */
+    public void closeJournal() throws IOException {
+        model.closeJournal();
+    }
+
     /**
      * Loads saved data from disk.
+     * 
+     * @throws IOException if the save file is corrupt or cannot be read
      */
-    public void load() {
+    public void load() throws IOException {
         model.load();
     }
+
+    /**
+     * Reads the save file on the model's I/O thread and swaps the loaded
+     * structures in on the given executor.
+     * 
+     * @param progress receives the progress on the I/O thread, or null
+     * @param applyOn runs the step that replaces the structures, e.g. Platform::runLater
+     * @return completes with true if a save file was loaded
+     */
+    public CompletableFuture<Boolean> loadAsync(Consumer<SnapshotProgress> progress, Executor applyOn) {
+        return model.loadAsync(Paths.get(Model.SAVE_FILE), progress, applyOn);
+    }
     
     /**
      * This method creates a new model with just the sorting algorithms for the comparison feature
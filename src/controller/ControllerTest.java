@@ -1,5 +1,11 @@
 package controller;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import model.AbstractSorter;
 import model.Model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -68,4 +74,40 @@ class ControllerTest {
         assertTrue(m.hasInsertionSort());
         //assertTrue(m.hasBubbleSort());
     }
+
+    @Test
+    void testAddAll() {
+        int added = controller.addAll(Arrays.asList("G", null, "H", "I"), false);
+        assertEquals(3, added);
+        List<String> list = model.getLL();
+        assertEquals(List.of("G", "H", "I"), list.subList(list.size() - 3, list.size()));
+    }
+
+    @SuppressWarnings("deprecation")
+    @Test
+    void testAddAllNotifiesAndSortsOnce() {
+        Controller<Integer> ints = new Controller<>("LL");
+        Model<Integer> intModel = ints.getModel();
+        intModel.activateDS("Bubble");
+        AbstractSorter bubble = intModel.getSorter("Bubble");
+        int before = bubble.size();
+
+        List<Object> modelEvents = new ArrayList<>();
+        List<Object> sortEvents = new ArrayList<>();
+        intModel.addObserver((o, arg) -> modelEvents.add(arg));
+        bubble.flushChanges();
+        bubble.addObserver((o, arg) -> sortEvents.add(arg));
+
+        assertEquals(1000, ints.addAll(IntStream.range(0, 1000).map(i -> 999 - i), false));
+        assertEquals(1, modelEvents.size(), "One bulk add should notify the model observers once");
+        assertEquals(1, sortEvents.size(), "One bulk add should restart the sort once");
+        assertEquals(before + 1000, bubble.size());
+
+        ints.addAll(List.of(5, 6).iterator(), false);
+        assertEquals(2, modelEvents.size());
+        bubble.runToCompletion();
+        for (int i = 1; i < bubble.size(); i++) {
+            assertTrue(bubble.get(i - 1) <= bubble.get(i));
+        }
+    }
 }
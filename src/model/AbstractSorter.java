@@ -0,0 +1,824 @@
+package model;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Observable;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared base for the step-by-step sorting algorithms.
+ * Holds the primitive list being sorted, the add/remove/find/reset logic,
+ * and the batching of single steps. Subclasses only supply the algorithm
+ * itself through resetSortState() and advance().
+ *
+ * Observers are not told about every single step. Steps are coalesced and
+ * published as one SortChange carrying the dirty index range, at most once
+ * per stepSort(n) call and no more often than the configured step count and
+ * time interval allow. The final state of a sort is always published.
+ *
+ * find() does not scan the list. Once a sort has finished the list is known
+ * to be in order and find() is a binary search. While a sort is running it
+ * asks a value index, built on the first find() and kept up to date by
+ * swap(), write() and move(), through which the algorithms change the list.
+ *
+ * @author thomasurias
+ */
+@SuppressWarnings("deprecation")
+public abstract class AbstractSorter extends Observable implements Serializable, Sorter {
+    /** Long to store serial ID to make instance serializable */
+    private static final long serialVersionUID = 1L;
+
+    /** Random object rand used to add random integers to initialize list */
+    private Random rand = new Random();
+
+    /** Primitive int storage that the sorting algorithm will be working on, on the heap or memory-mapped */
+    IntStore listToSort;
+
+    /** True while a sort has been started and has steps left */
+    boolean sorting = false;
+
+    /** True if the list is known to be in ascending order */
+    boolean sorted = false;
+
+    /** One index per value while a sort is running, null until find() needs it */
+    private transient ValueIndex valueIndex;
+
+    /** Work counters of the current sort, null while they are turned off */
+    transient SortMetrics metrics;
+
+    /** Minimum number of single steps between two change events */
+    private int notifyEverySteps = 1;
+
+    /** Minimum time between two change events, 0 for no limit */
+    private long notifyIntervalNanos = 0;
+
+    /** When the last change event was published */
+    private transient long lastNotifyNanos;
+
+    /** Steps taken since the last change event */
+    private long pendingSteps;
+
+    /** Dirty index range since the last change event, -1 if nothing changed */
+    private int dirtyFrom = -1;
+    private int dirtyTo = -1;
+
+    /** Creates the empty primitive list, subclasses fill it with initializelistToSort() */
+    AbstractSorter() {
+        listToSort = new IntArrayStore();
+    }
+
+    /**
+     * Returns the display name of the algorithm, e.g. "Bubble Sort".
+     *
+     * @return the name shown above the bar graph
+     */
+    public abstract String getName();
+
+    /**
+     * Resets the algorithm specific indices so a new sort starts from the beginning.
+     */
+    abstract void resetSortState();
+
+    /**
+     * Puts back any value a step is holding outside the list, e.g. the key of
+     * an insertion or a half written merge, so the list is a complete
+     * permutation of its values again. Called before the list is changed and
+     * before a sort restarts. Algorithms that only swap have nothing to do.
+     */
+    void settle() {
+    }
+
+    /**
+     * Settles any step in progress and starts the algorithm from the beginning.
+     */
+    final void restartSort() {
+        settle();
+        resetSortState();
+    }
+
+    /**
+     * Advances the algorithm by one step without notifying observers.
+     * The list is read through read() and changed through swap(), write()
+     * and move(), values are compared with less(), so the metrics see the
+     * work; every index written must be reported through markDirty().
+     *
+     * @return true if a step was performed, false if sorting is finished
+     */
+    abstract boolean advance();
+
+    /**
+     * Starts the sort from the beginning and performs the first step.
+     * Runs whenever a new instance is creates or when:
+     * 	- Array list is appended to
+     *  - Array list has object removed
+     *  - Array list is reset
+     */
+    public void startSort() {
+        sorting = true;
+        sorted = false;  // a step may put values out of order for a while
+        if (metrics != null) {
+            metrics.reset();
+        }
+        restartSort();
+        stepSort();  // first step
+    }
+
+    /** Performs a single step of the sort
+     * @return true if more steps remain, false if sorting is finished
+     */
+    public boolean stepSort() {
+        return stepSort(1);
+    }
+
+    /**
+     * Performs up to the given number of single steps, stopping early if
+     * the sort finishes. Observers are notified at most once for the whole batch.
+     *
+     * @param steps maximum number of single steps to perform, at least 1
+     * @return true if more steps remain, false if sorting is finished
+     * @throws IllegalArgumentException if steps is not positive
+     */
+    @Override
+    public boolean stepSort(int steps) {
+        if (steps <= 0) {
+            throw new IllegalArgumentException("Steps must be positive: " + steps);
+        }
+        boolean wasSorting = sorting;
+        boolean more = true;
+        int taken = 0;
+        long start = (metrics != null) ? System.nanoTime() : 0;
+        while (taken < steps && (more = advance())) {
+            taken++;
+        }
+        if (metrics != null) {
+            metrics.steps += taken;
+            metrics.elapsedNanos += System.nanoTime() - start;
+        }
+        pendingSteps += taken;
+        if (wasSorting && !sorting) {
+            finishSort();
+        }
+        publishChanges(wasSorting && !sorting);
+        return more;
+    }
+
+    /**
+     * Runs the sort at full speed until it finishes.
+     * Observers are notified once when the list is sorted.
+     *
+     * @return the number of single steps that were performed
+     */
+    @Override
+    public long runToCompletion() {
+        boolean wasSorting = sorting;
+        long taken = 0;
+        long start = (metrics != null) ? System.nanoTime() : 0;
+        while (advance()) {
+            taken++;
+        }
+        if (metrics != null) {
+            metrics.steps += taken;
+            metrics.elapsedNanos += System.nanoTime() - start;
+        }
+        pendingSteps += taken;
+        if (wasSorting) {
+            finishSort();
+        }
+        publishChanges(wasSorting);
+        return taken;
+    }
+
+    /**
+     * Records that the list is in order. The value index is no longer needed.
+     */
+    final void finishSort() {
+        sorted = true;
+        valueIndex = null;
+    }
+
+    /**
+     * Reads a value of the list for the algorithm, counting the read.
+     */
+    final int read(int index) {
+        if (metrics != null) {
+            metrics.reads++;
+        }
+        return listToSort.get(index);
+    }
+
+    /**
+     * Compares two values for the algorithm, counting the comparison.
+     *
+     * @return true if a is less than b
+     */
+    final boolean less(int a, int b) {
+        if (metrics != null) {
+            metrics.comparisons++;
+        }
+        return a < b;
+    }
+
+    /**
+     * Swaps the values at two indices of the list and updates the value index.
+     */
+    final void swap(int a, int b) {
+        if (metrics != null) {
+            metrics.swaps++;
+        }
+        listToSort.swap(a, b);
+        if (valueIndex != null) {
+            valueIndex.put(listToSort.get(a), a);
+            valueIndex.put(listToSort.get(b), b);
+        }
+    }
+
+    /**
+     * Moves length values starting at from so they start at to, in one block
+     * copy where the store allows, and updates the value index.
+     */
+    final void move(int from, int to, int length) {
+        if (metrics != null) {
+            metrics.writes += length;
+        }
+        listToSort.copyRange(from, to, length);
+        if (valueIndex != null) {
+            for (int i = to; i < to + length; i++) {
+                valueIndex.put(listToSort.get(i), i);
+            }
+        }
+    }
+
+    /**
+     * Writes a value into the list and updates the value index. The value
+     * overwritten keeps its entry, find() checks entries before using them.
+     */
+    final void write(int index, int value) {
+        if (metrics != null) {
+            metrics.writes++;
+        }
+        listToSort.set(index, value);
+        if (valueIndex != null) {
+            valueIndex.put(value, index);
+        }
+    }
+
+    /**
+     * Sets how many single steps must pass before observers get a change event.
+     * The default of 1 publishes after every stepSort() call.
+     *
+     * @param steps minimum steps per change event
+     */
+    public void setNotifyEverySteps(int steps) {
+        notifyEverySteps = Math.max(1, steps);
+    }
+
+    /**
+     * Sets the minimum time between two change events.
+     * Steps taken in between are folded into the next event.
+     *
+     * @param millis minimum milliseconds between change events, 0 for no limit
+     */
+    public void setNotifyIntervalMillis(long millis) {
+        notifyIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+    }
+
+    /**
+     * Publishes any steps or changes still held back by the notify limits.
+     */
+    public void flushChanges() {
+        if (pendingSteps > 0 || dirtyFrom >= 0) {
+            publish(false);
+        }
+    }
+
+    /**
+     * Records that the values in [from, to] may have changed since the last event.
+     */
+    final void markDirty(int from, int to) {
+        if (dirtyFrom < 0 || from < dirtyFrom) {
+            dirtyFrom = from;
+        }
+        if (to > dirtyTo) {
+            dirtyTo = to;
+        }
+    }
+
+    /**
+     * Publishes a change event if the notify limits allow it.
+     * A finished sort is always published.
+     */
+    private void publishChanges(boolean finished) {
+        if (!finished) {
+            if (pendingSteps == 0 || pendingSteps < notifyEverySteps) {
+                return;
+            }
+            if (notifyIntervalNanos > 0 && System.nanoTime() - lastNotifyNanos < notifyIntervalNanos) {
+                return;
+            }
+        }
+        publish(finished);
+    }
+
+    private void publish(boolean finished) {
+        SortChange change = new SortChange(dirtyFrom, dirtyTo, pendingSteps, finished);
+        dirtyFrom = -1;
+        dirtyTo = -1;
+        pendingSteps = 0;
+        lastNotifyNanos = System.nanoTime();
+        setChanged();
+        notifyObservers(change);
+    }
+
+    /**
+     * Publishes a SortChange for work done outside the step engine, e.g. by
+     * ParallelSort. Safe to call from any thread, observers run on the caller's thread.
+     *
+     * @param from first index that changed, or -1 if none
+     * @param to last index that changed (inclusive)
+     * @param finished true if the list is now sorted
+     */
+    void publishRange(int from, int to, boolean finished) {
+        SortChange change = new SortChange(from, to, 0, finished);
+        synchronized (this) {
+            setChanged();
+            notifyObservers(change);
+        }
+    }
+
+    /**
+     * Removes random integer from the array list being sorted. A sort in
+     * progress starts over, since the values after obj moved.
+     */
+    public void remove(Integer obj) {
+        if (obj == null) {
+            return;
+        }
+        settle();
+        int index = sorted ? lowerBound(obj) : listToSort.indexOf(obj);
+        if (index >= 0 && index < listToSort.size() && listToSort.get(index) == obj) {
+            listToSort.removeAt(index);  // a sorted list stays sorted
+            valueIndex = null;  // the values after index moved
+            markDirty(index, listToSort.size());
+            if (sorting) {
+                resetSortState();
+            }
+        }
+    }
+
+    /**
+     * Method that takes a given obj and adds it to the array list being sorted.
+     * A sort in progress starts over, since its passes may not reach obj.
+     *
+     * @param obj object to append to the array list
+     */
+    public void append(Integer obj) {
+        if (obj == null) {
+            return;
+        }
+        if (sorting) {
+            settle();
+        }
+        appendValue(obj);
+        if (sorting) {
+            resetSortState();
+        }
+    }
+
+    /**
+     * Appends an int without boxing it. Used by Model's bulk add, which
+     * restarts the sort once after the last value instead of per value.
+     *
+     * @param value value to append
+     */
+    void appendValue(int value) {
+        int n = listToSort.size();
+        sorted &= n == 0 || listToSort.get(n - 1) <= value;
+        listToSort.add(value);
+        if (valueIndex != null && valueIndex.get(value) == ValueIndex.ABSENT) {
+            valueIndex.put(value, n);
+        }
+        markDirty(n, n);
+    }
+
+    /**
+     * Adds a value so that the list ends up sorted. If the list is already
+     * sorted and no sort is running, the value is placed by binary search
+     * and the values after it move up one slot, with no sort to run.
+     * Otherwise it is appended and the sort restarts.
+     *
+     * @param obj value to add
+     */
+    public void insert(Integer obj) {
+        if (obj == null) {
+            return;
+        }
+        if (!insertValue(obj)) {
+            startSort();
+        }
+    }
+
+    /**
+     * Places a value in order if the list is sorted and no sort is running,
+     * after any equal values so fewer values move. Otherwise appends it.
+     *
+     * @param value value to add
+     * @return true if the list is still sorted, false if it needs a sort
+     */
+    boolean insertValue(int value) {
+        if (!sorted || sorting) {
+            appendValue(value);
+            return false;
+        }
+        int index = upperBound(value);
+        listToSort.insertAt(index, value);
+        valueIndex = null;  // the values after index moved
+        markDirty(index, listToSort.size() - 1);
+        return true;
+    }
+
+    /** Removes every value from the array list being sorted */
+    public void clear() {
+        settle();
+        if (listToSort.size() > 0) {
+            markDirty(0, listToSort.size() - 1);
+        }
+        listToSort.clear();
+        sorting = false;
+        sorted = true;
+        valueIndex = null;
+    }
+
+    /**
+     * Returns how many values are being sorted.
+     *
+     * @return the number of values
+     */
+    public int size() {
+        return listToSort.size();
+    }
+
+    /**
+     * Returns the value at the given index without boxing it.
+     *
+     * @param index position to read
+     * @return the value at index
+     */
+    public int get(int index) {
+        return listToSort.get(index);
+    }
+
+    /**
+     * Returns a read-only view of the array list being sorted.
+     * The view is backed by the primitive store, so it reflects
+     * each sort step without copying.
+     */
+    public List<Integer> getlistToSort() {
+        return listToSort.asList();
+    }
+
+    /** Setter for array list being sorted.
+     *  Initializes array list with 10 random integers
+     */
+    public void initializelistToSort() {
+        for(int i = 0; i < 10; i++) {
+            listToSort.add(rand.nextInt(100));
+        }
+        markDirty(0, listToSort.size() - 1);
+        startSort();
+    }
+
+    /**
+     * Find method to search array list for the given obj. Takes O(log n)
+     * once the list is sorted and O(1) on average while a sort is running;
+     * only a list that was never sorted is scanned.
+     *
+     * @param obj object to find in the array list
+     * @return index of obj, the first one once sorted, or -1 if it is not in the list
+     */
+    public int find(Integer obj) {
+        if (obj == null) {
+            return -1;
+        }
+        int value = obj;
+        if (sorted) {
+            int index = lowerBound(value);
+            return (index < listToSort.size() && listToSort.get(index) == value) ? index : -1;
+        }
+        if (!sorting) {
+            return listToSort.indexOf(value);
+        }
+        if (valueIndex == null) {
+            buildValueIndex();
+        }
+        int index = valueIndex.get(value);
+        if (index == ValueIndex.ABSENT) {
+            return -1;  // every value in the list has an entry
+        }
+        if (index < listToSort.size() && listToSort.get(index) == value) {
+            return index;
+        }
+        // a step overwrote the entry, the value may still be held elsewhere
+        index = listToSort.indexOf(value);
+        valueIndex.put(value, index);
+        return index;
+    }
+
+    /**
+     * Returns the first index whose value is not less than value, size() if none.
+     * Only meaningful while the list is sorted.
+     */
+    private int lowerBound(int value) {
+        return search(value, false);
+    }
+
+    /**
+     * Returns the first index whose value is greater than value, size() if none.
+     * Only meaningful while the list is sorted.
+     */
+    private int upperBound(int value) {
+        return search(value, true);
+    }
+
+    private int search(int value, boolean pastEqual) {
+        int lo = 0;
+        int hi = listToSort.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int v = listToSort.get(mid);
+            if (v < value || (pastEqual && v == value)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Indexes every value of the list, the first index of each wins.
+     */
+    private void buildValueIndex() {
+        int n = listToSort.size();
+        valueIndex = new ValueIndex(n);
+        for (int i = n - 1; i >= 0; i--) {
+            valueIndex.put(listToSort.get(i), i);
+        }
+    }
+
+    /**
+     * Turns the work counters on or off. Turned on they start at zero and
+     * are set back to zero whenever a sort starts.
+     *
+     * @param enabled true to count the work of the sorts
+     */
+    public void setMetricsEnabled(boolean enabled) {
+        if (!enabled) {
+            metrics = null;
+        } else if (metrics == null) {
+            metrics = new SortMetrics();
+        }
+    }
+
+    /**
+     * Tells if the work counters are on.
+     *
+     * @return true if getMetrics() returns counters
+     */
+    public boolean isMetricsEnabled() {
+        return metrics != null;
+    }
+
+    /**
+     * Returns the live work counters of the current or last sort. They keep
+     * changing as the sort goes on, SortMetrics.copy() takes a snapshot.
+     *
+     * @return the counters, or null if they are turned off
+     */
+    public SortMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Tells if the list is known to be in ascending order, i.e. a sort ran
+     * to the end and nothing was added out of order since.
+     *
+     * @return true if find() can use binary search
+     */
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    /** Method that resets the current sorting instance
+     * by creating a new array list to sort over
+     */
+    public void reset() {
+        settle();
+        int oldSize = listToSort.size();
+    	if (isMapped()) {
+    	    listToSort.clear();  // keep the mapped file, it is reused for the new values
+    	} else {
+    	    listToSort = new IntArrayStore();
+    	}
+    	if (oldSize > 0) {
+    	    markDirty(0, oldSize - 1);
+    	}
+    	valueIndex = null;
+    	initializelistToSort();
+    }
+
+    /**
+     * Moves the list into a new memory-mapped file, replacing any file at the
+     * path, so it can grow past the heap. The view and find() read straight
+     * from the mapped file. Merge and Radix Sort still keep one heap buffer
+     * of size() ints, the other algorithms sort in place.
+     *
+     * @param file file that will hold the values
+     * @throws IOException if the file cannot be created
+     */
+    public void useMappedStorage(Path file) throws IOException {
+        settle();
+        MappedIntStore mapped = MappedIntStore.create(file);
+        mapped.ensureCapacity(listToSort.size());
+        for (int i = 0; i < listToSort.size(); i++) {
+            mapped.add(listToSort.get(i));
+        }
+        replaceStore(mapped);
+    }
+
+    /**
+     * Replaces the list with the values of an existing file of raw
+     * little-endian ints, mapped rather than read in, so it is sorted in place.
+     *
+     * @param file file to open
+     * @throws IOException if the file cannot be opened
+     */
+    public void openMappedStorage(Path file) throws IOException {
+        settle();
+        replaceStore(MappedIntStore.open(file));
+    }
+
+    /**
+     * Moves a memory-mapped list back onto the heap and closes its file.
+     *
+     * @throws IOException if the mapped file cannot be closed
+     */
+    public void useHeapStorage() throws IOException {
+        if (!isMapped()) {
+            return;
+        }
+        settle();
+        IntArrayStore heap = new IntArrayStore(Math.max(10, listToSort.size()));
+        for (int i = 0; i < listToSort.size(); i++) {
+            heap.add(listToSort.get(i));
+        }
+        replaceStore(heap);
+    }
+
+    /**
+     * Tells if the list lives in a memory-mapped file.
+     *
+     * @return true if the list is memory-mapped
+     */
+    public boolean isMapped() {
+        return listToSort instanceof MappedIntStore;
+    }
+
+    /**
+     * Swaps in a new store, closes the old one if it was mapped, and restarts
+     * the sort over the new values.
+     */
+    private void replaceStore(IntStore store) throws IOException {
+        IntStore old = listToSort;
+        int dirty = Math.max(old.size(), store.size());
+        listToSort = store;
+        if (old instanceof MappedIntStore && old != store) {
+            ((MappedIntStore) old).close();
+        }
+        valueIndex = null;
+        restartSort();
+        if (dirty > 0) {
+            markDirty(0, dirty - 1);
+        }
+        flushChanges();
+    }
+
+    /**
+     * Copies the values for a snapshot, settling any step in progress first
+     * so the copy never has a value missing.
+     *
+     * @return the values in their current order
+     */
+    int[] copyValues() {
+        settle();
+        int n = listToSort.size();
+        if (listToSort instanceof IntArrayStore) {
+            return Arrays.copyOf(((IntArrayStore) listToSort).rawArray(), n);
+        }
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = listToSort.get(i);
+        }
+        return values;
+    }
+
+    /**
+     * Replaces the values with the ones of a snapshot section, see SnapshotImage.
+     */
+    void readFrom(SnapshotReader in) throws IOException {
+        boolean wasSorting = in.readBoolean();
+        int n = in.readInt();
+        if (n < 0) {
+            throw new CorruptSnapshotException("Negative sorter size " + n);
+        }
+        in.checkRemaining((long) n * Integer.BYTES);
+        clear();
+        listToSort.ensureCapacity(n);
+        int[] chunk = new int[Math.min(n, 1 << 16)];
+        for (int left = n; left > 0; ) {
+            int k = Math.min(left, chunk.length);
+            in.readInts(chunk, 0, k);
+            listToSort.addAll(chunk, 0, k);
+            left -= k;
+        }
+        if (n > 0) {
+            markDirty(0, n - 1);
+        }
+        if (wasSorting) {
+            startSort();
+        } else {
+            sorted = isAscending();
+            restartSort();
+            flushChanges();
+        }
+    }
+
+    private boolean isAscending() {
+        for (int i = 1; i < listToSort.size(); i++) {
+            if (listToSort.get(i - 1) > listToSort.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Settles any step in progress first so a saved list never has a value missing.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        settle();
+        out.defaultWriteObject();
+    }
+
+    /**
+     * Called instead of reading the fields of this class for saves written
+     * before it existed, when each algorithm held its own ArrayList. The
+     * subclass then hands its fields to readLegacyList().
+     */
+    private void readObjectNoData() throws ObjectStreamException {
+        rand = new Random();
+        notifyEverySteps = 1;
+        dirtyFrom = -1;
+        dirtyTo = -1;
+    }
+
+    /**
+     * Converts the ArrayList of a save written before this class existed into
+     * the primitive list, and restarts a sort that was running when it was saved.
+     *
+     * @param fields the fields the subclass read
+     * @return true if the save was in the old layout, false if there was nothing to convert
+     * @throws InvalidObjectException if the old list is missing or holds something other than Integers
+     */
+    final boolean readLegacyList(ObjectInputStream.GetField fields) throws IOException {
+        if (listToSort != null) {
+            return false;
+        }
+        Object list = fields.get("listToSort", null);
+        if (!(list instanceof List)) {
+            throw new InvalidObjectException("Sorter saved without a list: " + list);
+        }
+        IntArrayStore store = new IntArrayStore(Math.max(10, ((List<?>) list).size()));
+        for (Object value : (List<?>) list) {
+            if (!(value instanceof Integer)) {
+                throw new InvalidObjectException("Sorter list holds " + value + ", not an Integer");
+            }
+            store.add((Integer) value);
+        }
+        listToSort = store;
+        sorting = fields.get("sorting", false);
+        if (sorting) {
+            resetSortState();
+        } else {
+            sorted = isAscending();
+        }
+        return true;
+    }
+}
@@ -1,80 +1,122 @@
 package model;
 
-import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.Observable;
-import java.util.Random;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 
 /**
  * A simple class that creates an instance of a bubble sort algorithm
  * Supports methods for add, remove, and search the sorting algorithm
- * Uses an ArrayList of Integers that are randomized 
- * 
+ * Uses a primitive IntArrayStore of Integers that are randomized
+ *
+ * By default the sort is adaptive: each pass stops at the last swap of the
+ * pass before, since everything after it is already in place, and a pass
+ * without swaps ends the sort. A sorted list takes one pass. The cocktail
+ * variant also runs backwards passes, which move small values at the end
+ * of the list to the front in one pass instead of one slot per pass.
+ *
  * @author thomasurias
  */
-@SuppressWarnings("deprecation")
-public class BubbleSort extends Observable implements Serializable, Sorter {
+public class BubbleSort extends AbstractSorter {
     /** Long to store serial ID to make instance serializable */
     private static final long serialVersionUID = 1L;
-    
-    /** Random object rand used to add random integers to initialize list */
-    private final Random rand = new Random();
-    
-    /** ArrayList that BubbleSort instance will be working on */
-    private ArrayList<Integer> listToSort;
-    
-    private int key;
-    
-    private boolean sorting = false;
+
+    /** How the passes run */
+    public enum Variant {
+        /** Every pass runs over the whole unsorted part, n - 1 passes */
+        CLASSIC,
+        /** Passes shrink to the last swap and stop when nothing moved */
+        ADAPTIVE,
+        /** Adaptive passes that alternate forwards and backwards */
+        COCKTAIL
+    }
+
+    private Variant variant = Variant.ADAPTIVE;
+
     private int i = 0;     // outer loop index
     private int j = 0;     // inner loop index
-    
-    /** Created new ArrayList to sort and calls setter to initialize array list */
+
+    private int lo = 0;          // values before lo are in place
+    private int end = 0;         // values after end are in place
+    private int lastSwap = 0;    // where the pass last swapped
+    private boolean forward = true;
+
+    /** Created new IntArrayStore to sort and calls setter to initialize array list */
     public BubbleSort() {
-        listToSort = new ArrayList<>();
         initializelistToSort();
     }
-    
-    /** 
-     * Sorting algorithm for the BubbleSort class.
-     * Runs whenever a new instance is creates or when:
-     * 	- Array list is appended to 
-     *  - Array list has object removed 
-     *  - Array list is reset
-     * Notify's view class whenever a sort iteration happens 
-     * through Observable abstract class 
+
+    @Override
+    public String getName() {
+        return "Bubble Sort";
+    }
+
+    /**
+     * Picks how the passes run. A sort in progress starts over.
+     *
+     * @param variant the variant to use
      */
-    public void startSort() {
-        sorting = true;
+    public void setVariant(Variant variant) {
+        if (variant == null) {
+            throw new IllegalArgumentException("Variant must not be null");
+        }
+        this.variant = variant;
+        if (sorting) {
+            restartSort();
+        }
+    }
+
+    /**
+     * Returns how the passes run.
+     *
+     * @return the variant in use
+     */
+    public Variant getVariant() {
+        return (variant == null) ? Variant.ADAPTIVE : variant;  // saved before variants existed
+    }
+
+    /** Restarts the outer and inner loop of the bubble sort */
+    @Override
+    void resetSortState() {
         i = 0;
         j = 0;
-        stepSort();  // first step
+        lo = 0;
+        end = listToSort.size() - 1;
+        lastSwap = 0;
+        forward = true;
     }
 
-    /** Performs a single step of bubble sort
-     * @return true if more steps remain, false if sorting is finished
+    /** Advances the bubble sort by one step without notifying observers.
+     * A step compares one pair, or ends a pass.
+     * @return true if a step was performed, false if sorting is finished
      */
-    public boolean stepSort() {
+    @Override
+    boolean advance() {
         if (!sorting || listToSort.size() <= 1) {
             sorting = false;
             return false;
         }
+        switch (getVariant()) {
+            case CLASSIC:
+                return advanceClassic();
+            case COCKTAIL:
+                return forward ? advanceForward(true) : advanceBackward();
+            default:
+                return advanceForward(false);
+        }
+    }
 
+    private boolean advanceClassic() {
         // If we've finished a full outer iteration
         if (i >= listToSort.size() - 1) {
             sorting = false;
-            setChanged();
-            notifyObservers();
             return false; // sorting done
         }
 
         // Inner loop: compare list[j] and list[j+1]
         if (j < listToSort.size() - i - 1) {
-            if (listToSort.get(j) > listToSort.get(j + 1)) {
-                // Swap
-                int temp = listToSort.get(j);
-                listToSort.set(j, listToSort.get(j + 1));
-                listToSort.set(j + 1, temp);
+            if (less(read(j + 1), read(j))) {
+                swap(j, j + 1);
+                markDirty(j, j + 1);
             }
 
             j++; // move inner loop
@@ -83,56 +125,80 @@ public class BubbleSort extends Observable implements Serializable, Sorter {
             i++;      // advance outer loop
         }
 
-        setChanged();
-        notifyObservers();
         return true; // more steps remain
     }
 
-    
-    /** Removes random integer from the array list being sorted */
-    public void remove(Integer obj) {
-        listToSort.remove(obj);
-    }
-    
     /**
-     * Method that takes a given obj and adds it to the array list being sorted 
-     * 
-     * @param obj object to append to the array list
-     */
-    public void append(Integer obj) {
-        listToSort.add(obj);
-    }
-
-    //** Returns the array list being sorted */
-    public ArrayList<Integer> getlistToSort() {
-        return listToSort;
-    }
-
-    /** Setter for array list being sorted. 
-     *  Initializes array list with 10 random integers
+     * Compares list[j] and list[j+1] for j from lo up to end. At the end of
+     * the pass the values after the last swap are in place.
      */
-    public void initializelistToSort() {
-        for(int i = 0; i < 10; i++) {
-            listToSort.add(rand.nextInt(100));
+    private boolean advanceForward(boolean turnBack) {
+        end = Math.min(end, listToSort.size() - 1);  // a value may have been removed
+        if (j < end) {
+            if (less(read(j + 1), read(j))) {
+                swap(j, j + 1);
+                markDirty(j, j + 1);
+                lastSwap = j;
+            }
+            j++;
+            return true;
+        }
+        end = lastSwap;
+        if (end <= lo) {
+            sorting = false;  // nothing moved past lo, the rest is in order
+            return false;
         }
-        startSort();
+        if (turnBack) {
+            forward = false;
+            j = end;
+            lastSwap = end;
+        } else {
+            j = lo;
+            lastSwap = lo;
+        }
+        return true;
     }
-    
+
     /**
-     * Find method to search array list for the given obj
-     * 
-     * @param obj object to find in the array list
-     * @return listToSort.indexOf(obj) index of the found obj
+     * Compares list[j-1] and list[j] for j from end down to lo. At the end of
+     * the pass the values before the last swap are in place.
      */
-    public int find(Integer obj) {
-        return listToSort.indexOf(obj);
+    private boolean advanceBackward() {
+        end = Math.min(end, listToSort.size() - 1);
+        j = Math.min(j, end);
+        if (j > lo) {
+            if (less(read(j), read(j - 1))) {
+                swap(j - 1, j);
+                markDirty(j - 1, j);
+                lastSwap = j;
+            }
+            j--;
+            return true;
+        }
+        lo = lastSwap;
+        if (lo >= end) {
+            sorting = false;
+            return false;
+        }
+        forward = true;
+        j = lo;
+        lastSwap = lo;
+        return true;
     }
 
-    /** Method that resets the current sorting instance 
-     * by creating a new array list to sort over
+    /**
+     * Reads the loop state field by field, so saves written before the
+     * variants existed still load. Their ArrayList is converted by readLegacyList().
      */
-    public void reset() {
-    	listToSort = new ArrayList<>();
-    	initializelistToSort();
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        variant = (Variant) fields.get("variant", null);
+        i = fields.get("i", 0);
+        j = fields.get("j", 0);
+        lo = fields.get("lo", 0);
+        end = fields.get("end", 0);
+        lastSwap = fields.get("lastSwap", 0);
+        forward = fields.get("forward", true);
+        readLegacyList(fields);
     }
 }
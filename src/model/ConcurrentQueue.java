@@ -0,0 +1,121 @@
+package model;
+
+import java.util.function.Consumer;
+
+/**
+ * A bounded FIFO queue that threads can share without locking, with the
+ * same enqueue, dequeue, peek and size operations as Queue. SpscQueue is
+ * for exactly one producer and one consumer thread, MpmcQueue for any
+ * number of each.
+ *
+ * The capacity is fixed and a power of two. Null items are not allowed,
+ * poll() uses null to say the queue is empty. size() and isEmpty() are
+ * only a snapshot while other threads are using the queue.
+ *
+ * @param <T> type of the items
+ * @author thomasurias
+ */
+public interface ConcurrentQueue<T> {
+    /**
+     * Adds an item to the back of the queue if there is room.
+     *
+     * @param item the item to add, not null
+     * @return false if the queue is full
+     */
+    boolean offer(T item);
+
+    /**
+     * Removes and returns the item at the front of the queue.
+     *
+     * @return the front item, or null if the queue is empty
+     */
+    T poll();
+
+    /**
+     * Returns the item at the front of the queue without removing it.
+     *
+     * @return the front item, or null if the queue is empty
+     */
+    T peekOrNull();
+
+    /**
+     * Removes up to limit items from the front of the queue and hands them
+     * to the sink in order. The items are claimed together, which costs
+     * less than polling them one by one. If the sink throws, no item is
+     * lost: the items the call had already taken out of the queue but not
+     * handed to the sink come back in a DrainException, the items after
+     * them stay in the queue, and every slot the call took is freed, so
+     * producers are never blocked by a failed drain.
+     *
+     * @param sink receives the items on the calling thread
+     * @param limit most items to remove
+     * @return how many items were removed
+     * @throws DrainException if the sink throws, with the sink's exception as the cause
+     */
+    int drain(Consumer<? super T> sink, int limit);
+
+    /**
+     * Returns how many items the queue holds at most.
+     *
+     * @return the capacity
+     */
+    int capacity();
+
+    /**
+     * Returns the number of items currently in the queue.
+     *
+     * @return number of queue elements
+     */
+    int size();
+
+    /**
+     * Adds an item to the back of the queue.
+     *
+     * @param item the item to add, not null
+     * @throws IllegalStateException if the queue is full
+     */
+    default void enqueue(T item) {
+        if (!offer(item)) {
+            throw new IllegalStateException("Queue is full");
+        }
+    }
+
+    /**
+     * Removes the item at the front of the queue. Unlike Queue it also
+     * returns the item, since another thread may change the front between
+     * a peek() and a dequeue().
+     *
+     * @return the removed item
+     * @throws IllegalStateException if the queue is empty
+     */
+    default T dequeue() {
+        T item = poll();
+        if (item == null) {
+            throw new IllegalStateException("Queue is empty");
+        }
+        return item;
+    }
+
+    /**
+     * Returns the item at the front of the queue without removing it.
+     *
+     * @return the front item
+     * @throws IllegalStateException if the queue is empty
+     */
+    default T peek() {
+        T item = peekOrNull();
+        if (item == null) {
+            throw new IllegalStateException("Queue is empty");
+        }
+        return item;
+    }
+
+    /**
+     * Checks if the queue has no elements.
+     *
+     * @return true if empty, false otherwise
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -0,0 +1,23 @@
+package model;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a snapshot file is not a snapshot, ends early, or a section
+ * does not match its checksum. The model keeps its current state when a
+ * load fails with this exception.
+ *
+ * @author thomasurias
+ */
+public class CorruptSnapshotException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates the exception with a message naming what was wrong.
+     *
+     * @param message description of the damage
+     */
+    public CorruptSnapshotException(String message) {
+        super(message);
+    }
+}
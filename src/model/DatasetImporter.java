@@ -0,0 +1,312 @@
+package model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Streams int datasets from files into a Model, or any other IntBatchSink.
+ * The input is read in fixed size chunks and parsed byte by byte, so no
+ * String is made per line and memory use is one chunk plus one batch no
+ * matter how big the file is. Parsed values are handed over a batch at a
+ * time, e.g. to Model.addAll(int[], int, int, boolean).
+ *
+ * Text input skips fields that are not ints, such as a CSV header row, and
+ * counts them in ImportProgress.getSkipped(). The import stops with an
+ * InterruptedIOException if the importing thread is interrupted.
+ *
+ * @author thomasurias
+ */
+public class DatasetImporter {
+    /** Default number of bytes read from the input at a time */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    /** Default number of values handed to the sink at a time */
+    public static final int DEFAULT_BATCH_SIZE = 1 << 16;
+
+    /** Largest magnitude a negative int can have */
+    private static final long INT_LIMIT = 1L << 31;
+
+    /**
+     * Layout of an input file.
+     */
+    public enum Format {
+        /** Comma, semicolon or tab separated ints, any number per line */
+        CSV,
+        /** One int per line */
+        LINES,
+        /** Raw 4 byte little-endian ints with no separators */
+        BINARY_LE_INT;
+
+        /**
+         * Guesses the format from a file name: .csv is CSV, .bin, .i32 and .raw
+         * are BINARY_LE_INT, anything else is LINES.
+         *
+         * @param path file to import
+         * @return the guessed format
+         */
+        public static Format forPath(Path path) {
+            String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".bin") || name.endsWith(".i32") || name.endsWith(".raw")) {
+                return BINARY_LE_INT;
+            }
+            return LINES;
+        }
+    }
+
+    /**
+     * Receives parsed values a batch at a time. The array is reused for the
+     * next batch once accept() returns.
+     */
+    @FunctionalInterface
+    public interface IntBatchSink {
+        void accept(int[] values, int count) throws IOException;
+    }
+
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int column = -1;
+    private long progressIntervalNanos = TimeUnit.MILLISECONDS.toNanos(250);
+    private Consumer<ImportProgress> progressListener;
+
+    /**
+     * Sets how many bytes are read from the input at a time.
+     *
+     * @param bytes chunk size, at least 4
+     */
+    public void setChunkSize(int bytes) {
+        chunkSize = Math.max(4, bytes);
+    }
+
+    /**
+     * Sets how many values are handed to the sink at a time. Each batch
+     * pushed into a Model restarts its sorters and notifies its observers once.
+     *
+     * @param values batch size, at least 1
+     */
+    public void setBatchSize(int values) {
+        batchSize = Math.max(1, values);
+    }
+
+    /**
+     * Picks a single CSV column to import, counting from 0. By default every
+     * int field of every line is imported. Ignored for the other formats.
+     *
+     * @param column column to import, or -1 for all of them
+     */
+    public void setColumn(int column) {
+        this.column = Math.max(-1, column);
+    }
+
+    /**
+     * Sets a listener that gets an ImportProgress at most once per interval
+     * while the import runs, and once more when it is done. It is called on
+     * the importing thread.
+     *
+     * @param listener receives progress, or null for none
+     * @param intervalMillis minimum time between two reports
+     */
+    public void setProgressListener(Consumer<ImportProgress> listener, long intervalMillis) {
+        progressListener = listener;
+        progressIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, intervalMillis));
+    }
+
+    /**
+     * Imports a file into a model, appending every value to its active structures.
+     *
+     * @param path file to import
+     * @param format layout of the file
+     * @param model model that receives the values
+     * @return the final progress, with totals for the whole file
+     * @throws IOException if the file cannot be read or the import is interrupted
+     */
+    public ImportProgress importFile(Path path, Format format, Model<?> model) throws IOException {
+        return importFile(path, format, (values, count) -> model.addAll(values, 0, count, false));
+    }
+
+    /**
+     * Imports a file, handing its values to the sink in batches.
+     *
+     * @param path file to import
+     * @param format layout of the file
+     * @param sink receives the values
+     * @return the final progress, with totals for the whole file
+     * @throws IOException if the file cannot be read or the import is interrupted
+     */
+    public ImportProgress importFile(Path path, Format format, IntBatchSink sink) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return importStream(in, Files.size(path), format, sink);
+        }
+    }
+
+    /**
+     * Imports everything left in a stream, handing its values to the sink in
+     * batches. The stream is not closed.
+     *
+     * @param in stream to read
+     * @param totalBytes number of bytes the stream holds, or -1 if unknown
+     * @param format layout of the stream
+     * @param sink receives the values
+     * @return the final progress, with totals for the whole stream
+     * @throws IOException if the stream cannot be read or the import is interrupted
+     */
+    public ImportProgress importStream(InputStream in, long totalBytes, Format format, IntBatchSink sink) throws IOException {
+        Run run = new Run(totalBytes, sink);
+        if (format == Format.BINARY_LE_INT) {
+            run.readBinary(in);
+        } else {
+            run.readText(in, format == Format.CSV);
+        }
+        run.flush();
+        ImportProgress last = run.progress(true);
+        if (progressListener != null) {
+            progressListener.accept(last);
+        }
+        return last;
+    }
+
+    /**
+     * State of one import: the buffers, the counters and the field being parsed.
+     */
+    private class Run {
+        private final long totalBytes;
+        private final IntBatchSink sink;
+        private final long startNanos = System.nanoTime();
+        private final byte[] chunk = new byte[chunkSize];
+        private final int[] batch = new int[batchSize];
+        private int batched;
+        private long bytesRead;
+        private long values;
+        private long skipped;
+        private long lastReportNanos = startNanos;
+
+        /** Field being parsed: its digits so far, its sign, and whether it is still a valid int */
+        private long magnitude;
+        private int digits;
+        private boolean negative;
+        private boolean signed;
+        private boolean invalid;
+        private boolean spaceAfterDigits;
+        private int field;
+
+        Run(long totalBytes, IntBatchSink sink) {
+            this.totalBytes = totalBytes;
+            this.sink = sink;
+        }
+
+        void readText(InputStream in, boolean csv) throws IOException {
+            int n;
+            while ((n = in.read(chunk)) > 0) {
+                for (int i = 0; i < n; i++) {
+                    byte b = chunk[i];
+                    if (b >= '0' && b <= '9') {
+                        if (spaceAfterDigits) {
+                            invalid = true;  // "1 2" is not one int
+                        }
+                        magnitude = magnitude * 10 + (b - '0');
+                        digits++;
+                        if (magnitude > INT_LIMIT) {
+                            invalid = true;
+                            magnitude = INT_LIMIT;
+                        }
+                    } else if (b == '\n') {
+                        endField();
+                        field = 0;
+                    } else if (csv && (b == ',' || b == ';' || b == '\t')) {
+                        endField();
+                        field++;
+                    } else if (b == ' ' || b == '\t' || b == '\r') {
+                        spaceAfterDigits = digits > 0 || signed;
+                    } else if ((b == '-' || b == '+') && digits == 0 && !signed) {
+                        signed = true;
+                        negative = (b == '-');
+                    } else if (b != '"') {
+                        invalid = true;
+                    }
+                }
+                chunkDone(n);
+            }
+            endField();
+        }
+
+        void readBinary(InputStream in) throws IOException {
+            int carried = 0;
+            int n;
+            while ((n = in.read(chunk, carried, chunk.length - carried)) > 0) {
+                int end = carried + n;
+                int i = 0;
+                for (; i + 4 <= end; i += 4) {
+                    push((chunk[i] & 0xFF) | (chunk[i + 1] & 0xFF) << 8
+                            | (chunk[i + 2] & 0xFF) << 16 | chunk[i + 3] << 24);
+                }
+                carried = end - i;
+                System.arraycopy(chunk, i, chunk, 0, carried);
+                chunkDone(n);
+            }
+            if (carried > 0) {
+                skipped++;  // file ends in the middle of an int
+            }
+        }
+
+        /**
+         * Pushes the field that just ended if it is a valid int in the chosen column.
+         */
+        private void endField() throws IOException {
+            boolean wanted = column < 0 || field == column;
+            if (digits > 0 && !invalid && (negative || magnitude < INT_LIMIT)) {
+                if (wanted) {
+                    push((int) (negative ? -magnitude : magnitude));
+                }
+            } else if (wanted && (digits > 0 || invalid || signed)) {
+                skipped++;
+            }
+            magnitude = 0;
+            digits = 0;
+            negative = false;
+            signed = false;
+            invalid = false;
+            spaceAfterDigits = false;
+        }
+
+        private void push(int value) throws IOException {
+            batch[batched++] = value;
+            values++;
+            if (batched == batch.length) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            if (batched > 0) {
+                sink.accept(batch, batched);
+                batched = 0;
+            }
+        }
+
+        private void chunkDone(int n) throws IOException {
+            bytesRead += n;
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Import interrupted after " + bytesRead + " bytes");
+            }
+            if (progressListener != null) {
+                long now = System.nanoTime();
+                if (now - lastReportNanos >= progressIntervalNanos) {
+                    lastReportNanos = now;
+                    progressListener.accept(progress(false));
+                }
+            }
+        }
+
+        ImportProgress progress(boolean done) {
+            return new ImportProgress(bytesRead, totalBytes, values, skipped, System.nanoTime() - startNanos, done);
+        }
+    }
+}
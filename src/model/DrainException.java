@@ -0,0 +1,37 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Thrown by ConcurrentQueue.drain() when the sink throws. The sink's
+ * exception is the cause, and unconsumed() holds the items the call had
+ * already taken out of the queue but not handed to the sink, so the caller
+ * can still process or re-queue them.
+ *
+ * @author thomasurias
+ */
+public class DrainException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final List<?> unconsumed;
+
+    /**
+     * Creates the exception for a failed drain.
+     *
+     * @param cause what the sink threw
+     * @param unconsumed items taken out of the queue that the sink did not get, in queue order
+     */
+    public DrainException(RuntimeException cause, List<?> unconsumed) {
+        super(cause);
+        this.unconsumed = List.copyOf(unconsumed);
+    }
+
+    /**
+     * Returns the items the drain took out of the queue but did not hand to the sink.
+     *
+     * @return the items in queue order, empty if every item taken reached the sink
+     */
+    public List<?> unconsumed() {
+        return unconsumed;
+    }
+}
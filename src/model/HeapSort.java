@@ -0,0 +1,100 @@
+package model;
+
+/**
+ * A class that creates an instance of a heapsort algorithm.
+ * The list is first turned into a max heap, then the max is swapped to the
+ * end and the heap shrinks by one. One step moves a value down one level
+ * of the heap.
+ * 
+ * @author thomasurias
+ */
+public class HeapSort extends AbstractSorter {
+    private static final long serialVersionUID = 1L;
+
+    private int n;           // size of the list when the sort was started
+    private boolean building;
+    private int start;       // next node to sift down while building the heap
+    private int end;         // last index of the heap while sorting
+    private int heapSize;
+    private int siftNode = -1;   // node being moved down, -1 if none
+
+    /** Created new IntArrayStore to sort and calls setter to initialize array list */
+    public HeapSort() {
+        initializelistToSort();
+    }
+
+    @Override
+    public String getName() {
+        return "Heap Sort";
+    }
+
+    /** Restarts the sort by building the heap from the last parent node */
+    @Override
+    void resetSortState() {
+        n = listToSort.size();
+        building = true;
+        start = n / 2 - 1;
+        end = n - 1;
+        heapSize = n;
+        siftNode = -1;
+    }
+
+    /** Advances the heapsort by one step without notifying observers
+     * @return true if a step was performed, false if sorting is finished
+     */
+    @Override
+    boolean advance() {
+        if (!sorting) {
+            return false;
+        }
+        if (n != listToSort.size()) {
+            restartSort();
+        }
+
+        if (siftNode >= 0) {
+            siftOneLevel();
+            return true;
+        }
+
+        if (building) {
+            if (start < 0) {
+                building = false;
+                return true;
+            }
+            siftNode = start--;
+            return true;
+        }
+
+        if (end <= 0) {
+            sorting = false;
+            return false;
+        }
+        swap(0, end);
+        markDirty(0, end);
+        heapSize = end;
+        end--;
+        siftNode = 0;
+        return true;
+    }
+
+    /**
+     * Swaps the sifted node with its larger child if that child is bigger.
+     */
+    private void siftOneLevel() {
+        int child = 2 * siftNode + 1;
+        if (child >= heapSize) {
+            siftNode = -1;
+            return;
+        }
+        if (child + 1 < heapSize && less(read(child), read(child + 1))) {
+            child++;
+        }
+        if (less(read(siftNode), read(child))) {
+            swap(siftNode, child);
+            markDirty(siftNode, child);
+            siftNode = child;
+        } else {
+            siftNode = -1;
+        }
+    }
+}
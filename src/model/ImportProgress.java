@@ -0,0 +1,97 @@
+package model;
+
+/**
+ * Snapshot of how far a DatasetImporter has got through its input.
+ * Reported to the progress listener while the import runs and returned
+ * when it is done.
+ *
+ * @author thomasurias
+ */
+public final class ImportProgress {
+    private final long bytesRead;
+    private final long totalBytes;
+    private final long values;
+    private final long skipped;
+    private final long elapsedNanos;
+    private final boolean done;
+
+    ImportProgress(long bytesRead, long totalBytes, long values, long skipped, long elapsedNanos, boolean done) {
+        this.bytesRead = bytesRead;
+        this.totalBytes = totalBytes;
+        this.values = values;
+        this.skipped = skipped;
+        this.elapsedNanos = elapsedNanos;
+        this.done = done;
+    }
+
+    /** @return bytes of input consumed so far */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /** @return size of the input in bytes, or -1 if it is not known */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /** @return values parsed and handed to the sink so far */
+    public long getValues() {
+        return values;
+    }
+
+    /** @return fields that were not valid ints, e.g. a header row, and trailing partial ints */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    /** @return time since the import started */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /** @return true once the whole input has been read */
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Returns the share of the input read so far.
+     *
+     * @return a value between 0 and 1, or -1 if the input size is not known
+     */
+    public double getFraction() {
+        if (totalBytes <= 0) {
+            return done ? 1 : -1;
+        }
+        return Math.min(1.0, (double) bytesRead / totalBytes);
+    }
+
+    /** @return input bytes read per second since the import started */
+    public double getBytesPerSecond() {
+        return perSecond(bytesRead);
+    }
+
+    /** @return values parsed per second since the import started */
+    public double getValuesPerSecond() {
+        return perSecond(values);
+    }
+
+    private double perSecond(long count) {
+        return elapsedNanos <= 0 ? 0 : count * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%,d values", values));
+        if (skipped > 0) {
+            sb.append(String.format(" (%,d skipped)", skipped));
+        }
+        sb.append(String.format(", %.1f MB", bytesRead / 1e6));
+        if (totalBytes > 0) {
+            sb.append(String.format(" of %.1f MB (%.0f%%)", totalBytes / 1e6, getFraction() * 100));
+        }
+        sb.append(String.format(", %.1f MB/s, %,.0f values/s", getBytesPerSecond() / 1e6, getValuesPerSecond()));
+        return sb.toString();
+    }
+}
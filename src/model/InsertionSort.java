@@ -1,127 +1,167 @@
 package model;
 
-import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.Observable;
-import java.util.Random;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 
 /**
  * A simple class that creates an instance of an insertion sort algorithm
  * Supports methods for add, remove, and search the sorting algorithm
- * Uses an ArrayList of Integers that are randomized 
+ * Uses a primitive IntArrayStore of Integers that are randomized 
+ *
+ * The binary variant finds where each value goes with a binary search, one
+ * comparison per step, then moves the values in its way up with a single
+ * block copy in one more step. Comparisons and shifts are separate steps,
+ * so the animation shows both; a value already in place costs one step.
  * 
  * @author thomasurias
  */
-@SuppressWarnings("deprecation")
-public class InsertionSort extends Observable implements Serializable, Sorter {
+public class InsertionSort extends AbstractSorter {
     /** Long to store serial ID to make instance serializable */
     private static final long serialVersionUID = 1L;
     
-    /** Random object rand used to add random integers to initialize list */
-    private final Random rand = new Random();
-    
-    /** ArrayList that InsertionSort instance will be working on */
-    private ArrayList<Integer> listToSort;
-    
-    private int key;
-    
+    /** How each value finds its place */
+    public enum Variant {
+        /** Swap the value down one slot per step */
+        LINEAR,
+        /** Binary search one comparison per step, then shift in one step */
+        BINARY
+    }
+
+    private Variant variant = Variant.LINEAR;
+
     private int currentIndex = 1;
     private int currentJ = 0;
-    private boolean sorting = false;
+
+    private int lo = 0;    // binary search bounds for the value at currentIndex
+    private int hi = 1;
     
-    /** Created new ArrayList to sort and calls setter to initialize array list */
+    /** Created new IntArrayStore to sort and calls setter to initialize array list */
     public InsertionSort() {
-        listToSort = new ArrayList<>();
         initializelistToSort();
     }
     
-    /** 
-     * Sorting algorithm for the InsertionSort class.
-     * Runs whenever a new instance is creates or when:
-     * 	- Array list is appended to 
-     *  - Array list has object removed 
-     *  - Array list is reset
-     * Notify's view class whenever a sort iteration happens 
-     * through Observable abstract class 
+    @Override
+    public String getName() {
+        return "Insertion Sort";
+    }
+    
+    /**
+     * Picks how each value finds its place. A sort in progress starts over.
+     *
+     * @param variant the variant to use
+     */
+    public void setVariant(Variant variant) {
+        if (variant == null) {
+            throw new IllegalArgumentException("Variant must not be null");
+        }
+        this.variant = variant;
+        if (sorting) {
+            restartSort();
+        }
+    }
+
+    /**
+     * Returns how each value finds its place.
+     *
+     * @return the variant in use
      */
-    public void startSort() {
-        sorting = true;
+    public Variant getVariant() {
+        return (variant == null) ? Variant.LINEAR : variant;  // saved before variants existed
+    }
+
+    /** Restarts the insertion sort at the second element */
+    @Override
+    void resetSortState() {
         currentIndex = 1;
         currentJ = currentIndex - 1;
-        stepSort(); 
+        lo = 0;
+        hi = currentIndex;
     }
 
-    /** Performs a single step of insertion sort
-     * @return true if more steps remain, false if sorting is finished
+    /** Advances the insertion sort by one step without notifying observers.
+     * The value being inserted is swapped down one slot per step, or in the
+     * binary variant stays where it is until the step that shifts it in, so
+     * the list always holds every value even while the sort is stopped between steps.
+     * @return true if a step was performed, false if sorting is finished
      */
-    public boolean stepSort() {
+    @Override
+    boolean advance() {
         if (!sorting || currentIndex >= listToSort.size()) {
             sorting = false;
             return false;
         }
-
-        if (currentJ == currentIndex - 1) { 
-            key = listToSort.get(currentIndex);
+        if (getVariant() == Variant.BINARY) {
+            return advanceBinary();
         }
 
-        if (currentJ >= 0 && listToSort.get(currentJ) > key) {
-            listToSort.set(currentJ + 1, listToSort.get(currentJ));
+        if (currentJ >= 0 && less(read(currentJ + 1), read(currentJ))) {
+            swap(currentJ, currentJ + 1);
+            markDirty(currentJ, currentJ + 1);
             currentJ--;
         } else {
-            listToSort.set(currentJ + 1, key);
             currentIndex++;
             currentJ = currentIndex - 1;
         }
 
-        setChanged();
-        notifyObservers();
         return true;
     }
-    
-    /** Removes random integer from the array list being sorted */
-    public void remove(Integer obj) {
-        listToSort.remove(obj);
-    }
-    
+
     /**
-     * Method that takes a given obj and adds it to the array list being sorted 
-     * 
-     * @param obj object to append to the array list
+     * Performs one comparison of the binary search for the value at
+     * currentIndex, or once the search is done shifts the values from its
+     * place to currentIndex up one slot and writes it there. The search
+     * first looks at the value just before it, so a value that is already
+     * in place takes a single comparison.
      */
-    public void append(Integer obj) {
-        listToSort.add(obj);
+    private boolean advanceBinary() {
+        int key = read(currentIndex);
+        if (hi == currentIndex) {
+            if (!less(key, read(currentIndex - 1))) {
+                nextKey();  // already in place
+                return true;
+            }
+            hi = currentIndex - 1;
+            return true;
+        }
+        if (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (less(key, read(mid))) {
+                hi = mid;
+            } else {
+                lo = mid + 1;  // after equal values, so the sort stays stable
+            }
+            return true;
+        }
+        move(lo, lo + 1, currentIndex - lo);
+        write(lo, key);
+        markDirty(lo, currentIndex);
+        nextKey();
+        return true;
     }
 
-    //** Returns the array list being sorted */
-    public ArrayList<Integer> getlistToSort() {
-        return listToSort;
+    private void nextKey() {
+        currentIndex++;
+        lo = 0;
+        hi = currentIndex;
     }
 
-    /** Setter for array list being sorted. 
-     *  Initializes array list with 10 random integers
-     */
-    public void initializelistToSort() {
-        for(int i = 0; i < 10; i++) {
-            listToSort.add(rand.nextInt(100));
-        }
-        startSort();
-    }
-    
     /**
-     * Find method to search array list for the given obj
-     * 
-     * @param obj object to find in the array list
-     * @return listToSort.indexOf(obj) index of the found obj
+     * Reads the sort state field by field, so saves written before the
+     * variants existed still load. Their ArrayList is converted by
+     * readLegacyList(), and a value those saves held outside the list in the
+     * middle of a shift is put back before the sort starts over.
      */
-    public int find(Integer obj) {
-        return listToSort.indexOf(obj);
-    }
-
-    /** Method that resets the current sorting instance 
-     * by creating a new array list to sort over
-     */
-    public void reset() {
-    	listToSort = new ArrayList<>();
-    	initializelistToSort();
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        variant = (Variant) fields.get("variant", null);
+        currentIndex = fields.get("currentIndex", 1);
+        currentJ = fields.get("currentJ", 0);
+        lo = fields.get("lo", 0);
+        hi = fields.get("hi", 1);
+        int savedIndex = currentIndex;
+        int savedJ = currentJ;
+        if (readLegacyList(fields) && sorting && savedJ < savedIndex - 1 && savedJ + 1 < listToSort.size()) {
+            listToSort.set(savedJ + 1, fields.get("key", 0));
+        }
     }
 }
@@ -0,0 +1,246 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Growable primitive int storage shared by the sorting algorithms.
+ * Values are kept unboxed in an int[] so every compare and swap a sort
+ * step makes is a plain array access. Callers that need a List get a
+ * read-only view over the same array instead of a copy.
+ *
+ * @author thomasurias
+ */
+public class IntArrayStore implements IntStore {
+    private static final long serialVersionUID = 1L;
+
+    /** Array holding the values, only the first size slots are in use */
+    private int[] data;
+
+    /** Number of values currently stored */
+    private int size;
+
+    /** Lazily created read-only view handed out by asList() */
+    private transient List<Integer> view;
+
+    /**
+     * Creates an empty store with a starting capacity of 10.
+     */
+    public IntArrayStore() {
+        this(10);
+    }
+
+    /**
+     * Creates an empty store with the given starting capacity.
+     *
+     * @param capacity number of values the store can hold before growing
+     */
+    public IntArrayStore(int capacity) {
+        data = new int[Math.max(capacity, 1)];
+        size = 0;
+    }
+
+    /**
+     * Returns how many values are in the store.
+     *
+     * @return the number of values
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the value at the given index.
+     *
+     * @param index position to read
+     * @return the value at index
+     * @throws IndexOutOfBoundsException if index is not in [0, size)
+     */
+    @Override
+    public int get(int index) {
+        checkIndex(index);
+        return data[index];
+    }
+
+    /**
+     * Replaces the value at the given index.
+     *
+     * @param index position to write
+     * @param value value to store
+     * @throws IndexOutOfBoundsException if index is not in [0, size)
+     */
+    @Override
+    public void set(int index, int value) {
+        checkIndex(index);
+        data[index] = value;
+    }
+
+    /**
+     * Swaps the values at two indices.
+     *
+     * @param a first index
+     * @param b second index
+     */
+    @Override
+    public void swap(int a, int b) {
+        checkIndex(a);
+        checkIndex(b);
+        int temp = data[a];
+        data[a] = data[b];
+        data[b] = temp;
+    }
+
+    /**
+     * Appends a value to the end of the store, growing the array if it is full.
+     *
+     * @param value value to append
+     */
+    @Override
+    public void add(int value) {
+        if (size == data.length) {
+            grow(size + 1);
+        }
+        data[size++] = value;
+    }
+
+    /**
+     * Appends a range of an int array with one arraycopy.
+     *
+     * @param values array holding the values
+     * @param offset index of the first value to append
+     * @param length number of values to append
+     */
+    @Override
+    public void addAll(int[] values, int offset, int length) {
+        ensureCapacity(size + length);
+        System.arraycopy(values, offset, data, size, length);
+        size += length;
+    }
+
+    /**
+     * Grows the backing array once so the store can hold minCapacity values
+     * without growing again, e.g. before a bulk load.
+     *
+     * @param minCapacity number of values the store should be able to hold
+     */
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > data.length) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * Copies a range within the store with one arraycopy.
+     *
+     * @param from index of the first value to copy
+     * @param to index the first value is copied to
+     * @param length number of values to copy
+     */
+    @Override
+    public void copyRange(int from, int to, int length) {
+        if (length < 0 || Math.min(from, to) < 0 || Math.max(from, to) + length > size) {
+            throw new IndexOutOfBoundsException("Range " + from + " -> " + to + " of " + length
+                    + " out of bounds for size " + size);
+        }
+        System.arraycopy(data, from, data, to, length);
+    }
+
+    /**
+     * Inserts a value at the given index, shifting the rest up with one arraycopy.
+     *
+     * @param index position of the new value
+     * @param value value to insert
+     * @throws IndexOutOfBoundsException if index is not in [0, size]
+     */
+    @Override
+    public void insertAt(int index, int value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        if (size == data.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(data, index, data, index + 1, size - index);
+        data[index] = value;
+        size++;
+    }
+
+    /**
+     * Removes the value at the given index and shifts the rest down.
+     *
+     * @param index position to remove
+     * @return the removed value
+     * @throws IndexOutOfBoundsException if index is not in [0, size)
+     */
+    @Override
+    public int removeAt(int index) {
+        checkIndex(index);
+        int value = data[index];
+        System.arraycopy(data, index + 1, data, index, size - index - 1);
+        size--;
+        return value;
+    }
+
+    /**
+     * Finds the first index holding value.
+     *
+     * @param value value to look for
+     * @return the index of value, or -1 if it is not stored
+     */
+    @Override
+    public int indexOf(int value) {
+        for (int i = 0; i < size; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes every value. The backing array is kept for reuse.
+     */
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns the backing array for sort engines in this package.
+     * Only the first size() slots are meaningful.
+     */
+    int[] rawArray() {
+        return data;
+    }
+
+    /**
+     * Returns a live read-only List view of the stored values.
+     * The view reflects later changes to the store without copying.
+     *
+     * @return read-only List over this store
+     */
+    @Override
+    public List<Integer> asList() {
+        if (view == null) {
+            view = new IntStoreView(this);
+        }
+        return view;
+    }
+
+    /**
+     * Makes the backing array big enough to hold minCapacity values.
+     */
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(data.length * 2, minCapacity);
+        int[] newData = new int[newCapacity];
+        System.arraycopy(data, 0, newData, 0, size);
+        data = newData;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+}
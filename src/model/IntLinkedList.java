@@ -0,0 +1,380 @@
+package model;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * An instance of this class represents a Linked List of ints. It has the same append, prepend,
+ * insert, remove, reset, and find functionality as LinkedList, and both are a ValueList, so
+ * Model can hold either one and switches to this one when the values are Integers.
+ *
+ * Instead of one node object and one boxed Integer per value, the values sit next to each
+ * other in one int array with free room at both ends, so each takes 4 bytes and walking the
+ * list reads memory in order. Adding or removing at either end is O(1) amortized, get(index)
+ * is O(1), and an insert or remove in the middle moves the shorter side of the array with one
+ * System.arraycopy. The positional skip index and the value hash index of LinkedList are not
+ * kept: get(index) does not need one, and find(data) scans the ints.
+ * @author thomasurias
+ */
+public class IntLinkedList implements ValueList<Integer>, Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	/** The values are values[first] to values[first + size - 1] */
+	private transient int[] values;
+	private transient int first;
+	private int size;
+
+	/** Counts every change so iterators over asList() fail fast */
+	private transient int modCount;
+
+	/** Lazily created read-only view handed out by asList() */
+	private transient List<Integer> view;
+
+	/** The index settings asked for, kept for a copy back into a LinkedList */
+	private boolean indexed;
+	private boolean hashed;
+
+	/**
+	 * Creates an empty LL.
+	 */
+	public IntLinkedList() {
+		values = new int[INITIAL_CAPACITY];
+		first = INITIAL_CAPACITY / 2;
+	}
+
+	/**
+	 * Creates a LL holding the values of another LL, head first.
+	 * @param other : LL to copy, every value must be an Integer
+	 */
+	public IntLinkedList(ValueList<Integer> other) {
+		List<Integer> items = other.asList();
+		values = new int[Math.max(INITIAL_CAPACITY, items.size() + items.size() / 2)];
+		first = (values.length - items.size()) / 2;
+		for(Integer item : items) {
+			values[first + size++] = item;
+		}
+	}
+
+	/**
+	 * No skip index is built, get(index) is O(1) already. The setting is only remembered, so
+	 * Model can keep it when it copies the values back into a LinkedList.
+	 * @param indexed : true to ask for the index
+	 */
+	@Override
+	public void setIndexed(boolean indexed) {
+		this.indexed = indexed;
+	}
+
+	@Override
+	public boolean isIndexed() {
+		return indexed;
+	}
+
+	/**
+	 * No hash index is built, find(data) scans the ints instead. The setting is only
+	 * remembered, like setIndexed().
+	 * @param hashed : true to ask for the hash index
+	 */
+	@Override
+	public void setHashIndexed(boolean hashed) {
+		this.hashed = hashed;
+	}
+
+	@Override
+	public boolean isHashIndexed() {
+		return hashed;
+	}
+
+	@Override
+	public void prepend(Integer data) {
+		if(data != null) {
+			insertInt(data, 0);
+		}
+	}
+
+	@Override
+	public void append(Integer data) {
+		if(data != null) {
+			insertInt(data, size);
+		}
+	}
+
+	@Override
+	public void insert(Integer data, int index) {
+		if(data != null && index >= 0 && index <= size) {
+			insertInt(data, index);
+		}
+	}
+
+	/**
+	 * This method inserts a value without boxing it. The shorter side of the list moves
+	 * over by one.
+	 * @param value : value to insert
+	 * @param index : index where it should be inserted, in [0, size]
+	 */
+	public void insertInt(int value, int index) {
+		if(index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+		}
+		boolean front = index < size - index;
+		if(front ? first == 0 : first + size == values.length) {
+			grow();
+		}
+		if(front) {
+			System.arraycopy(values, first, values, first - 1, index);
+			first--;
+		} else {
+			System.arraycopy(values, first + index, values, first + index + 1, size - index);
+		}
+		values[first + index] = value;
+		size++;
+		modCount++;
+	}
+
+	@Override
+	public void remove(Integer data) {
+		if(data != null) {
+			int index = findInt(data);
+			if(index >= 0) {
+				removeAt(index);
+			}
+		}
+	}
+
+	@Override
+	public Integer removeFirst() {
+		if(size == 0) {
+			throw new IllegalStateException("List is empty");
+		}
+		return removeAt(0);
+	}
+
+	@Override
+	public Integer removeLast() {
+		if(size == 0) {
+			throw new IllegalStateException("List is empty");
+		}
+		return removeAt(size - 1);
+	}
+
+	/**
+	 * This method removes the value at an index, moving the shorter side of the list.
+	 * @param index : index of the value
+	 * @return : the removed value
+	 */
+	public int removeAt(int index) {
+		int value = getInt(index);
+		if(index < size - 1 - index) {
+			System.arraycopy(values, first, values, first + 1, index);
+			first++;
+		} else {
+			System.arraycopy(values, first + index + 1, values, first + index, size - 1 - index);
+		}
+		size--;
+		modCount++;
+		if(size == 0) {
+			first = values.length / 2;
+		}
+		return value;
+	}
+
+	@Override
+	public Integer get(int index) {
+		return getInt(index);
+	}
+
+	/**
+	 * This method gets the value at an index in O(1) without boxing it.
+	 * @param index : index of the value
+	 * @return : the value at index
+	 */
+	public int getInt(int index) {
+		if(index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+		}
+		return values[first + index];
+	}
+
+	@Override
+	public int find(Integer data) {
+		return (data == null) ? -1 : findInt(data);
+	}
+
+	/**
+	 * This method finds the first index holding a value.
+	 * @param value : value to find
+	 * @return : the index, or -1 if not found
+	 */
+	public int findInt(int value) {
+		int end = first + size;
+		for(int i = first; i < end; i++) {
+			if(values[i] == value) {
+				return i - first;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public boolean contains(Integer data) {
+		return find(data) >= 0;
+	}
+
+	@Override
+	public void reset() {
+		values = new int[INITIAL_CAPACITY];
+		first = INITIAL_CAPACITY / 2;
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public List<Integer> asList() {
+		if(view == null) {
+			view = new ListView();
+		}
+		return view;
+	}
+
+	@Override
+	public ArrayList<Integer> getLL() {
+		ArrayList<Integer> theList = new ArrayList<>(size);
+		for(int i = first; i < first + size; i++) {
+			theList.add(values[i]);
+		}
+		return theList;
+	}
+
+	/**
+	 * This method returns a copy of the values from head to tail.
+	 * @return : the values, not boxed
+	 */
+	public int[] toIntArray() {
+		int[] copy = new int[size];
+		System.arraycopy(values, first, copy, 0, size);
+		return copy;
+	}
+
+	/**
+	 * Doubles the array and centers the values in it, so both ends get room.
+	 */
+	private void grow() {
+		if(values.length >= Queue.MAX_CAPACITY) {
+			throw new IllegalStateException("List is full");
+		}
+		int[] bigger = new int[values.length * 2];
+		int start = (bigger.length - size) / 2;
+		System.arraycopy(values, first, bigger, start, size);
+		values = bigger;
+		first = start;
+	}
+
+	/**
+	 * Read-only List over the array, index 0 is the head.
+	 */
+	private class ListView extends AbstractList<Integer> implements RandomAccess {
+		@Override
+		public Integer get(int index) {
+			return getInt(index);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public int indexOf(Object o) {
+			return (o instanceof Integer) ? findInt((Integer) o) : -1;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return indexOf(o) >= 0;
+		}
+
+		@Override
+		public Iterator<Integer> iterator() {
+			return new Iterator<Integer>() {
+				private final int expectedModCount = IntLinkedList.this.modCount;
+				private int next = 0;
+
+				@Override
+				public boolean hasNext() {
+					return next < size;
+				}
+
+				@Override
+				public Integer next() {
+					if(IntLinkedList.this.modCount != expectedModCount) {
+						throw new ConcurrentModificationException();
+					}
+					if(next >= size) {
+						throw new NoSuchElementException();
+					}
+					return values[first + next++];
+				}
+			};
+		}
+
+		@Override
+		public Object[] toArray() {
+			Object[] copy = new Object[size];
+			for(int i = 0; i < size; i++) {
+				copy[i] = values[first + i];
+			}
+			return copy;
+		}
+
+		@Override
+		public void forEach(Consumer<? super Integer> action) {
+			int expected = IntLinkedList.this.modCount;
+			for(int i = 0; i < size; i++) {
+				action.accept(values[first + i]);
+				if(IntLinkedList.this.modCount != expected) {
+					throw new ConcurrentModificationException();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes the size and then the values from head to tail, not the free room around them.
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		for(int i = first; i < first + size; i++) {
+			out.writeInt(values[i]);
+		}
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		if(size < 0 || size > Queue.MAX_CAPACITY) {
+			throw new InvalidObjectException("Linked list size " + size + " is out of range");
+		}
+		values = new int[Math.max(INITIAL_CAPACITY, size + size / 2)];
+		first = (values.length - size) / 2;
+		for(int i = 0; i < size; i++) {
+			values[first + i] = in.readInt();
+		}
+	}
+}
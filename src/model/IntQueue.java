@@ -0,0 +1,322 @@
+package model;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * A queue of ints on a circular int array instead of an array of Integer
+ * objects, so each value takes 4 bytes instead of a reference and a boxed
+ * Integer. It has the same power-of-two ring and shrink policy as Queue,
+ * and both are a ValueQueue, so Model can hold either one and switches to
+ * this one when the values are Integers.
+ *
+ * enqueueInt(), dequeueInt() and peekInt() work on the values without
+ * boxing them. Null cannot be enqueued.
+ *
+ * @author thomasurias
+ */
+public class IntQueue implements ValueQueue<Integer>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Ring of values, capacity always a power of two */
+    private transient int[] values;
+
+    /** Index of the front value */
+    private transient int front;
+
+    /** Number of values in the queue */
+    private int size;
+
+    /** Capacity the queue never shrinks below */
+    private int minCapacity = Queue.DEFAULT_CAPACITY;
+
+    /** Shrink once at most 1/shrinkDivisor of the ring is used, 0 to never shrink */
+    private int shrinkDivisor = 4;
+
+    /** Counts every enqueue, dequeue and reset so iterators over asList() fail fast */
+    private transient int modCount;
+
+    /** Lazily created read-only view handed out by asList() */
+    private transient List<Integer> view;
+
+    /**
+     * Creates new empty queue with an initial capacity 16.
+     */
+    public IntQueue() {
+        this(Queue.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates new empty queue that holds initialCapacity values before it grows.
+     *
+     * @param initialCapacity rounded up to a power of two
+     */
+    public IntQueue(int initialCapacity) {
+        if (initialCapacity < 0 || initialCapacity > Queue.MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity " + initialCapacity + " is out of range");
+        }
+        values = new int[Queue.powerOfTwo(initialCapacity)];
+    }
+
+    /**
+     * Creates a queue holding the values of another queue, front first.
+     *
+     * @param other queue to copy, every value must be an Integer
+     */
+    public IntQueue(ValueQueue<Integer> other) {
+        this(Math.max(Queue.DEFAULT_CAPACITY, other.size()));
+        for (Integer item : other.asList()) {
+            values[size++] = item;
+        }
+    }
+
+    @Override
+    public void setShrinkPolicy(int minCapacity, int occupancyDivisor) {
+        Queue.checkShrinkPolicy(minCapacity, occupancyDivisor);
+        this.minCapacity = Queue.powerOfTwo(minCapacity);
+        this.shrinkDivisor = occupancyDivisor;
+    }
+
+    @Override
+    public void enqueue(Integer item) {
+        enqueueInt(item);
+    }
+
+    /**
+     * Adds a value to the back of the queue without boxing it.
+     *
+     * @param value the value to add
+     */
+    public void enqueueInt(int value) {
+        if (size == values.length) {
+            if (values.length == Queue.MAX_CAPACITY) {
+                throw new IllegalStateException("Queue is full");
+            }
+            resize(values.length * 2);
+        }
+        values[(front + size) & (values.length - 1)] = value;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public void dequeue() {
+        dequeueInt();
+    }
+
+    /**
+     * Removes the value at the front of the queue and returns it.
+     *
+     * @return the removed value
+     * @throws IllegalStateException if the queue is empty
+     */
+    public int dequeueInt() {
+        if (size == 0) {
+            throw new IllegalStateException("Queue is empty");
+        }
+        int value = values[front];
+        front = (front + 1) & (values.length - 1);
+        size--;
+        modCount++;
+        if (shrinkDivisor > 0 && values.length > minCapacity && size <= values.length / shrinkDivisor) {
+            int capacity = values.length;
+            while (capacity > minCapacity && size <= capacity / shrinkDivisor) {
+                capacity /= 2;
+            }
+            resize(Math.max(minCapacity, capacity));
+        }
+        return value;
+    }
+
+    @Override
+    public Integer peek() {
+        return peekInt();
+    }
+
+    /**
+     * Returns the value at the front of the queue without removing or boxing it.
+     *
+     * @return the front value
+     * @throws IllegalStateException if the queue is empty
+     */
+    public int peekInt() {
+        if (size == 0) {
+            throw new IllegalStateException("Queue is empty");
+        }
+        return values[front];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void reset() {
+        if (shrinkDivisor > 0 && values.length > minCapacity) {
+            values = new int[minCapacity];
+        }
+        front = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns a copy of the values from front to rear.
+     *
+     * @return the values, not boxed
+     */
+    public int[] toIntArray() {
+        int[] copy = new int[size];
+        copyInOrder(copy);
+        return copy;
+    }
+
+    /**
+     * Returns the int ring itself for drawing. Value i of the queue is at
+     * index (getFrontIndex() + i) &amp; (getCapacity() - 1).
+     *
+     * @return the backing array, not a copy
+     */
+    public int[] getRawArray() {
+        return values;
+    }
+
+    public int getFrontIndex() {
+        return front;
+    }
+
+    public int getRearIndex() {
+        return (front + size) & (values.length - 1);
+    }
+
+    public int getCapacity() {
+        return values.length;
+    }
+
+    @Override
+    public List<Integer> asList() {
+        if (view == null) {
+            view = new ListView();
+        }
+        return view;
+    }
+
+    /**
+     * Moves the values to a ring of the given capacity, front first.
+     */
+    private void resize(int capacity) {
+        int[] ring = new int[capacity];
+        copyInOrder(ring);
+        values = ring;
+        front = 0;
+    }
+
+    /**
+     * Copies the values into the start of target in queue order, as two blocks.
+     */
+    private void copyInOrder(int[] target) {
+        int head = Math.min(size, values.length - front);
+        System.arraycopy(values, front, target, 0, head);
+        System.arraycopy(values, 0, target, head, size - head);
+    }
+
+    /**
+     * Writes only the values in use, front first.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        for (int i = 0; i < size; i++) {
+            out.writeInt(values[(front + i) & (values.length - 1)]);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (size < 0 || size > Queue.MAX_CAPACITY || minCapacity < 1 || minCapacity > Queue.MAX_CAPACITY
+                || (shrinkDivisor != 0 && shrinkDivisor < 4)) {
+            throw new InvalidObjectException("Queue state is inconsistent");
+        }
+        values = new int[Queue.powerOfTwo(Math.max(minCapacity, size))];
+        for (int i = 0; i < size; i++) {
+            values[i] = in.readInt();
+        }
+    }
+
+    /**
+     * Read-only List over the ring, index 0 is the front of the queue.
+     */
+    private class ListView extends AbstractList<Integer> implements RandomAccess {
+        @Override
+        public Integer get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+            }
+            return values[(front + index) & (values.length - 1)];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<Integer>() {
+                private final int expectedModCount = IntQueue.this.modCount;
+                private int next = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return next < size;
+                }
+
+                @Override
+                public Integer next() {
+                    if (IntQueue.this.modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    if (next >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    return values[(front + next++) & (values.length - 1)];
+                }
+            };
+        }
+
+        @Override
+        public Object[] toArray() {
+            Object[] copy = new Object[size];
+            for (int i = 0; i < size; i++) {
+                copy[i] = values[(front + i) & (values.length - 1)];
+            }
+            return copy;
+        }
+
+        @Override
+        public void forEach(Consumer<? super Integer> action) {
+            int expected = IntQueue.this.modCount;
+            for (int i = 0; i < size; i++) {
+                action.accept(values[(front + i) & (values.length - 1)]);
+                if (IntQueue.this.modCount != expected) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+        }
+    }
+}
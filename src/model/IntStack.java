@@ -0,0 +1,235 @@
+package model;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * A stack of ints that keeps its values in an int array instead of an
+ * array of Integer objects, so each value takes 4 bytes instead of a
+ * reference and a boxed Integer. Like Stack it is a ValueStack, which is how
+ * Model holds either one; Model switches to it when the values are Integers.
+ *
+ * pushInt() and peekInt() work on the values without boxing them. Null
+ * cannot be pushed.
+ *
+ * @author thomasurias
+ */
+public class IntStack implements ValueStack<Integer>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int INITIAL_CAPACITY = 10;
+
+    /** Stack values from the bottom up, the first size are in use */
+    private transient int[] values = new int[INITIAL_CAPACITY];
+
+    /** Number of values on the stack */
+    private int size;
+
+    /** Counts every push, pop and reset so iterators over asList() fail fast */
+    private transient int modCount;
+
+    /** Lazily created read-only view handed out by asList() */
+    private transient List<Integer> view;
+
+    /**
+     * Creates a new stack with a starting size of 10.
+     */
+    public IntStack() {
+    }
+
+    /**
+     * Creates a stack holding the values of another stack, bottom first.
+     *
+     * @param other stack to copy, every value must be an Integer
+     */
+    public IntStack(ValueStack<Integer> other) {
+        List<Integer> items = other.asList();
+        values = new int[Math.max(INITIAL_CAPACITY, items.size())];
+        for (Integer item : items) {
+            values[size++] = item;
+        }
+    }
+
+    @Override
+    public void push(Integer obj) {
+        pushInt(obj);
+    }
+
+    /**
+     * Adds a value to the top of the stack without boxing it.
+     *
+     * @param value the value to add
+     */
+    public void pushInt(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[size++] = value;
+        modCount++;
+    }
+
+    @Override
+    public void pop() {
+        if (size == 0) {
+            throw new IllegalStateException("Stack is empty");
+        }
+        size--;
+        modCount++;
+    }
+
+    @Override
+    public Integer peek() {
+        return peekInt();
+    }
+
+    /**
+     * Looks at the top value without removing or boxing it.
+     *
+     * @return the top value
+     * @throws IllegalStateException if the stack is empty
+     */
+    public int peekInt() {
+        if (size == 0) {
+            throw new IllegalStateException("Stack is empty");
+        }
+        return values[size - 1];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void reset() {
+        values = new int[INITIAL_CAPACITY];
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public List<Integer> getStackElements() {
+        List<Integer> elements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            elements.add(values[i]);
+        }
+        return elements;
+    }
+
+    /**
+     * Returns a copy of the values from bottom to top.
+     *
+     * @return the values, not boxed
+     */
+    public int[] toIntArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public List<Integer> asList() {
+        if (view == null) {
+            view = new ListView();
+        }
+        return view;
+    }
+
+    /**
+     * Writes only the values in use, not the spare capacity.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        for (int i = 0; i < size; i++) {
+            out.writeInt(values[i]);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (size < 0) {
+            throw new InvalidObjectException("Negative stack size " + size);
+        }
+        values = new int[Math.max(INITIAL_CAPACITY, size)];
+        for (int i = 0; i < size; i++) {
+            values[i] = in.readInt();
+        }
+    }
+
+    /**
+     * Read-only List over the array, index 0 is the bottom of the stack.
+     */
+    private class ListView extends AbstractList<Integer> implements RandomAccess {
+        @Override
+        public Integer get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+            }
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<Integer>() {
+                private final int expectedModCount = IntStack.this.modCount;
+                private int next = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return next < size;
+                }
+
+                @Override
+                public Integer next() {
+                    if (IntStack.this.modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    if (next >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    return values[next++];
+                }
+            };
+        }
+
+        @Override
+        public Object[] toArray() {
+            Object[] copy = new Object[size];
+            for (int i = 0; i < size; i++) {
+                copy[i] = values[i];
+            }
+            return copy;
+        }
+
+        @Override
+        public void forEach(Consumer<? super Integer> action) {
+            int expected = IntStack.this.modCount;
+            for (int i = 0; i < size; i++) {
+                action.accept(values[i]);
+                if (IntStack.this.modCount != expected) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package model;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Primitive int storage a sorter works on. IntArrayStore keeps the values
+ * on the heap, MappedIntStore keeps them in a memory-mapped file so a list
+ * can be bigger than the heap.
+ *
+ * @author thomasurias
+ */
+public interface IntStore extends Serializable {
+    /**
+     * Returns how many values are in the store.
+     *
+     * @return the number of values
+     */
+    int size();
+
+    /**
+     * Returns the value at the given index.
+     *
+     * @param index position to read
+     * @return the value at index
+     * @throws IndexOutOfBoundsException if index is not in [0, size)
+     */
+    int get(int index);
+
+    /**
+     * Replaces the value at the given index.
+     *
+     * @param index position to write
+     * @param value value to store
+     * @throws IndexOutOfBoundsException if index is not in [0, size)
+     */
+    void set(int index, int value);
+
+    /**
+     * Swaps the values at two indices.
+     *
+     * @param a first index
+     * @param b second index
+     */
+    void swap(int a, int b);
+
+    /**
+     * Copies length values starting at from so they start at to, like
+     * System.arraycopy within the store. The ranges may overlap.
+     *
+     * @param from index of the first value to copy
+     * @param to index the first value is copied to
+     * @param length number of values to copy
+     */
+    default void copyRange(int from, int to, int length) {
+        if (to > from) {
+            for (int i = length - 1; i >= 0; i--) {
+                set(to + i, get(from + i));
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                set(to + i, get(from + i));
+            }
+        }
+    }
+
+    /**
+     * Appends a value to the end of the store.
+     *
+     * @param value value to append
+     */
+    void add(int value);
+
+    /**
+     * Appends a range of an int array to the end of the store.
+     *
+     * @param values array holding the values
+     * @param offset index of the first value to append
+     * @param length number of values to append
+     */
+    default void addAll(int[] values, int offset, int length) {
+        ensureCapacity(size() + length);
+        for (int i = offset; i < offset + length; i++) {
+            add(values[i]);
+        }
+    }
+
+    /**
+     * Makes room for minCapacity values at once, e.g. before a bulk load.
+     *
+     * @param minCapacity number of values the store should be able to hold
+     */
+    void ensureCapacity(int minCapacity);
+
+    /**
+     * Inserts a value at the given index and shifts the rest up.
+     *
+     * @param index position of the new value
+     * @param value value to insert
+     * @throws IndexOutOfBoundsException if index is not in [0, size]
+     */
+    void insertAt(int index, int value);
+
+    /**
+     * Removes the value at the given index and shifts the rest down.
+     *
+     * @param index position to remove
+     * @return the removed value
+     * @throws IndexOutOfBoundsException if index is not in [0, size)
+     */
+    int removeAt(int index);
+
+    /**
+     * Removes the first occurrence of value and shifts the rest down.
+     *
+     * @param value value to remove
+     * @return true if the value was found and removed
+     */
+    default boolean removeValue(int value) {
+        int index = indexOf(value);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Finds the first index holding value.
+     *
+     * @param value value to look for
+     * @return the index of value, or -1 if it is not stored
+     */
+    int indexOf(int value);
+
+    /**
+     * Removes every value.
+     */
+    void clear();
+
+    /**
+     * Returns a live read-only List view of the stored values.
+     *
+     * @return read-only List over this store
+     */
+    List<Integer> asList();
+}
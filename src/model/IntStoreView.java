@@ -0,0 +1,38 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only List over an IntStore. Boxing only happens for the
+ * element a caller actually reads.
+ *
+ * @author thomasurias
+ */
+class IntStoreView extends AbstractList<Integer> implements RandomAccess {
+    private final IntStore store;
+
+    IntStoreView(IntStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Integer get(int index) {
+        return store.get(index);
+    }
+
+    @Override
+    public int size() {
+        return store.size();
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return (o instanceof Integer) ? store.indexOf((Integer) o) : -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+}
@@ -0,0 +1,361 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of the changes made to a Model since its last snapshot.
+ *
+ * <pre>
+ * header: int magic, int version, long generation, UTF codec id
+ * record: int payload length, int CRC32 of the payload, payload
+ * payload: byte op, int count, short header length, header, count elements
+ * </pre>
+ * What the op, header and elements mean is up to the Model. Consecutive
+ * elements with the same op and header share one record, so a bulk add is
+ * one record instead of one per value. Records are buffered and reach the
+ * disk on sync().
+ *
+ * The generation ties the journal to the snapshot it extends. Compaction
+ * marks the journal, writes a snapshot with the next generation that
+ * records the mark, and only then rotates the journal, keeping the records
+ * written after the mark. A crash before the rotation leaves the old
+ * journal, which recovery replays from the mark, so nothing is applied
+ * twice or lost. A record torn by a crash fails its length or checksum and
+ * ends the replay there.
+ *
+ * Appends, sync and rotation are synchronized on the journal, so a
+ * compaction can finish on the I/O thread while the model keeps changing.
+ *
+ * @author thomasurias
+ */
+final class Journal implements Closeable {
+    /** "DVJL" */
+    static final int MAGIC = 0x44564A4C;
+    static final int VERSION = 1;
+
+    /** Records are closed once they grow past this, so one bulk add cannot hold the whole batch */
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+
+    /** Offset of the count field inside a payload */
+    private static final int COUNT_OFFSET = 1;
+
+    /** Applies one record during replay. */
+    interface RecordHandler {
+        /**
+         * @param op operation of the record
+         * @param count number of elements that follow the header
+         * @param in the header followed by the elements
+         */
+        void apply(byte op, int count, DataInput in) throws IOException;
+    }
+
+    private final Path file;
+    private FileChannel channel;
+    private DataOutputStream fileOut;
+    private long generation;
+    private final CRC32 crc = new CRC32();
+
+    /** Payload of the open record */
+    private final RecordBuffer record = new RecordBuffer();
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+    private byte openOp;
+    private byte[] openHeader;
+    private int openCount;
+
+    /** Bytes in the file, including what is still buffered */
+    private long size;
+
+    private Journal(Path file, FileChannel channel, long generation, long size) {
+        this.file = file;
+        this.generation = generation;
+        attach(channel, size);
+    }
+
+    /**
+     * Starts an empty journal, replacing any file at the path.
+     *
+     * @param file journal file
+     * @param generation generation of the snapshot the journal extends
+     * @param codecId id of the codec the elements are written with
+     * @return the journal, open for appending
+     */
+    static Journal create(Path file, long generation, String codecId) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        Journal journal = new Journal(file, channel, generation, 0);
+        journal.writeRaw(header(generation, codecId));
+        journal.sync();
+        return journal;
+    }
+
+    /**
+     * Opens a replayed journal for appending, cutting off anything past the
+     * last intact record.
+     *
+     * @param file journal file
+     * @param generation generation read from its header
+     * @param validLength length returned by replay()
+     * @return the journal, open for appending
+     */
+    static Journal append(Path file, long generation, long validLength) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.truncate(validLength);
+        channel.position(validLength);
+        return new Journal(file, channel, generation, validLength);
+    }
+
+    /**
+     * Reads the generation from a journal header.
+     *
+     * @param file journal file
+     * @return the generation, or -1 if the file has no valid header
+     */
+    static long readGeneration(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return -1;
+            }
+            return in.readLong();
+        } catch (EOFException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Reads a journal and hands every intact record that ends after skipTo
+     * to the handler. The header must have been checked with readGeneration().
+     *
+     * @param file journal file
+     * @param codecId id of the codec the model uses
+     * @param skipTo file offset up to which records are already in the snapshot, 0 for none
+     * @param handler applies the records
+     * @return length of the intact part of the file
+     * @throws IOException if the file cannot be read, uses another codec, or the handler fails
+     */
+    static long replay(Path file, String codecId, long skipTo, RecordHandler handler) throws IOException {
+        long fileSize = Files.size(file);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            long valid;
+            try {
+                in.readInt();  // magic, version and generation
+                in.readInt();
+                in.readLong();
+                String id = in.readUTF();
+                if (!id.equals(codecId)) {
+                    throw new IOException(file + " was written with the " + id + " codec, this model uses " + codecId);
+                }
+                ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+                new DataOutputStream(encoded).writeUTF(id);
+                valid = 4 + 4 + 8 + encoded.size();
+            } catch (EOFException e) {
+                throw new CorruptSnapshotException(file + " has no journal header");
+            }
+            CRC32 check = new CRC32();
+            while (true) {
+                byte[] payload;
+                int expected;
+                try {
+                    int length = in.readInt();
+                    if (length < COUNT_OFFSET + 6 || length > fileSize - valid - 8) {
+                        return valid;  // torn or damaged length
+                    }
+                    expected = in.readInt();
+                    payload = new byte[length];
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    return valid;  // end of the file, or a record torn by a crash
+                }
+                check.reset();
+                check.update(payload, 0, payload.length);
+                if ((int) check.getValue() != expected) {
+                    return valid;
+                }
+                valid += 8 + payload.length;
+                if (valid <= skipTo) {
+                    continue;
+                }
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+                byte op = record.readByte();
+                int count = record.readInt();
+                record.readUnsignedShort();  // header length, for readers that skip records
+                handler.apply(op, count, record);
+            }
+        }
+    }
+
+    synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Returns the size of the journal in bytes, including buffered records.
+     */
+    synchronized long size() {
+        return size + (openCount > 0 ? 8 + record.size() : 0);
+    }
+
+    /**
+     * Adds an element to the open record if it has the same op and header,
+     * otherwise closes it and opens a new one. The caller writes the
+     * element to the returned stream while still holding the journal's lock.
+     *
+     * @param op operation
+     * @param header bytes describing the targets of the operation
+     * @return stream for the element
+     */
+    DataOutput element(byte op, byte[] header) throws IOException {
+        assert Thread.holdsLock(this) : "callers lock the journal until the element is written";
+        if (openCount > 0 && (op != openOp || !Arrays.equals(header, openHeader)
+                || record.size() >= MAX_RECORD_BYTES)) {
+            endRecord();
+        }
+        if (openCount == 0) {
+            record.reset();
+            recordOut.writeByte(op);
+            recordOut.writeInt(0);  // count, patched by endRecord()
+            recordOut.writeShort(header.length);
+            recordOut.write(header);
+            openOp = op;
+            openHeader = header;
+        }
+        openCount++;
+        return recordOut;
+    }
+
+    /**
+     * Writes every buffered record to the file and forces it to disk.
+     */
+    synchronized void sync() throws IOException {
+        endRecord();
+        fileOut.flush();
+        channel.force(false);
+    }
+
+    /**
+     * Closes the open record so everything journaled so far ends at the
+     * returned offset. A compaction snapshot records the mark.
+     *
+     * @return size of the journal up to the mark
+     */
+    synchronized long mark() throws IOException {
+        endRecord();
+        return size;
+    }
+
+    /**
+     * Replaces the journal with one of a new generation that keeps only the
+     * records after a mark. The new file is written next to the journal and
+     * moved over it, so the old journal stays intact until the switch.
+     *
+     * @param newGeneration generation of the snapshot that now holds everything up to the mark
+     * @param codecId id of the codec the elements are written with
+     * @param fromOffset the mark
+     */
+    synchronized void rotate(long newGeneration, String codecId, long fromOffset) throws IOException {
+        sync();
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        long newSize;
+        try (FileChannel next = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            byte[] header = header(newGeneration, codecId);
+            next.write(ByteBuffer.wrap(header));
+            for (long at = fromOffset; at < size; ) {
+                at += channel.transferTo(at, size - at, next);
+            }
+            next.force(false);
+            newSize = next.size();
+        }
+        channel.close();
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        FileChannel reopened = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        reopened.position(newSize);
+        generation = newGeneration;
+        attach(reopened, newSize);
+    }
+
+    /**
+     * Syncs and closes the file.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void endRecord() throws IOException {
+        if (openCount == 0) {
+            return;
+        }
+        byte[] payload = record.array();
+        int length = record.size();
+        payload[COUNT_OFFSET] = (byte) (openCount >>> 24);
+        payload[COUNT_OFFSET + 1] = (byte) (openCount >>> 16);
+        payload[COUNT_OFFSET + 2] = (byte) (openCount >>> 8);
+        payload[COUNT_OFFSET + 3] = (byte) openCount;
+        crc.reset();
+        crc.update(payload, 0, length);
+        fileOut.writeInt(length);
+        fileOut.writeInt((int) crc.getValue());
+        fileOut.write(payload, 0, length);
+        size += 8 + length;
+        openCount = 0;
+    }
+
+    private void attach(FileChannel channel, long size) {
+        this.channel = channel;
+        this.fileOut = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+        this.size = size;
+    }
+
+    private static byte[] header(long generation, String codecId) throws IOException {
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(header);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(generation);
+        out.writeUTF(codecId);
+        return header.toByteArray();
+    }
+
+    private void writeRaw(byte[] bytes) throws IOException {
+        fileOut.write(bytes);
+        size += bytes.length;
+    }
+
+    /** ByteArrayOutputStream that lets the count be patched in place */
+    private static final class RecordBuffer extends ByteArrayOutputStream {
+        byte[] array() {
+            return buf;
+        }
+    }
+}
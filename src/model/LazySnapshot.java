@@ -0,0 +1,228 @@
+package model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A snapshot opened without reading its structures. Only the header, the
+ * table of contents and the small META section are read up front; each
+ * structure is read and checked the first time the Model takes it, so a
+ * screen that uses one structure never pays for the others.
+ *
+ * The file stays open until every structure was taken or close() is
+ * called. An open file keeps its contents when a save moves a new snapshot
+ * over the same path on Linux and macOS, and Model takes everything that is
+ * left before it saves, so the sections never change underneath it.
+ *
+ * @param <T> type of the LL, stack and queue elements
+ * @author thomasurias
+ */
+final class LazySnapshot<T> implements Closeable {
+    private final Path file;
+    private final FileChannel channel;
+    private final SnapshotReader in;
+    private final ValueCodec<T> codec;
+
+    /** Sections not taken yet */
+    private final List<SnapshotReader.Section> sections;
+
+    private long generation;
+    private long coveredGeneration = -1;
+    private long coveredOffset;
+
+    private LazySnapshot(Path file, FileChannel channel, SnapshotReader in, ValueCodec<T> codec,
+            List<SnapshotReader.Section> sections) {
+        this.file = file;
+        this.channel = channel;
+        this.in = in;
+        this.codec = codec;
+        this.sections = sections;
+    }
+
+    /**
+     * Opens a snapshot and reads its table of contents.
+     *
+     * @param file snapshot file, not a Java serialized save
+     * @param codec codec the elements must have been written with
+     * @return the opened snapshot
+     * @throws CorruptSnapshotException if the header or table of contents is damaged
+     * @throws IOException if the file cannot be read or was saved with a different codec
+     */
+    static <T> LazySnapshot<T> open(Path file, ValueCodec<T> codec) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            SnapshotReader in = new SnapshotReader(channel);
+            if (!in.codecId().equals(codec.id())) {
+                throw new IOException(file + " was saved with the " + in.codecId() + " codec, this model uses " + codec.id());
+            }
+            List<SnapshotReader.Section> sections = in.contents();
+            sections.removeIf(s -> s.kind < SnapshotWriter.LINKED_LIST || s.kind > SnapshotWriter.META);  // written by a newer version
+            LazySnapshot<T> snapshot = new LazySnapshot<>(file, channel, in, codec, sections);
+            snapshot.readMeta();
+            return snapshot;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    long coveredGeneration() {
+        return coveredGeneration;
+    }
+
+    long coveredOffset() {
+        return coveredOffset;
+    }
+
+    /**
+     * Tells if a section was not taken yet.
+     *
+     * @param kind one of the SnapshotWriter section kinds
+     * @param name sorter name, or "" for the other structures
+     */
+    boolean has(byte kind, String name) {
+        return find(kind, name) != null;
+    }
+
+    /**
+     * Returns the sections not taken yet.
+     */
+    List<SnapshotReader.Section> remaining() {
+        return new ArrayList<>(sections);
+    }
+
+    boolean isEmpty() {
+        return sections.isEmpty();
+    }
+
+    LinkedList<T> takeLinkedList() throws IOException {
+        seek(SnapshotWriter.LINKED_LIST, "");
+        try {
+            LinkedList<T> ll = LinkedList.readFrom(in, codec);
+            in.endSection();
+            return ll;
+        } finally {
+            closeIfDone();
+        }
+    }
+
+    Stack<T> takeStack() throws IOException {
+        seek(SnapshotWriter.STACK, "");
+        try {
+            Stack<T> stack = Stack.readFrom(in, codec);
+            in.endSection();
+            return stack;
+        } finally {
+            closeIfDone();
+        }
+    }
+
+    Queue<T> takeQueue() throws IOException {
+        seek(SnapshotWriter.QUEUE, "");
+        try {
+            Queue<T> queue = Queue.readFrom(in, codec);
+            in.endSection();
+            return queue;
+        } finally {
+            closeIfDone();
+        }
+    }
+
+    /**
+     * Reads a sorter, a sorter no longer registered is dropped and null returned.
+     */
+    AbstractSorter takeSorter(String name) throws IOException {
+        seek(SnapshotWriter.SORTER, name);
+        try {
+            if (!SorterRegistry.contains(name)) {
+                in.skipSection();
+                return null;
+            }
+            AbstractSorter sorter = SorterRegistry.create(name);
+            sorter.readFrom(in);
+            in.endSection();
+            return sorter;
+        } finally {
+            closeIfDone();
+        }
+    }
+
+    /**
+     * Forgets a section without reading it, e.g. because a load replaced the structure.
+     */
+    void discard(byte kind, String name) throws IOException {
+        SnapshotReader.Section section = find(kind, name);
+        if (section != null) {
+            sections.remove(section);
+            closeIfDone();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        sections.clear();
+        channel.close();
+    }
+
+    private void readMeta() throws IOException {
+        SnapshotReader.Section meta = find(SnapshotWriter.META, "");
+        if (meta == null) {
+            return;
+        }
+        sections.remove(meta);
+        in.seekSection(meta);
+        generation = in.readLong();
+        if (in.remaining() > 0) {
+            coveredGeneration = in.readLong();
+            coveredOffset = in.readLong();
+        }
+        in.endSection();
+        closeIfDone();
+    }
+
+    /**
+     * Removes a section from the list and moves to it. A section that fails to
+     * read stays removed, it would fail the same way again.
+     */
+    private void seek(byte kind, String name) throws IOException {
+        SnapshotReader.Section section = find(kind, name);
+        if (section == null) {
+            throw new IllegalStateException("Section " + kind + " " + name + " was already taken");
+        }
+        sections.remove(section);
+        try {
+            in.seekSection(section);
+        } catch (IOException | RuntimeException e) {
+            closeIfDone();
+            throw e;
+        }
+    }
+
+    private SnapshotReader.Section find(byte kind, String name) {
+        for (SnapshotReader.Section section : sections) {
+            if (section.kind == kind && section.name.equals(name)) {
+                return section;
+            }
+        }
+        return null;
+    }
+
+    private void closeIfDone() throws IOException {
+        if (sections.isEmpty()) {
+            channel.close();
+        }
+    }
+}
@@ -1,41 +1,169 @@
 package model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.AbstractSequentialList;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
- * An instance of this class represents a Linked List. It has append, prepend, insert, 
+ * An instance of this class represents a Linked List. It has append, prepend, insert,
  * remove, reset, and find functionality.
+ *
+ * Nodes are doubly linked, so removing at either end is O(1). The list can
+ * also keep an optional positional index, a skip list laid over the nodes
+ * where every link knows how many nodes it skips. With the index enabled
+ * insert(data, index) and get(index) take O(log n) instead of walking from head.
+ * An optional hash index maps each value to its first node, so remove(data)
+ * and contains(data) no longer scan the list.
  * @author Cole Mayo
  */
-public class LinkedList <T> implements Serializable{
+public class LinkedList <T> implements ValueList<T>, Serializable{
 	private static final long serialVersionUID = 1L;
-	private Node head, tail;
-	private int sz;
-	
+
+	/** Highest level of the skip index, enough for 4^16 nodes */
+	private static final int MAX_LEVEL = 16;
+
+	private transient Node head, tail;
+	private transient int sz;
+
+	/** True if the positional skip index is kept up to date */
+	private boolean indexed;
+
+	/** Sentinel in front of head that starts every level of the skip index */
+	private transient Node header;
+
+	/** Number of skip index levels in use */
+	private transient int levels;
+
+	/** True if the value hash index is kept up to date */
+	private boolean hashed;
+
+	/** First node holding each value. Nodes with equal values are chained in list order */
+	private transient HashMap<T, Node> firstByValue;
+
+	/** Counts every change to the nodes so iterators over asList() fail fast */
+	private transient int modCount;
+
+	/** Lazily created read-only view handed out by asList() */
+	private transient List<T> view;
+
+	/** Scratch space for insertions so they do not allocate per call */
+	private transient Node[] update;
+	private transient int[] updateRank;
+
 	public LinkedList() {
+		this(false);
+	}
+
+	/**
+	 * Creates an empty LL.
+	 * @param indexed : true to keep the positional skip index
+	 */
+	public LinkedList(boolean indexed) {
+		this(indexed, false);
+	}
+
+	/**
+	 * Creates an empty LL.
+	 * @param indexed : true to keep the positional skip index
+	 * @param hashed : true to keep the value hash index
+	 */
+	public LinkedList(boolean indexed, boolean hashed) {
 		head = null;
 		tail = null;
 		sz = 0;
+		setIndexed(indexed);
+		setHashIndexed(hashed);
 	}
-	
+
 	/**
 	 * An instance of this class represents a node in the linked list. Each node
-	 * has a data value, and a reference to the next node (null if applicable).
+	 * has a data value, and references to the next and previous nodes (null if applicable).
+	 * Nodes that are part of the skip index also hold one link per level, entry k
+	 * being level k + 1, together with the number of nodes each link skips.
 	 * @author Cole Mayo
 	 */
 	private class Node implements Serializable{
 		private static final long serialVersionUID = 1L;
 		T data;
 		Node next;
+		Node prev;
+		Node[] skipNext;
+		Node[] skipPrev;
+		int[] skipWidth;
+		/** Next node with an equal value, and the previous one (the last one for the first node) */
+		Node sameNext;
+		Node samePrev;
 		private Node(T data) {
 			this.data = data;
 			this.next = null;
 		}
 	}
-	
-	/** 
+
+	/**
+	 * This method turns the positional skip index on or off. Turning it on
+	 * builds the index over the current nodes in O(n).
+	 * @param indexed : true to keep the index
+	 */
+	public void setIndexed(boolean indexed) {
+		this.indexed = indexed;
+		if(indexed) {
+			buildIndex();
+			return;
+		}
+		header = null;
+		levels = 0;
+		update = null;
+		updateRank = null;
+		for(Node curr = head; curr != null; curr = curr.next) {
+			clearLinks(curr);
+		}
+	}
+
+	/**
+	 * This method tells if the positional skip index is kept.
+	 * @return : true if the index is enabled
+	 */
+	public boolean isIndexed() {
+		return indexed;
+	}
+
+	/**
+	 * This method turns the value hash index on or off. Turning it on builds
+	 * the index over the current nodes in O(n).
+	 * @param hashed : true to keep the hash index
+	 */
+	public void setHashIndexed(boolean hashed) {
+		this.hashed = hashed;
+		firstByValue = hashed ? new HashMap<>() : null;
+		for(Node curr = head; curr != null; curr = curr.next) {
+			curr.sameNext = null;
+			curr.samePrev = null;
+			if(hashed) {
+				chainLast(curr);
+			}
+		}
+	}
+
+	/**
+	 * This method tells if the value hash index is kept.
+	 * @return : true if the hash index is enabled
+	 */
+	public boolean isHashIndexed() {
+		return hashed;
+	}
+
+	/**
 	 * This method is used to prepend data to the LL.
 	 * @param data : data value to be prepended
 	 */
@@ -47,16 +175,14 @@ public class LinkedList <T> implements Serializable{
 		if(checkEmpty(newNode)) {
 			return;
 		}
-		newNode.next = head;
-		head = newNode;
-		sz++;
+		insertNode(newNode, 0);
 	}
-	
+
 	/**
 	 * This method is used to append a data value to the LL.
 	 * @param data : data value to be appended
 	 */
-	public void append(T data) { 
+	public void append(T data) {
 		if(data == null) { // prevent node's data value from becoming null
 			return;
 		}
@@ -64,11 +190,9 @@ public class LinkedList <T> implements Serializable{
 		if(checkEmpty(newNode)) {
 			return;
 		}
-		tail.next = newNode;
-		tail = newNode;
-		sz++;
+		insertNode(newNode, sz);
 	}
-	
+
 	/**
 	 * This method is used to insert a data value to the LL.
 	 * @param data : data value to be inserted
@@ -81,31 +205,13 @@ public class LinkedList <T> implements Serializable{
 		if(index < 0 || index > sz) {
 			return;
 		}
-		if(index == 0) {
-			prepend(data);
-			return;
-		}
-		if(index == sz) {
-			append(data);
+		Node newNode = new Node(data);
+		if(checkEmpty(newNode)) {
 			return;
 		}
-		Node prev = head;
-		Node curr = head.next;
-		int i = 1;
-		while(curr!=null) {
-			if(i == index) {
-				Node newNode = new Node(data);
-				newNode.next = curr;
-				prev.next = newNode;
-				sz++;
-				break;
-			}
-			i++;
-			prev = curr;
-			curr = curr.next;
-		}
+		insertNode(newNode, index);
 	}
-	
+
 	/**
 	 * This method is used for removing a data value from the LL.
 	 * @param data : data value to remove
@@ -114,30 +220,62 @@ public class LinkedList <T> implements Serializable{
 		if(data == null || sz == 0) {
 			return;
 		}
-		if(head.data.equals(data)) {
-			head = head.next;
-			sz--;
-			if(head == null) {
-				tail = null;
+		if(hashed) {
+			Node first = firstByValue.get(data);
+			if(first != null) {
+				removeNode(first);
 			}
 			return;
 		}
-		Node prev = head;
-		Node curr = head.next;
+		Node curr = head;
 		while(curr!=null) {
 			if(curr.data.equals(data)) {
-				 prev.next = curr.next;
-				 sz--;
-				 if(curr == tail) {
-					 tail = prev;
-				 }
-				 break;
-			}
-			prev = curr;
+				removeNode(curr);
+				return;
+			}
 			curr = curr.next;
 		}
 	}
-	
+
+	/**
+	 * This method removes the first data value of the LL in O(1).
+	 * @return : the removed data value
+	 */
+	public T removeFirst() {
+		if(sz == 0) {
+			throw new IllegalStateException("List is empty");
+		}
+		Node first = head;
+		removeNode(first);
+		return first.data;
+	}
+
+	/**
+	 * This method removes the last data value of the LL in O(1).
+	 * @return : the removed data value
+	 */
+	public T removeLast() {
+		if(sz == 0) {
+			throw new IllegalStateException("List is empty");
+		}
+		Node last = tail;
+		removeNode(last);
+		return last.data;
+	}
+
+	/**
+	 * This method gets the data value at an index. Takes O(log n) with the
+	 * index enabled, otherwise walks from whichever end is closer.
+	 * @param index : index of the data value
+	 * @return : the data value at index
+	 */
+	public T get(int index) {
+		if(index < 0 || index >= sz) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + sz);
+		}
+		return nodeAt(index).data;
+	}
+
 	/**
 	 * This method finds a data value in the LL.
 	 * @param data : data value to find
@@ -147,6 +285,10 @@ public class LinkedList <T> implements Serializable{
 		if(data == null) {
 			return -1;
 		}
+		if(hashed) {
+			Node first = firstByValue.get(data);
+			return (first == null) ? -1 : rank(first);
+		}
 		Node curr = head;
 		int i = 0;
 		while(curr!=null) {
@@ -158,7 +300,20 @@ public class LinkedList <T> implements Serializable{
 		}
 		return -1;
 	}
-	
+
+	/**
+	 * This method checks if a data value is in the LL. O(1) on average with
+	 * the hash index enabled.
+	 * @param data : data value to look for
+	 * @return : true if the LL holds the data value
+	 */
+	public boolean contains(T data) {
+		if(hashed) {
+			return data != null && firstByValue.containsKey(data);
+		}
+		return find(data) >= 0;
+	}
+
 	/**
 	 * This method resets the LL.
 	 */
@@ -166,8 +321,15 @@ public class LinkedList <T> implements Serializable{
 		head = null;
 		tail = null;
 		sz = 0;
+		modCount++;
+		if(indexed) {
+			buildIndex();
+		}
+		if(hashed) {
+			firstByValue.clear();
+		}
 	}
-	
+
 	/**
 	 * This method returns the current size of the LL.
 	 * @return
@@ -175,24 +337,35 @@ public class LinkedList <T> implements Serializable{
 	public int size() {
 		return sz;
 	}
-	
+
 	/**
 	 * This method check if the LL is empty.
-	 * @param newNode : node to be added to LL 
+	 * @param newNode : node to be added to LL
 	 * @return : boolean telling if empty or not
 	 */
-	public boolean checkEmpty(Node newNode) {
-		if(sz == 0) { 
-			head = newNode;
-			tail = newNode;
-			sz++;
+	private boolean checkEmpty(Node newNode) {
+		if(sz == 0) {
+			insertNode(newNode, 0);
 			return true;
 		}
 		return false;
 	}
-	
+
 	/**
-	 * This method is used to get the LL.
+	 * This method returns a live read-only view of the LL from head to tail.
+	 * Nothing is copied, the view walks the nodes. Iterators throw a
+	 * ConcurrentModificationException if the LL changes while they are in use.
+	 * @return : read-only List over the LL
+	 */
+	public List<T> asList() {
+		if(view == null) {
+			view = new ListView();
+		}
+		return view;
+	}
+
+	/**
+	 * This method is used to get a copy of the LL. Use asList() to read it without copying.
 	 * @return : the LL
 	 */
 	public ArrayList<T> getLL(){
@@ -204,5 +377,554 @@ public class LinkedList <T> implements Serializable{
 		}
 		return theList;
 	}
-	
+
+	/**
+	 * Links newNode in so it ends up at the given index, and adds it to
+	 * whichever indexes are enabled.
+	 */
+	private void insertNode(Node newNode, int index) {
+		linkNode(newNode, index);
+		if(hashed) {
+			chainInsert(newNode, index);
+		}
+	}
+
+	/**
+	 * Links newNode in on level 0 and in the skip index if that is enabled.
+	 */
+	private void linkNode(Node newNode, int index) {
+		if(!indexed) {
+			linkBefore(newNode, index == sz ? null : nodeAt(index));
+			return;
+		}
+		int height = randomHeight();
+		if(height > levels) {
+			for(int k = levels; k < height; k++) { // new levels span from header to the end
+				header.skipNext[k] = null;
+				header.skipWidth[k] = sz + 1;
+			}
+			levels = height;
+		}
+		// find the last node before index on every level, header has rank -1
+		Node x = header;
+		int pos = -1;
+		for(int k = levels - 1; k >= 0; k--) {
+			while(x.skipNext[k] != null && pos + x.skipWidth[k] < index) {
+				pos += x.skipWidth[k];
+				x = x.skipNext[k];
+			}
+			update[k] = x;
+			updateRank[k] = pos;
+		}
+		linkBefore(newNode, index == sz ? null : walk(x, pos, index));
+
+		if(height > 0) {
+			newNode.skipNext = newSkipArray(height);
+			newNode.skipPrev = newSkipArray(height);
+			newNode.skipWidth = new int[height];
+		}
+		for(int k = 0; k < levels; k++) {
+			Node before = update[k];
+			if(k >= height) {
+				before.skipWidth[k]++; // the link over index got one node longer
+				continue;
+			}
+			Node after = before.skipNext[k];
+			newNode.skipNext[k] = after;
+			newNode.skipPrev[k] = before;
+			newNode.skipWidth[k] = updateRank[k] + before.skipWidth[k] + 1 - index;
+			if(after != null) {
+				after.skipPrev[k] = newNode;
+			}
+			before.skipNext[k] = newNode;
+			before.skipWidth[k] = index - updateRank[k];
+		}
+	}
+
+	/**
+	 * Unlinks a node, first taking it out of the skip index if that is enabled.
+	 */
+	private void removeNode(Node x) {
+		if(hashed) {
+			unchain(x);
+		}
+		if(indexed) {
+			int height = height(x);
+			for(int k = 0; k < height; k++) {
+				Node before = x.skipPrev[k];
+				Node after = x.skipNext[k];
+				before.skipNext[k] = after;
+				before.skipWidth[k] += x.skipWidth[k] - 1;
+				if(after != null) {
+					after.skipPrev[k] = before;
+				}
+			}
+			// levels above x: shorten the link that passes over it
+			Node cover;
+			if(height > 0) {
+				cover = x.skipPrev[height - 1];
+			} else {
+				cover = x.prev;
+				while(cover != null && cover.skipNext == null) {
+					cover = cover.prev;
+				}
+				if(cover == null) {
+					cover = header;
+				}
+			}
+			for(int k = height; k < levels; k++) {
+				while(height(cover) <= k) {
+					cover = cover.skipPrev[height(cover) - 1];
+				}
+				cover.skipWidth[k]--;
+			}
+			while(levels > 0 && header.skipNext[levels - 1] == null) {
+				levels--;
+			}
+			clearLinks(x);
+		}
+		if(x.prev == null) {
+			head = x.next;
+		} else {
+			x.prev.next = x.next;
+		}
+		if(x.next == null) {
+			tail = x.prev;
+		} else {
+			x.next.prev = x.prev;
+		}
+		x.next = null;
+		x.prev = null;
+		sz--;
+		modCount++;
+	}
+
+	/**
+	 * Links newNode in on level 0 in front of succ, or at the tail if succ is null.
+	 */
+	private void linkBefore(Node newNode, Node succ) {
+		newNode.next = succ;
+		newNode.prev = (succ == null) ? tail : succ.prev;
+		if(newNode.prev == null) {
+			head = newNode;
+		} else {
+			newNode.prev.next = newNode;
+		}
+		if(succ == null) {
+			tail = newNode;
+		} else {
+			succ.prev = newNode;
+		}
+		sz++;
+		modCount++;
+	}
+
+	/**
+	 * Returns the node at index, which must be in [0, sz).
+	 */
+	private Node nodeAt(int index) {
+		if(indexed) {
+			Node x = header;
+			int pos = -1;
+			for(int k = levels - 1; k >= 0; k--) {
+				while(x.skipNext[k] != null && pos + x.skipWidth[k] <= index) {
+					pos += x.skipWidth[k];
+					x = x.skipNext[k];
+				}
+			}
+			return (pos == index) ? x : walk(x, pos, index);
+		}
+		Node curr;
+		if(index < sz / 2) {
+			curr = head;
+			for(int i = 0; i < index; i++) {
+				curr = curr.next;
+			}
+		} else {
+			curr = tail;
+			for(int i = sz - 1; i > index; i--) {
+				curr = curr.prev;
+			}
+		}
+		return curr;
+	}
+
+	/**
+	 * Walks level 0 from node x at rank pos forward to the node at index.
+	 */
+	private Node walk(Node x, int pos, int index) {
+		Node curr = (x == header) ? head : x.next;
+		for(int i = pos + 1; i < index; i++) {
+			curr = curr.next;
+		}
+		return curr;
+	}
+
+	/**
+	 * Returns the index of a node. Climbs the skip index in O(log n) when it
+	 * is enabled, otherwise counts the nodes in front of it.
+	 */
+	private int rank(Node x) {
+		int r = 0;
+		Node y = x;
+		while(!indexed || y.skipNext == null) {
+			if(y.prev == null) {
+				return r;
+			}
+			y = y.prev;
+			r++;
+		}
+		while(true) { // each step jumps to the closest node at least as tall
+			int top = height(y) - 1;
+			Node before = y.skipPrev[top];
+			if(before == header) {
+				return r + before.skipWidth[top] - 1;
+			}
+			r += before.skipWidth[top];
+			y = before;
+		}
+	}
+
+	/**
+	 * Adds a node at the given index to the chain of nodes with its value,
+	 * keeping the chain in list order.
+	 */
+	private void chainInsert(Node x, int index) {
+		Node first = firstByValue.get(x.data);
+		if(first == null || index == sz - 1) {
+			chainLast(x);
+			return;
+		}
+		if(index == 0 || (indexed && rank(first) > index)) {
+			x.sameNext = first;
+			x.samePrev = first.samePrev;
+			first.samePrev = x;
+			firstByValue.put(x.data, x);
+			return;
+		}
+		if(indexed && rank(first.samePrev) < index) {
+			chainLast(x);
+			return;
+		}
+		Node after = x.next; // the next equal node further down the list follows x in the chain
+		while(after != null && !after.data.equals(x.data)) {
+			after = after.next;
+		}
+		if(after == null) {
+			chainLast(x);
+			return;
+		}
+		if(after == first) {
+			x.sameNext = first;
+			x.samePrev = first.samePrev;
+			first.samePrev = x;
+			firstByValue.put(x.data, x);
+			return;
+		}
+		Node before = after.samePrev;
+		before.sameNext = x;
+		x.samePrev = before;
+		x.sameNext = after;
+		after.samePrev = x;
+	}
+
+	/**
+	 * Adds a node to the end of the chain of nodes with its value.
+	 */
+	private void chainLast(Node x) {
+		Node first = firstByValue.get(x.data);
+		if(first == null) {
+			x.samePrev = x;
+			x.sameNext = null;
+			firstByValue.put(x.data, x);
+			return;
+		}
+		Node last = first.samePrev;
+		last.sameNext = x;
+		x.samePrev = last;
+		x.sameNext = null;
+		first.samePrev = x;
+	}
+
+	/**
+	 * Takes a node out of the chain of nodes with its value.
+	 */
+	private void unchain(Node x) {
+		Node first = firstByValue.get(x.data);
+		Node after = x.sameNext;
+		if(x == first) {
+			if(after == null) {
+				firstByValue.remove(x.data);
+			} else {
+				after.samePrev = x.samePrev;
+				firstByValue.put(after.data, after);
+			}
+		} else {
+			Node before = x.samePrev;
+			before.sameNext = after;
+			if(after == null) {
+				first.samePrev = before;
+			} else {
+				after.samePrev = before;
+			}
+		}
+		x.sameNext = null;
+		x.samePrev = null;
+	}
+
+	/**
+	 * Rebuilds the skip index over the current nodes in one pass.
+	 */
+	private void buildIndex() {
+		header = new Node(null);
+		header.skipNext = newSkipArray(MAX_LEVEL);
+		header.skipPrev = newSkipArray(MAX_LEVEL);
+		header.skipWidth = new int[MAX_LEVEL];
+		levels = 0;
+		update = newSkipArray(MAX_LEVEL);
+		updateRank = new int[MAX_LEVEL];
+
+		Node[] last = update;
+		int[] lastRank = updateRank;
+		for(int k = 0; k < MAX_LEVEL; k++) {
+			last[k] = header;
+			lastRank[k] = -1;
+		}
+		int rank = 0;
+		for(Node curr = head; curr != null; curr = curr.next, rank++) {
+			clearLinks(curr);
+			int height = randomHeight();
+			if(height == 0) {
+				continue;
+			}
+			curr.skipNext = newSkipArray(height);
+			curr.skipPrev = newSkipArray(height);
+			curr.skipWidth = new int[height];
+			for(int k = 0; k < height; k++) {
+				last[k].skipNext[k] = curr;
+				last[k].skipWidth[k] = rank - lastRank[k];
+				curr.skipPrev[k] = last[k];
+				last[k] = curr;
+				lastRank[k] = rank;
+			}
+			levels = Math.max(levels, height);
+		}
+		for(int k = 0; k < levels; k++) { // last link of each level spans to the end
+			last[k].skipNext[k] = null;
+			last[k].skipWidth[k] = sz - lastRank[k];
+		}
+	}
+
+	/**
+	 * Number of skip index levels a node takes part in, 0 for plain nodes.
+	 */
+	private int height(Node x) {
+		return (x.skipNext == null) ? 0 : x.skipNext.length;
+	}
+
+	/**
+	 * Picks a node height where each level holds about a quarter of the one below.
+	 */
+	private static int randomHeight() {
+		int bits = ThreadLocalRandom.current().nextInt() | (1 << (2 * MAX_LEVEL - 2));
+		return Integer.numberOfTrailingZeros(bits) / 2;
+	}
+
+	private void clearLinks(Node x) {
+		x.skipNext = null;
+		x.skipPrev = null;
+		x.skipWidth = null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Node[] newSkipArray(int length) {
+		return (Node[]) Array.newInstance(Node.class, length);
+	}
+
+	/**
+	 * Read-only List over the nodes. get(index) and indexOf() use whichever
+	 * indexes the LL keeps.
+	 */
+	private class ListView extends AbstractSequentialList<T> {
+		@Override
+		public int size() {
+			return sz;
+		}
+
+		@Override
+		public T get(int index) {
+			return LinkedList.this.get(index);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public int indexOf(Object o) {
+			try {
+				return find((T) o);
+			} catch(ClassCastException e) {
+				return -1;
+			}
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return indexOf(o) >= 0;
+		}
+
+		@Override
+		public void forEach(Consumer<? super T> action) {
+			int expected = LinkedList.this.modCount;
+			for(Node curr = head; curr != null; curr = curr.next) {
+				action.accept(curr.data);
+				if(LinkedList.this.modCount != expected) {
+					throw new ConcurrentModificationException();
+				}
+			}
+		}
+
+		@Override
+		public ListIterator<T> listIterator(int index) {
+			if(index < 0 || index > sz) {
+				throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + sz);
+			}
+			return new NodeIterator(index);
+		}
+	}
+
+	/**
+	 * Read-only iterator that walks the nodes in either direction.
+	 */
+	private class NodeIterator implements ListIterator<T> {
+		private Node nextNode;
+		private int nextIndex;
+		private final int expectedModCount = modCount;
+
+		private NodeIterator(int index) {
+			nextNode = (index == sz) ? null : nodeAt(index);
+			nextIndex = index;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextIndex < sz;
+		}
+
+		@Override
+		public T next() {
+			checkForChange();
+			if(nextNode == null) {
+				throw new NoSuchElementException();
+			}
+			T data = nextNode.data;
+			nextNode = nextNode.next;
+			nextIndex++;
+			return data;
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return nextIndex > 0;
+		}
+
+		@Override
+		public T previous() {
+			checkForChange();
+			if(nextIndex == 0) {
+				throw new NoSuchElementException();
+			}
+			nextNode = (nextNode == null) ? tail : nextNode.prev;
+			nextIndex--;
+			return nextNode.data;
+		}
+
+		@Override
+		public int nextIndex() {
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException("List view is read-only");
+		}
+
+		@Override
+		public void set(T data) {
+			throw new UnsupportedOperationException("List view is read-only");
+		}
+
+		@Override
+		public void add(T data) {
+			throw new UnsupportedOperationException("List view is read-only");
+		}
+
+		private void checkForChange() {
+			if(modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	/**
+	 * Writes the size and then each data value from head to tail, so long lists
+	 * are not serialized one nested node at a time.
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		out.writeInt(sz);
+		for(Node curr = head; curr != null; curr = curr.next) {
+			out.writeObject(curr.data);
+		}
+	}
+
+	/**
+	 * Reads what writeObject() wrote, or the head, tail and sz fields of saves written before the
+	 * indexes existed, which hold the nodes nested one inside the other.
+	 */
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField fields = in.readFields();
+		boolean keepIndex = fields.get("indexed", false);
+		boolean keepHash = fields.get("hashed", false);
+		indexed = false;
+		hashed = false;
+		if(fields.defaulted("indexed")) {
+			for(Node curr = (Node) fields.get("head", null); curr != null; curr = curr.next) {
+				linkBefore(new Node(curr.data), null);
+			}
+		}
+		else {
+			int count = in.readInt();
+			for(int i = 0; i < count; i++) {
+				linkBefore(new Node((T) in.readObject()), null);
+			}
+		}
+		setIndexed(keepIndex);
+		setHashIndexed(keepHash);
+	}
+
+	/**
+	 * Reads a LL from a snapshot section, see SnapshotImage. The indexes are built once at the end
+	 * instead of being updated per node.
+	 */
+	static <T> LinkedList<T> readFrom(SnapshotReader in, ValueCodec<T> codec) throws IOException {
+		boolean indexed = in.readBoolean();
+		boolean hashed = in.readBoolean();
+		int count = in.readInt();
+		if(count < 0) {
+			throw new CorruptSnapshotException("Negative linked list size " + count);
+		}
+		LinkedList<T> list = new LinkedList<>();
+		for(int i = 0; i < count; i++) {
+			list.linkBefore(list.new Node(codec.read(in)), null);
+		}
+		list.setIndexed(indexed);
+		list.setHashIndexed(hashed);
+		return list;
+	}
+
 }
@@ -0,0 +1,311 @@
+package model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Int storage kept in a memory-mapped file instead of on the heap, so a
+ * sorter can work on more values than the heap holds. The operating system
+ * pages the file in and out as the sort touches it.
+ *
+ * The file holds raw 4 byte little-endian ints, the same layout
+ * DatasetImporter reads as BINARY_LE_INT, so an extract in that format can
+ * be opened and sorted in place. The file is mapped in fixed size segments
+ * because one mapping cannot exceed 2 GB. Serializing the store saves only
+ * the file path and size, the values stay in the file.
+ *
+ * @author thomasurias
+ */
+public class MappedIntStore implements IntStore, Closeable {
+    private static final long serialVersionUID = 1L;
+
+    /** Default number of ints per mapped segment, 256 MB */
+    public static final int DEFAULT_SEGMENT_INTS = 1 << 26;
+
+    /** File holding the values */
+    private final String file;
+
+    /** Number of ints per segment, a power of two */
+    private final int segmentInts;
+
+    /** Number of values currently stored */
+    private int size;
+
+    private transient int segmentShift;
+    private transient int segmentMask;
+    private transient FileChannel channel;
+    private transient MappedByteBuffer[] segments;
+
+    /** Lazily created read-only view handed out by asList() */
+    private transient List<Integer> view;
+
+    private MappedIntStore(Path file, int segmentInts, int size) {
+        this.file = file.toAbsolutePath().toString();
+        this.segmentInts = Integer.highestOneBit(Math.max(1024, segmentInts));
+        this.size = size;
+    }
+
+    /**
+     * Creates an empty store, replacing any file at the given path.
+     *
+     * @param file file that will hold the values
+     * @return the empty store
+     * @throws IOException if the file cannot be created
+     */
+    public static MappedIntStore create(Path file) throws IOException {
+        return create(file, DEFAULT_SEGMENT_INTS);
+    }
+
+    /**
+     * Creates an empty store with the given segment size, replacing any file at the path.
+     *
+     * @param file file that will hold the values
+     * @param segmentInts ints per mapped segment, rounded down to a power of two
+     * @return the empty store
+     * @throws IOException if the file cannot be created
+     */
+    public static MappedIntStore create(Path file, int segmentInts) throws IOException {
+        MappedIntStore store = new MappedIntStore(file, segmentInts, 0);
+        store.openChannel(true);
+        return store;
+    }
+
+    /**
+     * Opens an existing file of little-endian ints. Every whole int in the
+     * file becomes a value of the store.
+     *
+     * @param file file to open
+     * @return the store over the file
+     * @throws IOException if the file cannot be opened or holds more than Integer.MAX_VALUE ints
+     */
+    public static MappedIntStore open(Path file) throws IOException {
+        return open(file, DEFAULT_SEGMENT_INTS);
+    }
+
+    /**
+     * Opens an existing file of little-endian ints with the given segment size.
+     *
+     * @param file file to open
+     * @param segmentInts ints per mapped segment, rounded down to a power of two
+     * @return the store over the file
+     * @throws IOException if the file cannot be opened or holds more than Integer.MAX_VALUE ints
+     */
+    public static MappedIntStore open(Path file, int segmentInts) throws IOException {
+        MappedIntStore store = new MappedIntStore(file, segmentInts, 0);
+        store.openChannel(false);
+        long ints = store.channel.size() / Integer.BYTES;
+        if (ints > Integer.MAX_VALUE) {
+            store.close();
+            throw new IOException(file + " holds " + ints + " ints, more than a store can index");
+        }
+        store.size = (int) ints;
+        store.ensureCapacity(store.size);
+        return store;
+    }
+
+    /**
+     * Returns the file holding the values.
+     *
+     * @return path of the backing file
+     */
+    public Path getFile() {
+        return Paths.get(file);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int get(int index) {
+        checkIndex(index);
+        return segments[index >>> segmentShift].getInt((index & segmentMask) << 2);
+    }
+
+    @Override
+    public void set(int index, int value) {
+        checkIndex(index);
+        segments[index >>> segmentShift].putInt((index & segmentMask) << 2, value);
+    }
+
+    @Override
+    public void swap(int a, int b) {
+        checkIndex(a);
+        checkIndex(b);
+        MappedByteBuffer segA = segments[a >>> segmentShift];
+        MappedByteBuffer segB = segments[b >>> segmentShift];
+        int offA = (a & segmentMask) << 2;
+        int offB = (b & segmentMask) << 2;
+        int temp = segA.getInt(offA);
+        segA.putInt(offA, segB.getInt(offB));
+        segB.putInt(offB, temp);
+    }
+
+    @Override
+    public void add(int value) {
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Store is full");
+        }
+        ensureCapacity(size + 1);
+        size++;
+        set(size - 1, value);
+    }
+
+    /**
+     * Maps however many more segments are needed to hold minCapacity values.
+     * The file grows as segments are mapped.
+     */
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        int needed = (int) (((long) minCapacity + segmentInts - 1) >>> segmentShift);
+        if (needed <= segments.length) {
+            return;
+        }
+        MappedByteBuffer[] grown = Arrays.copyOf(segments, needed);
+        try {
+            for (int i = segments.length; i < needed; i++) {
+                grown[i] = map(i);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not grow " + file, e);
+        }
+        segments = grown;
+    }
+
+    @Override
+    public void insertAt(int index, int value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        add(value);
+        for (int i = size - 1; i > index; i--) {
+            set(i, get(i - 1));
+        }
+        set(index, value);
+    }
+
+    @Override
+    public int removeAt(int index) {
+        checkIndex(index);
+        int value = get(index);
+        for (int i = index; i < size - 1; i++) {
+            set(i, get(i + 1));
+        }
+        size--;
+        return value;
+    }
+
+    @Override
+    public int indexOf(int value) {
+        for (int s = 0; s < segments.length; s++) {
+            MappedByteBuffer segment = segments[s];
+            int base = s << segmentShift;
+            int end = Math.min(segmentInts, size - base);
+            for (int i = 0; i < end; i++) {
+                if (segment.getInt(i << 2) == value) {
+                    return base + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes every value. The mapped segments are kept for reuse.
+     */
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    @Override
+    public List<Integer> asList() {
+        if (view == null) {
+            view = new IntStoreView(this);
+        }
+        return view;
+    }
+
+    /**
+     * Writes the mapped values back to the file without closing it.
+     */
+    public void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Writes the values back, cuts the file down to exactly size() ints and
+     * closes it. The store must not be used afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        force();
+        segments = new MappedByteBuffer[0];
+        channel.truncate((long) size * Integer.BYTES);
+        channel.close();
+        channel = null;
+    }
+
+    private void openChannel(boolean truncate) throws IOException {
+        segmentShift = Integer.numberOfTrailingZeros(segmentInts);
+        segmentMask = segmentInts - 1;
+        if (truncate) {
+            channel = FileChannel.open(getFile(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } else {
+            channel = FileChannel.open(getFile(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        segments = new MappedByteBuffer[0];
+    }
+
+    private MappedByteBuffer map(int segment) throws IOException {
+        long bytes = (long) segmentInts * Integer.BYTES;
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, segment * bytes, bytes);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+
+    /**
+     * Flushes the values to the file so the saved path and size describe them.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        force();
+        out.defaultWriteObject();
+    }
+
+    /**
+     * Maps the file again, the values were never copied into the stream.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        openChannel(false);
+        long available = channel.size() / Integer.BYTES;
+        if (available < size) {
+            throw new IOException(file + " holds " + available + " ints but " + size + " were saved");
+        }
+        ensureCapacity(size);
+    }
+}
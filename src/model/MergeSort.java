@@ -0,0 +1,115 @@
+package model;
+
+/**
+ * A class that creates an instance of a bottom-up merge sort algorithm.
+ * Runs of width 1, 2, 4, ... are merged pairwise through a scratch buffer.
+ * One step copies a pair of runs into the buffer or writes one merged value back.
+ * 
+ * @author thomasurias
+ */
+public class MergeSort extends AbstractSorter {
+    private static final long serialVersionUID = 1L;
+
+    /** Scratch buffer the two runs are copied into before merging */
+    private transient int[] aux;
+
+    private int n;           // size of the list when the sort was started
+    private int width;       // width of the runs being merged
+    private int lo;          // start of the left run
+    private int mid;         // start of the right run
+    private int hi;          // end of the right run (exclusive)
+    private int i;           // next value of the left run
+    private int j;           // next value of the right run
+    private int k;           // next index to write
+    private boolean merging = false;
+
+    /** Created new IntArrayStore to sort and calls setter to initialize array list */
+    public MergeSort() {
+        initializelistToSort();
+    }
+
+    @Override
+    public String getName() {
+        return "Merge Sort";
+    }
+
+    /** Restarts the merge with runs of width 1 */
+    @Override
+    void resetSortState() {
+        n = listToSort.size();
+        width = 1;
+        lo = 0;
+        merging = false;
+        if (aux == null || aux.length < n) {
+            // grow by half again so appending batches does not reallocate on every restart
+            aux = new int[Math.max(Math.max(n, 1), aux == null ? 0 : aux.length + (aux.length >> 1))];
+        }
+    }
+
+    /** Finishes the merge in progress so no value is left only in the buffer */
+    @Override
+    void settle() {
+        if (!merging) {
+            return;
+        }
+        while (k < hi) {
+            write(k++, (i < mid && (j >= hi || !less(aux[j], aux[i]))) ? aux[i++] : aux[j++]);
+        }
+        markDirty(lo, hi - 1);
+        merging = false;
+        lo = hi;
+    }
+
+    /** Advances the merge sort by one step without notifying observers
+     * @return true if a step was performed, false if sorting is finished
+     */
+    @Override
+    boolean advance() {
+        if (!sorting) {
+            return false;
+        }
+        if (n != listToSort.size()) {
+            restartSort();
+        }
+        if (aux == null) {
+            aux = new int[Math.max(n, 1)];  // buffer is not saved with the list
+        }
+
+        if (!merging) {
+            if (width >= n) {
+                sorting = false;
+                return false;
+            }
+            if (lo + width >= n) {
+                // no right run left at this width, double it
+                width *= 2;
+                lo = 0;
+                return true;
+            }
+            mid = lo + width;
+            hi = Math.min(lo + 2 * width, n);
+            for (int c = lo; c < hi; c++) {
+                aux[c] = read(c);
+            }
+            i = lo;
+            j = mid;
+            k = lo;
+            merging = true;
+            return true;
+        }
+
+        if (i < mid && (j >= hi || !less(aux[j], aux[i]))) {
+            write(k, aux[i++]);
+        } else {
+            write(k, aux[j++]);
+        }
+        markDirty(k, k);
+        k++;
+
+        if (k >= hi) {
+            merging = false;
+            lo = hi;
+        }
+        return true;
+    }
+}
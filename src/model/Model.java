@@ -1,45 +1,72 @@
 package model;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Observable;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 /**
  * This class represents the Model, it is used to control the logic of each data structure.
- * That includes adding, removing, reseting, inserting, and finding. This class also controls
- * the logic for saving and loading if necessary.
+ * That includes adding, removing, reseting, inserting, and finding. Saving, loading and the
+ * journal are handed to a ModelStore, which the model tells about every change it journals.
  * @param <T>
  */
 @SuppressWarnings("deprecation")
 public class Model<T extends Comparable<T>> extends Observable{
 	
-	private LinkedList<T> myLL;
-	private Stack<T> myStack;
-	private Queue<T> myQueue;
-	private BubbleSort myBubble; 
-	private InsertionSort myInsertion;
+	private ValueList<T> myLL;
+	private ValueStack<T> myStack;
+	private ValueQueue<T> myQueue;
+	/** Sorting algorithms by their SorterRegistry name, created or loaded */
+	private Map<String, AbstractSorter> mySorters = new LinkedHashMap<>();
 	
 	private boolean activeLL;
 	private boolean activeStack;
 	private boolean activeQueue;
-	private boolean activeInsertion;
+	
+	/** Names of the sorting algorithms that were activated */
+	private Set<String> activeSorters = new LinkedHashSet<>();
+	
+	/** File save() and load() use when no path is given */
+	public static final String SAVE_FILE = "save_one.dat";
+	
+	/** Why the constructor could not load the save file or a structure in it, null if it did */
+	private IOException loadError;
+	
+	/** Saves and loads the structures, and journals the changes while a journal is open */
+	private final ModelStore<T> store = new ModelStore<>(this);
 	
 	
 	/**
 	 * The constructor method first tries to load any previous data structures or algorithms, if none exist
 	 * it creates based on the method parameters. If any saved ds/algos exist they will be loaded, if there
-	 * are remaining they will be created.
+	 * are remaining they will be created. The save file is only opened, see open(Path), so just the
+	 * structures that are activated are read. A save file that cannot be loaded is reported on
+	 * stderr and through getLoadError(), and the model starts empty.
 	 * @param ds1, ds2, ds3, ds4, ds5 : all String representations of a data structure or algorithm that should be active.
 	 * @author Cole Mayo
 	 */
 	public Model(String ds1, String ds2, String ds3, String ds4, String ds5) {
-			load();
+			try {
+				open(Paths.get(SAVE_FILE));
+			} catch (IOException e) {
+				loadError = e;
+				System.err.println("Could not load " + SAVE_FILE + ": " + e.getMessage());
+			}
 			activateDS(ds1);
 			activateDS(ds2);
 			activateDS(ds3);
@@ -59,31 +86,37 @@ public class Model<T extends Comparable<T>> extends Observable{
 		switch (ds) {
 		case "LL":
 			activeLL = true;
+			store.materialize(SnapshotWriter.LINKED_LIST, "");
 			if(myLL == null) {
 				myLL = new LinkedList<>();
+				store.record(ModelStore.OP_CREATE, ModelStore.TO_LL, Collections.emptyList(), null, 0);
 			}
 			break;
 		case "Stack":
 			activeStack = true;
+			store.materialize(SnapshotWriter.STACK, "");
 			if(myStack == null) {
 				myStack = new Stack<>();
+				store.record(ModelStore.OP_CREATE, ModelStore.TO_STACK, Collections.emptyList(), null, 0);
 			}
 			break;
 		case "Queue":
 			activeQueue = true;
+			store.materialize(SnapshotWriter.QUEUE, "");
 			if(myQueue == null) {
 				myQueue = new Queue<>();
+				store.record(ModelStore.OP_CREATE, ModelStore.TO_QUEUE, Collections.emptyList(), null, 0);
 			}
 			break;
-		case "Insertion":
-			activeInsertion = true;
-			if(myInsertion == null) {
-				myInsertion = new InsertionSort();
-			}
-			break;
-		case "Bubble":
-			if(myBubble == null) {
-				myBubble = new BubbleSort();
+		default:
+			// any registered sorting algorithm, e.g. "Insertion" or "Bubble"
+			if(SorterRegistry.contains(ds)) {
+				activeSorters.add(ds);
+				store.materialize(SnapshotWriter.SORTER, ds);
+				if(!mySorters.containsKey(ds)) {
+					mySorters.put(ds, SorterRegistry.create(ds));
+					store.record(ModelStore.OP_CREATE, 0, Collections.singletonList(ds), null, 0);
+				}
 			}
 			break;
 		}
@@ -100,6 +133,124 @@ public class Model<T extends Comparable<T>> extends Observable{
 		if(obj == null) { // prevent null from being added
 			return;
 		}
+		addToStructures(obj, optional);
+		for(String name : activeSorters) {
+			mySorters.get(name).insert((Integer) obj);  // in place if already sorted
+		}
+		store.record(ModelStore.OP_ADD, addFlags(optional), activeSorters, obj, 0);
+		setChanged();
+		notifyObservers();
+	}
+	
+	/**
+	 * This method adds every value of a collection to the active data structures in one pass.
+	 * Unlike calling add() per value, each active sorting algorithm restarts once at the end
+	 * and observers are notified once.
+	 * @param values : the data values to add, null values are skipped
+	 * @param optional : tells if we are appending or prepending to the LL
+	 * @return the number of values that were added
+	 */
+	public int addAll(Collection<? extends T> values, boolean optional) {
+		AbstractSorter[] sorters = activeSorterArray();
+		for(AbstractSorter sorter : sorters) {
+			sorter.listToSort.ensureCapacity(sorter.size() + values.size());
+		}
+		return addAll(values.iterator(), optional, sorters);
+	}
+	
+	/**
+	 * This method adds every value an iterator returns to the active data structures in one pass,
+	 * restarting each active sorting algorithm and notifying observers once at the end.
+	 * @param values : the data values to add, null values are skipped
+	 * @param optional : tells if we are appending or prepending to the LL
+	 * @return the number of values that were added
+	 */
+	public int addAll(Iterator<? extends T> values, boolean optional) {
+		return addAll(values, optional, activeSorterArray());
+	}
+	
+	/**
+	 * This method adds every int of a stream to the active data structures in one pass. The
+	 * sorting algorithms get the ints without boxing, the other structures only box them if one
+	 * of them is active. Only valid for a Model of Integer.
+	 * @param values : the ints to add
+	 * @param optional : tells if we are appending or prepending to the LL
+	 * @return the number of values that were added
+	 */
+	public int addAll(IntStream values, boolean optional) {
+		AbstractSorter[] sorters = activeSorterArray();
+		boolean boxed = hasActiveStructure();
+		int flags = store.isJournaling() ? addFlags(optional) : -1;
+		PrimitiveIterator.OfInt it = values.iterator();
+		int count = 0;
+		while(it.hasNext()) {
+			addInt(it.nextInt(), optional, boxed, sorters, flags);
+			count++;
+		}
+		finishBulkAdd(sorters, count);
+		return count;
+	}
+	
+	/**
+	 * This method adds a range of an int array to the active data structures in one pass,
+	 * e.g. a batch from DatasetImporter. Only valid for a Model of Integer.
+	 * @param values : array holding the ints
+	 * @param offset : index of the first int to add
+	 * @param length : number of ints to add
+	 * @param optional : tells if we are appending or prepending to the LL
+	 * @return the number of values that were added
+	 */
+	public int addAll(int[] values, int offset, int length, boolean optional) {
+		AbstractSorter[] sorters = activeSorterArray();
+		for(AbstractSorter sorter : sorters) {
+			sorter.listToSort.ensureCapacity(sorter.size() + length);
+		}
+		boolean boxed = hasActiveStructure();
+		int flags = store.isJournaling() ? addFlags(optional) : -1;
+		for(int i = offset; i < offset + length; i++) {
+			addInt(values[i], optional, boxed, sorters, flags);
+		}
+		finishBulkAdd(sorters, length);
+		return length;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private void addInt(int value, boolean optional, boolean boxed, AbstractSorter[] sorters, int flags) {
+		if(boxed) {
+			addIntToStructures(value, optional);
+		}
+		for(AbstractSorter sorter : sorters) {
+			sorter.appendValue(value);
+		}
+		if(flags >= 0) {  // boxed only for the journal
+			store.record(ModelStore.OP_ADD, flags, activeSorters, (T) Integer.valueOf(value), 0);
+		}
+	}
+	
+	private int addAll(Iterator<? extends T> values, boolean optional, AbstractSorter[] sorters) {
+		int flags = addFlags(optional);
+		int count = 0;
+		while(values.hasNext()) {
+			T obj = values.next();
+			if(obj == null) { // prevent null from being added
+				continue;
+			}
+			addToStructures(obj, optional);
+			for(AbstractSorter sorter : sorters) {
+				sorter.appendValue((Integer) obj);
+			}
+			store.record(ModelStore.OP_ADD, flags, activeSorters, obj, 0);
+			count++;
+		}
+		finishBulkAdd(sorters, count);
+		return count;
+	}
+	
+	/**
+	 * Adds one value to the active LL, stack and queue.
+	 */
+	private void addToStructures(T obj, boolean optional) {
+		fitStructures(obj instanceof Integer);
 		if(activeLL && myLL != null){
 			if(optional == false) {
 				myLL.append(obj);
@@ -114,12 +265,212 @@ public class Model<T extends Comparable<T>> extends Observable{
 		if(activeQueue && myQueue != null) {
 			myQueue.enqueue(obj);
 		}
-		if(activeInsertion && myInsertion != null) {
-	        myInsertion.append((Integer) obj);
-	        myInsertion.startSort();
-	    }
-		if(myBubble != null) {
-			myBubble.append((Integer) obj);
+	}
+	
+	/**
+	 * Adds one int to the active LL, stack and queue. The int versions get it without boxing.
+	 */
+	@SuppressWarnings("unchecked")
+	private void addIntToStructures(int value, boolean optional) {
+		fitStructures(true);
+		if(activeLL && myLL != null) {
+			if(myLL instanceof IntLinkedList) {
+				((IntLinkedList) myLL).insertInt(value, optional ? 0 : myLL.size());
+			}
+			else if(optional) {
+				myLL.prepend((T) Integer.valueOf(value));
+			}
+			else {
+				myLL.append((T) Integer.valueOf(value));
+			}
+		}
+		if(activeStack && myStack != null) {
+			if(myStack instanceof IntStack) {
+				((IntStack) myStack).pushInt(value);
+			}
+			else {
+				myStack.push((T) Integer.valueOf(value));
+			}
+		}
+		if(activeQueue && myQueue != null) {
+			if(myQueue instanceof IntQueue) {
+				((IntQueue) myQueue).enqueueInt(value);
+			}
+			else {
+				myQueue.enqueue((T) Integer.valueOf(value));
+			}
+		}
+	}
+	
+	/**
+	 * Picks the versions of the active LL, stack and queue for the next value, see fitLL().
+	 * @param integer : true if the next value is an Integer
+	 */
+	private void fitStructures(boolean integer) {
+		if(activeLL) {
+			fitLL(integer);
+		}
+		if(activeStack) {
+			fitStack(integer);
+		}
+		if(activeQueue) {
+			fitQueue(integer);
+		}
+	}
+	
+	/**
+	 * Integer data is kept in IntLinkedList, IntStack and IntQueue, which hold ints instead of
+	 * boxed Integers. An empty LL about to get an Integer is replaced with an IntLinkedList, and
+	 * an IntLinkedList about to get any other value is copied back into a LinkedList, so the
+	 * model picks the version from the data without knowing T. A view from getLL() taken before
+	 * the switch keeps showing the old list. A LL with a skip or hash index stays a LinkedList.
+	 * @param integer : true if the next value is an Integer
+	 */
+	@SuppressWarnings("unchecked")
+	private void fitLL(boolean integer) {
+		if(myLL == null || (myLL instanceof IntLinkedList) == integer) {
+			return;
+		}
+		if(!integer) {
+			LinkedList<T> generic = new LinkedList<>();
+			for(T item : myLL.asList()) {
+				generic.append(item);
+			}
+			generic.setIndexed(myLL.isIndexed());
+			generic.setHashIndexed(myLL.isHashIndexed());
+			myLL = generic;
+		}
+		else if(myLL.size() == 0 && !myLL.isIndexed() && !myLL.isHashIndexed()) {
+			myLL = (ValueList<T>) (ValueList<?>) new IntLinkedList();
+		}
+	}
+	
+	/**
+	 * Like fitLL(), switches the stack between Stack and IntStack.
+	 */
+	@SuppressWarnings("unchecked")
+	private void fitStack(boolean integer) {
+		if(myStack == null || (myStack instanceof IntStack) == integer) {
+			return;
+		}
+		if(!integer) {
+			Stack<T> generic = new Stack<>();
+			for(T item : myStack.asList()) {
+				generic.push(item);
+			}
+			myStack = generic;
+		}
+		else if(myStack.isEmpty()) {
+			myStack = (ValueStack<T>) (ValueStack<?>) new IntStack();
+		}
+	}
+	
+	/**
+	 * Like fitLL(), switches the queue between Queue and IntQueue.
+	 */
+	@SuppressWarnings("unchecked")
+	private void fitQueue(boolean integer) {
+		if(myQueue == null || (myQueue instanceof IntQueue) == integer) {
+			return;
+		}
+		if(!integer) {
+			Queue<T> generic = new Queue<>(Math.max(Queue.DEFAULT_CAPACITY, myQueue.size()));
+			for(T item : myQueue.asList()) {
+				generic.enqueue(item);
+			}
+			myQueue = generic;
+		}
+		else if(myQueue.isEmpty()) {
+			myQueue = (ValueQueue<T>) (ValueQueue<?>) new IntQueue();
+		}
+	}
+	
+	/**
+	 * Moves a loaded LL, stack or queue that holds only Integers into its int version.
+	 */
+	@SuppressWarnings("unchecked")
+	private void specialize() {
+		if(myLL != null && !(myLL instanceof IntLinkedList) && myLL.size() > 0 && !myLL.isIndexed()
+				&& !myLL.isHashIndexed() && onlyIntegers(myLL.asList())) {
+			myLL = (ValueList<T>) (ValueList<?>) new IntLinkedList((ValueList<Integer>) (ValueList<?>) myLL);
+		}
+		if(myStack != null && !(myStack instanceof IntStack) && !myStack.isEmpty() && onlyIntegers(myStack.asList())) {
+			myStack = (ValueStack<T>) (ValueStack<?>) new IntStack((ValueStack<Integer>) (ValueStack<?>) myStack);
+		}
+		if(myQueue != null && !(myQueue instanceof IntQueue) && !myQueue.isEmpty() && onlyIntegers(myQueue.asList())) {
+			myQueue = (ValueQueue<T>) (ValueQueue<?>) new IntQueue((ValueQueue<Integer>) (ValueQueue<?>) myQueue);
+		}
+	}
+	
+	private static boolean onlyIntegers(List<?> values) {
+		for(Object value : values) {
+			if(!(value instanceof Integer)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Restarts each sorter that got values and notifies observers once after a bulk add.
+	 */
+	private void finishBulkAdd(AbstractSorter[] sorters, int count) {
+		if(count == 0) {
+			return;
+		}
+		for(AbstractSorter sorter : sorters) {
+			sorter.startSort();
+		}
+		setChanged();
+		notifyObservers();
+	}
+	
+	private boolean hasActiveStructure() {
+		return (activeLL && myLL != null) || (activeStack && myStack != null) || (activeQueue && myQueue != null);
+	}
+	
+	/**
+	 * Returns the journal flags of an add to the active LL, stack and queue.
+	 */
+	private int addFlags(boolean optional) {
+		return structureFlags() | (optional ? ModelStore.PREPEND : 0);
+	}
+	
+	/**
+	 * Returns the journal flags naming the active LL, stack and queue.
+	 */
+	private int structureFlags() {
+		int flags = 0;
+		if(activeLL && myLL != null) {
+			flags |= ModelStore.TO_LL;
+		}
+		if(activeStack && myStack != null) {
+			flags |= ModelStore.TO_STACK;
+		}
+		if(activeQueue && myQueue != null) {
+			flags |= ModelStore.TO_QUEUE;
+		}
+		return flags;
+	}
+	
+	private AbstractSorter[] activeSorterArray() {
+		AbstractSorter[] sorters = new AbstractSorter[activeSorters.size()];
+		int i = 0;
+		for(String name : activeSorters) {
+			sorters[i++] = mySorters.get(name);
+		}
+		return sorters;
+	}
+	
+	/**
+	 * This method moves every active sorting algorithm's list into a memory-mapped file in the
+	 * given directory, named after the algorithm (e.g. Merge.i32), so lists can grow past the heap.
+	 * @param directory : directory that will hold the files
+	 * @throws IOException if a file cannot be created
+	 */
+	public void useMappedStorage(Path directory) throws IOException {
+		for(String name : activeSorters) {
+			mySorters.get(name).useMappedStorage(directory.resolve(name + ".i32"));
 		}
 		setChanged();
 		notifyObservers();
@@ -133,8 +484,11 @@ public class Model<T extends Comparable<T>> extends Observable{
 	 * @author Cole Mayo
 	 */
 	public void insert(T obj, int index) {
+		store.materialize(SnapshotWriter.LINKED_LIST, "");
 		if(myLL != null && obj != null) {
+			fitLL(obj instanceof Integer);
 			myLL.insert(obj, index);
+			store.record(ModelStore.OP_INSERT, ModelStore.TO_LL, Collections.emptyList(), obj, index);
 			setChanged();
 			notifyObservers();
 		}
@@ -146,30 +500,44 @@ public class Model<T extends Comparable<T>> extends Observable{
 	 * @author Cole Mayo
 	 */
 	public void remove(T obj) {
+		int flags = ModelStore.HAS_VALUE;
 		if(obj == null) {
 			if(activeStack && myStack != null) {
 				myStack.pop();
+				flags = ModelStore.POP;
 			}
 			else if(activeQueue && myQueue != null) {
 				myQueue.dequeue();
+				flags = ModelStore.DEQUEUE;
 			}
 			else {
 				return;
 			}
 		}
 		if(activeLL && myLL != null){
-			myLL.remove(obj);
-		}
-		if(myInsertion != null) {
-			myInsertion.remove((Integer) obj);
+			removeFromLL(obj);
+			flags |= ModelStore.TO_LL;
 		}
-		if(myBubble != null) {
-			myBubble.remove((Integer) obj);
+		for(String name : activeSorters) {
+			mySorters.get(name).remove((Integer) obj);
 		}
+		// removing null from the LL and sorters does nothing, so a pop or dequeue records only itself
+		store.record(ModelStore.OP_REMOVE, obj == null ? flags & ~ModelStore.TO_LL : flags,
+				obj == null ? Collections.emptyList() : activeSorters, obj, 0);
 		setChanged();
 		notifyObservers();
 	}
 	
+	/**
+	 * Removes a value from the LL. An IntLinkedList cannot hold anything but Integers, so
+	 * other values are not looked for.
+	 */
+	private void removeFromLL(T obj) {
+		if(!(myLL instanceof IntLinkedList) || obj instanceof Integer) {
+			myLL.remove(obj);
+		}
+	}
+	
 	/**
 	 * TODO this method needs revision
 	 * @param obj
@@ -177,7 +545,7 @@ public class Model<T extends Comparable<T>> extends Observable{
 	 */
 	public Object find(T obj) {
 		if(activeLL && myLL != null){
-			return myLL.find(obj);
+			return (myLL instanceof IntLinkedList && !(obj instanceof Integer)) ? -1 : myLL.find(obj);
 		}
 		if(activeStack && myStack != null) {
 			return myStack.peek();
@@ -185,11 +553,9 @@ public class Model<T extends Comparable<T>> extends Observable{
 		if(activeQueue && myQueue != null) {
 			return myQueue.peek();
 		}
-		if(activeInsertion && myInsertion != null) {
-			return myInsertion.find((Integer) obj);
-		}
-		if(myBubble != null) {
-			return myBubble.find((Integer) obj);
+		AbstractSorter sorter = getActiveSorter();
+		if(sorter != null) {
+			return sorter.find((Integer) obj);
 		}
 		else {
 			return null;
@@ -210,157 +576,475 @@ public class Model<T extends Comparable<T>> extends Observable{
 		if(activeQueue && myQueue != null) {
 			myQueue.reset();
 		}
-		if(activeInsertion && myInsertion != null) {
-			myInsertion.reset();
-		}
-		if(myBubble != null) {
-			myBubble.reset();
+		for(String name : activeSorters) {
+			mySorters.get(name).reset();
 		}
+		store.record(ModelStore.OP_RESET, structureFlags(), activeSorters, null, 0);
 		setChanged();
 		notifyObservers();
 	}
 	
 	/**
 	 * This method is used to save the game's state so it can be loaded in the future.
-	 * @throws IOException 
-	 * @throws FileNotFoundException 
+	 * It writes a snapshot to the file "save_one.dat", see save(Path). While a journal is open
+	 * only the journal is synced to disk, and the journal is compacted into its snapshot once it
+	 * has grown past the compaction threshold, so the cost follows the size of the changes.
+	 * @throws IOException if the snapshot or journal cannot be written
 	 * @author: Cole Mayo
 	 */
 	public void save() throws IOException {
-	    try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream("save_one.dat"))) {
-			if(myLL != null){
-		        oos.writeObject(myLL);
-			}
-			if(myStack != null) {
-		        oos.writeObject(myStack);
-			}
-			if(myQueue != null) {
-		        oos.writeObject(myQueue);
-			}
-			if(myInsertion != null) {
-		        oos.writeObject(myInsertion);
-			}
-			if(myBubble!= null) {
-		        oos.writeObject(myBubble);
-			}
-	    }
-	    catch (IOException e) {
-	        e.printStackTrace(); // or handle the exception appropriately
-	    }
+		store.save();
+	}
+	
+	/**
+	 * This method saves every data structure and algorithm as a binary snapshot: a versioned
+	 * header and one length-prefixed, checksummed section per structure. Sorters are written as
+	 * packed ints, the elements of the LL, stack and queue with the model's ValueCodec. The
+	 * snapshot is written next to the file and moved over it at the end, so a failed save
+	 * never leaves a half written file behind. Saving over the snapshot of an open journal
+	 * compacts the journal instead.
+	 * @param file : the file to write
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	public void save(Path file) throws IOException {
+		store.save(file);
+	}
+	
+	/**
+	 * This method saves like save() without blocking the caller, see saveAsync(Path, Consumer).
+	 * While a journal is open the journal is synced on the I/O thread, and compacted there once
+	 * it has grown past the compaction threshold.
+	 * @param progress : receives the progress on the I/O thread, or null
+	 * @return completes with the final progress, or exceptionally with the IOException
+	 */
+	public CompletableFuture<SnapshotProgress> saveAsync(Consumer<SnapshotProgress> progress) {
+		return store.saveAsync(progress);
+	}
+	
+	/**
+	 * This method saves a snapshot like save(Path) without blocking the caller. The state is
+	 * copied on the calling thread, which only copies arrays, and the copy is written on the
+	 * model's I/O thread, so the model can keep changing while the file is written and the
+	 * snapshot still holds the state at the time of the call. Saves run one after another in
+	 * the order they were started.
+	 * @param file : the file to write
+	 * @param progress : receives the progress on the I/O thread, or null
+	 * @return completes with the final progress, or exceptionally with the IOException
+	 */
+	public CompletableFuture<SnapshotProgress> saveAsync(Path file, Consumer<SnapshotProgress> progress) {
+		return store.saveAsync(file, progress);
 	}
 	
 	/**
-	 * This method is used to load saved data structures and algorithms. It tries to load from the
-	 * file "save_one.dat". If the files exists, the method uses a loop to read from the input stream
-	 * to load up to 5 saved data structures or algorithms.
+	 * This method is used to load saved data structures and algorithms from the file
+	 * "save_one.dat", see load(Path).
+	 * @return true if a save file was loaded, false if there is none
+	 * @throws IOException if the save file is corrupt or cannot be read
 	 * @author Cole Mayo
 	 */
-	@SuppressWarnings("unchecked")
-	public void load() {
-		int count = 0;
-		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream("save_one.dat"))){
-			while(true) {
-				Object ds = ois.readObject();
-				if(ds instanceof LinkedList) {
-					myLL = (LinkedList<T>) ds;
-					count++;
-				}
-				else if(ds instanceof Queue) {
-					myQueue = (Queue<T>) ds;
-					count++;
-				}
-				else if(ds instanceof Stack) {
-					myStack = (Stack<T>) ds;
-					count++;
-				}
-				else if(ds instanceof BubbleSort) {
-					myBubble = (BubbleSort) ds;
-					count++;
-				}
-				else if(ds instanceof InsertionSort) {
-					myInsertion = (InsertionSort) ds;
-					count++;
+	public boolean load() throws IOException {
+		return load(Paths.get(SAVE_FILE));
+	}
+	
+	/**
+	 * This method loads the data structures and algorithms saved in a snapshot. Every section is
+	 * read and checked before anything is replaced, so a corrupt file leaves the model as it was.
+	 * Files written by older versions with Java serialization are still read. Loading while a
+	 * journal is open compacts the journal, so it extends the loaded state.
+	 * @param file : the file to read
+	 * @return true if the file was loaded, false if it does not exist
+	 * @throws CorruptSnapshotException if the file is damaged or not a snapshot
+	 * @throws IOException if the file cannot be read or was saved with a different codec
+	 */
+	public boolean load(Path file) throws IOException {
+		return store.load(file);
+	}
+	
+	/**
+	 * This method loads like load(Path) without blocking the caller. The file is read and checked
+	 * on the model's I/O thread, and the loaded structures replace the current ones on the given
+	 * executor, e.g. Platform::runLater, so observers are still notified on the thread that owns
+	 * the model. A corrupt file leaves the model as it was.
+	 * @param file : the file to read
+	 * @param progress : receives the progress on the I/O thread, or null
+	 * @param applyOn : runs the step that replaces the structures
+	 * @return completes with true if the file was loaded, false if it does not exist, or
+	 *         exceptionally with the IOException
+	 */
+	public CompletableFuture<Boolean> loadAsync(Path file, Consumer<SnapshotProgress> progress, Executor applyOn) {
+		return store.loadAsync(file, progress, applyOn);
+	}
+	
+	/**
+	 * This method opens a snapshot without reading its data structures and algorithms. Only the
+	 * table of contents is read, and each structure is read and checked the first time
+	 * activateDS(), a getter or a save touches it, so startup and memory only pay for what the
+	 * chosen screen uses. Structures that are already active are read right away, and structures
+	 * the file does not hold are kept. A structure found damaged when it is read is reported on
+	 * stderr and through getLoadError(), and starts empty. Files written with Java serialization
+	 * are loaded in full.
+	 * @param file : the file to open
+	 * @return true if the file was opened, false if it does not exist
+	 * @throws CorruptSnapshotException if the header or table of contents is damaged
+	 * @throws IOException if the file cannot be read or was saved with a different codec
+	 */
+	public boolean open(Path file) throws IOException {
+		return store.open(file);
+	}
+	
+	/**
+	 * This method turns on journaled saving around a snapshot file. The snapshot is loaded and
+	 * the changes in its journal (the same path plus ".journal") are replayed, recovering the
+	 * state at the last save(). From then on add, insert, remove and reset, including the pushes,
+	 * pops, enqueues and dequeues they cause, are appended to the journal as they happen, and
+	 * save() only has to sync the journal. Sort steps are not journaled, a recovered sorter holds
+	 * the same values and starts its sort over. Without a snapshot one is written first.
+	 * @param snapshot : the snapshot file
+	 * @throws IOException if the snapshot or journal cannot be read or written
+	 */
+	public void openJournal(Path snapshot) throws IOException {
+		store.openJournal(snapshot);
+	}
+	
+	/**
+	 * This method syncs and closes the journal, after any compaction still running on the I/O
+	 * thread. Later changes are only kept by a full save().
+	 * @throws IOException if the journal cannot be written
+	 */
+	public void closeJournal() throws IOException {
+		store.closeJournal();
+	}
+	
+	/**
+	 * Tells if changes are being journaled.
+	 * @return true if a journal is open
+	 */
+	public boolean isJournaling() {
+		return store.isJournaling();
+	}
+	
+	/**
+	 * This method folds the journal into a new snapshot of the whole state and starts an empty
+	 * journal. save() calls it once the journal outgrows the compaction threshold.
+	 * @throws IOException if the snapshot or journal cannot be written
+	 * @throws IllegalStateException if no journal is open
+	 */
+	public void compact() throws IOException {
+		store.compact();
+	}
+	
+	/**
+	 * Sets how big the journal may grow before save() compacts it.
+	 * @param bytes : journal size in bytes, 0 to compact once the journal is bigger than the snapshot
+	 */
+	public void setCompactionThreshold(long bytes) {
+		store.setCompactionThreshold(bytes);
+	}
+	
+	/**
+	 * Returns the journal kept next to a snapshot.
+	 * @param snapshot : the snapshot file
+	 * @return the journal file
+	 */
+	public static Path journalFile(Path snapshot) {
+		return ModelStore.journalFile(snapshot);
+	}
+	
+	/**
+	 * Copies the structures for a snapshot, see SnapshotImage. ModelStore reads the pending
+	 * structures first.
+	 */
+	SnapshotImage<T> image(ValueCodec<T> codec, long snapshotGeneration, long coveredGeneration, long coveredOffset) {
+		return new SnapshotImage<>(codec, snapshotGeneration, coveredGeneration, coveredOffset,
+				myLL, myStack, myQueue, mySorters);
+	}
+	
+	/**
+	 * Replaces the structures ModelStore read from a snapshot, the null ones are kept.
+	 */
+	void replace(ValueList<T> ll, ValueStack<T> stack, ValueQueue<T> queue, Map<String, AbstractSorter> sorters) {
+		if(ll != null) {
+			myLL = ll;
+		}
+		if(stack != null) {
+			myStack = stack;
+		}
+		if(queue != null) {
+			myQueue = queue;
+		}
+		specialize();
+		mySorters.putAll(sorters);
+	}
+	
+	/**
+	 * Tells if a snapshot section holds a structure that was activated.
+	 */
+	boolean isActive(byte kind, String name) {
+		switch (kind) {
+		case SnapshotWriter.LINKED_LIST:
+			return activeLL;
+		case SnapshotWriter.STACK:
+			return activeStack;
+		case SnapshotWriter.QUEUE:
+			return activeQueue;
+		case SnapshotWriter.SORTER:
+			return activeSorters.contains(name);
+		default:
+			return false;
+		}
+	}
+	
+	/**
+	 * Returns the sorter a journal record names, created if the snapshot did not hold it.
+	 */
+	AbstractSorter replaySorter(String name) {
+		return mySorters.computeIfAbsent(name, SorterRegistry::create);
+	}
+	
+	/**
+	 * Applies the LL, stack and queue part of one journaled change to the structures the flags
+	 * name, whether or not they are active. ModelStore handles the sorters.
+	 * @param op : one of the ModelStore.OP_ constants
+	 * @param flags : the ModelStore flags the change was recorded with
+	 * @param value : the value added, inserted or removed, or null
+	 * @param index : where an insert put the value
+	 */
+	void replay(byte op, int flags, T value, int index) {
+		if((flags & ModelStore.TO_LL) != 0 && myLL == null) {
+			myLL = new LinkedList<>();
+		}
+		if((flags & (ModelStore.TO_STACK | ModelStore.POP)) != 0 && myStack == null) {
+			myStack = new Stack<>();
+		}
+		if((flags & (ModelStore.TO_QUEUE | ModelStore.DEQUEUE)) != 0 && myQueue == null) {
+			myQueue = new Queue<>();
+		}
+		switch (op) {
+		case ModelStore.OP_CREATE:
+			if((flags & ModelStore.TO_LL) != 0) {
+				myLL = new LinkedList<>();
+			}
+			if((flags & ModelStore.TO_STACK) != 0) {
+				myStack = new Stack<>();
+			}
+			if((flags & ModelStore.TO_QUEUE) != 0) {
+				myQueue = new Queue<>();
+			}
+			break;
+		case ModelStore.OP_ADD:
+			if((flags & ModelStore.TO_LL) != 0) {
+				fitLL(value instanceof Integer);
+				if((flags & ModelStore.PREPEND) != 0) {
+					myLL.prepend(value);
 				}
-				if(count >= 5) {
-					break;
+				else {
+					myLL.append(value);
 				}
 			}
-		} catch(IOException | ClassNotFoundException e) {
-			return;
+			if((flags & ModelStore.TO_STACK) != 0) {
+				fitStack(value instanceof Integer);
+				myStack.push(value);
+			}
+			if((flags & ModelStore.TO_QUEUE) != 0) {
+				fitQueue(value instanceof Integer);
+				myQueue.enqueue(value);
+			}
+			break;
+		case ModelStore.OP_INSERT:
+			fitLL(value instanceof Integer);
+			myLL.insert(value, index);
+			break;
+		case ModelStore.OP_REMOVE:
+			if((flags & ModelStore.POP) != 0) {
+				myStack.pop();
+			}
+			if((flags & ModelStore.DEQUEUE) != 0) {
+				myQueue.dequeue();
+			}
+			if((flags & ModelStore.HAS_VALUE) != 0 && (flags & ModelStore.TO_LL) != 0) {
+				removeFromLL(value);
+			}
+			break;
+		case ModelStore.OP_RESET:
+			if((flags & ModelStore.TO_LL) != 0) {
+				myLL.reset();
+			}
+			if((flags & ModelStore.TO_STACK) != 0) {
+				myStack.reset();
+			}
+			if((flags & ModelStore.TO_QUEUE) != 0) {
+				myQueue.reset();
+			}
+			break;
+		default:
+			break;
 		}
 	}
 	
+	/**
+	 * Notifies the observers after ModelStore replaced or replayed structures.
+	 */
+	void changed() {
+		setChanged();
+		notifyObservers();
+	}
+	
+	/**
+	 * Keeps the error of a structure ModelStore could not read, see getLoadError().
+	 */
+	void loadFailed(IOException e) {
+		loadError = e;
+	}
+	
+	/**
+	 * This method sets how the elements of the LL, stack and queue are written to snapshots.
+	 * The default tagged codec handles Integers, Strings and any Serializable value; a codec
+	 * for exactly one type, e.g. ValueCodec.integers(), writes smaller files. A file can only
+	 * be loaded with the codec that saved it.
+	 * @param codec : the codec to use
+	 */
+	public void setValueCodec(ValueCodec<T> codec) {
+		store.setCodec(codec);
+	}
+	
+	/**
+	 * Returns the problem that kept the constructor from loading the save file, or the last
+	 * structure of an opened snapshot that could not be read.
+	 * @return the error, or null if the file loaded or there was none
+	 */
+	public IOException getLoadError() {
+		return loadError;
+	}
+	
 	/**
 	 * Method to get the stack elements or returns empty list if no stack exists 
 	 * 
-	 * @return List<T> of stack elements 
+	 * @return live read-only List<T> of stack elements from bottom to top
 	 * @author thomasurias
 	 */
 	public List<T> getStackElements() {
+	    store.materialize(SnapshotWriter.STACK, "");
 	    if (myStack != null) {
-	        return myStack.getStackElements();
+	        return myStack.asList();
+	    }
+	    return Collections.emptyList();
+	}
+
+	/**
+	 * Method to get the queue elements or returns empty list if no queue exists
+	 * 
+	 * @return live read-only List<T> of queue elements from front to rear
+	 */
+	public List<T> getQueueElements() {
+	    store.materialize(SnapshotWriter.QUEUE, "");
+	    if (myQueue != null) {
+	        return myQueue.asList();
 	    }
-	    return new ArrayList<>();
+	    return Collections.emptyList();
 	}
 	
 	public InsertionSort getInsertionSort() {
-	    return myInsertion;
+	    store.materialize(SnapshotWriter.SORTER, "Insertion");
+	    return (InsertionSort) mySorters.get("Insertion");
 	}
 	
 	public BubbleSort getBubbleSort() {
-	    return myBubble;
+	    store.materialize(SnapshotWriter.SORTER, "Bubble");
+	    return (BubbleSort) mySorters.get("Bubble");
+	}
+	
+	/**
+	 * Method to get a sorting algorithm by its SorterRegistry name
+	 * 
+	 * @param name : short name of the sorter, e.g. "Merge"
+	 * @return the sorter, or null if it was never activated or loaded
+	 */
+	public AbstractSorter getSorter(String name) {
+	    store.materialize(SnapshotWriter.SORTER, name);
+	    return mySorters.get(name);
+	}
+	
+	/**
+	 * Method to get the first sorting algorithm that was activated
+	 * 
+	 * @return the sorter, or null if no sorting algorithm is active
+	 */
+	public AbstractSorter getActiveSorter() {
+	    for (String name : activeSorters) {
+	        return mySorters.get(name);
+	    }
+	    return null;
 	}
 	
 	public Object getStack() {
+		store.materialize(SnapshotWriter.STACK, "");
 		return myStack;
 	}
 	
 	/**
 	 * Method to get the listing being sorted by the InsertionSort class
 	 * 
-	 * @return ArrayList<T> of elements being sorted in InsertionSort 
+	 * @return read-only List<Integer> view of elements being sorted in InsertionSort 
 	 * @author thomasurias
 	 */
-	public ArrayList<Integer> getInsertionSortElements() {
-	    if (myInsertion != null) {
-	        return myInsertion.getlistToSort();
+	public List<Integer> getInsertionSortElements() {
+	    if (getInsertionSort() != null) {
+	        return getInsertionSort().getlistToSort();
 	    }
 	    return new ArrayList<>(); // return empty if insertion sort is not active
 	}
 	
-	public ArrayList<Integer> getBubbleSortElements() {
-	    if (myBubble != null) {
-	        return myBubble.getlistToSort();
+	public List<Integer> getBubbleSortElements() {
+	    if (getBubbleSort() != null) {
+	        return getBubbleSort().getlistToSort();
 	    }
 	    return new ArrayList<>(); // return empty if insertion sort is not active
 	}
 
-	public Queue<T> getQueue() {
+	public ValueQueue<T> getQueue() {
+	    store.materialize(SnapshotWriter.QUEUE, "");
 	    return myQueue;
 	}
 		
-	public ArrayList<T> getLL(){
-		return myLL.getLL();
+	/**
+	 * Method to get the linked list elements without copying them, or returns empty list if no LL exists
+	 * 
+	 * @return live read-only List<T> of the linked list from head to tail
+	 */
+	public List<T> getLL(){
+		store.materialize(SnapshotWriter.LINKED_LIST, "");
+		if(myLL != null) {
+			return myLL.asList();
+		}
+		return Collections.emptyList();
 	}
 
 	public boolean hasStack() {
-	    return myStack != null;
+	    return myStack != null || store.isPending(SnapshotWriter.STACK, "");
 	}
 
 	public boolean hasLinkedList() {
-	    return myLL != null;
+	    return myLL != null || store.isPending(SnapshotWriter.LINKED_LIST, "");
 	}
 
 	public boolean hasQueue() {
-	    return myQueue != null;
+	    return myQueue != null || store.isPending(SnapshotWriter.QUEUE, "");
 	}
 
 	public boolean hasInsertionSort() {
-	    return myInsertion != null;
+	    return mySorters.containsKey("Insertion") || store.isPending(SnapshotWriter.SORTER, "Insertion");
 	}
 
 	public boolean hasBubbleSort() {
-	    return myBubble != null;
+	    return mySorters.containsKey("Bubble") || store.isPending(SnapshotWriter.SORTER, "Bubble");
 	}
-}
 
+	/**
+	 * Checks if any sorting algorithm was activated
+	 * 
+	 * @return true if this model drives a sorting algorithm
+	 */
+	public boolean hasSorter() {
+	    return !activeSorters.isEmpty();
+	}
+}
@@ -0,0 +1,848 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamConstants;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Saves and loads the structures of one Model. It owns the snapshot the
+ * model was opened from, the journal with its generation bookkeeping, the
+ * compaction running in the background and the thread snapshots are
+ * written on.
+ *
+ * <pre>
+ * journal record header: byte flags, short sorter count, UTF sorter names
+ * OP_CREATE, OP_RESET element: int count, count ints per named sorter
+ * OP_ADD, OP_REMOVE element: the value, none for a pop or dequeue
+ * OP_INSERT element: int index, the value
+ * </pre>
+ * The model reports each change through record() and gets the recorded
+ * changes back through Model.replay() when a journal is opened.
+ *
+ * @param <T> type of the LL, stack and queue elements
+ * @author thomasurias
+ */
+final class ModelStore<T extends Comparable<T>> {
+    /** Operations recorded in the journal */
+    static final byte OP_CREATE = 1;
+    static final byte OP_ADD = 2;
+    static final byte OP_INSERT = 3;
+    static final byte OP_REMOVE = 4;
+    static final byte OP_RESET = 5;
+
+    /** Flags in a journal record header telling which structures an operation changed */
+    static final int TO_LL = 1;
+    static final int PREPEND = 2;
+    static final int TO_STACK = 4;
+    static final int TO_QUEUE = 8;
+    static final int POP = 16;
+    static final int DEQUEUE = 32;
+    static final int HAS_VALUE = 64;
+
+    /** Thread the asynchronous saves and loads run on, one at a time in the order they were started */
+    private static final ExecutorService IO = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "model-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Minimum time between two progress reports */
+    private static final long PROGRESS_INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Model<T> model;
+
+    /** Writes and reads the LL, stack and queue elements in snapshots and the journal */
+    private ValueCodec<T> codec = ValueCodec.tagged();
+
+    /** Snapshot opened by open(Path) whose remaining structures are read on first use, null if none */
+    private LazySnapshot<T> pending;
+
+    /** Journal of the changes since the last snapshot, null while journaling is off */
+    private Journal journal;
+
+    /** Snapshot the journal extends */
+    private Path journalSnapshot;
+
+    /** Generation of the last snapshot loaded or written, a journal is only replayed onto its own */
+    private volatile long generation;
+
+    /** Journal generation and offset up to which the loaded snapshot already holds the records */
+    private long coveredGeneration = -1;
+    private long coveredOffset;
+
+    /** Compaction running on the I/O thread, null if none was started */
+    private CompletableFuture<SnapshotProgress> compaction;
+
+    /** Journal size in bytes that makes save() compact, 0 to compact once it outgrows the snapshot */
+    private long compactionThreshold;
+
+    /** Last record header built, reused while the flags and sorters stay the same */
+    private int headerFlags = -1;
+    private List<String> headerSorters;
+    private byte[] header;
+
+    ModelStore(Model<T> model) {
+        this.model = model;
+    }
+
+    ValueCodec<T> codec() {
+        return codec;
+    }
+
+    void setCodec(ValueCodec<T> codec) {
+        if (journal != null) {
+            throw new IllegalStateException("The codec cannot change while a journal is open");
+        }
+        this.codec = Objects.requireNonNull(codec);
+    }
+
+    /**
+     * See Model.save().
+     */
+    void save() throws IOException {
+        if (journal != null) {
+            journal.sync();
+            if (compactionDue()) {
+                compact();
+            }
+            return;
+        }
+        save(Paths.get(Model.SAVE_FILE));
+    }
+
+    /**
+     * See Model.save(Path).
+     */
+    void save(Path file) throws IOException {
+        if (journal != null && file.toAbsolutePath().equals(journalSnapshot)) {
+            compact();
+            return;
+        }
+        image(generation, -1, 0).write(file, null);
+    }
+
+    /**
+     * See Model.saveAsync(Consumer).
+     */
+    CompletableFuture<SnapshotProgress> saveAsync(Consumer<SnapshotProgress> progress) {
+        if (journal == null) {
+            return saveAsync(Paths.get(Model.SAVE_FILE), progress);
+        }
+        try {
+            if (compactionDue()) {
+                return compactAsync(progress);
+            }
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        Journal syncing = journal;
+        return CompletableFuture.supplyAsync(() -> {
+            SnapshotProgress.Tracker tracker = new SnapshotProgress.Tracker(progress, PROGRESS_INTERVAL);
+            try {
+                syncing.sync();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+            tracker.bytes = syncing.size();
+            return tracker.finish();
+        }, IO);
+    }
+
+    /**
+     * See Model.saveAsync(Path, Consumer).
+     */
+    CompletableFuture<SnapshotProgress> saveAsync(Path file, Consumer<SnapshotProgress> progress) {
+        if (journal != null && file.toAbsolutePath().equals(journalSnapshot)) {
+            return compactAsync(progress);
+        }
+        SnapshotImage<T> image = image(generation, -1, 0);
+        return CompletableFuture.supplyAsync(() -> {
+            SnapshotProgress.Tracker tracker = new SnapshotProgress.Tracker(progress, PROGRESS_INTERVAL);
+            try {
+                image.write(file, tracker);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+            return tracker.finish();
+        }, IO);
+    }
+
+    /**
+     * Reads every structure still pending and copies the state for a snapshot of the given generation.
+     */
+    private SnapshotImage<T> image(long snapshotGeneration, long coveredGeneration, long coveredOffset) {
+        materializeAll();
+        return model.image(codec, snapshotGeneration, coveredGeneration, coveredOffset);
+    }
+
+    /**
+     * See Model.load(Path).
+     */
+    boolean load(Path file) throws IOException {
+        Loaded<T> loaded = read(file, null);
+        if (loaded == null) {
+            return false;
+        }
+        apply(loaded);
+        return true;
+    }
+
+    /**
+     * See Model.loadAsync(Path, Consumer, Executor).
+     */
+    CompletableFuture<Boolean> loadAsync(Path file, Consumer<SnapshotProgress> progress, Executor applyOn) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return read(file, new SnapshotProgress.Tracker(progress, PROGRESS_INTERVAL));
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, IO).thenApplyAsync(loaded -> {
+            if (loaded == null) {
+                return false;
+            }
+            try {
+                apply(loaded);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+            return true;
+        }, applyOn);
+    }
+
+    /**
+     * See Model.open(Path). The structures the model has active are read right away.
+     */
+    boolean open(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return false;
+        }
+        boolean serialized;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            serialized = isJavaSerialized(channel);
+        }
+        if (serialized) {
+            return load(file);
+        }
+        LazySnapshot<T> opened = LazySnapshot.open(file, codec);
+        if (pending != null) {
+            // what the earlier snapshot holds and this one does not is kept, so it is read now
+            for (SnapshotReader.Section section : pending.remaining()) {
+                if (!opened.has(section.kind, section.name)) {
+                    materialize(section.kind, section.name);
+                }
+            }
+            if (pending != null) {
+                pending.close();
+            }
+        }
+        pending = opened.isEmpty() ? null : opened;
+        generation = opened.generation();
+        coveredGeneration = opened.coveredGeneration();
+        coveredOffset = opened.coveredOffset();
+        for (SnapshotReader.Section section : opened.remaining()) {
+            if (model.isActive(section.kind, section.name)) {
+                materialize(section.kind, section.name);
+            }
+        }
+        compactIfJournaling();
+        model.changed();
+        return true;
+    }
+
+    /**
+     * Tells if the opened snapshot holds a structure that was not read yet.
+     */
+    boolean isPending(byte kind, String name) {
+        return pending != null && pending.has(kind, name);
+    }
+
+    /**
+     * Reads one structure of the opened snapshot into the model if it was not read yet. A
+     * damaged structure is reported and left out.
+     */
+    void materialize(byte kind, String name) {
+        if (!isPending(kind, name)) {
+            return;
+        }
+        try {
+            switch (kind) {
+            case SnapshotWriter.LINKED_LIST:
+                model.replace(pending.takeLinkedList(), null, null, Map.of());
+                break;
+            case SnapshotWriter.STACK:
+                model.replace(null, pending.takeStack(), null, Map.of());
+                break;
+            case SnapshotWriter.QUEUE:
+                model.replace(null, null, pending.takeQueue(), Map.of());
+                break;
+            default:
+                AbstractSorter sorter = pending.takeSorter(name);
+                model.replace(null, null, null, (sorter == null) ? Map.of() : Map.of(name, sorter));
+                break;
+            }
+        } catch (IOException | RuntimeException e) {
+            model.loadFailed((e instanceof IOException) ? (IOException) e
+                    : new CorruptSnapshotException("Section " + kind + " " + name + " does not read: " + e));
+            System.err.println("Could not load " + (name.isEmpty() ? "section " + kind : name) + " from "
+                    + pending.file() + ": " + e.getMessage());
+        }
+        if (pending.isEmpty()) {
+            pending = null;
+        }
+    }
+
+    /**
+     * Reads every structure of the opened snapshot that was not read yet.
+     */
+    void materializeAll() {
+        while (pending != null) {
+            SnapshotReader.Section next = pending.remaining().get(0);
+            materialize(next.kind, next.name);
+        }
+    }
+
+    /**
+     * Reads a snapshot without touching the model.
+     * @return what was read, or null if the file does not exist
+     */
+    private Loaded<T> read(Path file, SnapshotProgress.Tracker tracker) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        Loaded<T> loaded = new Loaded<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (isJavaSerialized(channel)) {
+                readSerialized(file, loaded);
+                finish(tracker, channel);
+                return loaded;
+            }
+            SnapshotReader in = new SnapshotReader(channel);
+            if (!in.codecId().equals(codec.id())) {
+                throw new IOException(file + " was saved with the " + in.codecId() + " codec, this model uses " + codec.id());
+            }
+            if (tracker != null) {
+                in.setTracker(tracker);
+            }
+            for (int i = 0; i < in.sectionCount(); i++) {
+                in.nextSection();
+                switch (in.kind()) {
+                case SnapshotWriter.META:
+                    loaded.generation = in.readLong();
+                    if (in.remaining() > 0) { // snapshots written before compaction ran in the background hold only the generation
+                        loaded.coveredGeneration = in.readLong();
+                        loaded.coveredOffset = in.readLong();
+                    }
+                    break;
+                case SnapshotWriter.LINKED_LIST:
+                    loaded.ll = LinkedList.readFrom(in, codec);
+                    break;
+                case SnapshotWriter.STACK:
+                    loaded.stack = Stack.readFrom(in, codec);
+                    break;
+                case SnapshotWriter.QUEUE:
+                    loaded.queue = Queue.readFrom(in, codec);
+                    break;
+                case SnapshotWriter.SORTER:
+                    if (SorterRegistry.contains(in.name())) {
+                        AbstractSorter sorter = SorterRegistry.create(in.name());
+                        sorter.readFrom(in);
+                        loaded.sorters.put(in.name(), sorter);
+                        break;
+                    }
+                    in.skipSection(); // algorithm no longer registered
+                    continue;
+                default:
+                    in.skipSection(); // written by a newer version
+                    continue;
+                }
+                in.endSection();
+            }
+            finish(tracker, channel);
+        }
+        return loaded;
+    }
+
+    private static void finish(SnapshotProgress.Tracker tracker, FileChannel channel) throws IOException {
+        if (tracker != null) {
+            tracker.totalBytes = channel.size();
+            tracker.bytes = tracker.totalBytes;
+            tracker.finish();
+        }
+    }
+
+    /**
+     * Replaces the model's structures with the ones read. A structure missing from the file is kept.
+     */
+    private void apply(Loaded<T> loaded) throws IOException {
+        model.replace(loaded.ll, loaded.stack, loaded.queue, loaded.sorters);
+        if (pending != null) {
+            // an opened snapshot must not later overwrite what this load replaced
+            if (loaded.ll != null) {
+                pending.discard(SnapshotWriter.LINKED_LIST, "");
+            }
+            if (loaded.stack != null) {
+                pending.discard(SnapshotWriter.STACK, "");
+            }
+            if (loaded.queue != null) {
+                pending.discard(SnapshotWriter.QUEUE, "");
+            }
+            for (String name : loaded.sorters.keySet()) {
+                pending.discard(SnapshotWriter.SORTER, name);
+            }
+            if (pending.isEmpty()) {
+                pending = null;
+            }
+        }
+        generation = loaded.generation;
+        coveredGeneration = loaded.coveredGeneration;
+        coveredOffset = loaded.coveredOffset;
+        compactIfJournaling();
+        model.changed();
+    }
+
+    /**
+     * Counts the bytes read from a file, so readSerialized() can tell where the objects stop.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
+    /**
+     * Structures read from a snapshot, waiting to replace the model's.
+     */
+    private static final class Loaded<T> {
+        ValueList<T> ll;
+        ValueStack<T> stack;
+        ValueQueue<T> queue;
+        Map<String, AbstractSorter> sorters = new LinkedHashMap<>();
+        long generation;
+        long coveredGeneration = -1;
+        long coveredOffset;
+    }
+
+    /**
+     * See Model.openJournal(Path).
+     */
+    void openJournal(Path snapshot) throws IOException {
+        closeJournal();
+        materializeAll(); // replay may touch any structure
+        snapshot = snapshot.toAbsolutePath();
+        Path file = journalFile(snapshot);
+        if (!load(snapshot)) {
+            image(++generation, -1, 0).write(snapshot, null);
+            journal = Journal.create(file, generation, codec.id());
+            journalSnapshot = snapshot;
+            return;
+        }
+        long journalGeneration = Files.exists(file) ? Journal.readGeneration(file) : -1;
+        long skipTo = -1;
+        if (journalGeneration >= 0 && journalGeneration == generation) {
+            skipTo = 0;
+        }
+        else if (journalGeneration >= 0 && journalGeneration == coveredGeneration) {
+            skipTo = coveredOffset; // compaction stopped before the journal was rotated
+        }
+        if (skipTo < 0) {
+            // a journal of another generation was already compacted into the snapshot
+            journal = Journal.create(file, generation, codec.id());
+            journalSnapshot = snapshot;
+            return;
+        }
+        Set<AbstractSorter> touched = new LinkedHashSet<>();
+        long valid = Journal.replay(file, codec.id(), skipTo, (op, count, in) -> replay(op, count, in, touched));
+        for (AbstractSorter sorter : touched) {
+            sorter.startSort();
+        }
+        if (!touched.isEmpty() || valid > skipTo) {
+            model.changed();
+        }
+        journal = Journal.append(file, journalGeneration, valid);
+        journalSnapshot = snapshot;
+        if (journalGeneration != generation) {
+            journal.rotate(generation, codec.id(), Math.min(skipTo, valid));
+        }
+    }
+
+    /**
+     * See Model.closeJournal().
+     */
+    void closeJournal() throws IOException {
+        if (journal != null) {
+            awaitCompaction();
+            Journal closing = journal;
+            journal = null;
+            journalSnapshot = null;
+            closing.close();
+        }
+    }
+
+    boolean isJournaling() {
+        return journal != null;
+    }
+
+    /**
+     * See Model.compact().
+     */
+    void compact() throws IOException {
+        if (journal == null) {
+            throw new IllegalStateException("No journal is open");
+        }
+        awaitCompaction();
+        long covered = journal.generation();
+        long mark = journal.mark();
+        writeCompaction(journal, journalSnapshot, image(covered + 1, covered, mark), null);
+    }
+
+    /**
+     * Compacts like compact() with the snapshot written on the I/O thread. The journal is marked
+     * and the state copied on the calling thread, and changes made while the snapshot is written
+     * keep going to the journal and are carried over when it is rotated. A compaction that is
+     * still running is returned instead of starting another.
+     */
+    private CompletableFuture<SnapshotProgress> compactAsync(Consumer<SnapshotProgress> progress) {
+        if (compaction != null && !compaction.isDone()) {
+            return compaction;
+        }
+        Journal compacting = journal;
+        long covered;
+        long mark;
+        try {
+            covered = compacting.generation();
+            mark = compacting.mark();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        Path snapshot = journalSnapshot;
+        SnapshotImage<T> image = image(covered + 1, covered, mark);
+        compaction = CompletableFuture.supplyAsync(() -> {
+            SnapshotProgress.Tracker tracker = new SnapshotProgress.Tracker(progress, PROGRESS_INTERVAL);
+            try {
+                writeCompaction(compacting, snapshot, image, tracker);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+            return tracker.finish();
+        }, IO);
+        return compaction;
+    }
+
+    /**
+     * Writes a compaction snapshot and then rotates the journal to its generation. Until the
+     * rotation the snapshot records which part of the old journal it holds, so a crash in
+     * between replays only the rest.
+     */
+    private void writeCompaction(Journal compacting, Path snapshot, SnapshotImage<T> image,
+            SnapshotProgress.Tracker tracker) throws IOException {
+        image.write(snapshot, tracker);
+        compacting.rotate(image.generation(), codec.id(), image.coveredOffset());
+        generation = image.generation();
+    }
+
+    /**
+     * Waits for a compaction running on the I/O thread, its failure is reported by its own future.
+     */
+    private void awaitCompaction() {
+        CompletableFuture<SnapshotProgress> running = compaction;
+        if (running != null) {
+            try {
+                running.join();
+            } catch (CompletionException | CancellationException e) {
+                // already reported to whoever started it
+            }
+            compaction = null;
+        }
+    }
+
+    private boolean compactionDue() throws IOException {
+        long limit = compactionThreshold > 0 ? compactionThreshold
+                : Math.max(1 << 20, Files.size(journalSnapshot));
+        return journal.size() > limit;
+    }
+
+    void setCompactionThreshold(long bytes) {
+        compactionThreshold = Math.max(0, bytes);
+    }
+
+    /**
+     * See Model.journalFile(Path).
+     */
+    static Path journalFile(Path snapshot) {
+        return snapshot.resolveSibling(snapshot.getFileName() + ".journal");
+    }
+
+    private void compactIfJournaling() throws IOException {
+        if (journal != null) {
+            compact();
+        }
+    }
+
+    /**
+     * Journals one change of the model, nothing happens while journaling is off. OP_CREATE and
+     * OP_RESET also record the values the named sorters start with, OP_INSERT the index.
+     *
+     * @param op one of the OP_ constants
+     * @param flags the structures the change touched, see TO_LL and the other flags
+     * @param sorters names of the sorters the change touched
+     * @param value the value added, inserted or removed, or null
+     * @param index where OP_INSERT put the value
+     */
+    void record(byte op, int flags, Collection<String> sorters, T value, int index) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            synchronized (journal) {
+                DataOutput out = journal.element(op, header(flags, sorters));
+                switch (op) {
+                case OP_CREATE:
+                case OP_RESET:
+                    for (String name : sorters) {
+                        writeValues(out, model.getSorter(name));
+                    }
+                    break;
+                case OP_INSERT:
+                    out.writeInt(index);
+                    codec.write(out, value);
+                    break;
+                default:
+                    if (value != null) {
+                        codec.write(out, value);
+                    }
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the journal", e);
+        }
+    }
+
+    /**
+     * Returns the record header for the flags and sorters. A bulk add asks for the same one
+     * for every value, so the last one built is kept.
+     */
+    private byte[] header(int flags, Collection<String> sorters) {
+        if (flags != headerFlags || !sameNames(sorters)) {
+            header = encodeHeader(flags, sorters);
+            headerFlags = flags;
+            headerSorters = new ArrayList<>(sorters);
+        }
+        return header;
+    }
+
+    private boolean sameNames(Collection<String> sorters) {
+        if (headerSorters == null || headerSorters.size() != sorters.size()) {
+            return false;
+        }
+        Iterator<String> kept = headerSorters.iterator();
+        for (String name : sorters) {
+            if (!name.equals(kept.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] encodeHeader(int flags, Collection<String> sorters) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeByte(flags);
+            out.writeShort(sorters.size());
+            for (String name : sorters) {
+                out.writeUTF(name);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // a byte array does not fail
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeValues(DataOutput out, AbstractSorter sorter) throws IOException {
+        out.writeInt(sorter.size());
+        for (int i = 0; i < sorter.size(); i++) {
+            out.writeInt(sorter.get(i));
+        }
+    }
+
+    private static void readValues(DataInput in, AbstractSorter sorter) throws IOException {
+        sorter.clear();
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            sorter.appendValue(in.readInt());
+        }
+    }
+
+    /**
+     * Decodes one journal record. The LL, stack and queue part of each element goes to
+     * Model.replay(), the sorters named in the header get their values here, and the caller
+     * restarts their sorts at the end.
+     */
+    private void replay(byte op, int count, DataInput in, Set<AbstractSorter> touched) throws IOException {
+        int flags = in.readUnsignedByte();
+        AbstractSorter[] sorters = new AbstractSorter[in.readUnsignedShort()];
+        for (int i = 0; i < sorters.length; i++) {
+            String name = in.readUTF();
+            if (!SorterRegistry.contains(name)) {
+                throw new CorruptSnapshotException("Journal names unknown sorter " + name);
+            }
+            sorters[i] = model.replaySorter(name);
+            touched.add(sorters[i]);
+        }
+        try {
+            for (int i = 0; i < count; i++) {
+                switch (op) {
+                case OP_CREATE:
+                case OP_RESET:
+                    model.replay(op, flags, null, 0);
+                    for (AbstractSorter sorter : sorters) {
+                        readValues(in, sorter);
+                    }
+                    break;
+                case OP_ADD:
+                    T obj = codec.read(in);
+                    model.replay(op, flags, obj, 0);
+                    for (AbstractSorter sorter : sorters) {
+                        sorter.appendValue((Integer) obj);
+                    }
+                    break;
+                case OP_INSERT:
+                    int index = in.readInt();
+                    model.replay(op, flags, codec.read(in), index);
+                    break;
+                case OP_REMOVE:
+                    T value = ((flags & HAS_VALUE) != 0) ? codec.read(in) : null;
+                    model.replay(op, flags, value, 0);
+                    if (value != null) {
+                        for (AbstractSorter sorter : sorters) {
+                            sorter.remove((Integer) value);
+                        }
+                    }
+                    break;
+                default:
+                    throw new CorruptSnapshotException("Unknown journal operation " + op);
+                }
+            }
+        } catch (RuntimeException e) {
+            // e.g. a pop of an empty stack, the journal does not belong to this snapshot
+            throw new CorruptSnapshotException("Journal does not match its snapshot: " + e);
+        }
+    }
+
+    /**
+     * Checks for the stream header of files saved with Java serialization.
+     */
+    private static boolean isJavaSerialized(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(2);
+        return channel.read(header, 0) == 2 && header.getShort(0) == ObjectStreamConstants.STREAM_MAGIC;
+    }
+
+    /**
+     * Reads a save file written with Java serialization by older versions. Like a snapshot,
+     * nothing is replaced unless the whole file reads. The file ends cleanly only between two
+     * objects, a file that ends inside one is damaged.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> void readSerialized(Path file, Loaded<T> loaded) throws IOException {
+        long size = Files.size(file);
+        CountingInputStream counted = new CountingInputStream(new BufferedInputStream(Files.newInputStream(file)));
+        try (ObjectInputStream ois = new ObjectInputStream(counted)) {
+            while (true) {
+                Object ds;
+                long before = counted.count;
+                try {
+                    ds = ois.readObject();
+                }
+                catch (EOFException e) {
+                    if (before == size) {
+                        break; // every object was read
+                    }
+                    throw new CorruptSnapshotException(file + " ends inside an object at byte " + counted.count + " of " + size);
+                }
+                if (ds instanceof ValueList) {
+                    loaded.ll = (ValueList<T>) ds;
+                }
+                else if (ds instanceof ValueQueue) {
+                    loaded.queue = (ValueQueue<T>) ds;
+                }
+                else if (ds instanceof ValueStack) {
+                    loaded.stack = (ValueStack<T>) ds;
+                }
+                else if (ds instanceof AbstractSorter) {
+                    String name = SorterRegistry.nameOf((AbstractSorter) ds);
+                    if (name != null) {
+                        loaded.sorters.put(name, (AbstractSorter) ds);
+                    }
+                }
+            }
+        }
+        catch (ClassNotFoundException e) {
+            throw new CorruptSnapshotException(file + " holds an unknown class " + e.getMessage());
+        }
+        catch (RuntimeException e) {
+            // e.g. a ClassCastException for a field whose type changed without a readObject() to convert it
+            throw new CorruptSnapshotException(file + " does not match the saved classes: " + e);
+        }
+    }
+}
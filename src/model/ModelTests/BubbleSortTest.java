@@ -4,11 +4,14 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import model.BubbleSort;
+import model.SortChange;
 
 class BubbleSortTest {
 
@@ -17,7 +20,7 @@ class BubbleSortTest {
     @BeforeEach
     void setUp() {
         bubbleSort = new BubbleSort();
-        bubbleSort.getlistToSort().clear(); // start with empty list for testing
+        bubbleSort.clear(); // start with empty list for testing
     }
 
     @Test
@@ -59,6 +62,165 @@ class BubbleSortTest {
         assertEquals(expected, bubbleSort.getlistToSort());
     }
 
+    @Test
+    void testBatchedStepMatchesSingleSteps() {
+        BubbleSort single = new BubbleSort();
+        single.clear();
+        for (int v : new int[] {9, 4, 7, 1, 8, 2}) {
+            bubbleSort.append(v);
+            single.append(v);
+        }
+        bubbleSort.startSort();
+        single.startSort();
+
+        boolean batchMore = bubbleSort.stepSort(7);
+        boolean singleMore = true;
+        for (int k = 0; k < 7; k++) {
+            singleMore = single.stepSort();
+        }
+
+        assertEquals(singleMore, batchMore);
+        assertEquals(single.getlistToSort(), bubbleSort.getlistToSort(),
+                "stepSort(7) should leave the list in the same state as 7 single steps");
+    }
+
+    @Test
+    void testRunToCompletionCountsSteps() {
+        BubbleSort single = new BubbleSort();
+        single.clear();
+        for (int v : new int[] {5, 1, 4, 2, 3}) {
+            bubbleSort.append(v);
+            single.append(v);
+        }
+        bubbleSort.startSort();
+        single.startSort();
+
+        long singleSteps = 0;
+        while (single.stepSort()) {
+            singleSteps++;
+        }
+
+        assertEquals(singleSteps, bubbleSort.runToCompletion());
+        assertEquals(List.of(1, 2, 3, 4, 5), bubbleSort.getlistToSort());
+        assertFalse(bubbleSort.stepSort(), "No steps should remain after runToCompletion");
+    }
+
+    @SuppressWarnings("deprecation")
+    @Test
+    void testNotificationsAreCoalesced() {
+        for (int v : new int[] {4, 3, 2, 1}) {
+            bubbleSort.append(v);
+        }
+        bubbleSort.flushChanges(); // drop the changes made while setting up
+        List<SortChange> events = new ArrayList<>();
+        bubbleSort.addObserver((o, arg) -> events.add((SortChange) arg));
+        bubbleSort.setNotifyEverySteps(3);
+
+        bubbleSort.startSort();   // first step
+        bubbleSort.stepSort();
+        assertTrue(events.isEmpty(), "No event should fire before 3 steps");
+
+        bubbleSort.stepSort();
+        assertEquals(1, events.size());
+        assertEquals(3, events.get(0).getSteps());
+        assertEquals(0, events.get(0).getFrom(), "First swap should dirty from index 0");
+        assertEquals(3, events.get(0).getTo(), "Third swap should dirty up to index 3");
+
+        bubbleSort.runToCompletion();
+        assertEquals(2, events.size(), "runToCompletion() should publish a single event");
+        assertTrue(events.get(1).isFinished());
+    }
+
+    private static long stepsToSort(BubbleSort.Variant variant, int[] values) {
+        BubbleSort sorter = new BubbleSort();
+        sorter.clear();
+        sorter.setVariant(variant);
+        for (int v : values) {
+            sorter.append(v);
+        }
+        sorter.startSort();
+        long steps = 1 + sorter.runToCompletion();
+        int[] expected = values.clone();
+        Arrays.sort(expected);
+        for (int k = 0; k < expected.length; k++) {
+            assertEquals(expected[k], sorter.get(k), variant + " should sort " + Arrays.toString(values));
+        }
+        return steps;
+    }
+
+    @Test
+    void testEveryVariantSorts() {
+        Random rand = new Random(5);
+        for (BubbleSort.Variant variant : BubbleSort.Variant.values()) {
+            for (int size : new int[] {0, 1, 2, 3, 17, 64}) {
+                int[] values = new int[size];
+                for (int k = 0; k < size; k++) {
+                    values[k] = rand.nextInt(20);
+                }
+                stepsToSort(variant, values);
+            }
+            stepsToSort(variant, new int[] {9, 8, 7, 6, 5, 4, 3, 2, 1, 0});
+            stepsToSort(variant, new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 0});
+        }
+    }
+
+    @Test
+    void testAdaptiveVariantsStopEarly() {
+        int[] sorted = new int[50];
+        for (int k = 0; k < sorted.length; k++) {
+            sorted[k] = k;
+        }
+        assertEquals(49, stepsToSort(BubbleSort.Variant.ADAPTIVE, sorted), "A sorted list should take one pass");
+        assertEquals(49, stepsToSort(BubbleSort.Variant.COCKTAIL, sorted), "A sorted list should take one pass");
+        assertTrue(stepsToSort(BubbleSort.Variant.CLASSIC, sorted) > 49 * 25);
+
+        int[] smallLast = sorted.clone();
+        smallLast[49] = -1;  // one pass backwards moves it to the front
+        long cocktail = stepsToSort(BubbleSort.Variant.COCKTAIL, smallLast);
+        long adaptive = stepsToSort(BubbleSort.Variant.ADAPTIVE, smallLast);
+        assertTrue(cocktail < 49 * 3, "Cocktail should need about three passes, took " + cocktail);
+        assertTrue(adaptive > cocktail * 5, "Adaptive should need a pass per slot, took " + adaptive);
+    }
+
+    @Test
+    void testRemoveMidSortStillFinishes() {
+        for (BubbleSort.Variant variant : BubbleSort.Variant.values()) {
+            BubbleSort sorter = new BubbleSort();
+            sorter.clear();
+            sorter.setVariant(variant);
+            for (int v : new int[] {6, 5, 4, 3, 2, 1}) {
+                sorter.append(v);
+            }
+            sorter.startSort();
+            sorter.stepSort(8);
+            sorter.remove(1);
+            sorter.remove(6);
+            sorter.runToCompletion();
+            assertEquals(List.of(2, 3, 4, 5), sorter.getlistToSort(), variant.toString());
+        }
+    }
+
+    @Test
+    void testAppendMidSortStillFinishes() {
+        for (BubbleSort.Variant variant : BubbleSort.Variant.values()) {
+            BubbleSort sorter = new BubbleSort();
+            sorter.clear();
+            sorter.setVariant(variant);
+            for (int v : new int[] {6, 5, 4, 3, 2, 1}) {
+                sorter.append(v);
+            }
+            sorter.startSort();
+            sorter.stepSort(8);
+            sorter.append(0);
+            sorter.runToCompletion();
+            assertEquals(List.of(0, 1, 2, 3, 4, 5, 6), sorter.getlistToSort(), variant.toString());
+            assertTrue(sorter.isSorted(), variant.toString());
+            assertEquals(0, sorter.find(0), variant.toString());
+            sorter.remove(0);
+            assertEquals(List.of(1, 2, 3, 4, 5, 6), sorter.getlistToSort(), variant.toString());
+        }
+    }
+
     @Test
     void testReset() {
         bubbleSort.append(2);
@@ -0,0 +1,219 @@
+package model.ModelTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.Test;
+
+import model.ConcurrentQueue;
+import model.DrainException;
+import model.MpmcQueue;
+import model.SpscQueue;
+
+class ConcurrentQueueTest {
+
+    /** Both variants, so every single-threaded test runs against each */
+    private static final List<IntFunction<ConcurrentQueue<Integer>>> QUEUES = List.of(SpscQueue::new, MpmcQueue::new);
+
+    @Test
+    void testFifoOrderAndPeek() {
+        for (IntFunction<ConcurrentQueue<Integer>> create : QUEUES) {
+            ConcurrentQueue<Integer> queue = create.apply(8);
+            queue.enqueue(10);
+            queue.enqueue(20);
+            assertEquals(10, queue.peek(), "Peek should return the first item enqueued");
+            assertEquals(2, queue.size());
+            assertEquals(10, queue.dequeue());
+            assertEquals(20, queue.dequeue());
+            assertTrue(queue.isEmpty(), "Queue should be empty after dequeuing all items");
+            assertNull(queue.poll());
+            assertNull(queue.peekOrNull());
+        }
+    }
+
+    @Test
+    void testEmptyAndFullThrow() {
+        for (IntFunction<ConcurrentQueue<Integer>> create : QUEUES) {
+            ConcurrentQueue<Integer> queue = create.apply(4);
+            assertThrows(IllegalStateException.class, queue::dequeue);
+            assertThrows(IllegalStateException.class, queue::peek);
+            for (int i = 0; i < queue.capacity(); i++) {
+                queue.enqueue(i);
+            }
+            assertFalse(queue.offer(99), "A full queue should refuse items");
+            assertThrows(IllegalStateException.class, () -> queue.enqueue(99));
+            assertThrows(NullPointerException.class, () -> queue.offer(null));
+        }
+    }
+
+    @Test
+    void testWrapsAroundTheRing() {
+        for (IntFunction<ConcurrentQueue<Integer>> create : QUEUES) {
+            ConcurrentQueue<Integer> queue = create.apply(4);
+            assertEquals(4, queue.capacity());
+            int next = 0;
+            for (int round = 0; round < 10; round++) {
+                queue.enqueue(round * 3);
+                queue.enqueue(round * 3 + 1);
+                queue.enqueue(round * 3 + 2);
+                for (int i = 0; i < 3; i++) {
+                    assertEquals(next++, queue.dequeue());
+                }
+            }
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    void testDrainTakesItemsInOrder() {
+        for (IntFunction<ConcurrentQueue<Integer>> create : QUEUES) {
+            ConcurrentQueue<Integer> queue = create.apply(8);
+            for (int i = 0; i < 6; i++) {
+                queue.enqueue(i);
+            }
+            List<Integer> out = new ArrayList<>();
+            assertEquals(4, queue.drain(out::add, 4));
+            assertEquals(List.of(0, 1, 2, 3), out);
+            assertEquals(2, queue.size());
+            assertEquals(2, queue.drain(out::add, 100));
+            assertEquals(0, queue.drain(out::add, 100));
+            assertEquals(List.of(0, 1, 2, 3, 4, 5), out);
+        }
+    }
+
+    @Test
+    void testFailedDrainHandsBackItsItems() {
+        for (IntFunction<ConcurrentQueue<Integer>> create : QUEUES) {
+            ConcurrentQueue<Integer> queue = create.apply(4);
+            for (int i = 0; i < queue.capacity(); i++) {
+                queue.enqueue(i);
+            }
+            DrainException failed = assertThrows(DrainException.class, () -> queue.drain(item -> {
+                if (item == 1) {
+                    throw new IllegalStateException("sink failed");
+                }
+            }, 4));
+            assertInstanceOf(IllegalStateException.class, failed.getCause());
+            assertEquals(List.of(2, 3), failed.unconsumed(), "The items the sink did not get should come back");
+            assertTrue(queue.isEmpty());
+            for (int i = 0; i < queue.capacity(); i++) {
+                assertTrue(queue.offer(10 + i), "Every slot should be free again");
+            }
+            assertEquals(10, queue.poll());
+        }
+    }
+
+    @Test
+    void testCapacityRoundsUpToPowerOfTwo() {
+        assertEquals(16, new SpscQueue<Integer>(10).capacity());
+        assertEquals(16, new MpmcQueue<Integer>(16).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new SpscQueue<Integer>(0));
+        assertThrows(IllegalArgumentException.class, () -> new MpmcQueue<Integer>(-1));
+    }
+
+    @Test
+    void testSpscKeepsOrderAcrossThreads() throws Exception {
+        SpscQueue<Integer> queue = new SpscQueue<>(64);
+        int count = 200_000;
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            pool.submit(() -> {
+                for (int i = 0; i < count; i++) {
+                    while (!queue.offer(i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            Future<Integer> consumed = pool.submit(() -> {
+                int expected = 0;
+                while (expected < count) {
+                    Integer item = queue.poll();
+                    if (item == null) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    assertEquals(expected++, item.intValue(), "Items must arrive in the order they were offered");
+                }
+                return expected;
+            });
+            assertEquals(count, consumed.get(30, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void testMpmcLosesAndDuplicatesNothing() throws Exception {
+        MpmcQueue<Integer> queue = new MpmcQueue<>(128);
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 50_000;
+        int total = producers * perProducer;
+        AtomicLong taken = new AtomicLong();
+        AtomicLong sum = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(producers + consumers);
+        try {
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                pool.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!queue.offer(base + i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                });
+            }
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int c = 0; c < consumers; c++) {
+                boolean batches = c % 2 == 0;
+                results.add(pool.submit(() -> {
+                    // each producer's items must reach one consumer in the order they were offered
+                    int[] last = new int[producers];
+                    Arrays.fill(last, -1);
+                    boolean ordered = true;
+                    while (taken.get() < total) {
+                        List<Integer> got = new ArrayList<>();
+                        if (batches) {
+                            queue.drain(got::add, 16);
+                        } else {
+                            Integer item = queue.poll();
+                            if (item != null) {
+                                got.add(item);
+                            }
+                        }
+                        if (got.isEmpty()) {
+                            Thread.onSpinWait();
+                            continue;
+                        }
+                        for (int item : got) {
+                            int producer = item / perProducer;
+                            ordered &= item > last[producer];
+                            last[producer] = item;
+                            sum.addAndGet(item);
+                        }
+                        taken.addAndGet(got.size());
+                    }
+                    return ordered;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(30, TimeUnit.SECONDS), "A consumer saw a producer's items out of order");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(total, taken.get());
+        assertEquals((long) total * (total - 1) / 2, sum.get(), "Every item should be taken exactly once");
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,134 @@
+package model.ModelTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import model.AbstractSorter;
+import model.DatasetImporter;
+import model.DatasetImporter.Format;
+import model.ImportProgress;
+import model.Model;
+
+class DatasetImporterTest {
+
+    private DatasetImporter importer;
+    private List<Integer> received;
+    private int batches;
+
+    @BeforeEach
+    void setUp() {
+        importer = new DatasetImporter();
+        received = new ArrayList<>();
+        batches = 0;
+    }
+
+    private ImportProgress importText(String text, Format format) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        return importer.importStream(new ByteArrayInputStream(bytes), bytes.length, format, this::collect);
+    }
+
+    private void collect(int[] values, int count) {
+        batches++;
+        for (int i = 0; i < count; i++) {
+            received.add(values[i]);
+        }
+    }
+
+    @Test
+    void testCsvSkipsHeaderAndBadFields() throws IOException {
+        ImportProgress result = importText("id,value\r\n1, -2,\"3\"\n4;x5;+6\n\n7.5,2147483648,-2147483648", Format.CSV);
+        assertEquals(List.of(1, -2, 3, 4, 6, Integer.MIN_VALUE), received);
+        assertEquals(6, result.getValues());
+        assertEquals(5, result.getSkipped(), "header fields, x5, 7.5 and the overflow are skipped");
+        assertTrue(result.isDone());
+        assertEquals(1.0, result.getFraction());
+    }
+
+    @Test
+    void testCsvColumn() throws IOException {
+        importer.setColumn(1);
+        importText("id,value\n0,10\n1,20\n2,30", Format.CSV);
+        assertEquals(List.of(10, 20, 30), received);
+    }
+
+    @Test
+    void testLinesWithTinyChunksAndBatches() throws IOException {
+        importer.setChunkSize(4);  // every number is split across reads
+        importer.setBatchSize(2);
+        ImportProgress result = importText("123456\n-78\n  9  \n1 2\n1,2\n", Format.LINES);
+        assertEquals(List.of(123456, -78, 9), received);
+        assertEquals(2, result.getSkipped());
+        assertEquals(2, batches);
+    }
+
+    @Test
+    void testBinaryLittleEndian() throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(4 * 3 + 2).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(1).putInt(-1).putInt(0x12345678).put((byte) 7).put((byte) 7);
+        importer.setChunkSize(6);
+        ImportProgress result = importer.importStream(new ByteArrayInputStream(buf.array()), -1,
+                Format.BINARY_LE_INT, this::collect);
+        assertEquals(List.of(1, -1, 0x12345678), received);
+        assertEquals(1, result.getSkipped(), "the two trailing bytes are not a whole int");
+        assertEquals(14, result.getBytesRead());
+    }
+
+    @Test
+    void testFormatForPath() {
+        assertEquals(Format.CSV, Format.forPath(Paths.get("data/Extract.CSV")));
+        assertEquals(Format.BINARY_LE_INT, Format.forPath(Paths.get("values.i32")));
+        assertEquals(Format.LINES, Format.forPath(Paths.get("values.txt")));
+    }
+
+    @Test
+    void testImportFileIntoModel(@TempDir Path dir) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            sb.append(5000 - i).append('\n');
+        }
+        Path file = dir.resolve("values.txt");
+        Files.write(file, sb.toString().getBytes(StandardCharsets.US_ASCII));
+
+        Model<Integer> model = new Model<>("Merge", null, null, null, null);
+        AbstractSorter merge = model.getSorter("Merge");
+        int before = merge.size();
+        List<ImportProgress> reports = new ArrayList<>();
+        importer.setBatchSize(1000);
+        importer.setProgressListener(reports::add, 0);
+
+        ImportProgress result = importer.importFile(file, Format.forPath(file), model);
+        assertEquals(5000, result.getValues());
+        assertEquals(before + 5000, merge.size());
+        assertTrue(reports.get(reports.size() - 1).isDone());
+        merge.runToCompletion();
+        for (int i = 1; i < merge.size(); i++) {
+            assertTrue(merge.get(i - 1) <= merge.get(i));
+        }
+    }
+
+    @Test
+    void testInterruptStopsImport() {
+        importer.setChunkSize(4);
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(InterruptedIOException.class, () -> importText("1\n2\n3\n4\n", Format.LINES));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -3,6 +3,9 @@ package model.ModelTests;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -77,12 +80,12 @@ class InsertionSortTest {
 
     @Test
     void testResetDoesNotReuseOldArray() {
-        ArrayList<Integer> oldRef = sortInstance.getlistToSort();
+        List<Integer> oldRef = sortInstance.getlistToSort();
 
         sortInstance.reset();
-        ArrayList<Integer> newRef = sortInstance.getlistToSort();
+        List<Integer> newRef = sortInstance.getlistToSort();
 
-        assertNotSame(oldRef, newRef, "reset() should create a new ArrayList object");
+        assertNotSame(oldRef, newRef, "reset() should create a new backing list");
     }
 
     @Test
@@ -91,7 +94,7 @@ class InsertionSortTest {
         sortInstance.startSort();
         while (sortInstance.stepSort()) { }
 
-        ArrayList<Integer> list = sortInstance.getlistToSort();
+        List<Integer> list = sortInstance.getlistToSort();
 
         for (int i = 1; i < list.size(); i++) {
             assertTrue(list.get(i - 1) <= list.get(i),
@@ -107,7 +110,7 @@ class InsertionSortTest {
         sortInstance.startSort();
         while (sortInstance.stepSort()) { }
 
-        ArrayList<Integer> after = sortInstance.getlistToSort();
+        List<Integer> after = sortInstance.getlistToSort();
         assertEquals(before.size(), after.size(), "Size should remain the same");
 
         before.sort(Integer::compareTo);
@@ -122,7 +125,7 @@ class InsertionSortTest {
         sortInstance.startSort();
         while (sortInstance.stepSort()) { }
 
-        ArrayList<Integer> list = sortInstance.getlistToSort();
+        List<Integer> list = sortInstance.getlistToSort();
         for (int i = 1; i < list.size(); i++) {
             assertTrue(list.get(i - 1) <= list.get(i),
                     "List should be sorted after appending elements and sorting");
@@ -140,8 +143,107 @@ class InsertionSortTest {
         sortInstance.startSort();
         while (sortInstance.stepSort()) { }
 
-        ArrayList<Integer> after = sortInstance.getlistToSort();
+        List<Integer> after = sortInstance.getlistToSort();
         assertEquals(before, after,
                 "Sorting an already sorted list should not change elements");
     }
+
+    @Test
+    void testBatchedStepMatchesSingleSteps() {
+        InsertionSort single = new InsertionSort();
+        single.clear();
+        sortInstance.clear();
+        for (int v : new int[] {9, 4, 7, 1, 8, 2}) {
+            sortInstance.append(v);
+            single.append(v);
+        }
+        sortInstance.startSort();
+        single.startSort();
+
+        boolean batchMore = sortInstance.stepSort(5);
+        boolean singleMore = true;
+        for (int k = 0; k < 5; k++) {
+            singleMore = single.stepSort();
+        }
+
+        assertEquals(singleMore, batchMore);
+        assertEquals(single.getlistToSort(), sortInstance.getlistToSort(),
+                "stepSort(5) should leave the list in the same state as 5 single steps");
+    }
+
+    @Test
+    void testRunToCompletionSortsList() {
+        sortInstance.startSort();
+        long steps = sortInstance.runToCompletion();
+
+        assertTrue(steps > 0, "runToCompletion() should report the steps it performed");
+        List<Integer> list = sortInstance.getlistToSort();
+        for (int i = 1; i < list.size(); i++) {
+            assertTrue(list.get(i - 1) <= list.get(i),
+                    "List should be sorted after runToCompletion()");
+        }
+        assertEquals(0, sortInstance.runToCompletion(), "A finished sort has no steps left");
+    }
+
+    private static InsertionSort binary(int... values) {
+        InsertionSort sorter = new InsertionSort();
+        sorter.clear();
+        sorter.setVariant(InsertionSort.Variant.BINARY);
+        for (int v : values) {
+            sorter.append(v);
+        }
+        return sorter;
+    }
+
+    @Test
+    void testBinaryVariantSortsRandomLists() {
+        Random rand = new Random(9);
+        for (int size : new int[] {0, 1, 2, 3, 31, 200}) {
+            int[] values = new int[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = rand.nextInt(50) - 25;
+            }
+            InsertionSort sorter = binary(values);
+            sorter.startSort();
+            sorter.runToCompletion();
+            int[] expected = values.clone();
+            Arrays.sort(expected);
+            for (int i = 0; i < size; i++) {
+                assertEquals(expected[i], sorter.get(i), "size " + size);
+            }
+            assertTrue(sorter.isSorted());
+        }
+    }
+
+    @Test
+    void testBinaryVariantComparesThenShiftsInSeparateSteps() {
+        InsertionSort sorter = binary(1, 3, 5, 7, 9, 11, 13, 15, 4);
+        sorter.startSort();   // first step, 3 is in place
+        sorter.stepSort(6);   // the other values in place up to 15
+        List<Integer> before = new ArrayList<>(sorter.getlistToSort());
+
+        sorter.stepSort();  // 4 is smaller than 15, the search starts
+        sorter.stepSort(3); // binary search over 1..13
+        assertEquals(before, sorter.getlistToSort(), "Comparisons should not change the list");
+
+        sorter.stepSort();  // one shift puts 4 in place
+        assertEquals(List.of(1, 3, 4, 5, 7, 9, 11, 13, 15), sorter.getlistToSort());
+        assertFalse(sorter.stepSort(), "No values should be left to insert");
+    }
+
+    @Test
+    void testBinaryVariantTakesOneStepPerValueWhenSorted() {
+        int[] values = new int[100];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i / 3;
+        }
+        InsertionSort sorter = binary(values);
+        sorter.startSort();
+        assertEquals(98, sorter.runToCompletion(), "Each value after the first should take one comparison");
+
+        InsertionSort reversed = binary(5, 4, 3, 2, 1, 0);
+        reversed.startSort();
+        reversed.runToCompletion();
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), reversed.getlistToSort());
+    }
 }
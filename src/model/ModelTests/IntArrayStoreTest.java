@@ -0,0 +1,96 @@
+package model.ModelTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.IntArrayStore;
+
+class IntArrayStoreTest {
+
+    private IntArrayStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IntArrayStore();
+    }
+
+    @Test
+    void testAddGetAndGrow() {
+        for (int i = 0; i < 25; i++) {
+            store.add(i * 2);
+        }
+        assertEquals(25, store.size(), "Store should grow past its starting capacity");
+        assertEquals(0, store.get(0));
+        assertEquals(48, store.get(24));
+    }
+
+    @Test
+    void testSwapAndSet() {
+        store.add(1);
+        store.add(2);
+        store.swap(0, 1);
+        assertEquals(List.of(2, 1), store.asList());
+
+        store.set(1, 7);
+        assertEquals(7, store.get(1));
+    }
+
+    @Test
+    void testRemoveValueRemovesFirstOccurrence() {
+        store.add(4);
+        store.add(5);
+        store.add(4);
+
+        assertTrue(store.removeValue(4));
+        assertEquals(List.of(5, 4), store.asList());
+        assertFalse(store.removeValue(99), "Removing a missing value should return false");
+    }
+
+    @Test
+    void testInsertAtShiftsAndGrows() {
+        for (int i = 0; i < 16; i++) {
+            store.add(i);
+        }
+        store.insertAt(3, -1);
+        store.insertAt(0, -2);
+        store.insertAt(store.size(), 99);
+        assertEquals(19, store.size());
+        assertEquals(List.of(-2, 0, 1, 2, -1, 3), store.asList().subList(0, 6));
+        assertEquals(99, store.get(18));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.insertAt(21, 0));
+    }
+
+    @Test
+    void testCopyRangeOverlaps() {
+        for (int i = 0; i < 6; i++) {
+            store.add(i);
+        }
+        store.copyRange(1, 2, 3);
+        assertEquals(List.of(0, 1, 1, 2, 3, 5), store.asList());
+        store.copyRange(2, 1, 3);
+        assertEquals(List.of(0, 1, 2, 3, 3, 5), store.asList());
+        assertThrows(IndexOutOfBoundsException.class, () -> store.copyRange(4, 5, 2));
+    }
+
+    @Test
+    void testIndexOutOfBounds() {
+        store.add(1);
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.set(-1, 0));
+    }
+
+    @Test
+    void testListViewIsLiveAndReadOnly() {
+        List<Integer> view = store.asList();
+        store.add(3);
+        assertEquals(1, view.size(), "View should reflect later appends");
+        assertTrue(view.contains(3));
+
+        assertThrows(UnsupportedOperationException.class, () -> view.add(4));
+        assertThrows(UnsupportedOperationException.class, () -> view.clear());
+    }
+}
@@ -0,0 +1,113 @@
+package model.ModelTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.IntLinkedList;
+import model.LinkedList;
+
+class IntLinkedListTest {
+
+    private IntLinkedList list;
+
+    @BeforeEach
+    void build() {
+        list = new IntLinkedList();
+    }
+
+    @Test
+    void testAppendPrependInsertAndGet() {
+        list.append(2);
+        list.prepend(1);
+        list.append(4);
+        list.insert(3, 2);
+        list.insert(99, 10);  // out of range, ignored like LinkedList
+        list.append(null);
+        assertEquals(List.of(1, 2, 3, 4), list.getLL());
+        assertEquals(3, list.getInt(2));
+        assertEquals(2, list.find(3));
+        assertEquals(-1, list.find(7));
+        assertTrue(list.contains(4));
+    }
+
+    @Test
+    void testRemoves() {
+        for (int i = 0; i < 10; i++) {
+            list.append(i % 5);
+        }
+        list.remove(3);
+        assertEquals(List.of(0, 1, 2, 4, 0, 1, 2, 3, 4), list.asList(), "Only the first 3 should be removed");
+        assertEquals(0, list.removeFirst());
+        assertEquals(4, list.removeLast());
+        assertEquals(7, list.size());
+        list.reset();
+        assertThrows(IllegalStateException.class, () -> list.removeFirst());
+    }
+
+    @Test
+    void testMatchesLinkedListUnderRandomOps() {
+        LinkedList<Integer> linked = new LinkedList<>();
+        List<Integer> expected = new ArrayList<>();
+        Random rand = new Random(7);
+        for (int op = 0; op < 20000; op++) {
+            int value = rand.nextInt(50);
+            switch (rand.nextInt(5)) {
+            case 0:
+                list.prepend(value);
+                linked.prepend(value);
+                break;
+            case 1:
+                list.append(value);
+                linked.append(value);
+                break;
+            case 2:
+                int index = rand.nextInt(linked.size() + 1);
+                list.insert(value, index);
+                linked.insert(value, index);
+                break;
+            case 3:
+                list.remove(value);
+                linked.remove(value);
+                break;
+            default:
+                assertEquals(linked.find(value), list.find(value));
+                break;
+            }
+        }
+        expected.addAll(linked.getLL());
+        assertEquals(expected, list.getLL());
+        assertEquals(expected, new IntLinkedList(linked).asList());
+    }
+
+    @Test
+    void testNoIndexesAndSerialization() throws Exception {
+        assertFalse(list.isIndexed());
+        list.setIndexed(true);  // remembered, get(index) needs no index
+        list.setHashIndexed(true);
+        assertTrue(list.isIndexed());
+        assertTrue(list.isHashIndexed());
+        for (int i = 0; i < 100000; i++) {
+            list.append(i);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(list);
+        }
+        IntLinkedList copy = (IntLinkedList) new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        assertEquals(100000, copy.size());
+        assertEquals(54321, copy.getInt(54321));
+        copy.prepend(-1);
+        assertEquals(-1, copy.get(0));
+    }
+}
@@ -0,0 +1,77 @@
+package model.ModelTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.IntQueue;
+import model.Queue;
+
+class IntQueueTest {
+
+    private IntQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new IntQueue();
+    }
+
+    @Test
+    void testEnqueueDequeueAndPeek() {
+        queue.enqueue(10);
+        queue.enqueueInt(20);
+        assertEquals(10, queue.peek(), "Peek should return the first item enqueued");
+        assertEquals(10, queue.dequeueInt());
+        queue.dequeue();
+        assertTrue(queue.isEmpty(), "Queue should be empty after dequeuing all items");
+        assertThrows(IllegalStateException.class, () -> queue.dequeue());
+        assertThrows(IllegalStateException.class, () -> queue.peekInt());
+    }
+
+    @Test
+    void testWrapsGrowsAndShrinksLikeQueue() {
+        for (int i = 0; i < 10; i++) {  // move the front off index 0 first
+            queue.enqueueInt(i);
+            queue.dequeueInt();
+        }
+        for (int i = 0; i < 1000; i++) {
+            queue.enqueueInt(i);
+        }
+        assertEquals(1024, queue.getCapacity());
+        assertEquals(List.of(0, 1, 2), queue.asList().subList(0, 3));
+        for (int i = 0; i < 990; i++) {
+            assertEquals(i, queue.dequeueInt());
+        }
+        assertEquals(32, queue.getCapacity(), "The ring should shrink after the burst");
+        assertArrayEquals(new int[] {990, 991, 992, 993, 994, 995, 996, 997, 998, 999}, queue.toIntArray());
+        int[] ring = queue.getRawArray();
+        assertSame(ring, queue.getRawArray(), "The ring itself should be handed out, not a copy");
+        assertEquals(990, ring[queue.getFrontIndex()]);
+    }
+
+    @Test
+    void testCopiesQueueAndSerializes() throws Exception {
+        Queue<Integer> boxed = new Queue<>();
+        boxed.enqueue(7);
+        boxed.enqueue(8);
+        IntQueue ints = new IntQueue(boxed);
+        assertEquals(boxed.asList(), ints.asList());
+        ints.setShrinkPolicy(64, 0);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(ints);
+        }
+        IntQueue copy = (IntQueue) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        assertEquals(List.of(7, 8), copy.asList());
+        assertEquals(64, copy.getCapacity(), "The shrink policy should be kept");
+        assertThrows(IllegalArgumentException.class, () -> copy.setShrinkPolicy(16, 2));
+    }
+}
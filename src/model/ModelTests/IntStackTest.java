@@ -0,0 +1,77 @@
+package model.ModelTests;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.IntStack;
+import model.Stack;
+import model.ValueStack;
+
+class IntStackTest {
+	private IntStack stack;
+	
+	@BeforeEach
+	public void setUp() {
+		stack = new IntStack();
+	}
+	
+	@Test
+	void testPushPopAndPeek() {
+		for (int i = 0; i < 100; i++) {  // grows past the first array
+			stack.push(i);
+		}
+		assertEquals(99, stack.peek(), "Peek should return the last pushed item");
+		assertEquals(99, stack.peekInt());
+		stack.pop();
+		assertEquals(98, stack.peekInt(), "After pop, peek should return the previous item");
+		assertEquals(99, stack.size());
+		assertEquals(List.of(0, 1, 2), stack.getStackElements().subList(0, 3));
+	}
+	
+	@Test
+	void testEmptyStackThrows() {
+		assertTrue(stack.isEmpty());
+		assertThrows(IllegalStateException.class, () -> stack.pop());
+		assertThrows(IllegalStateException.class, () -> stack.peekInt());
+		assertThrows(NullPointerException.class, () -> stack.push(null));
+	}
+	
+	@Test
+	void testWorksAsStackAndCopiesOne() {
+		Stack<Integer> boxed = new Stack<>();
+		boxed.push(3);
+		boxed.push(4);
+		ValueStack<Integer> ints = new IntStack(boxed);
+		assertEquals(boxed.asList(), ints.asList());
+		ints.reset();
+		assertTrue(ints.isEmpty());
+		assertEquals(2, boxed.size(), "Copying should leave the original alone");
+	}
+	
+	@Test
+	void testViewFailsFastAndSerializes() throws Exception {
+		stack.pushInt(1);
+		stack.pushInt(2);
+		Iterator<Integer> it = stack.asList().iterator();
+		stack.pushInt(3);
+		assertThrows(ConcurrentModificationException.class, it::next);
+		
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(stack);
+		}
+		IntStack copy = (IntStack) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+		assertArrayEquals(new int[] {1, 2, 3}, copy.toIntArray());
+		copy.pushInt(4);
+		assertEquals(4, copy.peekInt());
+	}
+}
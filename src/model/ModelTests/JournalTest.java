@@ -0,0 +1,169 @@
+package model.ModelTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import model.Model;
+import model.SnapshotProgress;
+
+class JournalTest {
+
+    @TempDir
+    Path dir;
+
+    private Model<Integer> openModel(Path snapshot) throws IOException {
+        Model<Integer> model = new Model<>("LL", "Stack", "Queue", "Merge", null);
+        model.openJournal(snapshot);
+        return model;
+    }
+
+    private static List<Integer> sorted(List<Integer> values) {
+        List<Integer> copy = new ArrayList<>(values);
+        Collections.sort(copy);
+        return copy;
+    }
+
+    private static void assertSameState(Model<Integer> expected, Model<Integer> actual) {
+        assertEquals(expected.getLL(), actual.getLL());
+        assertEquals(expected.getStackElements(), actual.getStackElements());
+        assertEquals(expected.getQueueElements(), actual.getQueueElements());
+        assertEquals(sorted(expected.getSorter("Merge").getlistToSort()),
+                sorted(actual.getSorter("Merge").getlistToSort()));
+    }
+
+    @Test
+    void testReplayRecoversEveryOperation() throws IOException {
+        Path snapshot = dir.resolve("state.dat");
+        Model<Integer> model = openModel(snapshot);
+        model.reset();
+        for (int i = 0; i < 50; i++) {
+            model.add(i, i % 2 == 0);
+        }
+        model.insert(-1, 3);
+        model.remove(10);
+        model.remove(null);  // pops the stack
+        model.addAll(List.of(100, 200, 300), false);
+        model.save();
+        model.closeJournal();
+
+        Model<Integer> recovered = openModel(snapshot);
+        assertSameState(model, recovered);
+        assertTrue(recovered.getSorter("Merge").runToCompletion() >= 0);
+        recovered.closeJournal();
+    }
+
+    @Test
+    void testSaveOnlyAppendsToTheJournal() throws IOException {
+        Path snapshot = dir.resolve("state.dat");
+        Model<Integer> model = openModel(snapshot);
+        model.reset();
+        model.addAll(java.util.stream.IntStream.range(0, 10_000), false);
+        model.compact();
+        long snapshotSize = Files.size(snapshot);
+        long journalSize = Files.size(Model.journalFile(snapshot));
+
+        model.add(7, false);
+        model.save();
+        assertEquals(snapshotSize, Files.size(snapshot), "save() must not rewrite the snapshot");
+        long grown = Files.size(Model.journalFile(snapshot)) - journalSize;
+        assertTrue(grown > 0 && grown < 100, "one add costs " + grown + " bytes");
+        model.closeJournal();
+    }
+
+    @Test
+    void testCompactionThreshold() throws IOException {
+        Path snapshot = dir.resolve("state.dat");
+        Model<Integer> model = openModel(snapshot);
+        model.setCompactionThreshold(512);
+        model.reset();
+        for (int i = 0; i < 200; i++) {
+            model.add(i, false);
+        }
+        model.save();
+        assertTrue(Files.size(Model.journalFile(snapshot)) < 64, "the journal was compacted into the snapshot");
+        model.add(1000, false);
+        model.save();
+        model.closeJournal();
+
+        Model<Integer> recovered = openModel(snapshot);
+        assertSameState(model, recovered);
+        recovered.closeJournal();
+    }
+
+    @Test
+    void testTornTailIsCutOff() throws IOException {
+        Path snapshot = dir.resolve("state.dat");
+        Model<Integer> model = openModel(snapshot);
+        model.reset();
+        model.add(1, false);
+        model.add(2, false);
+        model.save();
+        Path journal = Model.journalFile(snapshot);
+        long intact = Files.size(journal);
+        model.add(3, false);
+        model.closeJournal();
+        byte[] bytes = Files.readAllBytes(journal);
+        Files.write(journal, java.util.Arrays.copyOf(bytes, bytes.length - 2));  // crash in the middle of a write
+
+        Model<Integer> recovered = openModel(snapshot);
+        assertEquals(List.of(1, 2), recovered.getLL());
+        assertEquals(intact, Files.size(journal));
+        recovered.add(4, false);
+        recovered.closeJournal();
+        assertEquals(List.of(1, 2, 4), openModel(snapshot).getLL());
+    }
+
+    @Test
+    void testAsyncCompactionKeepsChangesMadeMeanwhile() throws IOException {
+        Path snapshot = dir.resolve("state.dat");
+        Model<Integer> model = openModel(snapshot);
+        model.reset();
+        model.setCompactionThreshold(1);
+        for (int i = 0; i < 100; i++) {
+            model.add(i, false);
+        }
+        CompletableFuture<SnapshotProgress> compacting = model.saveAsync(null);
+        for (int i = 100; i < 200; i++) {
+            model.add(i, false);  // journaled while the snapshot is written
+        }
+        assertTrue(compacting.join().isDone());
+        model.save();
+        model.closeJournal();
+
+        Model<Integer> recovered = openModel(snapshot);
+        assertSameState(model, recovered);
+        assertEquals(200, recovered.getLL().size());
+        recovered.closeJournal();
+    }
+
+    @Test
+    void testStaleJournalIsNotReplayedTwice() throws IOException {
+        Path snapshot = dir.resolve("state.dat");
+        Model<Integer> model = openModel(snapshot);
+        model.reset();
+        model.add(5, false);
+        model.save();
+        Path journal = Model.journalFile(snapshot);
+        Path copy = dir.resolve("old.journal");
+        Files.copy(journal, copy);
+        model.compact();
+        model.closeJournal();
+        // a crash between writing the new snapshot and replacing the journal
+        Files.copy(copy, journal, StandardCopyOption.REPLACE_EXISTING);
+
+        Model<Integer> recovered = openModel(snapshot);
+        assertEquals(List.of(5), recovered.getLL());
+        recovered.closeJournal();
+    }
+}
@@ -2,7 +2,16 @@ package model.ModelTests;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -88,4 +97,181 @@ class LLTests {
         assertEquals(0, list.size());
         assertTrue(list.getLL().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testRemoveFirstAndLast() {
+        list.append(1);
+        list.append(2);
+        list.append(3);
+        assertEquals(3, list.removeLast());
+        assertEquals(1, list.removeFirst());
+        assertEquals(List.of(2), list.getLL());
+        assertEquals(2, list.removeLast());
+        assertEquals(0, list.size());
+        assertThrows(IllegalStateException.class, () -> list.removeLast());
+
+        list.append(4); // head and tail are valid again after emptying
+        list.prepend(5);
+        assertEquals(List.of(5, 4), list.getLL());
+    }
+
+    @Test
+    void testGet() {
+        for (int i = 0; i < 10; i++) {
+            list.append(i * 10);
+        }
+        assertEquals(0, list.get(0));
+        assertEquals(30, list.get(3));
+        assertEquals(80, list.get(8));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(10));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+    }
+
+    @Test
+    void testIndexedMatchesArrayList() {
+        checkAgainstArrayList(new LinkedList<>(true), 20000);
+        checkAgainstArrayList(new LinkedList<>(false), 3000);
+    }
+
+    @Test
+    void testHashIndexedMatchesArrayList() {
+        checkAgainstArrayList(new LinkedList<>(false, true), 5000);
+        checkAgainstArrayList(new LinkedList<>(true, true), 20000);
+    }
+
+    @Test
+    void testHashIndexKeepsFirstOccurrence() {
+        LinkedList<Integer> hashed = new LinkedList<>(true, true);
+        hashed.append(5);
+        hashed.append(7);
+        hashed.append(5);
+        hashed.insert(5, 1);
+        hashed.prepend(7);
+        assertEquals(List.of(7, 5, 5, 7, 5), hashed.getLL());
+        assertEquals(1, hashed.find(5));
+        hashed.remove(5);
+        assertEquals(List.of(7, 5, 7, 5), hashed.getLL());
+        assertEquals(1, hashed.find(5));
+        hashed.remove(7);
+        assertEquals(List.of(5, 7, 5), hashed.getLL());
+        assertEquals(1, hashed.find(7));
+        hashed.removeFirst();
+        assertEquals(1, hashed.find(5));
+        hashed.reset();
+        assertFalse(hashed.contains(5));
+        assertEquals(-1, hashed.find(7));
+    }
+
+    @Test
+    void testEnableHashIndexOnExistingList() {
+        for (int i = 0; i < 100; i++) {
+            list.append(i % 10);
+        }
+        list.setHashIndexed(true);
+        assertTrue(list.isHashIndexed());
+        assertEquals(3, list.find(3));
+        list.remove(3);
+        assertEquals(12, list.find(3));
+        list.setHashIndexed(false);
+        assertEquals(12, list.find(3));
+    }
+
+    @Test
+    void testEnableIndexOnExistingList() {
+        for (int i = 0; i < 1000; i++) {
+            list.append(i);
+        }
+        list.setIndexed(true);
+        assertTrue(list.isIndexed());
+        for (int i = 0; i < 1000; i += 37) {
+            assertEquals(i, list.get(i));
+        }
+        list.insert(-1, 500);
+        assertEquals(-1, list.get(500));
+        assertEquals(500, list.get(501));
+        list.setIndexed(false);
+        assertEquals(-1, list.get(500));
+        assertEquals(1001, list.size());
+    }
+
+    @Test
+    void testSerializationKeepsIndexAndOrder() throws Exception {
+        LinkedList<Integer> indexed = new LinkedList<>(true, true);
+        for (int i = 0; i < 200000; i++) { // deep enough to overflow a recursive node graph
+            indexed.append(i);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(indexed);
+        }
+        @SuppressWarnings("unchecked")
+        LinkedList<Integer> copy = (LinkedList<Integer>) new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        assertTrue(copy.isIndexed());
+        assertEquals(200000, copy.size());
+        assertEquals(123456, copy.get(123456));
+        copy.insert(-5, 7);
+        assertEquals(-5, copy.get(7));
+        assertEquals(199999, copy.removeLast());
+        assertTrue(copy.isHashIndexed());
+        assertEquals(8, copy.find(7));
+    }
+
+    /**
+     * Runs random inserts, removes and lookups on both lists and compares them.
+     */
+    private static void checkAgainstArrayList(LinkedList<Integer> linked, int ops) {
+        List<Integer> expected = new ArrayList<>();
+        Random rand = new Random(42);
+        for (int i = 0; i < ops; i++) {
+            int op = rand.nextInt(10);
+            if (op < 5 || expected.isEmpty()) {
+                int index = rand.nextInt(expected.size() + 1);
+                int value = rand.nextInt(1000);
+                linked.insert(value, index);
+                expected.add(index, value);
+            } else if (op < 7) {
+                Integer value = expected.get(rand.nextInt(expected.size()));
+                linked.remove(value);
+                expected.remove(value);
+            } else if (op == 7) {
+                assertEquals(expected.remove(expected.size() - 1), linked.removeLast());
+            } else if (op == 8) {
+                int value = rand.nextInt(1100);
+                assertEquals(expected.indexOf(value), linked.find(value));
+                assertEquals(expected.contains(value), linked.contains(value));
+            } else {
+                int index = rand.nextInt(expected.size());
+                assertEquals(expected.get(index), linked.get(index));
+            }
+            assertEquals(expected.size(), linked.size());
+        }
+        assertEquals(expected, linked.getLL());
+    }
+
+    @Test
+    void testAsListIsLiveView() {
+        List<Integer> view = list.asList();
+        list.append(1);
+        list.append(3);
+        list.insert(2, 1);
+        assertEquals(List.of(1, 2, 3), view);
+        assertSame(view, list.asList());
+
+        ListIterator<Integer> it = view.listIterator(3);
+        assertEquals(3, it.previous());
+        assertEquals(2, it.previous());
+        assertEquals(2, it.next());
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(0));
+    }
+
+    @Test
+    void testAsListIteratorFailsFast() {
+        list.append(1);
+        list.append(2);
+        Iterator<Integer> it = list.asList().iterator();
+        it.next();
+        list.removeLast();
+        assertThrows(ConcurrentModificationException.class, it::next);
+    }
+}
@@ -0,0 +1,181 @@
+package model.ModelTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import model.AbstractSorter;
+import model.MappedIntStore;
+import model.ParallelSort;
+import model.SorterRegistry;
+
+class MappedIntStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private MappedIntStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = MappedIntStore.create(dir.resolve("store.i32"), 1024);  // small segments so tests cross them
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void testAddGetSetSwapAcrossSegments() {
+        for (int i = 0; i < 3000; i++) {
+            store.add(i);
+        }
+        assertEquals(3000, store.size());
+        assertEquals(1500, store.get(1500));
+        store.swap(10, 2999);
+        assertEquals(2999, store.get(10));
+        assertEquals(10, store.get(2999));
+        store.set(1024, -7);
+        assertEquals(1024, store.indexOf(-7));
+        assertEquals(-1, store.indexOf(12345));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(3000));
+    }
+
+    @Test
+    void testRemoveAtShiftsAcrossSegments() {
+        for (int i = 0; i < 2050; i++) {
+            store.add(i);
+        }
+        assertEquals(5, store.removeAt(5));
+        assertEquals(2049, store.size());
+        assertEquals(6, store.get(5));
+        assertEquals(1025, store.get(1024));
+        assertEquals(2049, store.get(2048));
+        assertTrue(store.removeValue(2049));
+        assertEquals(2048, store.size());
+    }
+
+    @Test
+    void testInsertAtShiftsAcrossSegments() {
+        for (int i = 0; i < 2048; i++) {
+            store.add(i);
+        }
+        store.insertAt(5, -5);
+        assertEquals(2049, store.size());
+        assertEquals(-5, store.get(5));
+        assertEquals(5, store.get(6));
+        assertEquals(1023, store.get(1024));
+        assertEquals(2047, store.get(2048));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.insertAt(-1, 0));
+    }
+
+    @Test
+    void testCopyRangeOverlapsAcrossSegments() {
+        for (int i = 0; i < 2048; i++) {
+            store.add(i);
+        }
+        store.copyRange(1000, 1001, 40);
+        assertEquals(1000, store.get(1000));
+        assertEquals(1000, store.get(1001));
+        assertEquals(1039, store.get(1040));
+        store.copyRange(1001, 1000, 40);
+        assertEquals(1039, store.get(1039));
+        assertEquals(1039, store.get(1040));
+    }
+
+    @Test
+    void testCloseTruncatesAndOpenReadsLittleEndian() throws IOException {
+        store.add(1);
+        store.add(-2);
+        store.add(0x01020304);
+        store.close();
+        Path file = dir.resolve("store.i32");
+        assertEquals(12, Files.size(file));
+
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(0x01020304, bytes.getInt(8));
+
+        store = MappedIntStore.open(file);
+        assertEquals(3, store.size());
+        assertEquals(-2, store.get(1));
+        assertEquals(-2, store.asList().get(1));
+    }
+
+    @Test
+    void testEverySorterSortsMappedStorage() throws IOException {
+        Random rand = new Random(3);
+        for (String name : SorterRegistry.names()) {
+            AbstractSorter sorter = SorterRegistry.create(name);
+            sorter.clear();
+            int n = name.equals("Bubble") || name.equals("Insertion") ? 300 : 5000;
+            for (int i = 0; i < n; i++) {
+                sorter.append(rand.nextInt(1000) - 500);
+            }
+            sorter.useMappedStorage(dir.resolve(name + ".i32"));
+            assertTrue(sorter.isMapped());
+            sorter.startSort();
+            sorter.runToCompletion();
+            assertEquals(n, sorter.size());
+            for (int i = 1; i < n; i++) {
+                assertTrue(sorter.get(i - 1) <= sorter.get(i), name + " left index " + i + " out of order");
+            }
+            assertTrue(sorter.find(sorter.get(n / 2)) >= 0);
+            sorter.useHeapStorage();
+            assertFalse(sorter.isMapped());
+            assertEquals(n, sorter.size());
+        }
+    }
+
+    @Test
+    void testOpenExistingFileAndParallelSortFallsBack() throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(4 * 2000).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < 2000; i++) {
+            bytes.putInt(2000 - i);
+        }
+        Path file = dir.resolve("extract.bin");
+        Files.write(file, bytes.array());
+
+        AbstractSorter sorter = SorterRegistry.create("Quick");
+        sorter.openMappedStorage(file);
+        assertEquals(2000, sorter.size());
+        ParallelSort.sort(sorter);
+        for (int i = 0; i < 2000; i++) {
+            assertEquals(i + 1, sorter.get(i));
+        }
+        sorter.useHeapStorage();  // closes the file, which now holds the sorted values
+        ByteBuffer sorted = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(1, sorted.getInt(0));
+        assertEquals(2000, sorted.getInt(4 * 1999));
+    }
+
+    @Test
+    void testSerializationKeepsValuesInFile() throws Exception {
+        AbstractSorter sorter = SorterRegistry.create("Heap");
+        sorter.useMappedStorage(dir.resolve("heap.i32"));
+        sorter.append(42);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(sorter);
+        }
+        AbstractSorter copy = (AbstractSorter) new ObjectInputStream(
+                new ByteArrayInputStream(out.toByteArray())).readObject();
+        assertTrue(copy.isMapped());
+        assertEquals(sorter.size(), copy.size());
+        assertEquals(42, copy.get(copy.size() - 1));
+    }
+}
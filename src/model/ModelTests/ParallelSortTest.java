@@ -0,0 +1,80 @@
+package model.ModelTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.AbstractSorter;
+import model.MergeSort;
+import model.ParallelSort;
+import model.SortChange;
+
+class ParallelSortTest {
+
+    private ForkJoinPool pool;
+    private AbstractSorter sorter;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        sorter = new MergeSort();
+        sorter.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testSortsLargeRandomList() {
+        Random rand = new Random(3);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            int v = rand.nextInt(1000) - 500;
+            sorter.append(v);
+            expected.add(v);
+        }
+        Collections.sort(expected);
+
+        ParallelSort.sort(sorter, pool, 1000);
+        assertEquals(expected, sorter.getlistToSort());
+    }
+
+    @SuppressWarnings("deprecation")
+    @Test
+    void testPublishesPartitionsThenFinished() {
+        for (int i = 5000; i > 0; i--) {
+            sorter.append(i);
+        }
+        List<SortChange> events = Collections.synchronizedList(new ArrayList<>());
+        sorter.addObserver((o, arg) -> events.add((SortChange) arg));
+
+        ParallelSort.sort(sorter, pool, 500);
+
+        assertTrue(events.size() > 10, "Each sorted partition should be published");
+        SortChange last = events.get(events.size() - 1);
+        assertTrue(last.isFinished());
+        assertEquals(0, last.getFrom());
+        assertEquals(4999, last.getTo());
+        assertFalse(sorter.stepSort(), "No step sort should be left running");
+    }
+
+    @Test
+    void testEmptyAndSingleLists() {
+        ParallelSort.sort(sorter, pool, 16);
+        assertTrue(sorter.getlistToSort().isEmpty());
+
+        sorter.append(9);
+        ParallelSort.sort(sorter, pool, 16);
+        assertEquals(List.of(9), sorter.getlistToSort());
+    }
+}
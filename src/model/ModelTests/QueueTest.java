@@ -1,6 +1,10 @@
 package model.ModelTests;
 
 import static org.junit.jupiter.api.Assertions.*;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -84,4 +88,132 @@ class QueueTest {
         queue.dequeue();
         assertTrue(queue.isEmpty());
     }
+
+    @Test
+    void testAsListFollowsWrapAround() {
+        List<Integer> view = queue.asList();
+        for (int i = 0; i < 8; i++) {
+            queue.enqueue(i);
+        }
+        for (int i = 0; i < 6; i++) {
+            queue.dequeue();
+        }
+        for (int i = 8; i < 14; i++) { // rear wraps past the end of the array
+            queue.enqueue(i);
+        }
+        assertEquals(List.of(6, 7, 8, 9, 10, 11, 12, 13), view, "View should run from front to rear");
+        assertEquals(13, view.get(view.size() - 1));
+        assertSame(view, queue.asList());
+    }
+
+    @Test
+    void testAsListIteratorFailsFast() {
+        queue.enqueue(1);
+        queue.enqueue(2);
+        Iterator<Integer> it = queue.asList().iterator();
+        it.next();
+        queue.dequeue();
+        assertThrows(ConcurrentModificationException.class, it::next);
+    }
+
+    @Test
+    void testCapacityIsPowerOfTwoAndRawArrayMatchesView() {
+        queue = new Queue<>(10);
+        assertEquals(16, queue.getCapacity());
+        for (int i = 0; i < 12; i++) {
+            queue.enqueue(i);
+        }
+        for (int i = 0; i < 10; i++) {
+            queue.dequeue();
+        }
+        for (int i = 12; i < 22; i++) { // rear wraps past the end of the array
+            queue.enqueue(i);
+        }
+        assertEquals(16, queue.getCapacity());
+        assertTrue(queue.getRearIndex() < queue.getFrontIndex());
+        List<Integer> view = queue.asList();
+        Object[] raw = queue.getRawArray();
+        for (int i = 0; i < view.size(); i++) {
+            assertEquals(view.get(i), raw[(queue.getFrontIndex() + i) & (queue.getCapacity() - 1)]);
+        }
+        assertEquals(10, view.get(0));
+        assertEquals(21, view.get(11));
+    }
+
+    @Test
+    void testGrowWhileWrappedKeepsOrder() {
+        for (int i = 0; i < 16; i++) {
+            queue.enqueue(i);
+        }
+        for (int i = 0; i < 5; i++) {
+            queue.dequeue();
+        }
+        for (int i = 16; i < 30; i++) {
+            queue.enqueue(i);  // wraps, then grows with the front in the middle
+        }
+        assertEquals(32, queue.getCapacity());
+        assertEquals(25, queue.size());
+        assertArrayEquals(java.util.stream.IntStream.range(5, 30).boxed().toArray(), queue.asList().toArray());
+    }
+
+    @Test
+    void testShrinksAfterBurst() {
+        for (int i = 0; i < 1000; i++) {
+            queue.enqueue(i);
+        }
+        assertEquals(1024, queue.getCapacity());
+        for (int i = 0; i < 990; i++) {
+            queue.dequeue();
+        }
+        assertTrue(queue.getCapacity() <= 64, "capacity " + queue.getCapacity());
+        assertEquals(List.of(990, 991, 992, 993, 994, 995, 996, 997, 998, 999), queue.asList());
+        while (!queue.isEmpty()) {
+            queue.dequeue();
+        }
+        assertEquals(Queue.DEFAULT_CAPACITY, queue.getCapacity());
+    }
+
+    @Test
+    void testShrinkPolicy() {
+        queue.setShrinkPolicy(100, 0);
+        for (int i = 0; i < 1000; i++) {
+            queue.enqueue(i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            queue.dequeue();
+        }
+        assertEquals(1024, queue.getCapacity(), "shrinking is off");
+
+        queue.setShrinkPolicy(100, 8);
+        queue.enqueue(1);
+        queue.dequeue();
+        assertEquals(128, queue.getCapacity(), "stops at the minimum, rounded up");
+        queue.reset();
+        assertEquals(128, queue.getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> queue.setShrinkPolicy(16, 2));
+        assertThrows(IllegalArgumentException.class, () -> queue.setShrinkPolicy(0, 4));
+    }
+
+    @Test
+    void testSerializationKeepsOrderAndPolicy() throws Exception {
+        queue.setShrinkPolicy(32, 0);
+        for (int i = 0; i < 40; i++) {
+            queue.enqueue(i);
+        }
+        for (int i = 0; i < 30; i++) {
+            queue.dequeue();
+        }
+        java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+        try (java.io.ObjectOutputStream out = new java.io.ObjectOutputStream(bytes)) {
+            out.writeObject(queue);
+        }
+        @SuppressWarnings("unchecked")
+        Queue<Integer> copy = (Queue<Integer>) new java.io.ObjectInputStream(
+                new java.io.ByteArrayInputStream(bytes.toByteArray())).readObject();
+        assertEquals(queue.asList(), copy.asList());
+        while (copy.size() > 1) {
+            copy.dequeue();
+        }
+        assertEquals(64, copy.getCapacity(), "shrinking stays off");
+    }
 }
@@ -0,0 +1,398 @@
+package model.ModelTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import model.AbstractSorter;
+import model.CorruptSnapshotException;
+import model.IntQueue;
+import model.IntStack;
+import model.LinkedList;
+import model.Model;
+import model.SnapshotProgress;
+import model.ValueCodec;
+
+class SnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * save_one.dat of the version before the snapshots, written with Java serialization by
+     * new Model<>("LL", "Stack", "Queue", "Insertion", "Bubble") after adding 10 to 50.
+     */
+    private static final String BASELINE_SAVE = """
+            rO0ABXNyABBtb2RlbC5MaW5rZWRMaXN0AAAAAAAAAAECAANJAAJzekwABGhlYWR0ABdMbW9kZWwv
+            TGlua2VkTGlzdCROb2RlO0wABHRhaWxxAH4AAXhwAAAABXNyABVtb2RlbC5MaW5rZWRMaXN0JE5v
+            ZGUAAAAAAAAAAQIAA0wABGRhdGF0ABJMamF2YS9sYW5nL09iamVjdDtMAARuZXh0cQB+AAFMAAZ0
+            aGlzJDB0ABJMbW9kZWwvTGlua2VkTGlzdDt4cHNyABFqYXZhLmxhbmcuSW50ZWdlchLioKT3gYc4
+            AgABSQAFdmFsdWV4cgAQamF2YS5sYW5nLk51bWJlcoaslR0LlOCLAgAAeHAAAAAKc3EAfgADc3EA
+            fgAHAAAAFHNxAH4AA3NxAH4ABwAAAB5zcQB+AANzcQB+AAcAAAAoc3EAfgADc3EAfgAHAAAAMnBx
+            AH4AAnEAfgACcQB+AAJxAH4AAnEAfgACcQB+ABBzcgALbW9kZWwuU3RhY2sAAAAAAAAAAQIAAkkA
+            A3RvcFsABXN0YWNrdAATW0xqYXZhL2xhbmcvT2JqZWN0O3hwAAAABHVyABNbTGphdmEubGFuZy5P
+            YmplY3Q7kM5YnxBzKWwCAAB4cAAAAApxAH4ACXEAfgALcQB+AA1xAH4AD3EAfgARcHBwcHBzcgAL
+            bW9kZWwuUXVldWUAAAAAAAAAAQIABEkABWZyb250SQAEcmVhckkABHNpemVbAAVxdWV1ZXEAfgAT
+            eHAAAAAAAAAABQAAAAV1cQB+ABUAAAAKcQB+AAlxAH4AC3EAfgANcQB+AA9xAH4AEXBwcHBwc3IA
+            E21vZGVsLkluc2VydGlvblNvcnQAAAAAAAAAAQIABkkADGN1cnJlbnRJbmRleEkACGN1cnJlbnRK
+            SQADa2V5WgAHc29ydGluZ0wACmxpc3RUb1NvcnR0ABVMamF2YS91dGlsL0FycmF5TGlzdDtMAARy
+            YW5kdAASTGphdmEvdXRpbC9SYW5kb207eHAAAAACAAAAAQAAADkBc3IAE2phdmEudXRpbC5BcnJh
+            eUxpc3R4gdIdmcdhnQMAAUkABHNpemV4cAAAAA93BAAAAA9zcQB+AAcAAAA5cQB+ACBzcQB+AAcA
+            AABUc3EAfgAHAAAAKXNxAH4ABwAAAERzcQB+AAcAAABBc3EAfgAHAAAARXNxAH4ABwAAABZzcQB+
+            AAcAAAArc3EAfgAHAAAAX3EAfgAJcQB+AAtxAH4ADXEAfgAPcQB+ABF4c3IAEGphdmEudXRpbC5S
+            YW5kb202MpY0S/AKUwMAA1oAFGhhdmVOZXh0TmV4dEdhdXNzaWFuRAAQbmV4dE5leHRHYXVzc2lh
+            bkoABHNlZWR4cAAAAAAAAAAAAAAAgHxQx0UWeHNyABBtb2RlbC5CdWJibGVTb3J0AAAAAAAAAAEC
+            AAZJAAFpSQABakkAA2tleVoAB3NvcnRpbmdMAApsaXN0VG9Tb3J0cQB+ABtMAARyYW5kcQB+ABx4
+            cAAAAAAAAAABAAAAAAFzcQB+AB4AAAAPdwQAAAAPc3EAfgAHAAAAD3EAfgALcQB+AChzcQB+AAcA
+            AAAmc3EAfgAHAAAAI3NxAH4ABwAAACxzcQB+AAcAAABTc3EAfgAHAAAAW3NxAH4ABwAAAC5zcQB+
+            AAcAAAAwcQB+AAlxAH4AC3EAfgANcQB+AA9xAH4AEXhzcQB+ACkAAAAAAAAAAAAAABCYLfnDFng=
+            """;
+
+    private Path baselineSave(int length) throws IOException {
+        byte[] bytes = Base64.getMimeDecoder().decode(BASELINE_SAVE);
+        Path file = dir.resolve("save_one.dat");
+        Files.write(file, Arrays.copyOf(bytes, length < 0 ? bytes.length : length));
+        return file;
+    }
+
+    private Model<Integer> filledModel() {
+        Model<Integer> model = new Model<>("LL", "Stack", "Queue", "Merge", null);
+        model.reset();
+        model.addAll(IntStream.rangeClosed(1, 1000).map(i -> 1001 - i), false);
+        return model;
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        Model<Integer> model = filledModel();
+        model.getSorter("Merge").runToCompletion();
+        Path file = dir.resolve("state.dat");
+        model.save(file);
+
+        Model<Integer> copy = new Model<>(null, null, null, null, null);
+        assertTrue(copy.load(file));
+        assertEquals(model.getLL(), copy.getLL());
+        assertEquals(model.getStackElements(), copy.getStackElements());
+        assertEquals(model.getQueueElements(), copy.getQueueElements());
+        AbstractSorter merge = copy.getSorter("Merge");
+        assertEquals(model.getSorter("Merge").getlistToSort(), merge.getlistToSort());
+        assertTrue(merge.get(0) <= 1, "the sorted order was kept");  // reset() also adds random values from 0
+        assertFalse(Files.exists(dir.resolve("state.dat.tmp")));
+    }
+
+    @Test
+    void testSaveAsyncWritesStateAtTheCall() throws IOException {
+        Model<Integer> model = filledModel();
+        List<Integer> ll = List.copyOf(model.getLL());
+        int sorted = model.getSorter("Merge").size();
+        List<SnapshotProgress> reports = new ArrayList<>();
+        Path file = dir.resolve("state.dat");
+        CompletableFuture<SnapshotProgress> saving = model.saveAsync(file, reports::add);
+        model.addAll(IntStream.range(0, 500), false);  // after the copy, not saved
+        SnapshotProgress done = saving.join();
+
+        assertTrue(done.isDone());
+        assertEquals(1.0, done.getFraction());
+        assertEquals(done.getTotalElements(), done.getElements());
+        assertEquals(Files.size(file), done.getBytes());
+        assertSame(done, reports.get(reports.size() - 1));
+
+        Model<Integer> copy = new Model<>(null, null, null, null, null);
+        assertTrue(copy.load(file));
+        assertEquals(ll, copy.getLL());
+        assertEquals(sorted, copy.getSorter("Merge").size());
+    }
+
+    @Test
+    void testLoadAsyncAppliesOnTheGivenExecutor() throws IOException, InterruptedException {
+        Model<Integer> model = filledModel();
+        Path file = dir.resolve("state.dat");
+        model.save(file);
+
+        Model<Integer> copy = new Model<>("LL", null, null, null, null);
+        BlockingQueue<Runnable> applySteps = new LinkedBlockingQueue<>();
+        List<SnapshotProgress> reports = new ArrayList<>();
+        CompletableFuture<Boolean> loading = copy.loadAsync(file, reports::add, applySteps::add);
+        Runnable apply = applySteps.poll(10, TimeUnit.SECONDS);  // the file is read on the I/O thread
+        assertNotNull(apply, "the file was read");
+        assertNotEquals(model.getLL(), copy.getLL(), "nothing is replaced before the apply step runs");
+        assertEquals(Files.size(file), reports.get(reports.size() - 1).getBytes());
+        apply.run();
+        assertTrue(loading.join());
+        assertEquals(model.getLL(), copy.getLL());
+        assertEquals(model.getQueueElements(), copy.getQueueElements());
+
+        CompletableFuture<Boolean> missing = copy.loadAsync(dir.resolve("none.dat"), null, Runnable::run);
+        assertFalse(missing.join());
+    }
+
+    @Test
+    void testLoadAsyncReportsCorruptFiles() throws IOException {
+        Path file = dir.resolve("state.dat");
+        filledModel().save(file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 7] ^= 0x10;
+        Files.write(file, bytes);
+
+        Model<Integer> copy = new Model<>("LL", null, null, null, null);
+        List<Integer> before = copy.getLL();
+        CompletionException failure = assertThrows(CompletionException.class,
+                () -> copy.loadAsync(file, null, Runnable::run).join());
+        assertInstanceOf(CorruptSnapshotException.class, failure.getCause());
+        assertSame(before, copy.getLL());
+    }
+
+    /**
+     * Finds where a section starts from the table of contents, which follows
+     * the 20 byte header (magic, version, count, "tagged") as the first section.
+     */
+    private static int sectionOffset(byte[] bytes, int kind) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        in.position(20 + 15);  // contents section header: kind, empty name, length, CRC
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            byte listed = in.get();
+            in.position(in.position() + 2 + in.getShort(in.position()));
+            long offset = in.getLong();
+            if (listed == kind) {
+                return (int) offset;
+            }
+        }
+        throw new AssertionError("no section of kind " + kind);
+    }
+
+    @Test
+    void testOpenReadsOnlyWhatIsTouched() throws IOException {
+        Model<Integer> model = filledModel();
+        Path file = dir.resolve("state.dat");
+        model.save(file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[sectionOffset(bytes, 2) + 100] ^= 0x10;  // inside the stack's elements
+        Files.write(file, bytes);
+
+        Model<Integer> copy = new Model<>(null, null, null, null, null);
+        assertThrows(CorruptSnapshotException.class, () -> copy.load(file));
+        assertTrue(copy.open(file));
+        assertTrue(copy.hasStack());
+        copy.activateDS("LL");
+        assertEquals(model.getLL(), copy.getLL());
+        assertEquals(model.getQueueElements(), copy.getQueueElements());
+        assertEquals(model.getSorter("Merge").getlistToSort(), copy.getSorter("Merge").getlistToSort());
+        assertNull(copy.getLoadError(), "the damaged stack was not read yet");
+
+        copy.activateDS("Stack");
+        assertInstanceOf(CorruptSnapshotException.class, copy.getLoadError());
+        assertNotEquals(model.getStackElements(), copy.getStackElements(), "the damaged stack is left out");
+    }
+
+    @Test
+    void testSaveOverOpenedFileKeepsUntouchedStructures() throws IOException {
+        Model<Integer> model = filledModel();
+        Path file = dir.resolve("state.dat");
+        model.save(file);
+
+        Model<Integer> opened = new Model<>(null, null, null, null, null);
+        opened.open(file);
+        opened.activateDS("Queue");
+        opened.add(-5, false);
+        opened.save(file);
+
+        Model<Integer> copy = new Model<>(null, null, null, null, null);
+        copy.load(file);
+        assertEquals(1001, copy.getQueueElements().size());
+        assertEquals(-5, copy.getQueueElements().get(1000));
+        assertEquals(model.getLL(), copy.getLL());
+        assertEquals(model.getStackElements(), copy.getStackElements());
+        assertEquals(model.getSorter("Merge").size(), copy.getSorter("Merge").size());
+    }
+
+    @Test
+    void testOpenWithoutContentsHopsOverSections() throws IOException {
+        Model<Integer> model = filledModel();
+        Path file = dir.resolve("state.dat");
+        model.save(file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[20] = 99;  // turns the contents into a section this build does not know
+        Files.write(file, bytes);
+
+        Model<Integer> copy = new Model<>(null, null, null, null, null);
+        assertTrue(copy.open(file));
+        assertEquals(model.getStackElements(), copy.getStackElements());
+        assertEquals(model.getLL(), copy.getLL());
+        assertNull(copy.getLoadError());
+        assertTrue(copy.load(file), "an eager load skips it too");
+    }
+
+    @Test
+    void testMixedElementsWithTaggedCodec() throws IOException {
+        Model<String> model = new Model<>("LL", null, null, null, null);
+        model.reset();
+        model.add("alpha", false);
+        model.add("\u00fcn\u00efcode \u2713", false);
+        model.add("", false);
+        Path file = dir.resolve("strings.dat");
+        model.save(file);
+
+        Model<String> copy = new Model<>(null, null, null, null, null);
+        copy.load(file);
+        assertEquals(List.of("alpha", "\u00fcn\u00efcode \u2713", ""), copy.getLL());
+    }
+
+    @Test
+    void testIntegerDataIsKeptInIntStructures() throws IOException {
+        Model<Integer> model = filledModel();
+        assertTrue(model.getStack() instanceof IntStack);
+        assertTrue(model.getQueue() instanceof IntQueue);
+        Path file = dir.resolve("ints.dat");
+        model.save(file);
+
+        Model<Integer> copy = new Model<>(null, null, null, null, null);
+        assertTrue(copy.load(file));
+        assertTrue(copy.getStack() instanceof IntStack, "A loaded stack of Integers should hold ints");
+        assertTrue(copy.getQueue() instanceof IntQueue);
+        assertEquals(model.getLL(), copy.getLL());
+        assertEquals(model.getQueueElements(), copy.getQueueElements());
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Test
+    void testOtherValuesMoveIntStructuresBack() {
+        Model mixed = new Model("LL", "Stack", null, null, null);
+        mixed.reset();
+        mixed.add(1, false);
+        mixed.add(2, false);
+        assertTrue(mixed.getStack() instanceof IntStack);
+        mixed.add("three", false);
+        assertFalse(mixed.getStack() instanceof IntStack);
+        assertEquals(List.of(1, 2, "three"), mixed.getLL());
+        assertEquals(List.of(1, 2, "three"), mixed.getStackElements());
+        mixed.remove("three");
+        assertEquals(List.of(1, 2), mixed.getLL());
+    }
+
+    @Test
+    void testCorruptByteIsDetectedAndModelKept() throws IOException {
+        Path file = dir.resolve("state.dat");
+        filledModel().save(file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 100] ^= 0x10;  // inside the last sorter's ints
+        Files.write(file, bytes);
+
+        Model<Integer> model = new Model<>("LL", null, null, null, null);
+        model.reset();
+        model.add(7, false);
+        CorruptSnapshotException e = assertThrows(CorruptSnapshotException.class, () -> model.load(file));
+        assertTrue(e.getMessage().contains("Checksum"), e.getMessage());
+        assertEquals(List.of(7), model.getLL());
+    }
+
+    @Test
+    void testTruncatedAndForeignFiles() throws IOException {
+        Path file = dir.resolve("state.dat");
+        filledModel().save(file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, java.util.Arrays.copyOf(bytes, bytes.length / 2));
+        Model<Integer> model = new Model<>(null, null, null, null, null);
+        assertThrows(CorruptSnapshotException.class, () -> model.load(file));
+
+        Files.write(file, "id,value\n1,2\n".getBytes());
+        assertThrows(CorruptSnapshotException.class, () -> model.load(file));
+        assertFalse(model.load(dir.resolve("missing.dat")));
+    }
+
+    @Test
+    void testCodecMismatchIsRejected() throws IOException {
+        Model<Integer> model = filledModel();
+        model.setValueCodec(ValueCodec.integers());
+        Path file = dir.resolve("ints.dat");
+        model.save(file);
+
+        Model<Integer> tagged = new Model<>(null, null, null, null, null);
+        IOException e = assertThrows(IOException.class, () -> tagged.load(file));
+        assertTrue(e.getMessage().contains("int"), e.getMessage());
+        Model<Integer> ints = new Model<>(null, null, null, null, null);
+        ints.setValueCodec(ValueCodec.integers());
+        ints.load(file);
+        assertEquals(1000, ints.getLL().size());
+    }
+
+    @Test
+    void testLoadsJavaSerializedSaves() throws IOException {
+        LinkedList<String> list = new LinkedList<>();
+        list.append("old");
+        list.append("save");
+        Path file = dir.resolve("legacy.dat");
+        try (ObjectOutputStream oos = new ObjectOutputStream(Files.newOutputStream(file))) {
+            oos.writeObject(list);
+        }
+        Model<String> model = new Model<>(null, null, null, null, null);
+        assertTrue(model.load(file));
+        assertEquals(List.of("old", "save"), model.getLL());
+    }
+
+    @Test
+    void testLoadsSavesOfTheVersionBeforeSnapshots() throws IOException {
+        Path file = baselineSave(-1);
+        Model<Integer> model = new Model<>("LL", "Stack", "Queue", "Insertion", "Bubble");
+        assertTrue(model.load(file));
+        assertEquals(List.of(10, 20, 30, 40, 50), model.getLL());
+        assertEquals(List.of(10, 20, 30, 40, 50), model.getStackElements());
+        assertEquals(List.of(10, 20, 30, 40, 50), model.getQueueElements());
+        assertEquals(List.of(57, 57, 84, 41, 68, 65, 69, 22, 43, 95, 10, 20, 30, 40, 50), model.getInsertionSortElements());
+        assertEquals(List.of(15, 20, 95, 38, 35, 44, 83, 91, 46, 48, 10, 20, 30, 40, 50), model.getBubbleSortElements());
+
+        AbstractSorter insertion = model.getSorter("Insertion");
+        insertion.runToCompletion();
+        assertEquals(List.of(10, 20, 22, 30, 40, 41, 43, 50, 57, 57, 65, 68, 69, 84, 95), insertion.getlistToSort());
+        assertEquals(7, insertion.find(50));
+        model.add(60, false);
+        assertEquals(List.of(10, 20, 30, 40, 50, 60), model.getLL());
+    }
+
+    @Test
+    void testJavaSerializedSaveEndingInsideAnObjectIsCorrupt() throws IOException {
+        int length = Base64.getMimeDecoder().decode(BASELINE_SAVE).length;
+        Path file = baselineSave(length - 40);
+        Model<Integer> model = new Model<>(null, null, null, null, null);
+        assertThrows(CorruptSnapshotException.class, () -> model.load(file));
+    }
+
+    @Test
+    void testTenMillionSortedValues() throws IOException {
+        Model<Integer> model = new Model<>("Radix", null, null, null, null);
+        int n = 10_000_000;
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i * 31 - n;
+        }
+        model.getSorter("Radix").clear();
+        model.addAll(values, 0, n, false);
+        Path file = dir.resolve("big.dat");
+        model.save(file);
+        assertTrue(Files.size(file) < 4L * n + 200, "ints are packed");
+
+        Model<Integer> copy = new Model<>(null, null, null, null, null);
+        copy.load(file);
+        AbstractSorter radix = copy.getSorter("Radix");
+        assertEquals(n, radix.size());
+        assertEquals(values[n - 1], radix.get(n - 1));
+        assertEquals(values[12345], radix.get(12345));
+    }
+}
@@ -0,0 +1,87 @@
+package model.ModelTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import model.AbstractSorter;
+import model.BubbleSort;
+import model.InsertionSort;
+import model.SortMetrics;
+import model.SorterRegistry;
+
+class SortMetricsTest {
+
+    private static AbstractSorter load(AbstractSorter sorter, int... values) {
+        sorter.clear();
+        for (int v : values) {
+            sorter.append(v);
+        }
+        return sorter;
+    }
+
+    @Test
+    void testMetricsAreOffByDefault() {
+        AbstractSorter sorter = SorterRegistry.create("Quick");
+        assertFalse(sorter.isMetricsEnabled());
+        assertNull(sorter.getMetrics());
+        sorter.runToCompletion();
+        assertNull(sorter.getMetrics());
+    }
+
+    @Test
+    void testBubbleSortCountsEveryComparisonAndSwap() {
+        BubbleSort sorter = (BubbleSort) load(new BubbleSort(), 3, 2, 1);
+        sorter.setVariant(BubbleSort.Variant.CLASSIC);
+        sorter.setMetricsEnabled(true);
+        sorter.startSort();
+        long steps = 1 + sorter.runToCompletion();
+
+        SortMetrics metrics = sorter.getMetrics();
+        assertEquals(3, metrics.getComparisons(), "Two passes compare 2 and then 1 pair");
+        assertEquals(3, metrics.getSwaps(), "Reversed input swaps on every comparison");
+        assertEquals(6, metrics.getReads());
+        assertEquals(0, metrics.getWrites());
+        assertEquals(steps, metrics.getSteps());
+        assertTrue(metrics.getElapsedNanos() > 0);
+    }
+
+    @Test
+    void testBinaryInsertionCountsShiftsAsWrites() {
+        InsertionSort sorter = (InsertionSort) load(new InsertionSort(), 2, 4, 6, 8, 1);
+        sorter.setVariant(InsertionSort.Variant.BINARY);
+        sorter.setMetricsEnabled(true);
+        sorter.startSort();
+        sorter.runToCompletion();
+
+        SortMetrics metrics = sorter.getMetrics();
+        assertEquals(0, metrics.getSwaps());
+        assertEquals(5, metrics.getWrites(), "Four values shift up and 1 is written in front of them");
+        assertEquals(3 + 3, metrics.getComparisons(), "Three values in place, 1 takes a check and two halvings");
+    }
+
+    @Test
+    void testStartSortResetsAndCopyIsFrozen() {
+        for (String name : SorterRegistry.names()) {
+            AbstractSorter sorter = load(SorterRegistry.create(name), 5, 9, 1, 7, 3, 8, 2);
+            sorter.setMetricsEnabled(true);
+            sorter.startSort();
+            sorter.runToCompletion();
+            SortMetrics first = sorter.getMetrics().copy();
+            long firstSteps = first.getSteps();
+            assertTrue(first.getSteps() > 0, name);
+            assertTrue(first.getReads() > 0, name);
+            if (!name.equals("Radix")) {
+                assertTrue(first.getComparisons() > 0, name);
+            }
+
+            sorter.startSort();
+            long steps = 1 + sorter.runToCompletion();
+            assertEquals(steps, sorter.getMetrics().getSteps(), name + " should count only the new sort");
+            assertEquals(firstSteps, first.getSteps(), name + " copy should not change");
+
+            sorter.setMetricsEnabled(false);
+            assertNull(sorter.getMetrics(), name);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package model.ModelTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import model.AbstractSorter;
+import model.SorterRegistry;
+
+class SorterRegistryTest {
+
+    private static final int[][] INPUTS = {
+        {},
+        {7},
+        {2, 1},
+        {3, 1, 2},
+        {5, 4, 3, 2, 1, 0, -1, -2},
+        {1, 2, 3, 4, 5, 6, 7, 8, 9},
+        {4, 4, 4, 1, 1, 4, 4, 1, 4, 1, 4},
+        {Integer.MAX_VALUE, 0, Integer.MIN_VALUE, -7, 300, 70000, -70000},
+    };
+
+    private static AbstractSorter load(String name, int[] values) {
+        AbstractSorter sorter = SorterRegistry.create(name);
+        sorter.clear();
+        for (int v : values) {
+            sorter.append(v);
+        }
+        return sorter;
+    }
+
+    private static List<Integer> sortedCopy(int[] values) {
+        int[] copy = values.clone();
+        Arrays.sort(copy);
+        List<Integer> expected = new ArrayList<>();
+        for (int v : copy) {
+            expected.add(v);
+        }
+        return expected;
+    }
+
+    @Test
+    void testRegistersAllAlgorithms() {
+        assertEquals(List.of("Insertion", "Bubble", "Merge", "Quick", "Heap", "Shell", "Radix"),
+                SorterRegistry.names());
+        for (String name : SorterRegistry.names()) {
+            assertEquals(name, SorterRegistry.nameOf(SorterRegistry.create(name)));
+        }
+    }
+
+    @Test
+    void testUnknownNameThrows() {
+        assertFalse(SorterRegistry.contains("Bogo"));
+        assertThrows(IllegalArgumentException.class, () -> SorterRegistry.create("Bogo"));
+    }
+
+    @Test
+    void testEverySorterSortsBySingleSteps() {
+        for (String name : SorterRegistry.names()) {
+            for (int[] input : INPUTS) {
+                AbstractSorter sorter = load(name, input);
+                sorter.startSort();
+                while (sorter.stepSort()) { }
+                assertEquals(sortedCopy(input), sorter.getlistToSort(),
+                        name + " should sort " + Arrays.toString(input));
+            }
+        }
+    }
+
+    @Test
+    void testEverySorterSortsRandomLists() {
+        Random rand = new Random(7);
+        for (String name : SorterRegistry.names()) {
+            for (int size : new int[] {10, 57, 300}) {
+                int[] input = new int[size];
+                for (int i = 0; i < size; i++) {
+                    input[i] = rand.nextInt(200) - 100;
+                }
+                AbstractSorter sorter = load(name, input);
+                sorter.startSort();
+                sorter.runToCompletion();
+                assertEquals(sortedCopy(input), sorter.getlistToSort(), name + " should sort size " + size);
+            }
+        }
+    }
+
+    @Test
+    void testBatchedStepsMatchSingleSteps() {
+        int[] input = {9, 3, 7, 1, 8, 2, 6, 4, 5, 0, 3, 7};
+        for (String name : SorterRegistry.names()) {
+            AbstractSorter batched = load(name, input);
+            AbstractSorter single = load(name, input);
+            batched.startSort();
+            single.startSort();
+
+            long singleSteps = 0;
+            while (single.stepSort()) {
+                singleSteps++;
+            }
+            long batchedSteps = 0;
+            while (batched.stepSort(5)) {
+                batchedSteps += 5;
+            }
+
+            assertEquals(single.getlistToSort(), batched.getlistToSort(), name);
+            assertTrue(batchedSteps <= singleSteps && singleSteps < batchedSteps + 5,
+                    name + " should take the same number of steps in batches");
+        }
+    }
+
+    @Test
+    void testNonPositiveStepCountsAreRejected() {
+        for (String name : SorterRegistry.names()) {
+            AbstractSorter sorter = load(name, new int[] {2, 1});
+            sorter.startSort();
+            sorter.runToCompletion();
+            assertThrows(IllegalArgumentException.class, () -> sorter.stepSort(0), name);
+            assertThrows(IllegalArgumentException.class, () -> sorter.stepSort(-3), name);
+            assertFalse(sorter.stepSort(1), name + " has finished");
+        }
+    }
+
+    @Test
+    void testSortAfterAppendMidSort() {
+        for (String name : SorterRegistry.names()) {
+            AbstractSorter sorter = load(name, new int[] {5, 3, 1});
+            sorter.startSort();
+            sorter.stepSort(2);
+            sorter.append(0);
+            sorter.startSort();
+            sorter.runToCompletion();
+            assertEquals(List.of(0, 1, 3, 5), sorter.getlistToSort(),
+                    name + " should pick up values appended mid-sort");
+        }
+    }
+
+    @Test
+    void testFindAfterSortReturnsFirstOccurrence() {
+        int[] input = {4, 4, 4, 1, 1, 4, 4, 1, 4, 1, 4, 9, -3};
+        for (String name : SorterRegistry.names()) {
+            AbstractSorter sorter = load(name, input);
+            sorter.startSort();
+            sorter.runToCompletion();
+            assertTrue(sorter.isSorted(), name);
+            assertEquals(0, sorter.find(-3), name);
+            assertEquals(1, sorter.find(1), name);
+            assertEquals(5, sorter.find(4), name);
+            assertEquals(12, sorter.find(9), name);
+            assertEquals(-1, sorter.find(2), name);
+            assertEquals(-1, sorter.find(10), name);
+        }
+    }
+
+    @Test
+    void testFindWhileSortingTracksMovedValues() {
+        Random rand = new Random(11);
+        int[] input = new int[80];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = rand.nextInt(60) - 30;
+        }
+        for (String name : SorterRegistry.names()) {
+            AbstractSorter sorter = load(name, input);
+            sorter.startSort();
+            boolean more = true;
+            while (more) {
+                for (int v = -32; v < 32; v++) {
+                    int index = sorter.find(v);
+                    assertEquals(sorter.getlistToSort().contains(v), index >= 0, name + " find " + v);
+                    if (index >= 0) {
+                        assertEquals(v, sorter.getlistToSort().get(index), name + " find " + v);
+                    }
+                }
+                more = sorter.stepSort(7);
+            }
+            assertTrue(sorter.isSorted(), name);
+        }
+    }
+
+    @Test
+    void testAppendKeepsSortedOnlyInOrder() {
+        AbstractSorter sorter = load("Insertion", new int[] {3, 1, 2});
+        sorter.startSort();
+        sorter.runToCompletion();
+        sorter.append(5);
+        assertTrue(sorter.isSorted(), "appending the largest value keeps the order");
+        assertEquals(3, sorter.find(5));
+        sorter.remove(2);
+        assertTrue(sorter.isSorted(), "removing a value keeps the order");
+        assertEquals(List.of(1, 3, 5), sorter.getlistToSort());
+        sorter.append(0);
+        assertFalse(sorter.isSorted(), "appending a smaller value breaks the order");
+        assertEquals(3, sorter.find(0));
+    }
+
+    @Test
+    void testInsertIntoSortedListNeedsNoSort() {
+        for (String name : SorterRegistry.names()) {
+            AbstractSorter sorter = load(name, new int[] {8, 2, 6, 4});
+            sorter.startSort();
+            sorter.runToCompletion();
+            for (int v : new int[] {5, 1, 9, 4}) {
+                sorter.insert(v);
+                assertTrue(sorter.isSorted(), name + " should stay sorted after inserting " + v);
+                assertFalse(sorter.stepSort(), name + " should have no sort to run");
+            }
+            assertEquals(List.of(1, 2, 4, 4, 5, 6, 8, 9), sorter.getlistToSort(), name);
+            sorter.remove(4);
+            assertEquals(List.of(1, 2, 4, 5, 6, 8, 9), sorter.getlistToSort(), name);
+            assertEquals(2, sorter.find(4), name);
+        }
+    }
+
+    @Test
+    void testInsertWhileSortingRestartsSort() {
+        AbstractSorter sorter = load("Insertion", new int[] {3, 1, 2});
+        sorter.startSort();
+        sorter.insert(0);
+        assertFalse(sorter.isSorted());
+        sorter.runToCompletion();
+        assertEquals(List.of(0, 1, 2, 3), sorter.getlistToSort());
+    }
+}
@@ -1,6 +1,8 @@
 package model.ModelTests;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -115,6 +117,26 @@ class StackTest {
 	    assertEquals(15, stack.size(), "Stack size should be 15 after resizing");
 	    assertEquals(15, stack.peek(), "Stack should peek last item pushed after resize");
 	}
-}
 
+	@Test
+	void testAsListIsLiveView() {
+	    List<Integer> view = stack.asList();
+	    stack.push(1);
+	    stack.push(2);
+	    assertEquals(List.of(1, 2), view, "View should show the stack from bottom to top");
+	    stack.pop();
+	    assertEquals(List.of(1), view, "View should follow pops without being fetched again");
+	    assertSame(view, stack.asList(), "asList should not allocate a new view");
+	    assertThrows(UnsupportedOperationException.class, () -> view.add(3));
+	}
 
+	@Test
+	void testAsListIteratorFailsFast() {
+	    stack.push(1);
+	    stack.push(2);
+	    Iterator<Integer> it = stack.asList().iterator();
+	    assertEquals(1, it.next());
+	    stack.push(3);
+	    assertThrows(ConcurrentModificationException.class, it::next);
+	}
+}
@@ -0,0 +1,200 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Lock-free bounded ring buffer any number of producer and consumer
+ * threads can share.
+ *
+ * Every slot carries a sequence number that says whose turn it is: a slot
+ * whose sequence equals a producer's position is free for that producer,
+ * one whose sequence is position + 1 holds an item for the consumer at that
+ * position. A thread claims its position with one compare-and-set on the
+ * shared enqueue or dequeue index, then writes or reads the slot and hands
+ * it on by publishing the next sequence with a release write. Threads only
+ * contend on the index they share, producers never touch the consumers'
+ * index and the two indices sit 128 bytes apart.
+ *
+ * drain() claims a run of published slots with a single compare-and-set,
+ * so a consumer that takes items in batches pays for one claim per batch.
+ * A claimed position cannot be given back, since other consumers may have
+ * claimed the ones after it, so if the sink throws, the rest of the batch
+ * is handed back to the caller in the DrainException instead.
+ *
+ * @param <T> type of the items
+ * @author thomasurias
+ */
+public final class MpmcQueue<T> implements ConcurrentQueue<T> {
+    /** Slots in the index array between the two indices, two cache lines */
+    private static final int PAD = 16;
+
+    /** Next position a producer claims */
+    private static final int ENQUEUE = PAD;
+    /** Next position a consumer claims */
+    private static final int DEQUEUE = 3 * PAD;
+
+    private final Object[] buffer;
+    private final AtomicLongArray sequence;
+    private final int mask;
+    private final AtomicLongArray indices = new AtomicLongArray(4 * PAD);
+
+    /**
+     * Creates an empty queue.
+     *
+     * @param capacity most items the queue holds, rounded up to a power of two, at least 2
+     */
+    public MpmcQueue(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity " + capacity + " is out of range");
+        }
+        int slots = (capacity <= 2) ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        buffer = new Object[slots];
+        sequence = new AtomicLongArray(slots);
+        for (int i = 0; i < slots; i++) {
+            sequence.setPlain(i, i);
+        }
+        mask = slots - 1;
+    }
+
+    @Override
+    public boolean offer(T item) {
+        Objects.requireNonNull(item, "item");
+        long pos = indices.getAcquire(ENQUEUE);
+        while (true) {
+            int slot = (int) pos & mask;
+            long turn = sequence.getAcquire(slot) - pos;
+            if (turn == 0) {
+                if (indices.weakCompareAndSetVolatile(ENQUEUE, pos, pos + 1)) {
+                    buffer[slot] = item;
+                    sequence.setRelease(slot, pos + 1);
+                    return true;
+                }
+            } else if (turn < 0) {
+                return false;  // the slot still holds the item from one lap ago
+            }
+            pos = indices.getAcquire(ENQUEUE);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long pos = indices.getAcquire(DEQUEUE);
+        while (true) {
+            int slot = (int) pos & mask;
+            long turn = sequence.getAcquire(slot) - (pos + 1);
+            if (turn == 0) {
+                if (indices.weakCompareAndSetVolatile(DEQUEUE, pos, pos + 1)) {
+                    T item = (T) buffer[slot];
+                    buffer[slot] = null;
+                    sequence.setRelease(slot, pos + mask + 1);
+                    return item;
+                }
+            } else if (turn < 0) {
+                return null;  // not published yet
+            }
+            pos = indices.getAcquire(DEQUEUE);
+        }
+    }
+
+    /**
+     * Returns the front item at the moment of the call. Another consumer
+     * may remove it right after, so a later poll() can return a different item.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T peekOrNull() {
+        while (true) {
+            long pos = indices.getAcquire(DEQUEUE);
+            int slot = (int) pos & mask;
+            if (sequence.getAcquire(slot) != pos + 1) {
+                if (indices.getAcquire(DEQUEUE) == pos) {
+                    return null;
+                }
+                continue;  // a consumer moved on, look again
+            }
+            T item = (T) buffer[slot];
+            // the item is only the front if no consumer claimed the slot meanwhile
+            if (item != null && indices.getAcquire(DEQUEUE) == pos) {
+                return item;
+            }
+        }
+    }
+
+    /**
+     * Claims the published items in batches. If the sink throws, the rest of
+     * the batch is taken out of its slots and handed back in the
+     * DrainException, and the batches after it stay in the queue.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super T> sink, int limit) {
+        int drained = 0;
+        while (drained < limit) {
+            long pos = indices.getAcquire(DEQUEUE);
+            int ready = 0;
+            int batch = Math.min(limit - drained, buffer.length);
+            while (ready < batch && sequence.getAcquire((int) (pos + ready) & mask) == pos + ready + 1) {
+                ready++;
+            }
+            if (ready == 0) {
+                if (indices.getAcquire(DEQUEUE) == pos) {
+                    return drained;  // nothing published
+                }
+                continue;
+            }
+            if (!indices.compareAndSet(DEQUEUE, pos, pos + ready)) {
+                continue;  // another consumer took some of them
+            }
+            int handed = 0;
+            try {
+                while (handed < ready) {
+                    T item = (T) take(pos + handed);
+                    handed++;
+                    sink.accept(item);
+                }
+            } catch (RuntimeException e) {
+                List<Object> rest = new ArrayList<>(ready - handed);
+                while (handed < ready) {
+                    rest.add(take(pos + handed));
+                    handed++;
+                }
+                throw new DrainException(e, rest);
+            } finally {
+                while (handed < ready) {  // only left if the sink threw an Error
+                    take(pos + handed);
+                    handed++;
+                }
+            }
+            drained += ready;
+        }
+        return drained;
+    }
+
+    /**
+     * Takes the item out of a claimed position and frees its slot for the next lap.
+     */
+    private Object take(long pos) {
+        int slot = (int) pos & mask;
+        Object item = buffer[slot];
+        buffer[slot] = null;
+        sequence.setRelease(slot, pos + mask + 1);
+        return item;
+    }
+
+    @Override
+    public int capacity() {
+        return buffer.length;
+    }
+
+    @Override
+    public int size() {
+        long dequeued = indices.getAcquire(DEQUEUE);
+        long enqueued = indices.getAcquire(ENQUEUE);
+        return (int) Math.max(0, Math.min(enqueued - dequeued, buffer.length));
+    }
+}
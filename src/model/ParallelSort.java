@@ -0,0 +1,207 @@
+package model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel execution mode for the sorters. Sorts the whole list of a sorter
+ * at once with a fork-join merge sort instead of stepping through it.
+ * Ranges below the threshold are sorted sequentially, and large merges are
+ * split again by binary search so the top levels also use every core.
+ *
+ * Each sorted leaf and each finished merge is published to the sorter's
+ * observers as a SortChange for its index range, so the view can show the
+ * partitions converging. Those events arrive on the pool's worker threads.
+ * The list must not be changed from another thread while a sort runs.
+ * A memory-mapped list is not copied onto the heap, its own algorithm is
+ * run to completion on the calling thread instead.
+ *
+ * @author thomasurias
+ */
+public final class ParallelSort {
+    /** Default size below which a range is sorted on a single thread */
+    public static final int DEFAULT_THRESHOLD = 1 << 13;
+
+    private ParallelSort() {
+    }
+
+    /**
+     * Sorts the sorter's list on the common fork-join pool.
+     *
+     * @param sorter sorter whose list is sorted
+     */
+    public static void sort(AbstractSorter sorter) {
+        sort(sorter, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Sorts the sorter's list on the given pool. Any step-by-step sort in
+     * progress is settled and stopped first. With the sorter's metrics on,
+     * only the time is recorded, the fork-join tasks do not count their work.
+     *
+     * @param sorter sorter whose list is sorted
+     * @param pool pool that runs the sort
+     * @param threshold size below which a range is sorted on a single thread
+     */
+    public static void sort(AbstractSorter sorter, ForkJoinPool pool, int threshold) {
+        if (!(sorter.listToSort instanceof IntArrayStore)) {
+            sorter.sorting = true;
+            sorter.restartSort();
+            sorter.runToCompletion();
+            return;
+        }
+        sorter.settle();
+        sorter.sorting = false;
+        SortMetrics metrics = sorter.metrics;
+        if (metrics != null) {
+            metrics.reset();
+        }
+        long start = System.nanoTime();
+        int n = sorter.listToSort.size();
+        if (n > 1) {
+            int[] data = ((IntArrayStore) sorter.listToSort).rawArray();
+            int[] aux = new int[n];
+            pool.invoke(new SortTask(sorter, data, aux, 0, n, Math.max(2, threshold)));
+        }
+        if (metrics != null) {
+            metrics.elapsedNanos = System.nanoTime() - start;
+        }
+        sorter.finishSort();
+        sorter.publishRange(n > 0 ? 0 : -1, n - 1, true);
+    }
+
+    /**
+     * Sorts data[lo, hi) in place, using aux[lo, hi) as scratch space.
+     */
+    private static class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final AbstractSorter sorter;
+        private final int[] data;
+        private final int[] aux;
+        private final int lo;
+        private final int hi;
+        private final int threshold;
+
+        SortTask(AbstractSorter sorter, int[] data, int[] aux, int lo, int hi, int threshold) {
+            this.sorter = sorter;
+            this.data = data;
+            this.aux = aux;
+            this.lo = lo;
+            this.hi = hi;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= threshold) {
+                Arrays.sort(data, lo, hi);
+                sorter.publishRange(lo, hi - 1, false);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask(sorter, data, aux, lo, mid, threshold),
+                    new SortTask(sorter, data, aux, mid, hi, threshold));
+            if (data[mid - 1] <= data[mid]) {
+                return;  // halves are already in order
+            }
+            System.arraycopy(data, lo, aux, lo, hi - lo);
+            new MergeTask(aux, data, lo, mid, mid, hi, lo, threshold).compute();
+            sorter.publishRange(lo, hi - 1, false);
+        }
+    }
+
+    /**
+     * Merges the sorted runs src[lo1, hi1) and src[lo2, hi2) into dest starting at out.
+     * Big merges split the larger run in half, find the matching split point of
+     * the other run by binary search, and merge both halves in parallel.
+     */
+    private static class MergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] src;
+        private final int[] dest;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int out;
+        private final int threshold;
+
+        MergeTask(int[] src, int[] dest, int lo1, int hi1, int lo2, int hi2, int out, int threshold) {
+            this.src = src;
+            this.dest = dest;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.out = out;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int len1 = hi1 - lo1;
+            int len2 = hi2 - lo2;
+            if (len1 + len2 <= threshold) {
+                mergeSequential();
+                return;
+            }
+            if (len1 >= len2) {
+                int mid1 = (lo1 + hi1) >>> 1;
+                int mid2 = lowerBound(src, lo2, hi2, src[mid1]);
+                int outMid = out + (mid1 - lo1) + (mid2 - lo2);
+                invokeAll(new MergeTask(src, dest, lo1, mid1, lo2, mid2, out, threshold),
+                        new MergeTask(src, dest, mid1, hi1, mid2, hi2, outMid, threshold));
+            } else {
+                int mid2 = (lo2 + hi2) >>> 1;
+                int mid1 = upperBound(src, lo1, hi1, src[mid2]);
+                int outMid = out + (mid1 - lo1) + (mid2 - lo2);
+                invokeAll(new MergeTask(src, dest, lo1, mid1, lo2, mid2, out, threshold),
+                        new MergeTask(src, dest, mid1, hi1, mid2, hi2, outMid, threshold));
+            }
+        }
+
+        private void mergeSequential() {
+            int i = lo1;
+            int j = lo2;
+            int k = out;
+            while (i < hi1 && j < hi2) {
+                dest[k++] = (src[i] <= src[j]) ? src[i++] : src[j++];
+            }
+            while (i < hi1) {
+                dest[k++] = src[i++];
+            }
+            while (j < hi2) {
+                dest[k++] = src[j++];
+            }
+        }
+    }
+
+    /** First index in a[lo, hi) whose value is not less than key */
+    private static int lowerBound(int[] a, int lo, int hi, int key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /** First index in a[lo, hi) whose value is greater than key */
+    private static int upperBound(int[] a, int lo, int hi, int key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] <= key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
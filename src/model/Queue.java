@@ -1,19 +1,42 @@
 package model;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
 
 /**
  * A simple generic queue implemented using a circular array.
  * Supports enqueue, dequeue, peek, checking if empty, and getting the size.
  * The array will allocate more space when needed.
  *
+ * The capacity is always a power of two, so wrapping an index around the
+ * ring is a bitmask instead of a modulo, and resizing copies the two halves
+ * of the ring with System.arraycopy. After a burst the array shrinks again:
+ * once a dequeue leaves the queue at most 1/shrinkDivisor full, the capacity
+ * is halved, never below the minimum capacity. See setShrinkPolicy().
+ *
  * @param <T> - Type of items stored in the queue
  * 
  * @Author Emmanuel Calvin
  */
-public class Queue<T> implements Serializable {
+public class Queue<T> implements ValueQueue<T>, Serializable {
 	private static final long serialVersionUID = 1L;
 
+    /** Capacity of a new queue, and the least it shrinks back to by default. */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /** Largest power of two an array can hold. */
+    static final int MAX_CAPACITY = 1 << 30;
+
     /** Array to store the queue items. */
     private T[] queue;
 
@@ -26,17 +49,69 @@ public class Queue<T> implements Serializable {
     /** Number of items in the queue. */
     private int size;
 
+    /** Capacity the queue never shrinks below. */
+    private int minCapacity = DEFAULT_CAPACITY;
+
+    /** Shrink once at most 1/shrinkDivisor of the array is used, 0 to never shrink. */
+    private int shrinkDivisor = 4;
+
+    /** Counts every enqueue, dequeue and reset so iterators over asList() fail fast. */
+    private transient int modCount;
+
+    /** Lazily created read-only view handed out by asList(). */
+    private transient List<T> view;
+
     /**
-     * Creates new empty queue with an initial capacity 10.
+     * Creates new empty queue with an initial capacity 16.
      */
-    @SuppressWarnings("unchecked")
     public Queue() {
-        queue = (T[]) new Object[10];
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates new empty queue that holds initialCapacity items before it grows.
+     *
+     * @param initialCapacity rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public Queue(int initialCapacity) {
+        if (initialCapacity < 0 || initialCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity " + initialCapacity + " is out of range");
+        }
+        queue = (T[]) new Object[powerOfTwo(initialCapacity)];
         front = 0;
         rear = 0;
         size = 0;
     }
 
+    /**
+     * Sets when the array shrinks after items are dequeued. Each time a dequeue
+     * leaves at most 1/occupancyDivisor of the array in use, the capacity is
+     * halved until it is not, so a queue that had a burst gives the memory back. Because the
+     * halved array is still at most half full, a few enqueues right after a
+     * shrink do not grow it again.
+     *
+     * @param minCapacity capacity the queue never shrinks below, rounded up to a power of two
+     * @param occupancyDivisor at least 4, or 0 to never shrink
+     */
+    public void setShrinkPolicy(int minCapacity, int occupancyDivisor) {
+        checkShrinkPolicy(minCapacity, occupancyDivisor);
+        this.minCapacity = powerOfTwo(minCapacity);
+        this.shrinkDivisor = occupancyDivisor;
+    }
+
+    /**
+     * Throws if the arguments of setShrinkPolicy() are out of range, shared with IntQueue.
+     */
+    static void checkShrinkPolicy(int minCapacity, int occupancyDivisor) {
+        if (minCapacity < 1 || minCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Minimum capacity " + minCapacity + " is out of range");
+        }
+        if (occupancyDivisor != 0 && occupancyDivisor < 4) {
+            throw new IllegalArgumentException("Occupancy divisor must be 0 or at least 4, was " + occupancyDivisor);
+        }
+    }
+
     /**
      * Adds an item to the back of the queue.
      * If the array is full, Doubles the capacity(resize).
@@ -45,11 +120,15 @@ public class Queue<T> implements Serializable {
      */
     public void enqueue(T item) {
         if (size == queue.length) {
-            resize();
+            if (queue.length == MAX_CAPACITY) {
+                throw new IllegalStateException("Queue is full");
+            }
+            resize(queue.length * 2);
         }
         queue[rear] = item;
-        rear = (rear + 1) % queue.length;
+        rear = (rear + 1) & (queue.length - 1);
         size++;
+        modCount++;
     }
 
     /**
@@ -62,8 +141,24 @@ public class Queue<T> implements Serializable {
             throw new IllegalStateException("Queue is empty");
         }
         queue[front] = null;
-        front = (front + 1) % queue.length;
+        front = (front + 1) & (queue.length - 1);
         size--;
+        modCount++;
+        if (shrinkDivisor > 0 && queue.length > minCapacity && size <= queue.length / shrinkDivisor) {
+            shrink();
+        }
+    }
+
+    /**
+     * Halves the capacity until the queue is more than 1/shrinkDivisor full
+     * or the minimum is reached, then moves the items once.
+     */
+    private void shrink() {
+        int capacity = queue.length;
+        while (capacity > minCapacity && size <= capacity / shrinkDivisor) {
+            capacity /= 2;
+        }
+        resize(Math.max(minCapacity, capacity));
     }
 
     /**
@@ -96,34 +191,113 @@ public class Queue<T> implements Serializable {
     }
 
     /**
-     * Double capacity of the internal array, and
-     * Copies the elements over in queue order.
+     * Moves the items to an array of the given capacity, front first. The ring
+     * is copied as two blocks, front to the end of the array and then the
+     * part that wrapped around to its start.
      */
     @SuppressWarnings("unchecked")
-    private void resize() {
-        T[] newQueue = (T[]) new Object[queue.length * 2];
-
-        for (int i = 0; i < size; i++) {
-            newQueue[i] = queue[(front + i) % queue.length];
-        }
-
+    private void resize(int capacity) {
+        T[] newQueue = (T[]) new Object[capacity];
+        copyInOrder(newQueue);
         queue = newQueue;
         front = 0;
-        rear = size;
+        rear = size & (capacity - 1);
+    }
+
+    /**
+     * Copies the items into the start of target in queue order.
+     */
+    private void copyInOrder(Object[] target) {
+        int head = Math.min(size, queue.length - front);
+        System.arraycopy(queue, front, target, 0, head);
+        System.arraycopy(queue, 0, target, head, size - head);
+    }
+
+    static int powerOfTwo(int capacity) {
+        return (capacity <= 1) ? 1 : Integer.highestOneBit(capacity - 1) << 1;
     }
     
     /**
-     * Resets the queue.
+     * Resets the queue. With shrinking on, the array goes back to the
+     * minimum capacity.
      */
+    @SuppressWarnings("unchecked")
     public void reset() {
-        for (int i = 0; i < queue.length; i++) {
-            queue[i] = null;
+        if (shrinkDivisor > 0 && queue.length > minCapacity) {
+            queue = (T[]) new Object[minCapacity];
+        } else {
+            Arrays.fill(queue, null);
         }
         front = 0;
         rear = 0;
         size = 0;
+        modCount++;
+    }
+
+    /**
+     * Reads a queue from a snapshot section, see SnapshotImage.
+     */
+    static <T> Queue<T> readFrom(SnapshotReader in, ValueCodec<T> codec) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new CorruptSnapshotException("Negative queue size " + count);
+        }
+        in.checkRemaining(count);  // every element takes at least a byte
+        Queue<T> queue = new Queue<>(Math.max(DEFAULT_CAPACITY, Math.min(count, MAX_CAPACITY)));
+        for (int i = 0; i < count; i++) {
+            queue.enqueue(codec.read(in));
+        }
+        return queue;
+    }
+
+    /**
+     * Reads a queue saved with Java serialization. Saves made before the
+     * capacity was a power of two are moved into a ring of the next power
+     * of two, and get the default shrink policy.
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        queue = (T[]) fields.get("queue", null);
+        front = fields.get("front", 0);
+        rear = fields.get("rear", 0);
+        size = fields.get("size", 0);
+        minCapacity = fields.get("minCapacity", DEFAULT_CAPACITY);
+        shrinkDivisor = fields.get("shrinkDivisor", 4);
+        if (queue == null || size < 0 || size > queue.length || front < 0 || front >= Math.max(1, queue.length)) {
+            throw new InvalidObjectException("Queue state is inconsistent");
+        }
+        if (Integer.bitCount(queue.length) != 1) {
+            T[] ring = (T[]) new Object[powerOfTwo(Math.max(size + 1, DEFAULT_CAPACITY))];
+            for (int i = 0; i < size; i++) {
+                ring[i] = queue[(front + i) % queue.length];
+            }
+            queue = ring;
+            front = 0;
+            rear = size;
+        }
+    }
+
+    /**
+     * Returns a live read-only view of the queue from front to rear.
+     * Iterators throw a ConcurrentModificationException if the queue
+     * changes while they are in use.
+     *
+     * @return read-only List over the queue
+     */
+    public List<T> asList() {
+        if (view == null) {
+            view = new ListView();
+        }
+        return view;
     }
     
+    /**
+     * Returns the ring buffer itself for drawing. Item i of the queue is at
+     * index (getFrontIndex() + i) &amp; (getCapacity() - 1).
+     *
+     * @return the backing array, not a copy
+     */
     public T[] getRawArray() {
         return queue;
     }
@@ -139,4 +313,64 @@ public class Queue<T> implements Serializable {
     public int getCapacity() {
         return queue.length;
     }
+
+    /**
+     * Read-only List over the circular array, index 0 is the front of the queue.
+     */
+    private class ListView extends AbstractList<T> implements RandomAccess {
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+            }
+            return queue[(front + index) & (queue.length - 1)];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private final int expectedModCount = Queue.this.modCount;
+                private int next = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return next < size;
+                }
+
+                @Override
+                public T next() {
+                    if (Queue.this.modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    if (next >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    return queue[(front + next++) & (queue.length - 1)];
+                }
+            };
+        }
+
+        @Override
+        public Object[] toArray() {
+            Object[] copy = new Object[size];
+            copyInOrder(copy);
+            return copy;
+        }
+
+        @Override
+        public void forEach(Consumer<? super T> action) {
+            int expected = Queue.this.modCount;
+            for (int i = 0; i < size; i++) {
+                action.accept(queue[(front + i) & (queue.length - 1)]);
+                if (Queue.this.modCount != expected) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,139 @@
+package model;
+
+/**
+ * A class that creates an instance of a quicksort algorithm.
+ * The pivot is the median of the first, middle and last value of a range and
+ * ranges are split with a Hoare partition, so runs of equal values still
+ * split evenly. Pending ranges are kept on an explicit stack instead of
+ * recursion, which lets the sort stop and resume after any single compare.
+ * 
+ * @author thomasurias
+ */
+public class QuickSort extends AbstractSorter {
+    private static final long serialVersionUID = 1L;
+
+    /** Phases of the current range */
+    private static final int POP = 0;
+    private static final int SCAN_LEFT = 1;
+    private static final int SCAN_RIGHT = 2;
+
+    /** Pending ranges stored as lo, hi pairs */
+    private IntArrayStore ranges = new IntArrayStore();
+
+    private int n;           // size of the list when the sort was started
+    private int phase;
+    private int lo;          // current range, inclusive
+    private int hi;
+    private int pivot;       // value of the median of three
+    private int i;           // left scan index
+    private int j;           // right scan index
+
+    /** Created new IntArrayStore to sort and calls setter to initialize array list */
+    public QuickSort() {
+        initializelistToSort();
+    }
+
+    @Override
+    public String getName() {
+        return "Quick Sort";
+    }
+
+    /** Restarts the sort with the whole list as the only pending range */
+    @Override
+    void resetSortState() {
+        n = listToSort.size();
+        ranges.clear();
+        pushRange(0, n - 1);
+        phase = POP;
+    }
+
+    /** Advances the quicksort by one step without notifying observers
+     * @return true if a step was performed, false if sorting is finished
+     */
+    @Override
+    boolean advance() {
+        if (!sorting) {
+            return false;
+        }
+        if (n != listToSort.size()) {
+            restartSort();
+        }
+
+        switch (phase) {
+        case SCAN_LEFT:
+            i++;
+            if (!less(read(i), pivot)) {
+                phase = SCAN_RIGHT;
+            }
+            return true;
+        case SCAN_RIGHT:
+            j--;
+            if (!less(pivot, read(j))) {
+                if (i >= j) {
+                    // partition done, push the bigger half first so the stack stays small
+                    if (j - lo > hi - j - 1) {
+                        pushRange(lo, j);
+                        pushRange(j + 1, hi);
+                    } else {
+                        pushRange(j + 1, hi);
+                        pushRange(lo, j);
+                    }
+                    phase = POP;
+                } else {
+                    swap(i, j);
+                    markDirty(i, j);
+                    phase = SCAN_LEFT;
+                }
+            }
+            return true;
+        default:
+            return popRange();
+        }
+    }
+
+    /**
+     * Takes the next pending range and orders its first, middle and last value.
+     * Ranges of up to three values are sorted by that alone.
+     *
+     * @return true if a step was performed, false if no ranges are left
+     */
+    private boolean popRange() {
+        if (ranges.size() == 0) {
+            sorting = false;
+            return false;
+        }
+        hi = ranges.removeAt(ranges.size() - 1);
+        lo = ranges.removeAt(ranges.size() - 1);
+        if (hi - lo < 1) {
+            return true;
+        }
+
+        int m = lo + (hi - lo) / 2;
+        orderPair(lo, m);
+        orderPair(m, hi);
+        orderPair(lo, m);
+        if (hi - lo <= 2) {
+            return true;
+        }
+
+        pivot = read(m);
+        i = lo - 1;
+        j = hi + 1;
+        phase = SCAN_LEFT;
+        return true;
+    }
+
+    private void orderPair(int a, int b) {
+        if (less(read(b), read(a))) {
+            swap(a, b);
+            markDirty(a, b);
+        }
+    }
+
+    private void pushRange(int from, int to) {
+        if (to > from) {
+            ranges.add(from);
+            ranges.add(to);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package model;
+
+/**
+ * A class that creates an instance of an LSD radix sort algorithm.
+ * Sorts on one byte per pass, lowest byte first, with a counting pass, a
+ * stable scatter into a scratch buffer and a copy back into the list. The
+ * sign bit is flipped so negative values sort before positive ones. Passes
+ * where every value has the same byte are skipped.
+ * 
+ * @author thomasurias
+ */
+public class RadixSort extends AbstractSorter {
+    private static final long serialVersionUID = 1L;
+
+    private static final int RADIX = 256;
+    private static final int PASSES = 4;
+
+    /** Phases of the current pass */
+    private static final int COUNT = 0;
+    private static final int SCATTER = 1;
+    private static final int COPY_BACK = 2;
+
+    /** Scratch buffer the values are scattered into */
+    private transient int[] aux;
+
+    /** Bucket sizes, then the next write index of each bucket */
+    private int[] counts = new int[RADIX];
+
+    private int n;           // size of the list when the sort was started
+    private int pass;
+    private int phase;
+    private int index;       // next value of the current phase
+
+    /** Created new IntArrayStore to sort and calls setter to initialize array list */
+    public RadixSort() {
+        initializelistToSort();
+    }
+
+    @Override
+    public String getName() {
+        return "Radix Sort";
+    }
+
+    /** Restarts the sort at the lowest byte */
+    @Override
+    void resetSortState() {
+        n = listToSort.size();
+        pass = 0;
+        startPass();
+        if (aux == null || aux.length < n) {
+            // grow by half again so appending batches does not reallocate on every restart
+            aux = new int[Math.max(Math.max(n, 1), aux == null ? 0 : aux.length + (aux.length >> 1))];
+        }
+    }
+
+    /** Finishes copying the scattered pass back so no value is left only in the buffer */
+    @Override
+    void settle() {
+        if (phase != COPY_BACK) {
+            return;
+        }
+        for (int c = index; c < n; c++) {
+            write(c, aux[c]);
+        }
+        markDirty(index, n - 1);
+        pass++;
+        startPass();
+    }
+
+    /** Advances the radix sort by one step without notifying observers
+     * @return true if a step was performed, false if sorting is finished
+     */
+    @Override
+    boolean advance() {
+        if (!sorting) {
+            return false;
+        }
+        if (n != listToSort.size()) {
+            restartSort();
+        }
+        if (aux == null) {
+            aux = new int[Math.max(n, 1)];  // buffer is not saved with the list
+        }
+        if (pass >= PASSES || n <= 1) {
+            sorting = false;
+            return false;
+        }
+
+        switch (phase) {
+        case COUNT:
+            if (index < n) {
+                counts[digit(read(index))]++;
+                index++;
+                return true;
+            }
+            if (singleBucket()) {
+                pass++;
+                startPass();
+                return true;
+            }
+            // turn the bucket sizes into start offsets
+            int offset = 0;
+            for (int b = 0; b < RADIX; b++) {
+                int count = counts[b];
+                counts[b] = offset;
+                offset += count;
+            }
+            phase = SCATTER;
+            index = 0;
+            return true;
+        case SCATTER:
+            int value = read(index);
+            aux[counts[digit(value)]++] = value;
+            index++;
+            if (index >= n) {
+                phase = COPY_BACK;
+                index = 0;
+            }
+            return true;
+        default:
+            write(index, aux[index]);
+            markDirty(index, index);
+            index++;
+            if (index >= n) {
+                pass++;
+                startPass();
+            }
+            return true;
+        }
+    }
+
+    private void startPass() {
+        phase = COUNT;
+        index = 0;
+        for (int b = 0; b < RADIX; b++) {
+            counts[b] = 0;
+        }
+    }
+
+    /** Checks if every value landed in the same bucket, so the pass would not move anything */
+    private boolean singleBucket() {
+        for (int b = 0; b < RADIX; b++) {
+            if (counts[b] == n) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int digit(int value) {
+        return ((value ^ Integer.MIN_VALUE) >>> (8 * pass)) & (RADIX - 1);
+    }
+}
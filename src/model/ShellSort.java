@@ -0,0 +1,79 @@
+package model;
+
+/**
+ * A class that creates an instance of a shell sort algorithm.
+ * Runs a gapped insertion sort for each gap of the 1, 4, 13, 40, ... sequence,
+ * from the largest gap below a third of the list down to 1. One step is a
+ * single compare and swap like InsertionSort.
+ * 
+ * @author thomasurias
+ */
+public class ShellSort extends AbstractSorter {
+    private static final long serialVersionUID = 1L;
+
+    private int n;           // size of the list when the sort was started
+    private int gap;
+    private int i;           // value being inserted
+    private int j;           // position the value is moving through
+    private boolean moving = false;
+
+    /** Created new IntArrayStore to sort and calls setter to initialize array list */
+    public ShellSort() {
+        initializelistToSort();
+    }
+
+    @Override
+    public String getName() {
+        return "Shell Sort";
+    }
+
+    /** Restarts the sort at the largest gap */
+    @Override
+    void resetSortState() {
+        n = listToSort.size();
+        gap = 1;
+        while (gap < n / 3) {
+            gap = 3 * gap + 1;
+        }
+        i = gap;
+        moving = false;
+    }
+
+    /** Advances the shell sort by one step without notifying observers
+     * @return true if a step was performed, false if sorting is finished
+     */
+    @Override
+    boolean advance() {
+        if (!sorting) {
+            return false;
+        }
+        if (n != listToSort.size()) {
+            restartSort();
+        }
+
+        if (i >= n) {
+            if (gap <= 1) {
+                sorting = false;
+                return false;
+            }
+            gap = (gap - 1) / 3;
+            i = gap;
+            return true;
+        }
+
+        if (!moving) {
+            j = i;
+            moving = true;
+        }
+
+        if (j >= gap && less(read(j), read(j - gap))) {
+            swap(j - gap, j);
+            markDirty(j - gap, j);
+            j -= gap;
+        } else {
+            moving = false;
+            i++;
+        }
+        return true;
+    }
+}
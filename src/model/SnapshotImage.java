@@ -0,0 +1,200 @@
+package model;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Point-in-time copy of everything a Model snapshot holds. Taking the copy
+ * only copies arrays, so it is quick enough for the JavaFX thread, and the
+ * copy can then be written on another thread while the model keeps changing.
+ *
+ * The elements themselves are shared with the model, not copied, which is
+ * safe because the structures only ever add, move and drop references.
+ *
+ * @param <T> type of the LL, stack and queue elements
+ * @author thomasurias
+ */
+final class SnapshotImage<T> {
+    private final ValueCodec<T> codec;
+    private final long generation;
+    private final long coveredGeneration;
+    private final long coveredOffset;
+
+    private final Object[] ll;
+    private final boolean llIndexed;
+    private final boolean llHashed;
+    private final Object[] stack;
+    private final Object[] queue;
+    private final Map<String, int[]> sorterValues = new LinkedHashMap<>();
+    private final Map<String, Boolean> sorterRunning = new LinkedHashMap<>();
+    private long elements;
+
+    /**
+     * Copies the structures. Null structures are left out of the snapshot.
+     *
+     * @param generation generation the snapshot is written as
+     * @param coveredGeneration journal generation whose records up to coveredOffset the snapshot already holds, -1 for none
+     * @param coveredOffset end of the journal records the snapshot holds
+     */
+    SnapshotImage(ValueCodec<T> codec, long generation, long coveredGeneration, long coveredOffset,
+            ValueList<T> ll, ValueStack<T> stack, ValueQueue<T> queue, Map<String, AbstractSorter> sorters) {
+        this.codec = codec;
+        this.generation = generation;
+        this.coveredGeneration = coveredGeneration;
+        this.coveredOffset = coveredOffset;
+        this.ll = (ll == null) ? null : ll.asList().toArray();
+        this.llIndexed = ll != null && ll.isIndexed();
+        this.llHashed = ll != null && ll.isHashIndexed();
+        this.stack = (stack == null) ? null : stack.asList().toArray();
+        this.queue = (queue == null) ? null : queue.asList().toArray();
+        for (Map.Entry<String, AbstractSorter> entry : sorters.entrySet()) {
+            AbstractSorter sorter = entry.getValue();
+            int[] values = sorter.copyValues();
+            sorterValues.put(entry.getKey(), values);
+            sorterRunning.put(entry.getKey(), sorter.sorting);
+            elements += values.length;
+        }
+        elements += length(this.ll) + length(this.stack) + length(this.queue);
+    }
+
+    /**
+     * Returns the generation the snapshot is written as.
+     */
+    long generation() {
+        return generation;
+    }
+
+    /**
+     * Returns the end of the journal records the snapshot holds.
+     */
+    long coveredOffset() {
+        return coveredOffset;
+    }
+
+    /**
+     * Returns how many elements and sorter values the snapshot holds.
+     */
+    long elements() {
+        return elements;
+    }
+
+    /**
+     * Writes the snapshot next to the file and moves it over the file at the
+     * end, so a failed save never leaves a half written file behind.
+     *
+     * @param file the file to write
+     * @param tracker counts the progress, or null
+     */
+    void write(Path file, SnapshotProgress.Tracker tracker) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            SnapshotWriter out = new SnapshotWriter(channel, codec.id());
+            if (tracker != null) {
+                tracker.totalElements = elements;
+                out.setTracker(tracker);
+            }
+            writeContents(out);
+            out.beginSection(SnapshotWriter.META, "");
+            out.writeLong(generation);
+            out.writeLong(coveredGeneration);
+            out.writeLong(coveredOffset);
+            out.endSection();
+            if (ll != null) {
+                out.beginSection(SnapshotWriter.LINKED_LIST, "");
+                out.writeBoolean(llIndexed);
+                out.writeBoolean(llHashed);
+                writeElements(out, ll);
+                out.endSection();
+            }
+            if (stack != null) {
+                out.beginSection(SnapshotWriter.STACK, "");
+                writeElements(out, stack);  // bottom to top
+                out.endSection();
+            }
+            if (queue != null) {
+                out.beginSection(SnapshotWriter.QUEUE, "");
+                writeElements(out, queue);  // front to rear
+                out.endSection();
+            }
+            for (Map.Entry<String, int[]> entry : sorterValues.entrySet()) {
+                int[] values = entry.getValue();
+                out.beginSection(SnapshotWriter.SORTER, entry.getKey());
+                out.writeBoolean(sorterRunning.get(entry.getKey()));
+                out.writeInt(values.length);
+                for (int from = 0; from < values.length; from += 1 << 16) {
+                    int n = Math.min(1 << 16, values.length - from);
+                    out.writeInts(values, from, n);
+                    out.countElements(n);
+                }
+                out.endSection();
+            }
+            out.finish();
+            channel.force(false);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Lists the sections in the order write() writes them.
+     */
+    private void writeContents(SnapshotWriter out) throws IOException {
+        List<Byte> kinds = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        kinds.add(SnapshotWriter.META);
+        names.add("");
+        if (ll != null) {
+            kinds.add(SnapshotWriter.LINKED_LIST);
+            names.add("");
+        }
+        if (stack != null) {
+            kinds.add(SnapshotWriter.STACK);
+            names.add("");
+        }
+        if (queue != null) {
+            kinds.add(SnapshotWriter.QUEUE);
+            names.add("");
+        }
+        for (String name : sorterValues.keySet()) {
+            kinds.add(SnapshotWriter.SORTER);
+            names.add(name);
+        }
+        byte[] kindArray = new byte[kinds.size()];
+        for (int i = 0; i < kindArray.length; i++) {
+            kindArray[i] = kinds.get(i);
+        }
+        out.beginContents(kindArray, names.toArray(new String[0]));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeElements(SnapshotWriter out, Object[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int i = 0; i < values.length; i++) {
+            codec.write(out, (T) values[i]);
+            if ((i & 0xFFFF) == 0xFFFF) {
+                out.countElements(1 << 16);
+            }
+        }
+        out.countElements(values.length & 0xFFFF);
+    }
+
+    private static int length(Object[] values) {
+        return (values == null) ? 0 : values.length;
+    }
+}
@@ -0,0 +1,147 @@
+package model;
+
+import java.util.function.Consumer;
+
+/**
+ * How far a Model save or load has got. Reported to the progress listener
+ * of Model.saveAsync() and loadAsync() while the snapshot is written or
+ * read, and once more when it is done.
+ *
+ * A save knows how many elements it writes, a load knows how many bytes it
+ * reads, getFraction() uses whichever total is known.
+ *
+ * @author thomasurias
+ */
+public final class SnapshotProgress {
+    private final long bytes;
+    private final long totalBytes;
+    private final long elements;
+    private final long totalElements;
+    private final long elapsedNanos;
+    private final boolean done;
+
+    SnapshotProgress(long bytes, long totalBytes, long elements, long totalElements, long elapsedNanos, boolean done) {
+        this.bytes = bytes;
+        this.totalBytes = totalBytes;
+        this.elements = elements;
+        this.totalElements = totalElements;
+        this.elapsedNanos = elapsedNanos;
+        this.done = done;
+    }
+
+    /** @return bytes written or read so far */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /** @return size of the snapshot in bytes, or -1 if it is not known yet */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /** @return elements and sorter values written so far, 0 for a load */
+    public long getElements() {
+        return elements;
+    }
+
+    /** @return elements and sorter values the save writes, or -1 for a load */
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    /** @return time since the save or load started */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /** @return true once the snapshot is completely written or read */
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Returns the share of the work done so far.
+     *
+     * @return a value between 0 and 1, or -1 if no total is known
+     */
+    public double getFraction() {
+        if (done) {
+            return 1;
+        }
+        if (totalElements > 0) {
+            return Math.min(1.0, (double) elements / totalElements);
+        }
+        if (totalBytes > 0) {
+            return Math.min(1.0, (double) bytes / totalBytes);
+        }
+        return -1;
+    }
+
+    /** @return bytes written or read per second since the start */
+    public double getBytesPerSecond() {
+        return elapsedNanos <= 0 ? 0 : bytes * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%.1f MB", bytes / 1e6));
+        double fraction = getFraction();
+        if (fraction >= 0) {
+            sb.append(String.format(" (%.0f%%)", fraction * 100));
+        }
+        sb.append(String.format(", %.1f MB/s", getBytesPerSecond() / 1e6));
+        return sb.toString();
+    }
+
+    /**
+     * Counts the work of one save or load and hands progress to a listener
+     * no more often than the interval allows.
+     */
+    static final class Tracker {
+        private final Consumer<SnapshotProgress> listener;
+        private final long intervalNanos;
+        private final long startNanos = System.nanoTime();
+        private long lastReportNanos = startNanos;
+
+        long bytes;
+        long totalBytes = -1;
+        long elements;
+        long totalElements = -1;
+
+        /**
+         * @param listener receives progress, or null for none
+         * @param intervalNanos minimum time between two reports
+         */
+        Tracker(Consumer<SnapshotProgress> listener, long intervalNanos) {
+            this.listener = listener;
+            this.intervalNanos = intervalNanos;
+        }
+
+        /** Reports the current counts if the interval has passed */
+        void maybeReport() {
+            if (listener == null) {
+                return;
+            }
+            long now = System.nanoTime();
+            if (now - lastReportNanos >= intervalNanos) {
+                lastReportNanos = now;
+                listener.accept(progress(false));
+            }
+        }
+
+        /** Reports and returns the final counts */
+        SnapshotProgress finish() {
+            SnapshotProgress last = progress(true);
+            if (listener != null) {
+                listener.accept(last);
+            }
+            return last;
+        }
+
+        private SnapshotProgress progress(boolean done) {
+            return new SnapshotProgress(bytes, totalBytes, elements, totalElements,
+                    System.nanoTime() - startNanos, done);
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package model;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Reads the snapshots SnapshotWriter writes, one section at a time.
+ *
+ * Reads inside a section may not run past its end, and endSection()
+ * checks that the whole payload was read and matches its CRC32, so a
+ * damaged or truncated file fails with a CorruptSnapshotException instead
+ * of being half loaded.
+ *
+ * @author thomasurias
+ */
+final class SnapshotReader implements DataInput {
+    private final FileChannel channel;
+    private final ByteBuffer buf = ByteBuffer.allocate(1 << 18);
+    private final CRC32 crc = new CRC32();
+
+    /** Buffer index of the first byte not yet added to the checksum */
+    private int crcFrom;
+
+    /** File offset the next channel read starts at */
+    private long fetched;
+
+    private final int version;
+    private final int sectionCount;
+    private final String codecId;
+
+    private byte kind;
+    private String name;
+    private int expectedCrc;
+
+    /** File offset where the open section ends, -1 outside a section */
+    private long sectionEnd = -1;
+
+    /** Progress of the load, null if nobody listens */
+    private SnapshotProgress.Tracker tracker;
+
+    /**
+     * Reads and checks the header.
+     *
+     * @param channel file to read, positioned at 0
+     * @throws CorruptSnapshotException if the file is not a snapshot
+     * @throws IOException if the file was written by a newer version or cannot be read
+     */
+    SnapshotReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        buf.flip();  // start out empty
+        if (channel.size() < 3 * Integer.BYTES || readInt() != SnapshotWriter.MAGIC) {
+            throw new CorruptSnapshotException("Not a snapshot file");
+        }
+        version = readInt();
+        if (version < 1 || version > SnapshotWriter.VERSION) {
+            throw new IOException("Snapshot version " + version + " is not supported");
+        }
+        sectionCount = readInt();
+        if (sectionCount < 0) {
+            throw new CorruptSnapshotException("Negative section count " + sectionCount);
+        }
+        codecId = readUTF();
+    }
+
+    /**
+     * Reports the bytes read to a tracker each time the buffer is refilled.
+     */
+    void setTracker(SnapshotProgress.Tracker tracker) throws IOException {
+        this.tracker = tracker;
+        tracker.totalBytes = channel.size();
+    }
+
+    int sectionCount() {
+        return sectionCount;
+    }
+
+    String codecId() {
+        return codecId;
+    }
+
+    /**
+     * Lists the sections without reading their payloads. A snapshot with a
+     * table of contents is listed from it, an older one by hopping from
+     * section header to section header. Must come before nextSection().
+     */
+    List<Section> contents() throws IOException {
+        List<Section> sections = new ArrayList<>();
+        for (int i = 0; i < sectionCount; i++) {
+            long at = position();
+            nextSection();
+            if (kind == SnapshotWriter.CONTENTS) {
+                int count = readInt();
+                checkRemaining(count * 11L);  // kind, empty name and offset at least
+                sections.clear();
+                for (int s = 0; s < count; s++) {
+                    byte listedKind = readByte();
+                    String listedName = readUTF();
+                    long offset = readLong();
+                    if (offset < 0 || offset >= channel.size()) {
+                        throw new CorruptSnapshotException("Table of contents points past the end of the file");
+                    }
+                    sections.add(new Section(listedKind, listedName, offset));
+                }
+                endSection();
+                return sections;
+            }
+            sections.add(new Section(kind, name, at));
+            skipSection();
+        }
+        return sections;
+    }
+
+    /**
+     * Moves to a section listed by contents() and reads its header, like
+     * nextSection(). Any open section is abandoned.
+     */
+    void seekSection(Section section) throws IOException {
+        sectionEnd = -1;  // a section that failed to read may still be open
+        channel.position(section.offset);
+        fetched = section.offset;
+        buf.clear().flip();
+        crcFrom = 0;
+        nextSection();
+        if (kind != section.kind || !name.equals(section.name)) {
+            throw new CorruptSnapshotException("Table of contents does not match section " + describe());
+        }
+    }
+
+    /**
+     * Reads the next section header. Its payload can then be read, and must
+     * be followed by endSection() or skipSection().
+     */
+    void nextSection() throws IOException {
+        if (sectionEnd >= 0) {
+            throw new IllegalStateException("Section still open");
+        }
+        kind = readByte();
+        name = readUTF();
+        long length = readLong();
+        expectedCrc = readInt();
+        long start = position();
+        if (length < 0 || start + length > channel.size()) {
+            throw new CorruptSnapshotException("Section " + describe() + " runs past the end of the file");
+        }
+        sectionEnd = start + length;
+        crc.reset();
+        crcFrom = buf.position();
+    }
+
+    /** Kind of the current section, one of the SnapshotWriter constants */
+    byte kind() {
+        return kind;
+    }
+
+    /** Name of the current section, the sorter name or "" */
+    String name() {
+        return name;
+    }
+
+    /**
+     * Returns how many payload bytes of the current section are left.
+     */
+    long remaining() {
+        return sectionEnd - position();
+    }
+
+    /**
+     * Fails if fewer than bytes payload bytes are left, so a damaged count
+     * is caught before anything is allocated for it.
+     */
+    void checkRemaining(long bytes) throws CorruptSnapshotException {
+        if (sectionEnd >= 0 && bytes > remaining()) {
+            throw new CorruptSnapshotException("Section " + describe() + " is shorter than its contents");
+        }
+    }
+
+    /**
+     * Checks that the whole payload was read and that it matches the checksum.
+     */
+    void endSection() throws IOException {
+        if (position() != sectionEnd) {
+            throw new CorruptSnapshotException("Section " + describe() + " has " + remaining() + " unread bytes");
+        }
+        crc.update(buf.array(), crcFrom, buf.position() - crcFrom);
+        crcFrom = buf.position();
+        sectionEnd = -1;
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new CorruptSnapshotException("Checksum mismatch in section " + describe());
+        }
+    }
+
+    /**
+     * Skips the rest of the current section without checking it, e.g. a
+     * sorter this build does not know.
+     */
+    void skipSection() throws IOException {
+        long left = remaining();
+        if (left <= buf.remaining()) {
+            buf.position(buf.position() + (int) left);
+        } else {
+            channel.position(sectionEnd);
+            fetched = sectionEnd;
+            buf.clear().flip();
+        }
+        crcFrom = buf.position();
+        sectionEnd = -1;
+    }
+
+    /**
+     * Reads a range of ints written by SnapshotWriter.writeInts().
+     */
+    void readInts(int[] values, int offset, int length) throws IOException {
+        checkRemaining((long) length * Integer.BYTES);
+        while (length > 0) {
+            if (buf.remaining() < Integer.BYTES) {
+                fill(Integer.BYTES);
+            }
+            int n = Math.min(length, buf.remaining() / Integer.BYTES);
+            buf.asIntBuffer().get(values, offset, n);
+            buf.position(buf.position() + n * Integer.BYTES);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * Where a section starts, as listed by contents().
+     */
+    static final class Section {
+        final byte kind;
+        final String name;
+        final long offset;
+
+        Section(byte kind, String name, long offset) {
+            this.kind = kind;
+            this.name = name;
+            this.offset = offset;
+        }
+    }
+
+    private String describe() {
+        return name.isEmpty() ? "of kind " + kind : name;
+    }
+
+    private long position() {
+        return fetched - buf.remaining();
+    }
+
+    /**
+     * Makes sure the next bytes are buffered, checking first that they belong to the section.
+     */
+    private void require(int bytes) throws IOException {
+        checkRemaining(bytes);
+        if (buf.remaining() < bytes) {
+            fill(bytes);
+        }
+    }
+
+    /**
+     * Reads from the channel until at least bytes are buffered, adding the
+     * consumed bytes to the checksum before they are compacted away.
+     */
+    private void fill(int bytes) throws IOException {
+        crc.update(buf.array(), crcFrom, buf.position() - crcFrom);
+        buf.compact();
+        crcFrom = 0;
+        try {
+            while (buf.position() < bytes) {
+                int read = channel.read(buf);
+                if (read < 0) {
+                    throw new CorruptSnapshotException("Snapshot ends early");
+                }
+                fetched += read;
+            }
+        } finally {
+            buf.flip();
+        }
+        if (tracker != null) {
+            tracker.bytes = fetched;
+            tracker.maybeReport();
+        }
+    }
+
+    @Override
+    public void readFully(byte[] b) throws IOException {
+        readFully(b, 0, b.length);
+    }
+
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        checkRemaining(len);
+        while (len > 0) {
+            if (!buf.hasRemaining()) {
+                fill(1);
+            }
+            int n = Math.min(len, buf.remaining());
+            buf.get(b, off, n);
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public int skipBytes(int n) throws IOException {
+        int skipped = 0;
+        while (skipped < n) {
+            readByte();
+            skipped++;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        require(1);
+        return buf.get();
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return readByte() & 0xFF;
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        require(Short.BYTES);
+        return buf.getShort();
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return readShort() & 0xFFFF;
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        require(Character.BYTES);
+        return buf.getChar();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        require(Integer.BYTES);
+        return buf.getInt();
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        require(Long.BYTES);
+        return buf.getLong();
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    /**
+     * Not supported, snapshots hold no text lines.
+     */
+    @Override
+    public String readLine() {
+        throw new UnsupportedOperationException("readLine");
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        return DataInputStream.readUTF(this);
+    }
+}
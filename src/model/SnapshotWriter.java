@@ -0,0 +1,338 @@
+package model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * Writes Model snapshots, the binary format that replaced Java serialization
+ * in Model.save().
+ *
+ * A snapshot is a header followed by one length-prefixed section per structure:
+ * <pre>
+ * header:   int magic, int version, int section count, UTF codec id
+ * section:  byte kind, UTF name, long payload length, int CRC32 of the payload, payload
+ * contents: int count, then byte kind, UTF name, long header offset per section
+ * </pre>
+ * The length and checksum of a section are only known once its payload is
+ * written, so they are patched into the file afterwards. Everything is
+ * big-endian. Sorter payloads are packed ints, the other structures write
+ * their elements with the Model's ValueCodec.
+ *
+ * The first section may be a table of contents listing where every other
+ * section starts, so a reader can open one structure without reading the
+ * ones before it. Readers that do not know it skip it like any unknown
+ * section, so it did not need a new version.
+ *
+ * @author thomasurias
+ */
+final class SnapshotWriter implements DataOutput {
+    /** "DVSN" */
+    static final int MAGIC = 0x4456534E;
+    static final int VERSION = 1;
+
+    static final byte LINKED_LIST = 1;
+    static final byte STACK = 2;
+    static final byte QUEUE = 3;
+    static final byte SORTER = 4;
+    /** Model bookkeeping, the snapshot generation a journal is matched against */
+    static final byte META = 5;
+    /** Table of contents, where each of the following sections starts */
+    static final byte CONTENTS = 6;
+
+    /** File offset of the section count in the header */
+    private static final long COUNT_OFFSET = 8;
+
+    private final FileChannel channel;
+    private final ByteBuffer buf = ByteBuffer.allocate(1 << 18);
+    private final CRC32 crc = new CRC32();
+
+    /** Bytes already handed to the channel */
+    private long flushed;
+    private int sections;
+
+    /** File offset of the open section's length field, -1 outside a section */
+    private long lengthAt = -1;
+    private long payloadAt;
+
+    /** Progress of the save, null if nobody listens */
+    private SnapshotProgress.Tracker tracker;
+
+    /** Table of contents payload, its offsets patched by finish(), null without one */
+    private byte[] contents;
+    private byte[] contentsKinds;
+    private String[] contentsNames;
+    /** Payload index of each offset in the table of contents */
+    private int[] offsetFields;
+    /** Header offsets of the sections written since beginContents() */
+    private long[] sectionOffsets;
+    private int listed;
+    private long contentsAt;
+    private long contentsCrcAt;
+
+    /**
+     * Writes the header to the start of an empty channel.
+     *
+     * @param channel file to write, positioned at 0
+     * @param codecId id of the codec the elements are written with
+     */
+    SnapshotWriter(FileChannel channel, String codecId) throws IOException {
+        this.channel = channel;
+        writeInt(MAGIC);
+        writeInt(VERSION);
+        writeInt(0);  // section count, patched by finish()
+        writeUTF(codecId);
+    }
+
+    /**
+     * Reports the bytes written to a tracker each time the buffer is flushed.
+     */
+    void setTracker(SnapshotProgress.Tracker tracker) {
+        this.tracker = tracker;
+    }
+
+    /**
+     * Counts elements towards the progress of the save.
+     */
+    void countElements(long count) {
+        if (tracker != null) {
+            tracker.elements += count;
+        }
+    }
+
+    /**
+     * Starts a section. Everything written until endSection() is its payload.
+     *
+     * @param kind one of the section kind constants
+     * @param name sorter name, or "" for the other structures
+     */
+    void beginSection(byte kind, String name) throws IOException {
+        if (lengthAt >= 0) {
+            throw new IllegalStateException("Section still open");
+        }
+        if (sectionOffsets != null && kind != CONTENTS) {
+            if (listed == sectionOffsets.length || contentsKinds[listed] != kind || !contentsNames[listed].equals(name)) {
+                throw new IllegalStateException("Section " + kind + " " + name + " is not next in the table of contents");
+            }
+            sectionOffsets[listed++] = position();
+        }
+        writeByte(kind);
+        writeUTF(name);
+        lengthAt = position();
+        writeLong(0);
+        writeInt(0);
+        flush();
+        crc.reset();
+        payloadAt = position();
+    }
+
+    /**
+     * Writes a table of contents for the sections that follow, which must
+     * then be written in the same order. finish() fills in where each one
+     * starts.
+     *
+     * @param kinds kind of each following section
+     * @param names name of each following section
+     */
+    void beginContents(byte[] kinds, String[] names) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        offsetFields = new int[kinds.length];
+        out.writeInt(kinds.length);
+        for (int i = 0; i < kinds.length; i++) {
+            out.writeByte(kinds[i]);
+            out.writeUTF(names[i]);
+            offsetFields[i] = out.size();
+            out.writeLong(0);
+        }
+        contents = bytes.toByteArray();
+        contentsKinds = kinds.clone();
+        contentsNames = names.clone();
+        beginSection(CONTENTS, "");
+        contentsCrcAt = lengthAt + Long.BYTES;
+        contentsAt = payloadAt;
+        write(contents);
+        endSection();
+        sectionOffsets = new long[kinds.length];
+    }
+
+    /**
+     * Ends the open section and patches in its length and checksum.
+     */
+    void endSection() throws IOException {
+        flush();
+        ByteBuffer patch = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+        patch.putLong(position() - payloadAt).putInt((int) crc.getValue()).flip();
+        writeAt(patch, lengthAt);
+        lengthAt = -1;
+        sections++;
+    }
+
+    /**
+     * Flushes the last bytes and patches the section count into the header.
+     * The channel stays open.
+     */
+    void finish() throws IOException {
+        if (lengthAt >= 0) {
+            throw new IllegalStateException("Section still open");
+        }
+        flush();
+        ByteBuffer patch = ByteBuffer.allocate(Integer.BYTES);
+        patch.putInt(sections).flip();
+        writeAt(patch, COUNT_OFFSET);
+        if (contents != null) {
+            if (listed != sectionOffsets.length) {
+                throw new IllegalStateException("Only " + listed + " of " + sectionOffsets.length + " listed sections were written");
+            }
+            ByteBuffer table = ByteBuffer.wrap(contents);
+            for (int i = 0; i < offsetFields.length; i++) {
+                table.putLong(offsetFields[i], sectionOffsets[i]);
+            }
+            CRC32 check = new CRC32();
+            check.update(contents);
+            writeAt(table, contentsAt);
+            writeAt(ByteBuffer.allocate(Integer.BYTES).putInt((int) check.getValue()).flip(), contentsCrcAt);
+        }
+    }
+
+    /**
+     * Writes a range of ints in bulk, 4 bytes each.
+     */
+    void writeInts(int[] values, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (buf.remaining() < Integer.BYTES) {
+                flush();
+            }
+            int n = Math.min(length, buf.remaining() / Integer.BYTES);
+            buf.asIntBuffer().put(values, offset, n);
+            buf.position(buf.position() + n * Integer.BYTES);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    private long position() {
+        return flushed + buf.position();
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buf.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buf.flip();
+        if (lengthAt >= 0) {
+            crc.update(buf.array(), 0, buf.limit());
+        }
+        while (buf.hasRemaining()) {
+            flushed += channel.write(buf);
+        }
+        buf.clear();
+        if (tracker != null) {
+            tracker.bytes = flushed;
+            tracker.maybeReport();
+        }
+    }
+
+    private void writeAt(ByteBuffer bytes, long offset) throws IOException {
+        while (bytes.hasRemaining()) {
+            offset += channel.write(bytes, offset);
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensure(1);
+        buf.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b) throws IOException {
+        write(b, 0, b.length);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            ensure(1);
+            int n = Math.min(len, buf.remaining());
+            buf.put(b, off, n);
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void writeBoolean(boolean v) throws IOException {
+        write(v ? 1 : 0);
+    }
+
+    @Override
+    public void writeByte(int v) throws IOException {
+        write(v);
+    }
+
+    @Override
+    public void writeShort(int v) throws IOException {
+        ensure(Short.BYTES);
+        buf.putShort((short) v);
+    }
+
+    @Override
+    public void writeChar(int v) throws IOException {
+        ensure(Character.BYTES);
+        buf.putChar((char) v);
+    }
+
+    @Override
+    public void writeInt(int v) throws IOException {
+        ensure(Integer.BYTES);
+        buf.putInt(v);
+    }
+
+    @Override
+    public void writeLong(long v) throws IOException {
+        ensure(Long.BYTES);
+        buf.putLong(v);
+    }
+
+    @Override
+    public void writeFloat(float v) throws IOException {
+        writeInt(Float.floatToIntBits(v));
+    }
+
+    @Override
+    public void writeDouble(double v) throws IOException {
+        writeLong(Double.doubleToLongBits(v));
+    }
+
+    @Override
+    public void writeBytes(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            write(s.charAt(i));
+        }
+    }
+
+    @Override
+    public void writeChars(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            writeChar(s.charAt(i));
+        }
+    }
+
+    /**
+     * Writes modified UTF-8 exactly like DataOutputStream, so readUTF() can decode it.
+     */
+    @Override
+    public void writeUTF(String s) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(s.length() + 2);
+        new DataOutputStream(bytes).writeUTF(s);
+        write(bytes.toByteArray());
+    }
+}
@@ -0,0 +1,59 @@
+package model;
+
+/**
+ * Change event a sorter passes to notifyObservers(). It covers every step
+ * taken since the previous event and carries the range of indices whose
+ * values may have changed, so a view only needs to repaint that range.
+ *
+ * @author thomasurias
+ */
+public class SortChange {
+    /** First index that changed, or -1 if no values changed */
+    private final int from;
+
+    /** Last index that changed (inclusive), or -1 if no values changed */
+    private final int to;
+
+    /** Number of single steps this event covers */
+    private final long steps;
+
+    /** True if the sort finished during the steps this event covers */
+    private final boolean finished;
+
+    public SortChange(int from, int to, long steps, boolean finished) {
+        this.from = from;
+        this.to = to;
+        this.steps = steps;
+        this.finished = finished;
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    public int getTo() {
+        return to;
+    }
+
+    public long getSteps() {
+        return steps;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Checks if any values changed.
+     *
+     * @return true if the dirty range is empty
+     */
+    public boolean isEmpty() {
+        return from < 0;
+    }
+
+    @Override
+    public String toString() {
+        return "SortChange[" + from + ".." + to + ", steps=" + steps + ", finished=" + finished + "]";
+    }
+}
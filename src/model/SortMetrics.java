@@ -0,0 +1,110 @@
+package model;
+
+/**
+ * Live counters of the work a sorter did since its sort was started:
+ * comparisons between values, swaps, single value writes, reads of the
+ * list, steps and the time spent inside stepSort() and runToCompletion().
+ *
+ * The counters only exist while a sorter has them turned on with
+ * AbstractSorter.setMetricsEnabled(true). Turned off, each counting point
+ * in the algorithms is a single null check.
+ *
+ * @author thomasurias
+ */
+public final class SortMetrics {
+    long comparisons;
+    long swaps;
+    long writes;
+    long reads;
+    long steps;
+    long elapsedNanos;
+
+    /**
+     * Returns how many times two values were compared.
+     *
+     * @return the number of comparisons
+     */
+    public long getComparisons() {
+        return comparisons;
+    }
+
+    /**
+     * Returns how many times two values of the list traded places.
+     *
+     * @return the number of swaps
+     */
+    public long getSwaps() {
+        return swaps;
+    }
+
+    /**
+     * Returns how many values were written into the list other than by a
+     * swap, e.g. copied back from a merge buffer or shifted by one slot.
+     *
+     * @return the number of writes
+     */
+    public long getWrites() {
+        return writes;
+    }
+
+    /**
+     * Returns how many values the algorithm read from the list.
+     *
+     * @return the number of reads
+     */
+    public long getReads() {
+        return reads;
+    }
+
+    /**
+     * Returns how many single steps were taken.
+     *
+     * @return the number of steps
+     */
+    public long getSteps() {
+        return steps;
+    }
+
+    /**
+     * Returns the time spent stepping the sort, not the time between steps.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Sets every counter back to zero.
+     */
+    public void reset() {
+        comparisons = 0;
+        swaps = 0;
+        writes = 0;
+        reads = 0;
+        steps = 0;
+        elapsedNanos = 0;
+    }
+
+    /**
+     * Returns a copy that does not change as the sort goes on.
+     *
+     * @return a copy of the counters
+     */
+    public SortMetrics copy() {
+        SortMetrics copy = new SortMetrics();
+        copy.comparisons = comparisons;
+        copy.swaps = swaps;
+        copy.writes = writes;
+        copy.reads = reads;
+        copy.steps = steps;
+        copy.elapsedNanos = elapsedNanos;
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return "SortMetrics[comparisons=" + comparisons + ", swaps=" + swaps + ", writes=" + writes
+                + ", reads=" + reads + ", steps=" + steps + ", elapsedNanos=" + elapsedNanos + "]";
+    }
+}
@@ -1,6 +1,43 @@
 package model;
 
+/**
+ * Common interface for the step-by-step sorting algorithms.
+ * A sort is started with startSort() and then advanced one step at a time,
+ * in batches, or all the way to the end.
+ */
 public interface Sorter {
     void startSort();
     boolean stepSort();
+
+    /**
+     * Performs up to the given number of single steps, stopping early if the
+     * sort finishes. Ends in the same state as calling stepSort() that many times.
+     *
+     * @param steps maximum number of single steps to perform, at least 1
+     * @return true if more steps remain, false if sorting is finished
+     * @throws IllegalArgumentException if steps is not positive
+     */
+    default boolean stepSort(int steps) {
+        if (steps <= 0) {
+            throw new IllegalArgumentException("Steps must be positive: " + steps);
+        }
+        boolean more = true;
+        for (int taken = 0; taken < steps && more; taken++) {
+            more = stepSort();
+        }
+        return more;
+    }
+
+    /**
+     * Runs the sort until it finishes.
+     *
+     * @return the number of single steps that were performed
+     */
+    default long runToCompletion() {
+        long taken = 0;
+        while (stepSort()) {
+            taken++;
+        }
+        return taken;
+    }
 }
@@ -0,0 +1,93 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the sorting algorithms, looked up by the same short names that
+ * Model.activateDS() takes ("Bubble", "Insertion", "Merge", ...).
+ * Model, View and the benchmarks create sorters through here instead of
+ * naming each class, so a new algorithm only has to be registered once.
+ * 
+ * @author thomasurias
+ */
+public final class SorterRegistry {
+    private static final Map<String, Supplier<? extends AbstractSorter>> SORTERS = new LinkedHashMap<>();
+    private static final Map<Class<?>, String> NAMES = new LinkedHashMap<>();
+
+    static {
+        register("Insertion", InsertionSort.class, InsertionSort::new);
+        register("Bubble", BubbleSort.class, BubbleSort::new);
+        register("Merge", MergeSort.class, MergeSort::new);
+        register("Quick", QuickSort.class, QuickSort::new);
+        register("Heap", HeapSort.class, HeapSort::new);
+        register("Shell", ShellSort.class, ShellSort::new);
+        register("Radix", RadixSort.class, RadixSort::new);
+    }
+
+    private SorterRegistry() {
+    }
+
+    /**
+     * Adds a sorting algorithm to the registry.
+     *
+     * @param name short name the sorter is looked up by
+     * @param type class of the sorter, used to map loaded sorters back to their name
+     * @param factory creates a new sorter
+     * @throws IllegalArgumentException if the name is already registered
+     */
+    public static synchronized <S extends AbstractSorter> void register(String name, Class<S> type, Supplier<S> factory) {
+        if (SORTERS.containsKey(name)) {
+            throw new IllegalArgumentException("Sorter already registered: " + name);
+        }
+        SORTERS.put(name, factory);
+        NAMES.put(type, name);
+    }
+
+    /**
+     * Creates a new sorter by name.
+     *
+     * @param name short name of the sorter
+     * @return a new sorter with a randomized list
+     * @throws IllegalArgumentException if no sorter has that name
+     */
+    public static synchronized AbstractSorter create(String name) {
+        Supplier<? extends AbstractSorter> factory = SORTERS.get(name);
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown sorter: " + name);
+        }
+        return factory.get();
+    }
+
+    /**
+     * Checks if a sorter is registered under the given name.
+     *
+     * @param name short name to check
+     * @return true if create(name) will succeed
+     */
+    public static synchronized boolean contains(String name) {
+        return name != null && SORTERS.containsKey(name);
+    }
+
+    /**
+     * Returns the short name a sorter was registered under.
+     *
+     * @param sorter sorter to look up
+     * @return its short name, or null if its class is not registered
+     */
+    public static synchronized String nameOf(AbstractSorter sorter) {
+        return NAMES.get(sorter.getClass());
+    }
+
+    /**
+     * Returns every registered name in registration order.
+     *
+     * @return list of short names
+     */
+    public static synchronized List<String> names() {
+        return new ArrayList<>(SORTERS.keySet());
+    }
+}
@@ -0,0 +1,153 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Lock-free ring buffer for exactly one producer thread and one consumer
+ * thread. offer() and enqueue() may only be called by the producer, poll(),
+ * dequeue(), peek() and drain() only by the consumer; size() from anywhere.
+ *
+ * Each side owns one index and publishes it with a release write after it
+ * has written or cleared the slot, and the other side reads it with an
+ * acquire read, so no locks or compare-and-set are needed. Each side also
+ * keeps a cached copy of the other side's index and only reads the real
+ * one when the cache says the queue is full or empty. The producer's and
+ * the consumer's fields sit 128 bytes apart in one AtomicLongArray, so the
+ * two threads never write the same cache line.
+ *
+ * @param <T> type of the items
+ * @author thomasurias
+ */
+public final class SpscQueue<T> implements ConcurrentQueue<T> {
+    /** Slots in the index array between the two sides, two cache lines */
+    private static final int PAD = 16;
+
+    /** Next slot the consumer reads, written by the consumer */
+    private static final int HEAD = PAD;
+    /** Consumer's copy of TAIL */
+    private static final int TAIL_CACHE = PAD + 1;
+    /** Next slot the producer writes, written by the producer */
+    private static final int TAIL = 3 * PAD;
+    /** Producer's copy of HEAD */
+    private static final int HEAD_CACHE = 3 * PAD + 1;
+
+    private final Object[] buffer;
+    private final int mask;
+    private final AtomicLongArray indices = new AtomicLongArray(5 * PAD);
+
+    /**
+     * Creates an empty queue.
+     *
+     * @param capacity most items the queue holds, rounded up to a power of two
+     */
+    public SpscQueue(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity " + capacity + " is out of range");
+        }
+        int slots = (capacity == 1) ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        buffer = new Object[slots];
+        mask = slots - 1;
+    }
+
+    @Override
+    public boolean offer(T item) {
+        Objects.requireNonNull(item, "item");
+        long tail = indices.getPlain(TAIL);
+        if (tail - indices.getPlain(HEAD_CACHE) > mask) {
+            long head = indices.getAcquire(HEAD);
+            indices.setPlain(HEAD_CACHE, head);
+            if (tail - head > mask) {
+                return false;
+            }
+        }
+        buffer[(int) tail & mask] = item;
+        indices.setRelease(TAIL, tail + 1);
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long head = indices.getPlain(HEAD);
+        if (!available(head)) {
+            return null;
+        }
+        int slot = (int) head & mask;
+        T item = (T) buffer[slot];
+        buffer[slot] = null;
+        indices.setRelease(HEAD, head + 1);
+        return item;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T peekOrNull() {
+        long head = indices.getPlain(HEAD);
+        return available(head) ? (T) buffer[(int) head & mask] : null;
+    }
+
+    /**
+     * Takes all the published items up to limit and frees their slots at
+     * once. If the sink throws, the items after the one it failed on are
+     * handed back in the DrainException.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super T> sink, int limit) {
+        long head = indices.getPlain(HEAD);
+        long tail = indices.getAcquire(TAIL);
+        indices.setPlain(TAIL_CACHE, tail);
+        int count = (int) Math.min(tail - head, Math.max(0, limit));
+        int handed = 0;
+        try {
+            while (handed < count) {
+                int slot = (int) (head + handed) & mask;
+                T item = (T) buffer[slot];
+                buffer[slot] = null;
+                handed++;
+                sink.accept(item);
+            }
+        } catch (RuntimeException e) {
+            List<Object> rest = new ArrayList<>(count - handed);
+            while (handed < count) {
+                int slot = (int) (head + handed) & mask;
+                rest.add(buffer[slot]);
+                buffer[slot] = null;
+                handed++;
+            }
+            throw new DrainException(e, rest);
+        } finally {
+            indices.setRelease(HEAD, head + handed);  // the producer sees all the slots freed at once
+        }
+        return count;
+    }
+
+    @Override
+    public int capacity() {
+        return buffer.length;
+    }
+
+    @Override
+    public int size() {
+        long head = indices.getAcquire(HEAD);
+        long tail = indices.getAcquire(TAIL);
+        return (int) Math.max(0, Math.min(tail - head, buffer.length));
+    }
+
+    /**
+     * Tells the consumer if the slot at head was published, reading the
+     * producer's index only when the cached copy says no.
+     */
+    private boolean available(long head) {
+        if (head < indices.getPlain(TAIL_CACHE)) {
+            return true;
+        }
+        long tail = indices.getAcquire(TAIL);
+        indices.setPlain(TAIL_CACHE, tail);
+        return head < tail;
+    }
+}
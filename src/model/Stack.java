@@ -1,8 +1,15 @@
 package model;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
 
 /**
  * A simple generic stack using an array.
@@ -11,7 +18,7 @@ import java.util.List;
  *
  * @param <T> the type of items in the stack
  */
-public class Stack<T> implements Serializable {
+public class Stack<T> implements ValueStack<T>, Serializable {
     private static final long serialVersionUID = 1L;
 
 	/** Array to store stack items */
@@ -20,6 +27,12 @@ public class Stack<T> implements Serializable {
     /** Index of the top element (-1 if empty) */
     private int top;
 
+    /** Counts every push, pop and reset so iterators over asList() fail fast */
+    private transient int modCount;
+
+    /** Lazily created read-only view handed out by asList() */
+    private transient List<T> view;
+
     /**
      * Creates a new stack with a starting size of 10.
      */
@@ -41,6 +54,7 @@ public class Stack<T> implements Serializable {
         } 
         top++;
         stack[top] = obj;
+        modCount++;
     }
 
     /**
@@ -54,6 +68,7 @@ public class Stack<T> implements Serializable {
         }
         stack[top] = null;
         top--;
+        modCount++;
     }
 
     /**
@@ -95,6 +110,7 @@ public class Stack<T> implements Serializable {
 	public void reset() {
     	stack = (T[]) new Object[10];
         top = -1;
+        modCount++;
     }
     
     /**
@@ -109,7 +125,7 @@ public class Stack<T> implements Serializable {
     
     /**
      * Returns a list of all elements in the stack from bottom to top.
-     * Model can safely call this to get the stack contents.
+     * This is a copy, use asList() to read the stack without copying.
      */
     public List<T> getStackElements() {
         List<T> elements = new ArrayList<>();
@@ -118,4 +134,86 @@ public class Stack<T> implements Serializable {
         }
         return elements;
     }
+
+    /**
+     * Reads a stack from a snapshot section, see SnapshotImage.
+     */
+    static <T> Stack<T> readFrom(SnapshotReader in, ValueCodec<T> codec) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new CorruptSnapshotException("Negative stack size " + count);
+        }
+        Stack<T> stack = new Stack<>();
+        for (int i = 0; i < count; i++) {
+            stack.push(codec.read(in));
+        }
+        return stack;
+    }
+
+    /**
+     * Returns a live read-only view of the stack from bottom to top.
+     * Iterators throw a ConcurrentModificationException if the stack
+     * changes while they are in use.
+     *
+     * @return read-only List over the stack
+     */
+    public List<T> asList() {
+        if (view == null) {
+            view = new ListView();
+        }
+        return view;
+    }
+
+    /**
+     * Read-only List over the array, index 0 is the bottom of the stack.
+     */
+    private class ListView extends AbstractList<T> implements RandomAccess {
+        @Override
+        public T get(int index) {
+            if (index < 0 || index > top) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+            }
+            return stack[index];
+        }
+
+        @Override
+        public int size() {
+            return top + 1;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private final int expectedModCount = Stack.this.modCount;
+                private int next = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return next <= top;
+                }
+
+                @Override
+                public T next() {
+                    if (Stack.this.modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    if (next > top) {
+                        throw new NoSuchElementException();
+                    }
+                    return stack[next++];
+                }
+            };
+        }
+
+        @Override
+        public void forEach(Consumer<? super T> action) {
+            int expected = Stack.this.modCount;
+            for (int i = 0; i <= top; i++) {
+                action.accept(stack[i]);
+                if (Stack.this.modCount != expected) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes the elements of a LinkedList, Stack or Queue into a snapshot and
+ * reads them back. Integer sorters do not need a codec, their values are
+ * always written as packed ints.
+ *
+ * The id is stored in the snapshot header, so a file is never decoded with
+ * a different codec than the one that wrote it.
+ *
+ * @param <T> type of the elements
+ * @author thomasurias
+ */
+public interface ValueCodec<T> {
+    /**
+     * Returns the name stored in the snapshot header, e.g. "int".
+     *
+     * @return id of the encoding
+     */
+    String id();
+
+    /**
+     * Writes one element.
+     *
+     * @param out destination
+     * @param value element to write
+     * @throws IOException if the element cannot be written
+     */
+    void write(DataOutput out, T value) throws IOException;
+
+    /**
+     * Reads one element written by write().
+     *
+     * @param in source
+     * @return the element
+     * @throws IOException if the element cannot be read
+     */
+    T read(DataInput in) throws IOException;
+
+    /**
+     * Codec for Integer elements, 4 bytes each. Nulls are not supported.
+     *
+     * @return the int codec
+     */
+    static ValueCodec<Integer> integers() {
+        return ValueCodecs.INTEGER;
+    }
+
+    /**
+     * Codec for String elements, a length and the UTF-8 bytes. Nulls are not supported.
+     *
+     * @return the string codec
+     */
+    static ValueCodec<String> strings() {
+        return ValueCodecs.STRING;
+    }
+
+    /**
+     * Codec that writes a one byte tag before each element, so one file can
+     * hold Integers, Strings, nulls and any other Serializable value. Integers
+     * and Strings are packed, other values fall back to Java serialization.
+     * This is the Model's default codec.
+     *
+     * @param <T> type of the elements
+     * @return the tagged codec
+     */
+    @SuppressWarnings("unchecked")
+    static <T> ValueCodec<T> tagged() {
+        return (ValueCodec<T>) ValueCodecs.TAGGED;
+    }
+}
@@ -0,0 +1,133 @@
+package model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The built-in codecs handed out by ValueCodec.
+ *
+ * @author thomasurias
+ */
+final class ValueCodecs {
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_INT = 1;
+    private static final byte TAG_STRING = 2;
+    private static final byte TAG_OBJECT = 3;
+
+    static final ValueCodec<Integer> INTEGER = new ValueCodec<Integer>() {
+        @Override
+        public String id() {
+            return "int";
+        }
+
+        @Override
+        public void write(DataOutput out, Integer value) throws IOException {
+            out.writeInt(value);
+        }
+
+        @Override
+        public Integer read(DataInput in) throws IOException {
+            return in.readInt();
+        }
+    };
+
+    static final ValueCodec<String> STRING = new ValueCodec<String>() {
+        @Override
+        public String id() {
+            return "utf8";
+        }
+
+        @Override
+        public void write(DataOutput out, String value) throws IOException {
+            writeString(out, value);
+        }
+
+        @Override
+        public String read(DataInput in) throws IOException {
+            return readString(in);
+        }
+    };
+
+    static final ValueCodec<Object> TAGGED = new ValueCodec<Object>() {
+        @Override
+        public String id() {
+            return "tagged";
+        }
+
+        @Override
+        public void write(DataOutput out, Object value) throws IOException {
+            if (value == null) {
+                out.writeByte(TAG_NULL);
+            } else if (value instanceof Integer) {
+                out.writeByte(TAG_INT);
+                out.writeInt((Integer) value);
+            } else if (value instanceof String) {
+                out.writeByte(TAG_STRING);
+                writeString(out, (String) value);
+            } else {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+                    oos.writeObject(value);
+                }
+                out.writeByte(TAG_OBJECT);
+                out.writeInt(bytes.size());
+                out.write(bytes.toByteArray());
+            }
+        }
+
+        @Override
+        public Object read(DataInput in) throws IOException {
+            byte tag = in.readByte();
+            switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_INT:
+                return in.readInt();
+            case TAG_STRING:
+                return readString(in);
+            case TAG_OBJECT:
+                byte[] bytes = new byte[readLength(in)];
+                in.readFully(bytes);
+                try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    return ois.readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new IOException("Saved element has unknown class " + e.getMessage(), e);
+                }
+            default:
+                throw new CorruptSnapshotException("Unknown element tag " + tag);
+            }
+        }
+    };
+
+    private ValueCodecs() {
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[readLength(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readLength(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new CorruptSnapshotException("Negative element length " + length);
+        }
+        if (in instanceof SnapshotReader) {
+            ((SnapshotReader) in).checkRemaining(length);  // before allocating a damaged length
+        }
+        return length;
+    }
+}
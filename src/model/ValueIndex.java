@@ -0,0 +1,90 @@
+package model;
+
+/**
+ * Map from an int value to one index of the sorter list holding it, used by
+ * AbstractSorter.find() while a sort is running. Open addressing with linear
+ * probing over two int arrays, so neither keys nor indices are boxed.
+ *
+ * An entry may be stale: a step that overwrites a value does not remove it.
+ * Callers check the list at the returned index and fall back to a scan.
+ *
+ * @author thomasurias
+ */
+final class ValueIndex {
+    /** Index stored for a value known not to be in the list */
+    static final int ABSENT = -1;
+
+    private int[] keys;
+    private int[] indices;
+    private boolean[] used;
+    private int count;
+
+    /**
+     * Creates an index sized for the given number of distinct values.
+     */
+    ValueIndex(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+        keys = new int[capacity];
+        indices = new int[capacity];
+        used = new boolean[capacity];
+    }
+
+    /**
+     * Returns the index stored for value.
+     *
+     * @return the index, or ABSENT if none is stored
+     */
+    int get(int value) {
+        int mask = keys.length - 1;
+        for (int slot = hash(value) & mask; used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == value) {
+                return indices[slot];
+            }
+        }
+        return ABSENT;
+    }
+
+    /**
+     * Stores the index of value, replacing the one stored before.
+     */
+    void put(int value, int index) {
+        int mask = keys.length - 1;
+        int slot = hash(value) & mask;
+        while (used[slot]) {
+            if (keys[slot] == value) {
+                indices[slot] = index;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        used[slot] = true;
+        keys[slot] = value;
+        indices[slot] = index;
+        if (++count * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldIndices = indices;
+        boolean[] oldUsed = used;
+        keys = new int[oldKeys.length * 2];
+        indices = new int[keys.length];
+        used = new boolean[keys.length];
+        count = 0;
+        for (int s = 0; s < oldKeys.length; s++) {
+            if (oldUsed[s]) {
+                put(oldKeys[s], oldIndices[s]);
+            }
+        }
+    }
+
+    /**
+     * Spreads sequential values over the table, so ranges like 0..n do not form one long run.
+     */
+    private static int hash(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
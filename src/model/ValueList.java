@@ -0,0 +1,70 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The linked list operations Model and the views use. LinkedList holds any
+ * value and IntLinkedList holds ints, and Model keeps whichever one fits
+ * its data behind this interface.
+ *
+ * @param <T> type of the values in the list
+ * @author thomasurias
+ */
+public interface ValueList<T> {
+
+    /**
+     * Asks for a positional index, so insert(data, index) and get(index) do not walk the list.
+     */
+    void setIndexed(boolean indexed);
+
+    boolean isIndexed();
+
+    /**
+     * Asks for a value index, so remove(data) and contains(data) do not scan the list.
+     */
+    void setHashIndexed(boolean hashed);
+
+    boolean isHashIndexed();
+
+    void prepend(T data);
+
+    void append(T data);
+
+    /**
+     * Inserts at the index, nothing happens if the index is out of range.
+     */
+    void insert(T data, int index);
+
+    /**
+     * Removes the first occurrence of data, if there is one.
+     */
+    void remove(T data);
+
+    T removeFirst();
+
+    T removeLast();
+
+    T get(int index);
+
+    /**
+     * Returns the index of the first occurrence of data, or -1.
+     */
+    int find(T data);
+
+    boolean contains(T data);
+
+    void reset();
+
+    int size();
+
+    /**
+     * Returns a live read-only view of the list from head to tail.
+     */
+    List<T> asList();
+
+    /**
+     * Returns a copy of the list from head to tail.
+     */
+    ArrayList<T> getLL();
+}
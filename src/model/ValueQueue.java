@@ -0,0 +1,49 @@
+package model;
+
+import java.util.List;
+
+/**
+ * The queue operations Model and the views use. Queue holds any value and
+ * IntQueue holds ints, and Model keeps whichever one fits its data behind
+ * this interface.
+ *
+ * @param <T> type of the values in the queue
+ * @author thomasurias
+ */
+public interface ValueQueue<T> {
+
+    /**
+     * Sets when the queue gives memory back after a burst, see Queue.setShrinkPolicy().
+     *
+     * @param minCapacity capacity the queue never shrinks below
+     * @param occupancyDivisor at least 4, or 0 to never shrink
+     */
+    void setShrinkPolicy(int minCapacity, int occupancyDivisor);
+
+    void enqueue(T item);
+
+    /**
+     * Removes the front value.
+     *
+     * @throws IllegalStateException if the queue is empty
+     */
+    void dequeue();
+
+    /**
+     * Returns the front value without removing it.
+     *
+     * @throws IllegalStateException if the queue is empty
+     */
+    Object peek();
+
+    boolean isEmpty();
+
+    int size();
+
+    void reset();
+
+    /**
+     * Returns a live read-only view of the values from front to rear.
+     */
+    List<T> asList();
+}
@@ -0,0 +1,46 @@
+package model;
+
+import java.util.List;
+
+/**
+ * The stack operations Model and the views use. Stack holds any value and
+ * IntStack holds ints, and Model keeps whichever one fits its data behind
+ * this interface.
+ *
+ * @param <T> type of the values on the stack
+ * @author thomasurias
+ */
+public interface ValueStack<T> {
+
+    void push(T obj);
+
+    /**
+     * Removes the top value.
+     *
+     * @throws IllegalStateException if the stack is empty
+     */
+    void pop();
+
+    /**
+     * Returns the top value without removing it.
+     *
+     * @throws IllegalStateException if the stack is empty
+     */
+    Object peek();
+
+    boolean isEmpty();
+
+    int size();
+
+    void reset();
+
+    /**
+     * Returns a copy of the values from bottom to top.
+     */
+    List<T> getStackElements();
+
+    /**
+     * Returns a live read-only view of the values from bottom to top.
+     */
+    List<T> asList();
+}
@@ -0,0 +1,258 @@
+package view;
+
+import java.util.Observable;
+import java.util.Observer;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.TextAlignment;
+import model.AbstractSorter;
+import model.SortChange;
+
+/**
+ * A single Canvas that draws the list of a sorter as a bar graph.
+ * It listens for the SortChange events of the sorter and only repaints the
+ * bars in the dirty range once per frame. When the list has more values
+ * than the canvas has pixel columns, each column shows the min and max of
+ * the values that fall into it instead of one bar per value.
+ *
+ * @author thomasurias
+ */
+@SuppressWarnings("deprecation")
+public class SortCanvas extends Canvas implements Observer {
+	/** Height reserved under the bars for value labels */
+	private static final double LABEL_HEIGHT = 16;
+
+	/** Narrowest bar slot that still gets a value label */
+	private static final double MIN_LABEL_WIDTH = 18;
+
+	/** Widest bar slot, so short lists keep the old 20px bars */
+	private static final double MAX_SLOT_WIDTH = 25;
+
+	private final AbstractSorter sorter;
+	private final AnimationTimer timer;
+
+	/** Size of the list when it was last fully painted, -1 before the first paint */
+	private int paintedSize = -1;
+
+	/** Largest value at the last full paint, bar heights are scaled to it */
+	private int maxVal = 1;
+
+	/** Dirty range collected from SortChange events since the last repaint */
+	private int dirtyFrom = -1;
+	private int dirtyTo = -1;
+	private boolean fullRepaint = true;
+
+	/**
+	 * Creates a canvas that draws the given sorter and repaints it every
+	 * frame while the canvas is part of a scene.
+	 *
+	 * @param sorter : the sorting algorithm whose list is drawn
+	 * @param width : width of the canvas in pixels
+	 * @param height : height of the canvas in pixels
+	 */
+	public SortCanvas(AbstractSorter sorter, double width, double height) {
+		super(width, height);
+		this.sorter = sorter;
+		sorter.addObserver(this);
+		timer = new AnimationTimer() {
+			@Override
+			public void handle(long now) {
+				repaint();
+			}
+		};
+		sceneProperty().addListener((obs, oldScene, newScene) -> {
+			if (newScene != null) {
+				timer.start();
+			} else {
+				timer.stop();
+			}
+		});
+	}
+
+	public AbstractSorter getSorter() {
+		return sorter;
+	}
+
+	/**
+	 * Stops repainting and stops listening to the sorter.
+	 */
+	public void detach() {
+		timer.stop();
+		sorter.deleteObserver(this);
+	}
+
+	/**
+	 * Collects the dirty range of every SortChange so the next frame repaints it.
+	 * May be called from any thread.
+	 */
+	@Override
+	public synchronized void update(Observable o, Object arg) {
+		if (!(arg instanceof SortChange)) {
+			fullRepaint = true;
+			return;
+		}
+		SortChange change = (SortChange) arg;
+		if (change.isEmpty()) {
+			return;
+		}
+		if (dirtyFrom < 0 || change.getFrom() < dirtyFrom) {
+			dirtyFrom = change.getFrom();
+		}
+		if (change.getTo() > dirtyTo) {
+			dirtyTo = change.getTo();
+		}
+	}
+
+	/**
+	 * Marks the whole canvas to be repainted on the next frame.
+	 */
+	public synchronized void invalidate() {
+		fullRepaint = true;
+	}
+
+	/**
+	 * Paints whatever changed since the last repaint. Has to run on the JavaFX thread.
+	 */
+	public void repaint() {
+		int from;
+		int to;
+		boolean full;
+		synchronized (this) {
+			from = dirtyFrom;
+			to = dirtyTo;
+			full = fullRepaint;
+			dirtyFrom = -1;
+			dirtyTo = -1;
+			fullRepaint = false;
+		}
+
+		int size = sorter.size();
+		if (full || size != paintedSize) {
+			paintAll(size);
+		} else if (from >= 0 && from < size && !paintRange(size, from, Math.min(to, size - 1))) {
+			paintAll(size);
+		}
+	}
+
+	/**
+	 * Clears the canvas, rescales to the current max value and paints every bar.
+	 */
+	private void paintAll(int size) {
+		GraphicsContext gc = getGraphicsContext2D();
+		gc.clearRect(0, 0, getWidth(), getHeight());
+		paintedSize = size;
+		maxVal = 1;
+		for (int i = 0; i < size; i++) {
+			int val = sorter.get(i);
+			if (val > maxVal) {
+				maxVal = val;
+			}
+		}
+		if (size > 0) {
+			paintRange(size, 0, size - 1);
+		}
+	}
+
+	/**
+	 * Repaints the bars or pixel columns covering indices [from, to].
+	 *
+	 * @return false if a value outgrew the current scale and a full paint is needed
+	 */
+	private boolean paintRange(int size, int from, int to) {
+		int columns = (int) getWidth();
+		if (size > columns) {
+			return paintColumns(size, columns, from, to);
+		}
+		return paintBars(size, from, to);
+	}
+
+	/**
+	 * Draws one bar per value, used when every value gets at least one pixel column.
+	 */
+	private boolean paintBars(int size, int from, int to) {
+		GraphicsContext gc = getGraphicsContext2D();
+		double slot = Math.min(MAX_SLOT_WIDTH, getWidth() / size);
+		double offset = (getWidth() - slot * size) / 2;
+		double gap = slot >= 4 ? Math.min(5, slot / 5) : 0;
+		boolean labels = slot >= MIN_LABEL_WIDTH;
+		double barArea = getHeight() - (labels ? LABEL_HEIGHT : 0);
+
+		for (int i = from; i <= to; i++) {
+			if (sorter.get(i) > maxVal) {
+				return false;
+			}
+		}
+
+		gc.clearRect(offset + from * slot, 0, (to - from + 1) * slot, getHeight());
+		gc.setFill(Color.LIGHTBLUE);
+		gc.setStroke(Color.BLACK);
+		gc.setTextAlign(TextAlignment.CENTER);
+		gc.setTextBaseline(VPos.TOP);
+		for (int i = from; i <= to; i++) {
+			int val = sorter.get(i);
+			double height = barArea * Math.max(0, val) / maxVal;
+			double x = offset + i * slot;
+			gc.setFill(Color.LIGHTBLUE);
+			gc.fillRect(x, barArea - height, slot - gap, height);
+			if (gap > 0) {
+				gc.strokeRect(x, barArea - height, slot - gap, height);
+			}
+			if (labels) {
+				gc.setFill(Color.BLACK);
+				gc.fillText(String.valueOf(val), x + (slot - gap) / 2, barArea + 2);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Draws one pixel column per group of values. The light part of a column
+	 * reaches the group's max and the dark part its min.
+	 */
+	private boolean paintColumns(int size, int columns, int from, int to) {
+		GraphicsContext gc = getGraphicsContext2D();
+		double barArea = getHeight();
+		int firstColumn = (int) ((long) from * columns / size);
+		int lastColumn = (int) ((long) to * columns / size);
+
+		for (int col = firstColumn; col <= lastColumn; col++) {
+			int start = columnStart(col, size, columns);
+			int end = columnStart(col + 1, size, columns);
+			int min = Integer.MAX_VALUE;
+			int max = Integer.MIN_VALUE;
+			for (int i = start; i < end; i++) {
+				int val = sorter.get(i);
+				if (val < min) {
+					min = val;
+				}
+				if (val > max) {
+					max = val;
+				}
+			}
+			if (max > maxVal) {
+				return false;
+			}
+
+			double maxHeight = barArea * Math.max(0, max) / maxVal;
+			double minHeight = barArea * Math.max(0, min) / maxVal;
+			gc.clearRect(col, 0, 1, barArea);
+			gc.setFill(Color.LIGHTBLUE);
+			gc.fillRect(col, barArea - maxHeight, 1, maxHeight - minHeight);
+			gc.setFill(Color.STEELBLUE);
+			gc.fillRect(col, barArea - minHeight, 1, minHeight);
+		}
+		return true;
+	}
+
+	/**
+	 * First list index drawn in the given pixel column. Index i lands in
+	 * column i * columns / size, so this is the smallest i that reaches col.
+	 */
+	private static int columnStart(int col, int size, int columns) {
+		return (int) (((long) col * size + columns - 1) / columns);
+	}
+}
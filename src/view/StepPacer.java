@@ -0,0 +1,99 @@
+package view;
+
+import model.Sorter;
+
+/**
+ * Decides how far the auto sort advances in each animation frame.
+ *
+ * Two limits apply. The pace starts at one step every 500 ms, so the short
+ * starting list can be watched, and doubles every second the sort runs, so
+ * long sorts still get through whatever the algorithm. And a frame never
+ * spends more than its time budget on the sort, however far the pace has
+ * grown, so the JavaFX thread keeps painting at the frame rate. Once the
+ * budget is what limits a frame, the pace stops growing.
+ *
+ * The steps are taken in chunks of stepSort(n) calls. The chunk size
+ * follows the measured step rate so that one call takes about a tenth of
+ * the budget, which keeps the budget check cheap and the overshoot small.
+ *
+ * @author thomasurias
+ */
+final class StepPacer {
+	/** Pace of the first second, one step every 500 ms */
+	private static final double START_STEPS_PER_SECOND = 2;
+
+	/** Number of chunks the budget of one frame is split into */
+	private static final int CHUNKS_PER_BUDGET = 10;
+
+	private final Sorter sorter;
+	private final long budgetNanos;
+	private final double growth;
+
+	/** Steps a frame may take, grows by growth each frame */
+	private double pace;
+
+	/** Steps allowed but not taken yet, carries the fractions of slow paces */
+	private double allowance;
+
+	/** Steps per stepSort() call */
+	private int chunk = 1;
+
+	/**
+	 * Creates a pacer for a sort that was already started.
+	 *
+	 * @param sorter : the sort to advance
+	 * @param frameMillis : time between two frames
+	 * @param budgetNanos : most time a frame may spend stepping the sort
+	 */
+	StepPacer(Sorter sorter, double frameMillis, long budgetNanos) {
+		this.sorter = sorter;
+		this.budgetNanos = budgetNanos;
+		this.growth = Math.pow(2, frameMillis / 1000);
+		this.pace = START_STEPS_PER_SECOND * frameMillis / 1000;
+	}
+
+	/**
+	 * Advances the sort as far as this frame allows.
+	 *
+	 * @return true if more steps remain, false if the sort is finished
+	 */
+	boolean frame() {
+		allowance += pace;
+		long allowed = (long) allowance;
+		long taken = 0;
+		boolean more = true;
+		boolean outOfTime = false;
+		long deadline = System.nanoTime() + budgetNanos;
+		while (more && taken < allowed) {
+			int n = (int) Math.min(chunk, allowed - taken);
+			long start = System.nanoTime();
+			more = sorter.stepSort(n);
+			long end = System.nanoTime();
+			taken += n;
+			if (n == chunk) {
+				adaptChunk(n, end - start);  // a short last chunk says little about the rate
+			}
+			if (end >= deadline) {
+				outOfTime = true;
+				break;
+			}
+		}
+		if (outOfTime) {
+			allowance = 0;
+			pace = Math.max(taken, 1);  // what fits in the budget, grown again from there
+		} else {
+			allowance -= taken;
+		}
+		pace *= growth;
+		return more;
+	}
+
+	/**
+	 * Sizes the next chunk from how long the last one took, at most doubling it.
+	 */
+	private void adaptChunk(int steps, long nanos) {
+		long target = budgetNanos / CHUNKS_PER_BUDGET;
+		long next = (nanos > 0) ? steps * target / nanos : 2L * steps;
+		chunk = (int) Math.max(1, Math.min(next, Math.min(2L * steps, Integer.MAX_VALUE)));
+	}
+}
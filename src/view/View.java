@@ -3,13 +3,16 @@ package view;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
+import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.Menu;
 import javafx.scene.control.MenuBar;
 import javafx.scene.control.MenuItem;
@@ -23,20 +26,33 @@ import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Text;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import javafx.util.Duration;
-import java.util.ArrayList;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Observable;
 import java.util.Observer;
-
-import model.InsertionSort;
-import model.BubbleSort;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import model.AbstractSorter;
+import model.DatasetImporter;
+import model.ImportProgress;
 import model.LinkedList;
 import model.Model;
+import model.ParallelSort;
 import controller.Controller;
+import model.SortMetrics;
 import model.Sorter;
-import model.Queue;
+import model.SorterRegistry;
 /**
  * The View class contains the GUI of the data structures application 
  * using JavaFX to create each structure.
@@ -52,7 +68,19 @@ public class View extends Application implements Observer {
 	private Controller controller;
     private Sorter sorter;
     
+    /** Auto sort frames run about 60 times a second */
+    private static final double AUTO_SORT_FRAME_MILLIS = 16;
+    
+    /** Most time one auto sort frame spends stepping the sort, the rest is left for painting */
+    private static final long AUTO_SORT_BUDGET_NANOS = 4_000_000;
+    
+    /** Sizes of the bar graph canvas on a sort screen and on each side of the compare screen */
+    private static final double SORT_CANVAS_WIDTH = 560;
+    private static final double SORT_CANVAS_HEIGHT = 230;
+    private static final double COMPARE_CANVAS_WIDTH = 270;
+    
     private Timeline sortTimeline;
+    private Timeline compareTimeline;
     private BorderPane root;
 	private VBox structContainer;
 	private HBox bottomBar;
@@ -61,6 +89,15 @@ public class View extends Application implements Observer {
 	private String active;
 	private int nodes = 0;
 	
+	/** File > Save, turned off with the bottom bar while a background task changes the model */
+	private MenuItem saveItem;
+	/** True while a parallel sort or an import changes the model off the JavaFX thread */
+	private boolean busy;
+	/** Set to stop the running import, null if there is none */
+	private AtomicBoolean importStop;
+	/** Main Menu button of the current screen, it stays usable during an import and stops it */
+	private Button menuButton;
+	
 	@Override
 	public void start(Stage stage) {
 	    this.primaryStage = stage;
@@ -84,16 +121,23 @@ public class View extends Application implements Observer {
 		MenuBar menuBar = new MenuBar();
 		Menu menu = new Menu("File");
 		MenuItem menuItem = new MenuItem("Save");
+		saveItem = menuItem;
 		menu.getItems().add(menuItem);
 		menuBar.getMenus().add(menu);
 		
+		// the snapshot is written on the model's I/O thread, progress shows in the title
 		menuItem.setOnAction((event) -> {
-			try {
-				controller.save();
-			} catch (Exception e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			}
+			menuItem.setDisable(true);
+			Controller<?> saving = controller;
+			saving.saveAsync(p -> Platform.runLater(() ->
+					stage.setTitle("Data Structures Application - Saving " + Math.round(p.getFraction() * 100) + "%")))
+				.whenComplete((result, ex) -> Platform.runLater(() -> {
+					menuItem.setDisable(busy);
+					stage.setTitle("Data Structures Application");
+					if (ex != null) {
+						ex.printStackTrace();
+					}
+				}));
 		});
         root.setTop(menuBar);
 		
@@ -125,6 +169,10 @@ public class View extends Application implements Observer {
 
         menuBox.getChildren().addAll(selectBtn, quitBtn);
 
+        if (sortTimeline != null) sortTimeline.stop();
+        if (compareTimeline != null) compareTimeline.stop();
+        if (importStop != null) importStop.set(true);
+
         root.setCenter(menuBox);       
         bottomBar.getChildren().clear();
     }
@@ -142,8 +190,6 @@ public class View extends Application implements Observer {
         Button stackBtn = new Button("Stack");
         Button queueBtn = new Button("Queue");
         Button llBtn = new Button("Linked List");
-        Button insertionBtn = new Button("Insertion Sort");
-        Button bubbleBtn = new Button("Bubble Sort");
 
         /* Each button return user back to visualization screen. */
         stackBtn.setOnAction(e -> {
@@ -170,21 +216,21 @@ public class View extends Application implements Observer {
             showStructureScreen("Linked List");
         });
 
-        insertionBtn.setOnAction(e -> {
-            controller = new Controller<>("Insertion");
-            model = controller.getModel();
-            model.addObserver(this);
-            active = "Insertion";
-            showStructureScreen("Insertion Sort");
-        });
-
-        bubbleBtn.setOnAction(e -> {
-            controller = new Controller<>("Bubble");
-            model = controller.getModel();
-            model.addObserver(this);
-            active = "Bubble";
-            showStructureScreen("Bubble Sort");
-        });
+        /* One button per registered sorting algorithm. */
+        FlowPane sortButtons = new FlowPane(10, 10);
+        sortButtons.setAlignment(Pos.CENTER);
+        sortButtons.setPrefWrapLength(400);
+        for (String sortName : SorterRegistry.names()) {
+            Button sortBtn = new Button(sortName + " Sort");
+            sortBtn.setOnAction(e -> {
+                controller = new Controller<>(sortName);
+                model = controller.getModel();
+                model.addObserver(this);
+                active = sortName;
+                showStructureScreen(model.getActiveSorter().getName());
+            });
+            sortButtons.getChildren().add(sortBtn);
+        }
         
         Button compareBtn = new Button("Compare Sorting Algorithms");
         compareBtn.setOnAction(e -> showCompareScreen());
@@ -194,7 +240,7 @@ public class View extends Application implements Observer {
         mainMenuBtn.setOnAction(e -> showMainMenu());
 
         selectionBox.getChildren().addAll(
-                stackBtn, queueBtn, llBtn, insertionBtn, bubbleBtn, compareBtn, mainMenuBtn
+                stackBtn, queueBtn, llBtn, sortButtons, compareBtn, mainMenuBtn
         );
 
         root.setCenter(selectionBox);      
@@ -218,6 +264,12 @@ public class View extends Application implements Observer {
             peekButton();
         }
 
+        if (model.hasSorter()) {
+            finishSortButton();
+            parallelSortButton();
+            importButton();
+        }
+
         mainMenuButton();
         
         switch (name) {
@@ -233,15 +285,13 @@ public class View extends Application implements Observer {
         		root.setCenter(structContainer);
         		drawQueue(structContainer);
         		break;
-        	case ("Insertion Sort"): 
-        		root.setCenter(structContainer);
-        		drawSort(structContainer, model.getInsertionSort());
-        		startAutoSort();
-        		break;
-        	case ("Bubble Sort"): 
-        		root.setCenter(structContainer);
-        		drawSort(structContainer, model.getBubbleSort());
-        		startAutoSort();
+        	default: 
+        		// every sorting algorithm shares the same bar graph screen
+        		if (model.hasSorter()) {
+        			root.setCenter(structContainer);
+        			drawSort(structContainer, model.getActiveSorter());
+        			startAutoSort();
+        		}
         		break;
         }
     }
@@ -296,7 +346,7 @@ public class View extends Application implements Observer {
 		    String input = text.getText();
 		    if(input.equals("") || input.length() >= 10) return;
 
-		    if(model.hasInsertionSort() || model.hasBubbleSort()) {
+		    if(model.hasSorter()) {
 		        try {
 		            int value = Integer.parseInt(input);
 		            controller.add(value, false); 
@@ -372,7 +422,7 @@ public class View extends Application implements Observer {
 		    String input = removeText.getText();
 		    if(input.equals("") || input.length() >= 10) return;
 
-		    if(model.hasInsertionSort() || model.hasBubbleSort()) {
+		    if(model.hasSorter()) {
 		        try {
 		            int value = Integer.parseInt(input);
 		            controller.remove(value);
@@ -421,7 +471,7 @@ public class View extends Application implements Observer {
 		Button resetButton = new Button("Reset");
 		resetButton.setOnAction(e -> {
 	        controller.reset();
-	        if(model.hasInsertionSort() || model.hasBubbleSort()) startAutoSort();
+	        if(model.hasSorter()) startAutoSort();
 	    });
 	    bottomBar.getChildren().add(resetButton);
 	    root.setBottom(bottomBar);
@@ -447,7 +497,7 @@ public class View extends Application implements Observer {
 	        Comparable valueToFind = input;
 
 	        // For sorting algorithms, only integers are allowed
-	        if (model.hasInsertionSort() || model.hasBubbleSort()) {
+	        if (model.hasSorter()) {
 	            try {
 	                valueToFind = Integer.parseInt(input);
 	            } catch (NumberFormatException ex) {
@@ -540,6 +590,155 @@ public class View extends Application implements Observer {
 	    bottomBar.getChildren().add(peekBtn);
 	}
 
+	/**
+	 * This method creates a "Finish" button for the sorting screens that stops the 
+	 * animation and runs the current sort to the end at full speed
+	 */
+	private void finishSortButton() {
+		Button finishButton = new Button("Finish");
+		finishButton.setOnAction(e -> {
+			if (sorter == null) return;
+			if (sortTimeline != null) {
+				sortTimeline.stop();
+			}
+			sorter.runToCompletion();
+			update(model, null);
+		});
+		bottomBar.getChildren().add(finishButton);
+		root.setBottom(bottomBar);
+	}
+
+	/**
+	 * This method creates a "Parallel" button for the sorting screens that stops the animation 
+	 * and sorts the whole list with a fork-join merge sort off the JavaFX thread. The bar graph 
+	 * shows each partition as it gets sorted and merged.
+	 */
+	private void parallelSortButton() {
+		Button parallelButton = new Button("Parallel");
+		parallelButton.setOnAction(e -> {
+			AbstractSorter current = model.getActiveSorter();
+			if (current == null) return;
+			if (sortTimeline != null) {
+				sortTimeline.stop();
+			}
+			setBusy(true);
+			CompletableFuture.runAsync(() -> ParallelSort.sort(current))
+				.whenComplete((result, ex) -> Platform.runLater(() -> {
+					setBusy(false);
+					if (ex != null) {
+						Alert alert = new Alert(Alert.AlertType.ERROR);
+						alert.setTitle("Parallel Sort Error");
+						alert.setContentText("Parallel sort failed: " + describe(ex));
+						alert.showAndWait();
+					}
+					update(model, null);
+				}));
+		});
+		bottomBar.getChildren().add(parallelButton);
+		root.setBottom(bottomBar);
+	}
+	
+	/**
+	 * Turns off every control that changes the model, the bottom bar and File > Save, while a 
+	 * background task changes it off the JavaFX thread, and back on when the task is done.
+	 * 
+	 * @param busy : true while the task runs
+	 * @param keep : bottom bar nodes that stay usable
+	 */
+	private void setBusy(boolean busy, Node... keep) {
+		this.busy = busy;
+		List<Node> kept = List.of(keep);
+		for (Node control : bottomBar.getChildren()) {
+			if (!kept.contains(control)) {
+				control.setDisable(busy);
+			}
+		}
+		saveItem.setDisable(busy);
+	}
+	
+	/**
+	 * Returns the message of what went wrong in a background task, without the 
+	 * CompletionException or UncheckedIOException it is wrapped in.
+	 */
+	private static String describe(Throwable ex) {
+		while ((ex instanceof CompletionException || ex instanceof UncheckedIOException) && ex.getCause() != null) {
+			ex = ex.getCause();
+		}
+		return (ex.getMessage() != null) ? ex.getMessage() : ex.toString();
+	}
+
+	/**
+	 * This method creates an "Import" button for the sorting screens that streams the ints of a 
+	 * CSV, line or raw binary file into the model on a background thread. Each parsed batch is 
+	 * added on the JavaFX thread, and the importer waits for it before parsing on, so at most one 
+	 * batch is in memory. Progress and throughput are shown next to the button. The other controls 
+	 * are off until the import ends; Main Menu stays on and stops it after the current batch.
+	 */
+	private void importButton() {
+		Button importButton = new Button("Import");
+		Text status = new Text();
+		importButton.setOnAction(e -> {
+			FileChooser chooser = new FileChooser();
+			chooser.setTitle("Import Dataset");
+			chooser.getExtensionFilters().addAll(
+				new FileChooser.ExtensionFilter("Datasets", "*.csv", "*.txt", "*.bin", "*.i32", "*.raw"),
+				new FileChooser.ExtensionFilter("All Files", "*.*"));
+			File file = chooser.showOpenDialog(primaryStage);
+			if (file == null) return;
+			if (sortTimeline != null) {
+				sortTimeline.stop();
+			}
+			setBusy(true, menuButton, status);
+
+			DatasetImporter importer = new DatasetImporter();
+			importer.setProgressListener(p -> Platform.runLater(() -> status.setText(p.toString())), 250);
+			Controller<?> target = controller;
+			AtomicBoolean stop = new AtomicBoolean();
+			importStop = stop;
+			CompletableFuture.supplyAsync(() -> {
+				try {
+					return importer.importFile(file.toPath(), DatasetImporter.Format.forPath(file.toPath()),
+						(values, count) -> addOnFxThread(target, values, count, stop));
+				} catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+			}).whenComplete((ImportProgress result, Throwable ex) -> Platform.runLater(() -> {
+				if (importStop == stop) {
+					importStop = null;
+				}
+				setBusy(false);
+				if (stop.get()) {
+					status.setText("Import stopped");
+				} else if (ex != null) {
+					status.setText("Import failed: " + describe(ex));
+				}
+				update(model, null);
+			}));
+		});
+		bottomBar.getChildren().addAll(importButton, status);
+		root.setBottom(bottomBar);
+	}
+
+	/**
+	 * Adds one batch of imported ints to the model on the JavaFX thread and waits until it is in. 
+	 * Once stop is set no batch is added and the import ends with an InterruptedIOException.
+	 */
+	private static void addOnFxThread(Controller<?> target, int[] values, int count, AtomicBoolean stop) throws IOException {
+		if (stop.get()) {
+			throw new InterruptedIOException("Import stopped");
+		}
+		FutureTask<Integer> task = new FutureTask<>(() -> stop.get() ? 0 : target.getModel().addAll(values, 0, count, false));
+		Platform.runLater(task);
+		try {
+			task.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Import interrupted");
+		} catch (ExecutionException ex) {
+			throw new IOException(ex.getCause());
+		}
+	}
+
 	/**
 	 * This method creates the main menu button on the bottom bar 
 	 * so the user can return to the home screen and select another ds option 
@@ -547,6 +746,7 @@ public class View extends Application implements Observer {
 	@SuppressWarnings("unused")
 	private void mainMenuButton() {
 		Button menuButton = new Button("Main Menu");
+		this.menuButton = menuButton;
 		menuButton.setOnAction(e -> {
 	        showMainMenu();
 	    });
@@ -567,8 +767,7 @@ public class View extends Application implements Observer {
 		if (model.hasStack()) drawStack(structContainer);
 		if (model.hasLinkedList()) drawLL(structContainerLL);
 		if (model.hasQueue()) drawQueue(structContainer);
-		if (model.hasInsertionSort()) drawSort(structContainer, model.getInsertionSort());
-		if (model.hasBubbleSort()) drawSort(structContainer, model.getBubbleSort());
+		if (model.hasSorter()) drawSort(structContainer, model.getActiveSorter());
 	}
 	
 	/**
@@ -576,54 +775,44 @@ public class View extends Application implements Observer {
 	 * Uses a bar graph to display different values. Can be reused for comparing multiple sorts.
 	 * 
 	 * @param structContainer : VBox for the container that the bar graph will be displayed in
-	 * @param sorter : the sorting algorithm instance (InsertionSort or BubbleSort)
+	 * @param sorter : the sorting algorithm instance, e.g. InsertionSort or BubbleSort
 	 */
-	@SuppressWarnings("unchecked")
 	private void drawSort(VBox targetContainer, Sorter sorter) {
-	    targetContainer.getChildren().clear();
-	    targetContainer.setSpacing(5);
-	    targetContainer.setAlignment(Pos.BOTTOM_CENTER);
-
-	    Text title = null;
-	    ArrayList<Integer> list = null;
-
-	    if (sorter instanceof InsertionSort) {
-	        list = ((InsertionSort) sorter).getlistToSort();
-	        title = new Text("Insertion Sort");
-	    } else if (sorter instanceof BubbleSort) {
-	        list = ((BubbleSort) sorter).getlistToSort();
-	        title = new Text("Bubble Sort");
-	    }
-
-	    title.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
-	    targetContainer.getChildren().add(title);
-
-	    HBox barBox = new HBox(5);
-	    barBox.setAlignment(Pos.BOTTOM_CENTER);
+	    drawSort(targetContainer, sorter, SORT_CANVAS_WIDTH);
+	}
 
-	    int maxVal = 1;
-	    for (int val : list) {
-	        if (val > maxVal) {
-	            maxVal = val;
+	/**
+	 * Draws the sorter into the container on a single SortCanvas. The canvas is created once per 
+	 * sorter and then only repaints the bars that changed, so calling this every frame is cheap.
+	 * 
+	 * @param targetContainer : VBox for the container that the bar graph will be displayed in
+	 * @param sorter : the sorting algorithm instance, e.g. InsertionSort or BubbleSort
+	 * @param width : width of the bar graph in pixels
+	 */
+	private void drawSort(VBox targetContainer, Sorter sorter, double width) {
+	    SortCanvas canvas = null;
+	    for (Node child : targetContainer.getChildren()) {
+	        if (child instanceof SortCanvas) {
+	            canvas = (SortCanvas) child;
 	        }
 	    }
-
-	    for (int val : list) {
-	        double height = (200.0 * val) / maxVal;
-
-	        VBox barContainer = new VBox(2);
-	        barContainer.setAlignment(Pos.BOTTOM_CENTER);
-
-	        Rectangle rect = new Rectangle(20, height, Color.LIGHTBLUE);
-	        rect.setStroke(Color.BLACK);
-
-	        Text text = new Text(String.valueOf(val));
-
-	        barContainer.getChildren().addAll(rect, text);
-	        barBox.getChildren().add(barContainer);
+	    if (canvas != null && canvas.getSorter() == sorter) {
+	        canvas.repaint();
+	        return;
+	    }
+	    if (canvas != null) {
+	        canvas.detach();
 	    }
 
-	    targetContainer.getChildren().add(barBox);
+	    targetContainer.getChildren().clear();
+	    targetContainer.setSpacing(5);
+	    targetContainer.setAlignment(Pos.BOTTOM_CENTER);
+
+	    Text title = new Text(((AbstractSorter) sorter).getName());
+	    title.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
+	    canvas = new SortCanvas((AbstractSorter) sorter, width, SORT_CANVAS_HEIGHT);
+	    targetContainer.getChildren().addAll(title, canvas);
+	    canvas.repaint();
 	}
 
 	/**
@@ -681,12 +870,14 @@ public class View extends Application implements Observer {
 	    if (controller == null || controller.getModel() == null) {
 	    	return;
 	    }
-	    ArrayList<T> theList = model.getLL();
+	    List<T> theList = (List<T>) model.getLL();
+	    Iterator<T> nodes = theList.iterator(); // walks the nodes once instead of get(i) per node
 	    int counter = 0;
 	    int row = 0;
 	    boolean decCounter = false;
 	    boolean lToR = true;
 	    for(int i = 0; i < theList.size(); i++) {
+	    	T value = nodes.next();
 	    	if(counter >= 4 || counter == 0 && i != 0) {
 	    		Canvas arrow = drawArrow(lToR);
 	    		structContainerLL.add(arrow, counter, row);
@@ -703,7 +894,7 @@ public class View extends Application implements Observer {
 	    	Rectangle innerRect = new Rectangle(30,30, Color.LIGHTGOLDENRODYELLOW);
 	        innerRect.setStroke(Color.BLACK);
 	        innerRect.setStrokeWidth(2); 
-	        Text text = new Text(theList.get(i).toString());	
+	        Text text = new Text(value.toString());	
 	        
 	        if(lToR) StackPane.setMargin(text, new Insets(0, 0, 0, 4));
 		    else StackPane.setMargin(text, new Insets(0, 4, 0, 0));
@@ -801,22 +992,18 @@ public class View extends Application implements Observer {
 	    title.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
 	    structContainer.getChildren().add(title);
 
-	    Queue<T> q = (Queue<T>) model.getQueue();
-	    if (q == null || q.size() == 0) return;
+	    List<T> elements = (List<T>) model.getQueueElements();
+	    if (elements.isEmpty()) return;
 
 	    FlowPane pane = new FlowPane();
 	    pane.setAlignment(Pos.CENTER);
 	    pane.setHgap(15);
 	    pane.setVgap(20);
 
-	    T[] arr = q.getRawArray();
-	    int front = q.getFrontIndex();
-	    int size = q.size();
-	    int cap = q.getCapacity();
+	    int size = elements.size();
 
 	    for (int i = 0; i < size; i++) {
-	        int idx = (front + i) % cap;
-	        T value = arr[idx];
+	        T value = elements.get(i);
 
 	        VBox cell = new VBox(5);
 	        cell.setAlignment(Pos.CENTER);
@@ -839,31 +1026,25 @@ public class View extends Application implements Observer {
 
 	/**
 	 * Starts the automatic sorting animation for the current sort 
-	 * (Insertion Sort or Bubble Sort). Steps through the sort every 500ms 
-	 * and updates the GUI until the sort is finished.
+	 * (e.g. Insertion Sort or Bubble Sort). Runs a frame about every 16ms and 
+	 * updates the GUI until the sort is finished. A StepPacer decides how many 
+	 * steps each frame takes: one every 500ms at first, speeding up the longer 
+	 * the sort runs, but never more than fit in a few milliseconds of the frame.
 	 */
 	private void startAutoSort() {
 	    if (sortTimeline != null) {
 	        sortTimeline.stop();
 	    }
 
-	    if (model.hasInsertionSort()) {
-	        sorter = model.getInsertionSort();  // a Sorter
-	        sorter.startSort();
-	    } else if (model.hasBubbleSort()) {
-	        sorter = model.getBubbleSort();     // also a Sorter
-	        sorter.startSort();
-	    }
+	    AbstractSorter current = model.getActiveSorter();
+	    sorter = current;
+	    sorter.startSort();
+	    StepPacer pacer = new StepPacer(current, AUTO_SORT_FRAME_MILLIS, AUTO_SORT_BUDGET_NANOS);
 
 	    sortTimeline = new Timeline(
-	        new KeyFrame(Duration.millis(500), e -> {
-	            boolean hasMore = sorter.stepSort();   // now works!
-	            if (model.hasInsertionSort()) {
-	            	drawSort(structContainer, model.getInsertionSort());
-	            }
-	            if (model.hasBubbleSort()) {
-	            	drawSort(structContainer, model.getBubbleSort());
-	            }
+	        new KeyFrame(Duration.millis(AUTO_SORT_FRAME_MILLIS), e -> {
+	            boolean hasMore = pacer.frame();
+	            drawSort(structContainer, current);
 
 	            if (!hasMore) {
 	                sortTimeline.stop();
@@ -876,24 +1057,58 @@ public class View extends Application implements Observer {
 	}
 	
 	/**
-	 * Shows a comparison screen for Insertion Sort and Bubble Sort.
-	 * Displays both sorts side by side with a timer and updates the GUI
-	 * every 200ms until both sorts are done.
+	 * Shows a comparison screen for two sorting algorithms, Insertion Sort and Bubble Sort 
+	 * at first. The bottom bar picks the algorithms, both sort the same random list.
 	 */
 	private void showCompareScreen() {
 	    bottomBar.getChildren().clear();
 
+	    ChoiceBox<String> leftChoice = new ChoiceBox<>();
+	    ChoiceBox<String> rightChoice = new ChoiceBox<>();
+	    leftChoice.getItems().addAll(SorterRegistry.names());
+	    rightChoice.getItems().addAll(SorterRegistry.names());
+	    leftChoice.setValue("Insertion");
+	    rightChoice.setValue("Bubble");
+
+	    Button compareButton = new Button("Compare");
+	    compareButton.setOnAction(e -> runComparison(leftChoice.getValue(), rightChoice.getValue()));
+
+	    bottomBar.getChildren().addAll(leftChoice, rightChoice, compareButton);
+	    mainMenuButton();
+	    runComparison(leftChoice.getValue(), rightChoice.getValue());
+	}
+
+	/**
+	 * Displays both sorts side by side with a timer and updates the GUI
+	 * every 200ms until both sorts are done.
+	 * 
+	 * @param leftName : SorterRegistry name of the sort on the left
+	 * @param rightName : SorterRegistry name of the sort on the right
+	 */
+	private void runComparison(String leftName, String rightName) {
+	    if (compareTimeline != null) {
+	        compareTimeline.stop();
+	    }
+
 	    HBox compareBox = new HBox(50);
 	    compareBox.setAlignment(Pos.CENTER);
 
-	    VBox insertionBox = new VBox();
-	    insertionBox.setAlignment(Pos.BOTTOM_CENTER);
-	    VBox bubbleBox = new VBox();
-	    bubbleBox.setAlignment(Pos.BOTTOM_CENTER);
+	    VBox leftBox = new VBox();
+	    leftBox.setAlignment(Pos.BOTTOM_CENTER);
+	    VBox rightBox = new VBox();
+	    rightBox.setAlignment(Pos.BOTTOM_CENTER);
+
+	    // Work counters under each bar graph, drawSort() owns the boxes above them
+	    Text leftMetrics = new Text();
+	    Text rightMetrics = new Text();
+	    VBox leftColumn = new VBox(10, leftBox, leftMetrics);
+	    leftColumn.setAlignment(Pos.BOTTOM_CENTER);
+	    VBox rightColumn = new VBox(10, rightBox, rightMetrics);
+	    rightColumn.setAlignment(Pos.BOTTOM_CENTER);
 
-	    compareBox.getChildren().addAll(insertionBox, bubbleBox);
+	    compareBox.getChildren().addAll(leftColumn, rightColumn);
 
-	    Text timerText = new Text("Time: 0.0 s");
+	    Text timerText = new Text("Animation: 0.0 s");
 	    timerText.setStyle("-fx-font-size: 18px; -fx-font-weight: bold;");
 
 	    VBox mainBox = new VBox(20);
@@ -902,29 +1117,40 @@ public class View extends Application implements Observer {
 
 	    root.setCenter(mainBox);
 
-	    // Create new sorters
-	    InsertionSort insertion = new InsertionSort();
-	    BubbleSort bubble = new BubbleSort();
+	    // Create new sorters, the right one gets a copy of the left one's list
+	    AbstractSorter left = SorterRegistry.create(leftName);
+	    AbstractSorter right = SorterRegistry.create(rightName);
+	    right.clear();
+	    for (int i = 0; i < left.size(); i++) {
+	        right.append(left.get(i));
+	    }
 
-	    insertion.startSort();
-	    bubble.startSort();
+	    left.setMetricsEnabled(true);
+	    right.setMetricsEnabled(true);
+	    left.startSort();
+	    right.startSort();
+	    leftMetrics.setText(formatMetrics(left.getMetrics()));
+	    rightMetrics.setText(formatMetrics(right.getMetrics()));
 
-	    Timeline compareTimeline = new Timeline();
+	    compareTimeline = new Timeline();
 	    double[] elapsedTime = {0};
 
 	    compareTimeline.getKeyFrames().add(
 	        new KeyFrame(Duration.millis(200), e -> {
-	            boolean moreInsertion = insertion.stepSort();
-	            boolean moreBubble = bubble.stepSort();
+	            boolean moreLeft = left.stepSort();
+	            boolean moreRight = right.stepSort();
 
 	            // Reuse drawSort
-	            drawSort(insertionBox, insertion);
-	            drawSort(bubbleBox, bubble);
+	            drawSort(leftBox, left, COMPARE_CANVAS_WIDTH);
+	            drawSort(rightBox, right, COMPARE_CANVAS_WIDTH);
+
+	            leftMetrics.setText(formatMetrics(left.getMetrics()));
+	            rightMetrics.setText(formatMetrics(right.getMetrics()));
 
 	            elapsedTime[0] += 0.2;
-	            timerText.setText(String.format("Time: %.1f s", elapsedTime[0]));
+	            timerText.setText(String.format("Animation: %.1f s", elapsedTime[0]));
 
-	            if (!moreInsertion && !moreBubble) {
+	            if (!moreLeft && !moreRight) {
 	                compareTimeline.stop();
 	            }
 	        })
@@ -934,4 +1160,16 @@ public class View extends Application implements Observer {
 	    compareTimeline.play();
 	}
 
+	/**
+	 * Formats a sorter's work counters for the compare screen, one per line.
+	 *
+	 * @param metrics : counters of the sort
+	 * @return the text to show
+	 */
+	private static String formatMetrics(SortMetrics metrics) {
+	    return String.format("Comparisons: %,d%nSwaps: %,d%nWrites: %,d%nReads: %,d%nSteps: %,d%nSort time: %.3f ms",
+	            metrics.getComparisons(), metrics.getSwaps(), metrics.getWrites(), metrics.getReads(),
+	            metrics.getSteps(), metrics.getElapsedNanos() / 1e6);
+	}
+
 }